@@ -74,6 +74,9 @@ public class Deployer {
     
     @Inject
     private LabelsService lbls;
+    
+    @Inject
+    private FlowScriptCache scriptCache;
 
     private Base64.Encoder b64Encoder;
     private Base64.Decoder b64Decoder;
@@ -292,6 +295,7 @@ public class Deployer {
                     logger.info("Updating flow {}", qname);
                     entryManager.merge(fl);
                 }
+                scriptCache.invalidate(qname);
                 
             } catch (SyntaxException se) {
                 error = se.getMessage();
@@ -511,6 +515,7 @@ public class Deployer {
                     logger.info("Removing flow {}", flow);
                     entryManager.remove(dn, Flow.class);
                 }
+                scriptCache.invalidate(flow);
             } catch (Exception e) {
                 logger.error("Error removing flow " + flow, e);
             }
@@ -0,0 +1,52 @@
+package io.jans.agama.engine.model;
+
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * Continuation data of a paused flow run kept in the cache. The hash of the serialized
+ * continuation travels with it so a resume does not need to query the flow run
+ */
+public class CachedContinuation implements Serializable {
+
+    private static final long serialVersionUID = -2930658149628312745L;
+
+    private byte[] continuation;
+    private String hash;
+    private String statusHash;
+    private Date deletableAt;
+
+    public CachedContinuation(byte[] continuation, String hash, String statusHash, Date deletableAt) {
+        this.continuation = continuation;
+        this.hash = hash;
+        this.statusHash = statusHash;
+        this.deletableAt = deletableAt;
+    }
+
+    /**
+     * @return Compressed serialized continuation
+     */
+    public byte[] getContinuation() {
+        return continuation;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    /**
+     * @return Digest of the flow status last written to the database
+     */
+    public String getStatusHash() {
+        return statusHash;
+    }
+
+    public void setStatusHash(String statusHash) {
+        this.statusHash = statusHash;
+    }
+
+    public Date getDeletableAt() {
+        return deletableAt;
+    }
+
+}
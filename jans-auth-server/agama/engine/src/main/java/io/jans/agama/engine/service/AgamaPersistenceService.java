@@ -1,26 +1,38 @@
 package io.jans.agama.engine.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import io.jans.agama.engine.misc.FlowUtils;
+import io.jans.agama.engine.model.CachedContinuation;
 import io.jans.agama.engine.model.FlowResult;
 import io.jans.agama.engine.model.FlowRun;
 import io.jans.agama.engine.model.FlowStatus;
 import io.jans.agama.engine.model.ProtoFlowRun;
 import io.jans.agama.engine.serialize.ContinuationSerializer;
+import io.jans.agama.model.EngineConfig;
 import io.jans.agama.model.Flow;
 import io.jans.agama.model.ProtoFlow;
 import io.jans.as.model.configuration.AppConfiguration;
 import io.jans.orm.PersistenceEntryManager;
 import io.jans.orm.search.filter.Filter;
+import io.jans.service.CacheService;
 import io.jans.util.Pair;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.Base64;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.mozilla.javascript.NativeContinuation;
 import org.mozilla.javascript.Scriptable;
 import org.slf4j.Logger;
@@ -34,6 +46,8 @@ public class AgamaPersistenceService {
 
     public static final String AGAMA_FLOWRUNS_BASE = "ou=runs," + AGAMA_BASE;
     public static final String AGAMA_FLOWS_BASE = "ou=flows," + AGAMA_BASE;
+    
+    private static final String CONTINUATION_KEY_PREFIX = "agama_cont_";
 
     @Inject
     private Logger logger;
@@ -50,6 +64,15 @@ public class AgamaPersistenceService {
     @Inject
     private AppConfiguration appConfiguration;
     
+    @Inject
+    private EngineConfig engineConfig;
+    
+    @Inject
+    private CacheService cacheService;
+    
+    @Inject
+    private ObjectMapper mapper;
+    
     public FlowStatus getFlowStatus(String sessionId) throws IOException {
 
         try {
@@ -76,13 +99,22 @@ public class AgamaPersistenceService {
         } catch(Exception e) {
             throw new IOException(e);
         }
+        
+        if (engineConfig.isCacheContinuations()) {
+            //keep the cached status digest in sync so the next pause compares against this status
+            CachedContinuation cached = getCachedContinuation(sessionId);
+            if (cached != null) {
+                cached.setStatusHash(statusHash(fst));
+                cacheService.put(expirationInSeconds(cached.getDeletableAt()), continuationKey(sessionId), cached);
+            }
+        }
 
     }
     
     public void createFlowRun(String id, FlowStatus fst, long expireAt) throws Exception {
 
         FlowRun fr = new FlowRun();
-        fr.setBaseDn(String.format("%s=%s,%s", FlowRun.ATTR_NAMES.ID, id, AGAMA_FLOWRUNS_BASE));
+        fr.setBaseDn(flowRunDn(id));
         fr.setId(id);
         fr.setStatus(fst);
         fr.setDeletableAt(new Date(expireAt));
@@ -132,14 +164,34 @@ public class AgamaPersistenceService {
 
     public Flow getFlow(String flowName, boolean full) throws IOException {
 
+        String[] attrs = null;
+        if (!full) {
+            attrs = new String[]{ Flow.ATTR_NAMES.QNAME, Flow.ATTR_NAMES.META,
+                Flow.ATTR_NAMES.TRANSPILED, Flow.ATTR_NAMES.HASH };
+        }
+        
+        logger.debug("Retrieving {}info of flow '{}'", full ? "" : "minimal ", flowName);
+        return findFlow(flowName, attrs);
+
+    }
+    
+    /**
+     * Retrieves the flow without its source and transpiled code
+     * @param flowName
+     * @return
+     * @throws IOException 
+     */
+    public Flow getFlowHeader(String flowName) throws IOException {
+
+        logger.debug("Retrieving header of flow '{}'", flowName);
+        return findFlow(flowName, new String[]{ Flow.ATTR_NAMES.QNAME, Flow.ATTR_NAMES.META,
+                Flow.ATTR_NAMES.HASH });
+
+    }
+    
+    private Flow findFlow(String flowName, String[] attrs) throws IOException {
+
         try {
-            String[] attrs = null;
-            if (!full) {
-                attrs = new String[]{ Flow.ATTR_NAMES.QNAME, Flow.ATTR_NAMES.META,
-                    Flow.ATTR_NAMES.TRANSPILED };
-            }
-            
-            logger.debug("Retrieving {}info of flow '{}'", full ? "" : "minimal ", flowName);
             List<Flow> fls = entryManager.findEntries(AGAMA_FLOWS_BASE, Flow.class, 
                Filter.createEqualityFilter(Flow.ATTR_NAMES.QNAME, flowName), attrs, 1);
             
@@ -158,6 +210,14 @@ public class AgamaPersistenceService {
     public Pair<Scriptable, NativeContinuation> getContinuation(String sessionId)
             throws IOException {
         
+        if (engineConfig.isCacheContinuations()) {
+            CachedContinuation cached = getCachedContinuation(sessionId);
+            if (cached != null) {
+                logger.debug("Restoring cached continuation data...");
+                return restore(inflate(cached.getContinuation()), cached.getHash());
+            }
+        }
+        
         FlowRun fr;
         try {
             fr = entryManager.findEntries(AGAMA_FLOWRUNS_BASE, FlowRun.class, frEqFilter(sessionId),
@@ -167,12 +227,17 @@ public class AgamaPersistenceService {
         }
 
         logger.debug("Restoring continuation data...");
-        byte[] cont = Base64.getDecoder().decode(fr.getEncodedContinuation());
-        
-        if (!flowUtils.hash(cont).equals(fr.getHash()))
-            throw new IOException("Serialized continuation has been altered");
+        String encoded = fr.getEncodedContinuation();
 
-        return contSerializer.restore(cont);
+        if (encoded == null) {
+            //continuation was saved in the cache, eg. before caching was turned off
+            CachedContinuation cached = getCachedContinuation(sessionId);
+            if (cached == null)
+                throw new IOException("Continuation data not found. It might have expired");
+
+            return restore(inflate(cached.getContinuation()), cached.getHash());
+        }
+        return restore(Base64.getDecoder().decode(encoded), fr.getHash());
         
     }
 
@@ -181,15 +246,16 @@ public class AgamaPersistenceService {
 
         byte[] bytes = contSerializer.save(scope, continuation);
         logger.debug("Continuation serialized ({} bytes)", bytes.length);
+        String hash = flowUtils.hash(bytes);
         
-        List<FlowRun> results = entryManager.findEntries(AGAMA_FLOWRUNS_BASE, FlowRun.class, 
-                frEqFilter(sessionId), new String[]{ FlowRun.ATTR_NAMES.ID, "exp" }, 1);
-        //The query above retrieves enough attributes so no data is lost after the
-        //update that follows below
-        
-        FlowRun run = results.get(0);
+        if (engineConfig.isCacheContinuations()) {
+            cacheState(sessionId, fst, bytes, hash);
+            return;
+        }
+
+        FlowRun run = findFlowRunForUpdate(sessionId);
         run.setEncodedContinuation(new String(Base64.getEncoder().encode(bytes), UTF_8));
-        run.setHash(flowUtils.hash(bytes));
+        run.setHash(hash);
         //overwrite status
         run.setStatus(fst);
         
@@ -198,6 +264,62 @@ public class AgamaPersistenceService {
 
     }
     
+    private void cacheState(String sessionId, FlowStatus fst, byte[] bytes, String hash)
+            throws IOException {
+
+        String statusHash = statusHash(fst);
+        CachedContinuation previous = getCachedContinuation(sessionId);
+        Date deletableAt;
+
+        if (previous == null) {
+            //first pause of this run: drop any continuation stored in the database
+            FlowRun run = findFlowRunForUpdate(sessionId);
+            deletableAt = run.getDeletableAt();
+
+            run.setEncodedContinuation(null);
+            run.setHash(null);
+            run.setStatus(fst);
+            
+            logger.debug("Saving state of current flow run");
+            entryManager.merge(run);
+        } else {
+            deletableAt = previous.getDeletableAt();
+            
+            if (!statusHash.equals(previous.getStatusHash())) {
+                ProtoFlowRun pfr = new ProtoFlowRun();
+                pfr.setBaseDn(flowRunDn(sessionId));
+                pfr.setId(sessionId);
+                pfr.setStatus(fst);
+                
+                logger.debug("Saving current flow's status");
+                entryManager.merge(pfr);
+            }
+        }
+
+        byte[] compressed = deflate(bytes);
+        logger.debug("Caching compressed continuation ({} bytes)", compressed.length);
+        cacheService.put(expirationInSeconds(deletableAt), continuationKey(sessionId),
+                new CachedContinuation(compressed, hash, statusHash, deletableAt));
+
+    }
+    
+    private FlowRun findFlowRunForUpdate(String sessionId) {
+
+        //The query retrieves enough attributes so no data is lost after an update
+        return entryManager.findEntries(AGAMA_FLOWRUNS_BASE, FlowRun.class, 
+                frEqFilter(sessionId), new String[]{ FlowRun.ATTR_NAMES.ID, "exp" }, 1).get(0);
+
+    }
+    
+    private Pair<Scriptable, NativeContinuation> restore(byte[] cont, String hash) throws IOException {
+        
+        if (!flowUtils.hash(cont).equals(hash))
+            throw new IOException("Serialized continuation has been altered");
+
+        return contSerializer.restore(cont);
+        
+    }
+    
     public void finishFlow(String sessionId, FlowResult result) throws IOException {
         
         try {
@@ -225,6 +347,7 @@ public class AgamaPersistenceService {
 
             logger.info("Marking flow run as finished...");
             entryManager.merge(run);
+            removeCachedContinuation(sessionId);
             
         } catch (Exception e) {
             throw new IOException(e);
@@ -236,14 +359,67 @@ public class AgamaPersistenceService {
         try {
             logger.info("Removing flow run...");
             entryManager.remove(AGAMA_FLOWRUNS_BASE, FlowRun.class, frEqFilter(sessionId), 1);
+            removeCachedContinuation(sessionId);
         } catch (Exception e) {
             throw new IOException(e);
         }
         
     }
     
+    private String flowRunDn(String id) {
+        return String.format("%s=%s,%s", FlowRun.ATTR_NAMES.ID, id, AGAMA_FLOWRUNS_BASE);
+    }
+    
     private Filter frEqFilter(String id) {
         return Filter.createEqualityFilter(FlowRun.ATTR_NAMES.ID, id);
     }
+    
+    private void removeCachedContinuation(String sessionId) {
+        if (engineConfig.isCacheContinuations()) {
+            cacheService.remove(continuationKey(sessionId));
+        }
+    }
+    
+    private CachedContinuation getCachedContinuation(String sessionId) {
+        Object cached = cacheService.get(continuationKey(sessionId));
+        return cached instanceof CachedContinuation ? (CachedContinuation) cached : null;
+    }
+    
+    private String statusHash(FlowStatus fst) throws IOException {
+        return DigestUtils.sha256Hex(mapper.writeValueAsBytes(fst));
+    }
+    
+    private String continuationKey(String sessionId) {
+        return CONTINUATION_KEY_PREFIX + sessionId;
+    }
+    
+    private int expirationInSeconds(Date deletableAt) {
+        
+        //cached data must live as long as the flow run does
+        long millis = deletableAt == null ? 0 : deletableAt.getTime() - System.currentTimeMillis();
+        return (int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(millis));
+        
+    }
+    
+    private byte[] deflate(byte[] bytes) throws IOException {
+        
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(bytes.length / 4);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (DeflaterOutputStream dos = new DeflaterOutputStream(baos, deflater)) {
+            dos.write(bytes);
+        } finally {
+            deflater.end();
+        }
+        return baos.toByteArray();
+        
+    }
+    
+    private byte[] inflate(byte[] bytes) throws IOException {
+        
+        try (InflaterInputStream iis = new InflaterInputStream(new ByteArrayInputStream(bytes))) {
+            return iis.readAllBytes();
+        }
+        
+    }
 
 }
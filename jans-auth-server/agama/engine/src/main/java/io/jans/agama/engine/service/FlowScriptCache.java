@@ -0,0 +1,128 @@
+package io.jans.agama.engine.service;
+
+import io.jans.agama.dsl.Transpiler;
+import io.jans.agama.model.Flow;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Script;
+import org.slf4j.Logger;
+
+/**
+ * Keeps the compiled (interpreted mode) code of flows so the same transpiled source is
+ * not parsed again every time a flow is launched. Entries are keyed by flow qname and
+ * transpiled code hash: when a flow is re-transpiled its hash changes and the stale
+ * entry is simply not used anymore. Compiled scripts hold no state and can be shared
+ * across threads; every flow run still gets a fresh scope
+ */
+@ApplicationScoped
+public class FlowScriptCache {
+
+    @Inject
+    private Logger logger;
+
+    private volatile Script utilScript;
+
+    private final Map<String, CompiledFlow> flows = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * The context passed must have been already initialized with the language version
+     * and optimization level used to run flows
+     */
+    public Script getUtilScript(Context cx) {
+
+        Script script = utilScript;
+        if (script == null) {
+            logger.debug("Compiling {}", Transpiler.UTIL_SCRIPT_NAME);
+            script = cx.compileString(Transpiler.UTIL_SCRIPT_CONTENTS, Transpiler.UTIL_SCRIPT_NAME, 1, null);
+            utilScript = script;
+        }
+        return script;
+
+    }
+
+    /**
+     * Returns the compiled code of the flow with the given name, or null if the code
+     * has not been compiled for the given hash yet
+     */
+    public Script get(String qname, String transHash) {
+
+        CompiledFlow cf = transHash == null ? null : flows.get(qname);
+        if (cf != null && cf.transHash.equals(transHash)) {
+            hits.increment();
+            return cf.script;
+        }
+        misses.increment();
+        return null;
+
+    }
+
+    /**
+     * Compiles the transpiled code of the flow passed. The result is cached only when the
+     * flow has a transpiled code hash (a null hash means transpilation is in progress)
+     */
+    public Script compile(Context cx, Flow flow, String sourceName) {
+
+        String qname = flow.getQname();
+        logger.debug("Compiling code of flow {}", qname);
+        Script script = cx.compileString(flow.getTranspiled(), sourceName, 1, null);
+
+        String hash = flow.getTransHash();
+        if (hash != null) {
+            flows.put(qname, new CompiledFlow(hash, script));
+        }
+        return script;
+
+    }
+
+    public void invalidate(String qname) {
+
+        if (flows.remove(qname) != null) {
+            logger.debug("Compiled code of flow {} was discarded", qname);
+        }
+
+    }
+
+    /**
+     * Discards compiled code of flows not found in the collection passed, e.g. flows removed
+     * from database
+     */
+    public void retainAll(Collection<String> qnames) {
+        flows.keySet().retainAll(qnames);
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return flows.size();
+    }
+
+    private static class CompiledFlow {
+
+        private final String transHash;
+        private final Script script;
+
+        CompiledFlow(String transHash, Script script) {
+            this.transHash = transHash;
+            this.script = script;
+        }
+
+    }
+
+}
@@ -4,7 +4,6 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-import io.jans.agama.dsl.Transpiler;
 import io.jans.agama.engine.continuation.PendingException;
 import io.jans.agama.engine.continuation.PendingRedirectException;
 import io.jans.agama.engine.continuation.PendingRenderException;
@@ -41,6 +40,7 @@ import org.mozilla.javascript.NativeJavaList;
 import org.mozilla.javascript.NativeJavaMap;
 import org.mozilla.javascript.NativeJavaObject;
 import org.mozilla.javascript.NativeObject;
+import org.mozilla.javascript.Script;
 import org.mozilla.javascript.Scriptable;
 import org.mozilla.javascript.Undefined;
 import org.slf4j.Logger;
@@ -62,6 +62,9 @@ public class FlowService {
     @Inject
     private AgamaPersistenceService aps;
     
+    @Inject
+    private FlowScriptCache scriptCache;
+    
     @Inject
     private FlowUtils flowUtils;
     
@@ -92,20 +95,28 @@ public class FlowService {
             String flowName = status.getQname();
             
             //retrieve the flow, execute until render/redirect is reached
-            Flow flow = aps.getFlow(flowName, true);
+            Flow flow = aps.getFlowHeader(flowName);
+            Script script = scriptCache.get(flowName, flow.getTransHash());
+
+            if (script == null) {
+                //code not compiled yet or flow was re-transpiled
+                flow = aps.getFlow(flowName, true);
+                verifyCode(flow);
+            }
             FlowMetadata fl = flow.getMetadata();
             String funcName = fl.getFuncName();
 
-            verifyCode(flow);
             logger.info("Evaluating flow code");
             
             try {
                 globalScope = initContext(scriptCtx);
-                scriptCtx.evaluateString(globalScope, Transpiler.UTIL_SCRIPT_CONTENTS,
-                        Transpiler.UTIL_SCRIPT_NAME, 1, null);
+                scriptCache.getUtilScript(scriptCtx).exec(scriptCtx, globalScope);
                 flowUtils.printScopeIds(globalScope);
                 
-                scriptCtx.evaluateString(globalScope, flow.getTranspiled(), flowName + SCRIPT_SUFFIX, 1, null);
+                if (script == null) {
+                    script = scriptCache.compile(scriptCtx, flow, flowName + SCRIPT_SUFFIX);
+                }
+                script.exec(scriptCtx, globalScope);
                 flowUtils.printScopeIds(globalScope);
 
                 logger.info("Executing function {}", funcName);
@@ -180,7 +191,14 @@ public class FlowService {
             Map<String, String> mappings) throws IOException {
 
         logger.debug("Template mappings of subflow {} are {}", subflowName, mappings);
-        Flow flow = aps.getFlow(subflowName, false);
+        Flow flow = aps.getFlowHeader(subflowName);
+        Script script = scriptCache.get(subflowName, flow.getTransHash());
+
+        if (script == null) {
+            flow = aps.getFlow(subflowName, false);
+            //code is verified before it can be cached
+            verifyCode(flow);
+        }
         FlowMetadata fl = flow.getMetadata();
         String funcName = fl.getFuncName();
 
@@ -188,7 +206,10 @@ public class FlowService {
         //strangely, scriptCtx is a bit messed at this point so initialization is required again...
         initContext(scriptCtx);
 
-        scriptCtx.evaluateString(globalScope, flow.getTranspiled(), flowCodeFileName, 1, null);
+        if (script == null) {
+            script = scriptCache.compile(scriptCtx, flow, flowCodeFileName);
+        }
+        script.exec(scriptCtx, globalScope);
         flowUtils.printScopeIds(globalScope);
 
         logger.info("Appending function {} to scope", funcName);
@@ -9,6 +9,7 @@ import io.jans.agama.dsl.TranspilerException;
 import io.jans.agama.dsl.error.SyntaxException;
 import io.jans.agama.engine.misc.FlowUtils;
 import io.jans.agama.engine.service.AgamaPersistenceService;
+import io.jans.agama.engine.service.FlowScriptCache;
 import io.jans.agama.model.Flow;
 import io.jans.agama.model.Flow.ATTR_NAMES;
 import io.jans.agama.model.FlowMetadata;
@@ -56,6 +57,9 @@ public class Transpilation {
     
     @Inject
     private FlowUtils futils;
+    
+    @Inject
+    private FlowScriptCache scriptCache;
 
     private AtomicBoolean isActive;
     
@@ -112,6 +116,7 @@ public class Transpilation {
             //remove flows that were disabled/removed wrt the previous timer run
             traces.keySet().retainAll(map.keySet());
         }
+        scriptCache.retainAll(map.keySet());
 
         List<String> candidates = new ArrayList<>();
         for (String name : map.keySet()) {
@@ -174,6 +179,7 @@ public class Transpilation {
                 
                 logger.debug("Persisting changes...");
                 entryManager.merge(fl);
+                scriptCache.invalidate(qname);
                 
             } catch (SyntaxException se) {
                 try {
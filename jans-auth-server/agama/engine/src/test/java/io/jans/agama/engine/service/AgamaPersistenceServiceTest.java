@@ -0,0 +1,166 @@
+package io.jans.agama.engine.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.jans.agama.engine.misc.FlowUtils;
+import io.jans.agama.engine.model.CachedContinuation;
+import io.jans.agama.engine.model.FlowRun;
+import io.jans.agama.engine.model.FlowStatus;
+import io.jans.agama.engine.model.ProtoFlowRun;
+import io.jans.agama.engine.serialize.ContinuationSerializer;
+import io.jans.agama.model.EngineConfig;
+import io.jans.orm.PersistenceEntryManager;
+import io.jans.orm.search.filter.Filter;
+import io.jans.service.CacheService;
+import io.jans.util.Pair;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.slf4j.Logger;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+public class AgamaPersistenceServiceTest {
+
+    private static final String SESSION_ID = "1234";
+    private static final byte[] STATE = "serialized-state".getBytes(UTF_8);
+
+    @Mock
+    private Logger logger;
+
+    @Mock
+    private PersistenceEntryManager entryManager;
+
+    @Mock
+    private ContinuationSerializer contSerializer;
+
+    @Mock
+    private FlowUtils flowUtils;
+
+    @Mock
+    private EngineConfig engineConfig;
+
+    @Mock
+    private CacheService cacheService;
+
+    @Spy
+    private ObjectMapper mapper = new ObjectMapper();
+
+    @InjectMocks
+    private AgamaPersistenceService aps;
+
+    private Map<String, Object> cache;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+
+        MockitoAnnotations.openMocks(this);
+        cache = new HashMap<>();
+
+        when(engineConfig.isCacheContinuations()).thenReturn(true);
+        when(flowUtils.hash(any(byte[].class))).thenAnswer(inv -> DigestUtils.sha256Hex((byte[]) inv.getArgument(0)));
+        when(contSerializer.save(any(), any())).thenReturn(STATE);
+        when(contSerializer.restore(any())).thenReturn(new Pair<>(null, null));
+
+        when(cacheService.get(anyString())).thenAnswer(inv -> cache.get(inv.getArgument(0)));
+        doAnswer(inv -> cache.put(inv.getArgument(1), inv.getArgument(2)))
+                .when(cacheService).put(anyInt(), anyString(), any());
+
+        FlowRun run = new FlowRun();
+        run.setId(SESSION_ID);
+        run.setDeletableAt(new Date(System.currentTimeMillis() + 60000));
+        when(entryManager.findEntries(anyString(), eq(FlowRun.class), any(Filter.class), any(String[].class), anyInt()))
+                .thenReturn(Collections.singletonList(run));
+
+    }
+
+    @Test
+    public void saveState_withCache_shouldWriteFlowRunOnlyOnFirstPauseAndStatusChange() throws IOException {
+
+        FlowStatus status = status("page1.ftlh");
+        aps.saveState(SESSION_ID, status, null, null);
+        aps.saveState(SESSION_ID, status("page1.ftlh"), null, null);
+
+        verify(entryManager, times(1)).findEntries(anyString(), eq(FlowRun.class), any(Filter.class), any(String[].class), anyInt());
+        verify(entryManager, times(1)).merge(any());
+
+        aps.saveState(SESSION_ID, status("page2.ftlh"), null, null);
+
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(entryManager, times(2)).merge(captor.capture());
+        assertEquals(captor.getValue().getClass(), ProtoFlowRun.class);
+        assertEquals(((ProtoFlowRun) captor.getValue()).getStatus().getTemplatePath(), "page2.ftlh");
+        verify(entryManager, times(1)).findEntries(anyString(), eq(FlowRun.class), any(Filter.class), any(String[].class), anyInt());
+
+    }
+
+    @Test
+    public void getContinuation_withCachedContinuation_shouldRestoreWithoutQuery() throws IOException {
+
+        aps.saveState(SESSION_ID, status("page1.ftlh"), null, null);
+        clearInvocations(entryManager);
+
+        aps.getContinuation(SESSION_ID);
+
+        ArgumentCaptor<byte[]> captor = ArgumentCaptor.forClass(byte[].class);
+        verify(contSerializer).restore(captor.capture());
+        assertEquals(captor.getValue(), STATE);
+        verifyNoInteractions(entryManager);
+
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void getContinuation_withHashMismatch_shouldFail() throws IOException {
+
+        aps.saveState(SESSION_ID, status("page1.ftlh"), null, null);
+        CachedContinuation cached = (CachedContinuation) cache.values().iterator().next();
+        cache.put(cache.keySet().iterator().next(), new CachedContinuation(cached.getContinuation(),
+                DigestUtils.sha256Hex("other-state"), cached.getStatusHash(), cached.getDeletableAt()));
+
+        aps.getContinuation(SESSION_ID);
+
+    }
+
+    @Test
+    public void getContinuation_withContinuationInDatabase_shouldFallBackToFlowRun() throws IOException {
+
+        FlowRun run = new FlowRun();
+        run.setEncodedContinuation(Base64.getEncoder().encodeToString(STATE));
+        run.setHash(DigestUtils.sha256Hex(STATE));
+        when(entryManager.findEntries(anyString(), eq(FlowRun.class), any(Filter.class), any(String[].class), anyInt()))
+                .thenReturn(Collections.singletonList(run));
+
+        aps.getContinuation(SESSION_ID);
+
+        ArgumentCaptor<byte[]> captor = ArgumentCaptor.forClass(byte[].class);
+        verify(contSerializer).restore(captor.capture());
+        assertEquals(captor.getValue(), STATE);
+
+    }
+
+    private FlowStatus status(String templatePath) {
+
+        FlowStatus status = new FlowStatus();
+        status.setQname("test.flow");
+        status.setTemplatePath(templatePath);
+        return status;
+
+    }
+
+}
@@ -0,0 +1,82 @@
+package io.jans.agama.test;
+
+import io.jans.agama.dsl.TranspilationResult;
+import io.jans.agama.dsl.Transpiler;
+
+import java.io.InputStream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Script;
+import org.mozilla.javascript.Scriptable;
+import org.testng.annotations.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import static org.testng.Assert.*;
+
+/**
+ * Compares the time spent evaluating the code of a flow upon flow start when the source
+ * is interpreted every time (previous behavior) against running the compiled script kept
+ * by FlowScriptCache. Only a fresh scope is created per iteration in the latter case
+ */
+public class FlowStartBenchmarkTest {
+
+    private static final String QNAME = "io.jans.agama.test.math";
+    private static final int ITERATIONS = 2000;
+
+    private Logger logger = LogManager.getLogger(getClass());
+
+    @Test(enabled = false) // manual
+    public void benchmark() throws Exception {
+
+        String source;
+        try (InputStream is = getClass().getClassLoader().getResourceAsStream("flows/" + QNAME)) {
+            source = new String(is.readAllBytes(), UTF_8);
+        }
+        TranspilationResult result = Transpiler.transpile(QNAME, source);
+        String code = result.getCode();
+        String sourceName = QNAME + ".js";
+
+        Context cx = Context.enter();
+        try {
+            Scriptable scope = initContext(cx);
+            Script utilScript = cx.compileString(Transpiler.UTIL_SCRIPT_CONTENTS, Transpiler.UTIL_SCRIPT_NAME, 1, null);
+            Script flowScript = cx.compileString(code, sourceName, 1, null);
+
+            for (int run = 0; run < 3; run++) {
+                long start = System.nanoTime();
+                for (int i = 0; i < ITERATIONS; i++) {
+                    scope = initContext(cx);
+                    cx.evaluateString(scope, Transpiler.UTIL_SCRIPT_CONTENTS, Transpiler.UTIL_SCRIPT_NAME, 1, null);
+                    cx.evaluateString(scope, code, sourceName, 1, null);
+                }
+                long evaluated = System.nanoTime() - start;
+                assertNotNull(scope.get(result.getFuncName(), scope));
+
+                start = System.nanoTime();
+                for (int i = 0; i < ITERATIONS; i++) {
+                    scope = initContext(cx);
+                    utilScript.exec(cx, scope);
+                    flowScript.exec(cx, scope);
+                }
+                long compiled = System.nanoTime() - start;
+                assertNotNull(scope.get(result.getFuncName(), scope));
+
+                logger.info("Run {}: evaluateString {} us/start, cached script {} us/start", run,
+                        evaluated / ITERATIONS / 1000, compiled / ITERATIONS / 1000);
+            }
+        } finally {
+            Context.exit();
+        }
+
+    }
+
+    private Scriptable initContext(Context ctx) {
+        ctx.setLanguageVersion(Context.VERSION_ES6);
+        ctx.setOptimizationLevel(-1);
+        return ctx.initStandardObjects();
+    }
+
+}
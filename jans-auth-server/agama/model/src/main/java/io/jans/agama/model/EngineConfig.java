@@ -23,6 +23,9 @@ public class EngineConfig {
     
     //transpiled code hash verification. Boolean preferred over boolean because it helps to keep the property "hidden"
     private Boolean disableTCHV;
+    
+    //keep serialized continuations in the cache instead of the database
+    private boolean cacheContinuations;
 
     private String pageMismatchErrorPage;
     private String interruptionErrorPage;
@@ -100,6 +103,14 @@ public class EngineConfig {
         this.disableTCHV = disableTCHV;
     }
 
+    public boolean isCacheContinuations() {
+        return cacheContinuations;
+    }
+
+    public void setCacheContinuations(boolean cacheContinuations) {
+        this.cacheContinuations = cacheContinuations;
+    }
+
     public String getCrashErrorPage() {
         return crashErrorPage;
     }
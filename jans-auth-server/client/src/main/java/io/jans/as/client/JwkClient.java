@@ -10,6 +10,7 @@ import io.jans.as.model.crypto.PublicKey;
 import io.jans.as.model.crypto.signature.ECDSAPublicKey;
 import io.jans.as.model.crypto.signature.RSAPublicKey;
 import io.jans.as.model.jwk.JSONWebKeySet;
+import io.jans.as.model.jwk.JwksResolver;
 import org.apache.commons.lang3.StringUtils;
 import org.jboss.resteasy.client.jaxrs.ClientHttpEngine;
 import org.json.JSONObject;
@@ -98,19 +99,8 @@ public class JwkClient extends BaseClient<JwkRequest, JwkResponse> {
     }
 
     public static RSAPublicKey getRSAPublicKey(String jwkSetUri, String keyId, ClientHttpEngine engine) {
-        RSAPublicKey publicKey = null;
-
-        JwkClient jwkClient = new JwkClient(jwkSetUri);
-        jwkClient.setExecutor(engine);
-        JwkResponse jwkResponse = jwkClient.exec();
-        if (jwkResponse != null && jwkResponse.getStatus() == 200) {
-            PublicKey pk = jwkResponse.getPublicKey(keyId);
-            if (pk instanceof RSAPublicKey) {
-                publicKey = (RSAPublicKey) pk;
-            }
-        }
-
-        return publicKey;
+        PublicKey pk = JwksResolver.instance().getPublicKey(jwkSetUri, keyId, engine);
+        return pk instanceof RSAPublicKey ? (RSAPublicKey) pk : null;
     }
 
     public static ECDSAPublicKey getECDSAPublicKey(String jwkSetUrl, String keyId) {
@@ -118,20 +108,7 @@ public class JwkClient extends BaseClient<JwkRequest, JwkResponse> {
     }
 
     public static ECDSAPublicKey getECDSAPublicKey(String jwkSetUrl, String keyId, ClientHttpEngine engine) {
-        ECDSAPublicKey publicKey = null;
-
-        JwkClient jwkClient = new JwkClient(jwkSetUrl);
-        if (engine != null) {
-            jwkClient.setExecutor(engine);
-        }
-        JwkResponse jwkResponse = jwkClient.exec();
-        if (jwkResponse != null && jwkResponse.getStatus() == 200) {
-            PublicKey pk = jwkResponse.getPublicKey(keyId);
-            if (pk instanceof ECDSAPublicKey) {
-                publicKey = (ECDSAPublicKey) pk;
-            }
-        }
-
-        return publicKey;
+        PublicKey pk = JwksResolver.instance().getPublicKey(jwkSetUrl, keyId, engine);
+        return pk instanceof ECDSAPublicKey ? (ECDSAPublicKey) pk : null;
     }
 }
\ No newline at end of file
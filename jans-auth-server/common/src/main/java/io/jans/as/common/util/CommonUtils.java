@@ -2,7 +2,7 @@ package io.jans.as.common.util;
 
 import com.google.common.base.Strings;
 import io.jans.as.common.model.registration.Client;
-import io.jans.as.model.util.JwtUtil;
+import io.jans.as.model.jwk.JwksResolver;
 import org.json.JSONObject;
 
 /**
@@ -14,8 +14,15 @@ public class CommonUtils {
     }
 
     public static JSONObject getJwks(Client client) {
+        return getJwks(client, null);
+    }
+
+    /**
+     * Returns client's jwks. If jwks is referenced by jwks_uri and doesn't contain given kid, jwks is re-fetched.
+     */
+    public static JSONObject getJwks(Client client, String keyId) {
         return Strings.isNullOrEmpty(client.getJwks())
-                ? JwtUtil.getJSONWebKeys(client.getJwksUri())
+                ? JwksResolver.instance().getJwks(client.getJwksUri(), keyId)
                 : new JSONObject(client.getJwks());
     }
 }
@@ -44,6 +44,7 @@ public class AppConfiguration implements Configuration {
     public static final int DEFAULT_STATUS_LIST_RESPONSE_JWT_LIFETIME = 600; // 10min
     public static final int DEFAULT_STATUS_LIST_BIT_SIZE = 2;
     public static final int DEFAULT_STATUS_LIST_INDEX_ALLOCATION_BLOCK_SIZE = 100;
+    public static final int DEFAULT_STATUS_LIST_CACHE_RESYNC_INTERVAL = 60; // 1min
     public static final XFrameOptions DEFAULT_X_FRAME_ORIGINS_VALUE = XFrameOptions.SAMEORIGIN;
     public static final int DEFAULT_USER_INFO_LIFETIME = 3600;
     public static final int DEFAULT_ID_JAG_LIFETIME = 300;
@@ -252,6 +253,12 @@ public class AppConfiguration implements Configuration {
     @DocProperty(description = "Specifies how many status list indexes AS can reserve at once within pool (when status_list feature flag is enabled). Defaults to 100.")
     private int statusListIndexAllocationBlockSize = DEFAULT_STATUS_LIST_INDEX_ALLOCATION_BLOCK_SIZE;
 
+    @DocProperty(description = "Specifies interval in seconds of re-synchronization of in-memory status list with persistence (picks up changes made by other nodes). Zero or negative value turns off re-synchronization. Defaults to 60.")
+    private int statusListCacheResyncIntervalInSeconds = DEFAULT_STATUS_LIST_CACHE_RESYNC_INTERVAL;
+
+    @DocProperty(description = "Specifies max-age in seconds of Cache-Control header returned by status list endpoint. Zero value means no-cache (clients have to revalidate with ETag). Defaults to 0.")
+    private int statusListResponseCacheMaxAgeInSeconds = 0;
+
     @DocProperty(description = "Specifies which attribute is used for the subject identifier claim")
     private String openidSubAttribute;
 
@@ -621,6 +628,12 @@ public class AppConfiguration implements Configuration {
     @DocProperty(description = "The days to keep metric reported data")
     private int metricReporterKeepDataDays;
 
+    @DocProperty(description = "Enable OpenMetrics endpoint (/metrics) with request, persistence and cache latency histograms", defaultValue = "false")
+    private Boolean openMetricsEnabled = false;
+
+    @DocProperty(description = "IP addresses or CIDR ranges allowed to read OpenMetrics endpoint (/metrics). Loopback addresses are always allowed")
+    private List<String> openMetricsAllowedAddresses;
+
     @DocProperty(description = "the pairwise ID type")
     private String pairwiseIdType; // persistent, algorithmic
 
@@ -2702,6 +2715,22 @@ public class AppConfiguration implements Configuration {
         this.statusListResponseJwtLifetime = statusListResponseJwtLifetime;
     }
 
+    public int getStatusListCacheResyncIntervalInSeconds() {
+        return statusListCacheResyncIntervalInSeconds;
+    }
+
+    public void setStatusListCacheResyncIntervalInSeconds(int statusListCacheResyncIntervalInSeconds) {
+        this.statusListCacheResyncIntervalInSeconds = statusListCacheResyncIntervalInSeconds;
+    }
+
+    public int getStatusListResponseCacheMaxAgeInSeconds() {
+        return statusListResponseCacheMaxAgeInSeconds;
+    }
+
+    public void setStatusListResponseCacheMaxAgeInSeconds(int statusListResponseCacheMaxAgeInSeconds) {
+        this.statusListResponseCacheMaxAgeInSeconds = statusListResponseCacheMaxAgeInSeconds;
+    }
+
     public String getStatusListResponseJwtSignatureAlgorithm() {
         return statusListResponseJwtSignatureAlgorithm;
     }
@@ -2993,6 +3022,24 @@ public class AppConfiguration implements Configuration {
         this.metricReporterKeepDataDays = metricReporterKeepDataDays;
     }
 
+    public Boolean getOpenMetricsEnabled() {
+        if (openMetricsEnabled == null) openMetricsEnabled = false;
+        return openMetricsEnabled;
+    }
+
+    public void setOpenMetricsEnabled(Boolean openMetricsEnabled) {
+        this.openMetricsEnabled = openMetricsEnabled;
+    }
+
+    public List<String> getOpenMetricsAllowedAddresses() {
+        if (openMetricsAllowedAddresses == null) openMetricsAllowedAddresses = new ArrayList<>();
+        return openMetricsAllowedAddresses;
+    }
+
+    public void setOpenMetricsAllowedAddresses(List<String> openMetricsAllowedAddresses) {
+        this.openMetricsAllowedAddresses = openMetricsAllowedAddresses;
+    }
+
     public String getPairwiseIdType() {
         return pairwiseIdType;
     }
@@ -16,6 +16,8 @@ public class RateLimitConfig {
 
     private List<RateLimitRule> rateLimitRules = new ArrayList<>();
     private boolean rateLoggingEnabled = false;
+    private boolean distributed = false;
+    private Integer distributedBatchSize;
 
     public RateLimitConfig() {
     }
@@ -35,6 +37,26 @@ public class RateLimitConfig {
         this.rateLoggingEnabled = rateLoggingEnabled;
     }
 
+    @JsonProperty("distributed")
+    public boolean isDistributed() {
+        return distributed;
+    }
+
+    @JsonProperty("distributed")
+    public void setDistributed(boolean distributed) {
+        this.distributed = distributed;
+    }
+
+    @JsonProperty("distributedBatchSize")
+    public Integer getDistributedBatchSize() {
+        return distributedBatchSize;
+    }
+
+    @JsonProperty("distributedBatchSize")
+    public void setDistributedBatchSize(Integer distributedBatchSize) {
+        this.distributedBatchSize = distributedBatchSize;
+    }
+
     @JsonProperty("rateLimitRules")
     public List<RateLimitRule> getRateLimitRules() {
         return rateLimitRules == null ? Collections.emptyList() : Collections.unmodifiableList(rateLimitRules);
@@ -50,12 +72,13 @@ public class RateLimitConfig {
         if (this == o) return true;
         if (!(o instanceof RateLimitConfig)) return false;
         RateLimitConfig that = (RateLimitConfig) o;
-        return Objects.equals(getRateLimitRules(), that.getRateLimitRules()) && rateLoggingEnabled == that.rateLoggingEnabled;
+        return Objects.equals(getRateLimitRules(), that.getRateLimitRules()) && rateLoggingEnabled == that.rateLoggingEnabled
+                && distributed == that.distributed && Objects.equals(distributedBatchSize, that.distributedBatchSize);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(getRateLimitRules(), rateLoggingEnabled);
+        return Objects.hash(getRateLimitRules(), rateLoggingEnabled, distributed, distributedBatchSize);
     }
 
     @Override
@@ -63,6 +86,8 @@ public class RateLimitConfig {
         return "RateLimitConfig{" +
                 "rateLimitRules=" + getRateLimitRules() +
                 ", rateLoggingEnabled=" + rateLoggingEnabled +
+                ", distributed=" + distributed +
+                ", distributedBatchSize=" + distributedBatchSize +
                 '}';
     }
 }
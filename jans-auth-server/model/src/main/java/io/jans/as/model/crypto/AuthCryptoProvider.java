@@ -6,6 +6,8 @@
 
 package io.jans.as.model.crypto;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Lists;
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.crypto.impl.ECDSA;
@@ -74,8 +76,11 @@ import java.security.InvalidParameterException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -95,6 +100,15 @@ public class AuthCryptoProvider extends AbstractCryptoProvider {
     private final boolean rejectNoneAlg;
     private final KeySelectionStrategy keySelectionStrategy;
 
+    // Keys recovered from keystore. Recovering PKCS12/BCFKS key decrypts it, so it's done once per alias
+    private final Map<String, CachedKey> keys = new ConcurrentHashMap<>();
+    // Selected kid by alg, use and key_ops per web keys set. Web keys set is compared by identity
+    private final Cache<JSONWebKeySet, Map<String, String>> keyIds = CacheBuilder.newBuilder().weakKeys().maximumSize(16).build();
+
+    // Signature and Mac are not thread safe but they can be reused after init
+    private final ThreadLocal<Map<String, Signature>> signatures = ThreadLocal.withInitial(HashMap::new);
+    private final ThreadLocal<Map<String, Mac>> macs = ThreadLocal.withInitial(HashMap::new);
+
     public AuthCryptoProvider() throws KeyStoreException {
         this(null, null, null);
     }
@@ -156,6 +170,7 @@ public class AuthCryptoProvider extends AbstractCryptoProvider {
     public void load() throws IOException, NoSuchAlgorithmException, CertificateException {
         try (InputStream is = new FileInputStream(keyStoreFile)) {
             keyStore.load(is, keyStoreSecret.toCharArray());
+            invalidateKeys();
             LOG.debug("Loaded keys from JKS.");
             LOG.trace("Loaded keys:" + getKeys());
         }
@@ -242,7 +257,7 @@ public class AuthCryptoProvider extends AbstractCryptoProvider {
                 return "";
             } else if (AlgorithmFamily.HMAC.equals(signatureAlgorithm.getFamily())) {
                 SecretKey secretKey = new SecretKeySpec(sharedSecret.getBytes(StandardCharsets.UTF_8), signatureAlgorithm.getAlgorithm());
-                Mac mac = Mac.getInstance(signatureAlgorithm.getAlgorithm());
+                Mac mac = getMac(signatureAlgorithm.getAlgorithm());
                 mac.init(secretKey);
                 byte[] sig = mac.doFinal(signingInput.getBytes());
                 return Base64Util.base64urlencode(sig);
@@ -256,7 +271,7 @@ public class AuthCryptoProvider extends AbstractCryptoProvider {
                     throw new IllegalStateException(error);
                 }
 
-                Signature signer = Signature.getInstance(signatureAlgorithm.getAlgorithm(), SecurityProviderUtility.getBCProvider());
+                Signature signer = getSignature(signatureAlgorithm.getAlgorithm());
                 signer.initSign(privateKey);
                 signer.update(signingInput.getBytes());
 
@@ -296,6 +311,8 @@ public class AuthCryptoProvider extends AbstractCryptoProvider {
             keyStore.deleteEntry(alias);
         } catch (KeyStoreException e) {
             throw new CryptoProviderException(e);
+        } finally {
+            invalidateKeys();
         }
         try (FileOutputStream stream = new FileOutputStream(keyStoreFile)) {
             keyStore.store(stream, keyStoreSecret.toCharArray());
@@ -327,20 +344,26 @@ public class AuthCryptoProvider extends AbstractCryptoProvider {
         if (algorithm == null || AlgorithmFamily.HMAC.equals(algorithm.getFamily())) {
             return null;
         }
+        Map<String, String> selectedKeyIds = keyIds.asMap().computeIfAbsent(jsonWebKeySet, k -> new ConcurrentHashMap<>());
+        String selectionKey = algorithm + "_" + use + "_" + keyOpsType;
+        String cachedKid = selectedKeyIds.get(selectionKey);
+        if (cachedKid != null) {
+            return cachedKid;
+        }
+
         try {
             String kid = null;
-            final List<JSONWebKey> keys = jsonWebKeySet.getKeys();
-            LOG.trace("WebKeys:" + keys.stream().map(JSONWebKey::getKid).collect(Collectors.toList()));
+            final List<JSONWebKey> webKeys = jsonWebKeySet.getKeys();
+            LOG.trace("WebKeys:" + webKeys.stream().map(JSONWebKey::getKid).collect(Collectors.toList()));
             LOG.trace("KeyStoreKeys:" + getKeys());
 
             List<JSONWebKey> keysByAlgAndUse = new ArrayList<>();
 
-            for (JSONWebKey key : keys) {
+            for (JSONWebKey key : webKeys) {
                 boolean keyOpsCondition = keyOpsType == null || (key.getKeyOpsType() == null || key.getKeyOpsType().isEmpty() || key.getKeyOpsType().contains(keyOpsType));
                 if (algorithm == key.getAlg() && (use == null || use == key.getUse()) && keyOpsCondition) {
                     kid = key.getKid();
-                    Key keyFromStore;
-                    keyFromStore = keyStore.getKey(kid, keyStoreSecret.toCharArray());
+                    CachedKey keyFromStore = getKey(kid);
                     if (keyFromStore != null) {
                         keysByAlgAndUse.add(key);
                     }
@@ -356,6 +379,10 @@ public class AuthCryptoProvider extends AbstractCryptoProvider {
             final String selectedKid = selectedKey != null ? selectedKey.getKid() : null;
             LOG.trace("Selected kid: " + selectedKid + ", keySelection Strategy: " + keySelectionStrategy);
 
+            if (selectedKid != null) {
+                selectedKeyIds.put(selectionKey, selectedKid);
+            }
+
             return selectedKid;
 
         } catch (UnrecoverableKeyException | KeyStoreException | NoSuchAlgorithmException e) {
@@ -369,14 +396,16 @@ public class AuthCryptoProvider extends AbstractCryptoProvider {
             return null;
         }
         try {
-            Key key = keyStore.getKey(alias, keyStoreSecret.toCharArray());
-            if (key == null) {
+            CachedKey cachedKey = getKey(alias);
+            if (cachedKey == null) {
                 return null;
             }
 
-            PrivateKey privateKey = (PrivateKey) key;
+            PrivateKey privateKey = (PrivateKey) cachedKey.key;
 
-            checkKeyExpiration(alias);
+            if (cachedKey.expirationTime != null) {
+                checkKeyExpiration(alias, cachedKey.expirationTime);
+            }
 
             return privateKey;
         } catch (UnrecoverableKeyException | KeyStoreException | NoSuchAlgorithmException e) {
@@ -384,6 +413,53 @@ public class AuthCryptoProvider extends AbstractCryptoProvider {
         }
     }
 
+    private CachedKey getKey(String alias) throws UnrecoverableKeyException, KeyStoreException, NoSuchAlgorithmException {
+        CachedKey cachedKey = keys.get(alias);
+        if (cachedKey != null) {
+            return cachedKey;
+        }
+
+        Key key = keyStore.getKey(alias, keyStoreSecret.toCharArray());
+        if (key == null) {
+            return null;
+        }
+
+        Certificate certificate = keyStore.getCertificate(alias);
+        Long expirationTime = certificate instanceof X509Certificate ? ((X509Certificate) certificate).getNotAfter().getTime() : null;
+
+        cachedKey = new CachedKey(key, expirationTime);
+        keys.put(alias, cachedKey);
+
+        return cachedKey;
+    }
+
+    private void invalidateKeys() {
+        keys.clear();
+        keyIds.invalidateAll();
+    }
+
+    private Signature getSignature(String algorithm) throws NoSuchAlgorithmException {
+        Map<String, Signature> threadSignatures = signatures.get();
+        Signature signature = threadSignatures.get(algorithm);
+        if (signature == null) {
+            signature = Signature.getInstance(algorithm, SecurityProviderUtility.getBCProvider());
+            threadSignatures.put(algorithm, signature);
+        }
+
+        return signature;
+    }
+
+    private Mac getMac(String algorithm) throws NoSuchAlgorithmException {
+        Map<String, Mac> threadMacs = macs.get();
+        Mac mac = threadMacs.get(algorithm);
+        if (mac == null) {
+            mac = Mac.getInstance(algorithm);
+            threadMacs.put(algorithm, mac);
+        }
+
+        return mac;
+    }
+
     public X509Certificate generateV3Certificate(KeyPair keyPair, String issuer, String signatureAlgorithm, Long expirationTime) throws CertIOException, OperatorCreationException, CertificateException {
         PrivateKey privateKey = keyPair.getPrivate();
         PublicKey publicKey = keyPair.getPublic();
@@ -544,6 +620,7 @@ public class AuthCryptoProvider extends AbstractCryptoProvider {
             keyStore.deleteEntry(oldAliasByAlgorithm);
             LOG.trace("New key: " + alias + ", deleted key: " + oldAliasByAlgorithm);
         }
+        invalidateKeys();
 
         try (FileOutputStream stream = new FileOutputStream(keyStoreFile)) {
             keyStore.store(stream, keyStoreSecret.toCharArray());
@@ -617,7 +694,7 @@ public class AuthCryptoProvider extends AbstractCryptoProvider {
         if (AlgorithmFamily.EC.equals(signatureAlgorithm.getFamily())) {
             signatureDer = ECDSA.transcodeSignatureToDER(signatureDer);
         }
-        Signature verifier = Signature.getInstance(signatureAlgorithm.getAlgorithm(), SecurityProviderUtility.getBCProvider());
+        Signature verifier = getSignature(signatureAlgorithm.getAlgorithm());
         verifier.initVerify(publicKey);
         verifier.update(signingInput.getBytes());
         try {
@@ -659,4 +736,15 @@ public class AuthCryptoProvider extends AbstractCryptoProvider {
         }
         return keyStorageType;
     }
+
+    private static class CachedKey {
+
+        private final Key key;
+        private final Long expirationTime;
+
+        CachedKey(Key key, Long expirationTime) {
+            this.key = key;
+            this.expirationTime = expirationTime;
+        }
+    }
 }
@@ -0,0 +1,412 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.as.model.jwk;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jans.as.model.crypto.PublicKey;
+import io.jans.as.model.crypto.signature.ECDSAPublicKey;
+import io.jans.as.model.crypto.signature.RSAPublicKey;
+import io.jans.as.model.crypto.signature.SignatureAlgorithm;
+import io.jans.as.model.util.JwtUtil;
+import jakarta.ws.rs.client.ClientBuilder;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import org.apache.commons.lang3.StringUtils;
+import org.jboss.resteasy.client.jaxrs.ClientHttpEngine;
+import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Resolves remote JSON Web Key Sets (client jwks_uri, issuer jwks_uri) and keeps them in memory per URI.
+ * <p>
+ * - Key sets are cached for max-age from Cache-Control response header (or default TTL if absent).
+ * "no-store" and "no-cache" responses are not cached.
+ * - Cache is bounded by number of URIs, entries are evicted after they can't be served anymore.
+ * - Concurrent misses on the same URI share one HTTP request.
+ * - Failed requests are cached for a short time, so unreachable jwks_uri doesn't add its timeout to every request.
+ * If key set was fetched before, last fetched key set is kept and served (for up to max stale time after its expiration).
+ * - If requested kid is not in the cached key set, the key set is re-fetched, but not more often than
+ * once per minimum refresh interval.
+ * - RSA and EC public keys are parsed once per fetched key set.
+ */
+public class JwksResolver {
+
+    private static final Logger log = LoggerFactory.getLogger(JwksResolver.class);
+
+    public static final int DEFAULT_TTL_IN_SECONDS = 300;
+    public static final int MAX_TTL_IN_SECONDS = 86400;
+    public static final int NEGATIVE_TTL_IN_SECONDS = 30;
+    public static final int MIN_REFRESH_INTERVAL_IN_SECONDS = 30;
+    public static final int MAX_STALE_IN_SECONDS = 3600;
+    public static final int MAX_CACHED_KEY_SETS = 1000;
+
+    private static final JwksResolver INSTANCE = new JwksResolver();
+
+    private final Cache<String, CachedJwks> cache;
+    private final Map<String, CompletableFuture<CachedJwks>> loading = new ConcurrentHashMap<>();
+
+    private final LongSupplier currentTimeMillis;
+
+    public JwksResolver() {
+        this(System::currentTimeMillis);
+    }
+
+    JwksResolver(LongSupplier currentTimeMillis) {
+        this.currentTimeMillis = currentTimeMillis;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(MAX_CACHED_KEY_SETS)
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(currentTimeMillis.getAsLong()))
+                .expireAfter(new Expiry<String, CachedJwks>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedJwks value, long currentTime) {
+                        return Math.max(0, TimeUnit.MILLISECONDS.toNanos(value.retainUntil) - currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedJwks value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedJwks value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    public static JwksResolver instance() {
+        return INSTANCE;
+    }
+
+    public JSONObject getJwks(String jwksUri) {
+        return getJwks(jwksUri, null);
+    }
+
+    /**
+     * Returns key set available by given URI or null if it can't be retrieved.
+     * Returned object is shared between callers and must not be modified.
+     */
+    public JSONObject getJwks(String jwksUri, ClientHttpEngine engine) {
+        if (StringUtils.isBlank(jwksUri)) {
+            return null;
+        }
+
+        return resolve(jwksUri, engine, false).jwks;
+    }
+
+    public JSONObject getJwks(String jwksUri, String keyId) {
+        return getJwks(jwksUri, keyId, null);
+    }
+
+    /**
+     * Returns key set available by given URI or null if it can't be retrieved.
+     * If key set doesn't contain given kid, it is re-fetched (key set might be rotated).
+     * Returned object is shared between callers and must not be modified.
+     */
+    public JSONObject getJwks(String jwksUri, String keyId, ClientHttpEngine engine) {
+        if (StringUtils.isBlank(jwksUri)) {
+            return null;
+        }
+
+        return resolve(jwksUri, keyId, engine).jwks;
+    }
+
+    public PublicKey getPublicKey(String jwksUri, String keyId) {
+        return getPublicKey(jwksUri, keyId, null);
+    }
+
+    public PublicKey getPublicKey(String jwksUri, String keyId, ClientHttpEngine engine) {
+        if (StringUtils.isBlank(jwksUri)) {
+            return null;
+        }
+
+        return resolve(jwksUri, keyId, engine).getPublicKey(keyId);
+    }
+
+    public void invalidate(String jwksUri) {
+        cache.invalidate(jwksUri);
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    private CachedJwks resolve(String jwksUri, String keyId, ClientHttpEngine engine) {
+        CachedJwks cachedJwks = resolve(jwksUri, engine, false);
+        if (keyId != null && cachedJwks.jwks != null && !cachedJwks.containsKeyId(keyId)
+                && cachedJwks.canRefresh(currentTimeMillis.getAsLong())) {
+            // Key set might be rotated
+            log.debug("Key {} is not found in cached key set of {}, refreshing it", keyId, jwksUri);
+            cachedJwks = resolve(jwksUri, engine, true);
+        }
+
+        return cachedJwks;
+    }
+
+    private CachedJwks resolve(String jwksUri, ClientHttpEngine engine, boolean forceRefresh) {
+        CachedJwks cachedJwks = cache.getIfPresent(jwksUri);
+        if (isUsable(cachedJwks, forceRefresh)) {
+            return cachedJwks;
+        }
+
+        CompletableFuture<CachedJwks> future = new CompletableFuture<>();
+        CompletableFuture<CachedJwks> existing = loading.putIfAbsent(jwksUri, future);
+        if (existing != null) {
+            // Other thread is fetching the same key set already
+            return existing.join();
+        }
+
+        try {
+            CachedJwks previous = cache.getIfPresent(jwksUri);
+            if (isUsable(previous, forceRefresh)) {
+                // Loaded by other thread in the meantime
+                future.complete(previous);
+                return previous;
+            }
+
+            cachedJwks = load(jwksUri, engine, previous);
+            if (cachedJwks.retainUntil > cachedJwks.fetchedAt) {
+                cache.put(jwksUri, cachedJwks);
+            } else {
+                cache.invalidate(jwksUri);
+            }
+            future.complete(cachedJwks);
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(jwksUri, future);
+        }
+
+        return cachedJwks;
+    }
+
+    private boolean isUsable(CachedJwks cachedJwks, boolean forceRefresh) {
+        if (cachedJwks == null) {
+            return false;
+        }
+
+        long now = currentTimeMillis.getAsLong();
+        return !cachedJwks.isExpired(now) && (!forceRefresh || !cachedJwks.canRefresh(now));
+    }
+
+    private CachedJwks load(String jwksUri, ClientHttpEngine engine, CachedJwks previous) {
+        long now = currentTimeMillis.getAsLong();
+
+        FetchResult result = null;
+        try {
+            result = fetch(jwksUri, engine);
+        } catch (Exception e) {
+            log.error("Failed to retrieve jwks from " + jwksUri, e);
+        }
+
+        if (result == null || result.jwks == null) {
+            long retryAt = now + TimeUnit.SECONDS.toMillis(NEGATIVE_TTL_IN_SECONDS);
+            if (previous != null && previous.jwks != null) {
+                log.debug("Keeping previously fetched jwks of {}", jwksUri);
+                return new CachedJwks(previous, now, retryAt);
+            }
+            return new CachedJwks(null, now, retryAt, retryAt);
+        }
+
+        long ttl = getTtlInSeconds(result.cacheControl);
+        if (ttl == 0) {
+            return new CachedJwks(result.jwks, now, now, now);
+        }
+
+        long expiresAt = now + TimeUnit.SECONDS.toMillis(ttl);
+        return new CachedJwks(result.jwks, now, expiresAt, expiresAt + TimeUnit.SECONDS.toMillis(MAX_STALE_IN_SECONDS));
+    }
+
+    /**
+     * Executes HTTP GET request. Returns result with null jwks if server responds with status other than 200.
+     */
+    protected FetchResult fetch(String jwksUri, ClientHttpEngine engine) throws Exception {
+        log.debug("Retrieving jwks {}...", jwksUri);
+
+        ClientBuilder clientBuilder = ClientBuilder.newBuilder();
+        if (engine != null) {
+            ((ResteasyClientBuilder) clientBuilder).httpEngine(engine);
+        }
+
+        jakarta.ws.rs.client.Client clientRequest = clientBuilder.build();
+        try {
+            Response clientResponse = clientRequest.target(jwksUri).request().buildGet().invoke();
+
+            int status = clientResponse.getStatus();
+            log.debug("Status: {}", status);
+            if (status != 200) {
+                return new FetchResult(null, null);
+            }
+
+            JSONObject jwks = JwtUtil.fromJson(clientResponse.readEntity(String.class));
+            log.trace("JWK: {}", jwks);
+
+            return new FetchResult(jwks, clientResponse.getHeaderString(HttpHeaders.CACHE_CONTROL));
+        } finally {
+            clientRequest.close();
+        }
+    }
+
+    static long getTtlInSeconds(String cacheControl) {
+        if (StringUtils.isBlank(cacheControl)) {
+            return DEFAULT_TTL_IN_SECONDS;
+        }
+
+        long ttl = DEFAULT_TTL_IN_SECONDS;
+        for (String directive : cacheControl.split(",")) {
+            String value = directive.trim().toLowerCase();
+            if (value.equals("no-store") || value.equals("no-cache")) {
+                return 0;
+            }
+            if (value.startsWith("max-age=")) {
+                try {
+                    ttl = Long.parseLong(StringUtils.strip(value.substring("max-age=".length()), "\""));
+                } catch (NumberFormatException e) {
+                    log.trace("Failed to parse Cache-Control max-age: {}", cacheControl);
+                }
+            }
+        }
+
+        return Math.max(0, Math.min(ttl, MAX_TTL_IN_SECONDS));
+    }
+
+    private static Map<String, PublicKey> parsePublicKeys(JSONObject jwks) {
+        if (!jwks.has(JWKParameter.JSON_WEB_KEY_SET)) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, PublicKey> publicKeys = new HashMap<>();
+        try {
+            for (JSONWebKey key : JSONWebKeySet.fromJSONObject(jwks).getKeys()) {
+                if (key.getKid() == null || key.getKty() == null) {
+                    continue;
+                }
+
+                try {
+                    switch (key.getKty()) {
+                        case RSA:
+                            publicKeys.put(key.getKid(), new RSAPublicKey(key.getN(), key.getE()));
+                            break;
+                        case EC:
+                            publicKeys.put(key.getKid(), new ECDSAPublicKey(
+                                    SignatureAlgorithm.fromString(key.getAlg().getParamName()), key.getX(), key.getY()));
+                            break;
+                        default:
+                            break;
+                    }
+                } catch (Exception e) {
+                    log.trace("Failed to parse key " + key.getKid(), e);
+                }
+            }
+        } catch (Exception e) {
+            log.debug("Failed to parse jwks", e);
+        }
+
+        return publicKeys;
+    }
+
+    public static class FetchResult {
+
+        private final JSONObject jwks;
+        private final String cacheControl;
+
+        public FetchResult(JSONObject jwks, String cacheControl) {
+            this.jwks = jwks;
+            this.cacheControl = cacheControl;
+        }
+    }
+
+    private static Set<String> parseKeyIds(JSONObject jwks) {
+        JSONArray keys = jwks.optJSONArray(JWKParameter.JSON_WEB_KEY_SET);
+        if (keys == null) {
+            return Collections.emptySet();
+        }
+
+        Set<String> keyIds = new HashSet<>();
+        for (int i = 0; i < keys.length(); i++) {
+            JSONObject key = keys.optJSONObject(i);
+            if (key != null && key.has(JWKParameter.KEY_ID)) {
+                keyIds.add(key.optString(JWKParameter.KEY_ID));
+            }
+        }
+
+        return keyIds;
+    }
+
+    private static class CachedJwks {
+
+        private final JSONObject jwks;
+        private final long fetchedAt;
+        private final long expiresAt;
+        private final long retainUntil;
+        private volatile Set<String> keyIds;
+        private volatile Map<String, PublicKey> publicKeys;
+
+        CachedJwks(JSONObject jwks, long fetchedAt, long expiresAt, long retainUntil) {
+            this.jwks = jwks;
+            this.fetchedAt = fetchedAt;
+            this.expiresAt = expiresAt;
+            this.retainUntil = retainUntil;
+        }
+
+        /**
+         * Keeps key set of previous entry after failed fetch until next retry.
+         */
+        CachedJwks(CachedJwks previous, long fetchedAt, long retryAt) {
+            this(previous.jwks, fetchedAt, retryAt, Math.max(previous.retainUntil, retryAt));
+            this.keyIds = previous.keyIds;
+            this.publicKeys = previous.publicKeys;
+        }
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+
+        boolean canRefresh(long now) {
+            return now - fetchedAt >= TimeUnit.SECONDS.toMillis(MIN_REFRESH_INTERVAL_IN_SECONDS);
+        }
+
+        boolean containsKeyId(String keyId) {
+            Set<String> ids = keyIds;
+            if (ids == null) {
+                ids = parseKeyIds(jwks);
+                keyIds = ids;
+            }
+            return ids.contains(keyId);
+        }
+
+        PublicKey getPublicKey(String keyId) {
+            if (jwks == null || keyId == null) {
+                return null;
+            }
+
+            Map<String, PublicKey> keys = publicKeys;
+            if (keys == null) {
+                keys = parsePublicKeys(jwks);
+                publicKeys = keys;
+            }
+            return keys.get(keyId);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package io.jans.as.model.crypto;
+
+import io.jans.as.model.BaseTest;
+import io.jans.as.model.crypto.signature.SignatureAlgorithm;
+import io.jans.as.model.jwk.Algorithm;
+import io.jans.as.model.jwk.JSONWebKey;
+import io.jans.as.model.jwk.JSONWebKeySet;
+import io.jans.as.model.jwk.KeyOpsType;
+import io.jans.as.model.jwk.Use;
+import io.jans.util.security.SecurityProviderUtility;
+import org.json.JSONObject;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class AuthCryptoProviderTest extends BaseTest {
+
+    private static final String KEYSTORE_SECRET = "secret";
+    private static final String DN_NAME = "CN=Jans Auth CA Certificates";
+    private static final String SIGNING_INPUT = "eyJhbGciOiJSUzI1NiJ9.eyJzdWIiOiIxMjM0NTY3ODkwIn0";
+
+    private File keyStoreDir;
+
+    @BeforeClass
+    public void setUp() throws IOException {
+        SecurityProviderUtility.installBCProvider(true);
+        keyStoreDir = Files.createTempDirectory("jans-keystore").toFile();
+    }
+
+    @AfterClass
+    public void tearDown() {
+        File[] files = keyStoreDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        keyStoreDir.delete();
+    }
+
+    @Test
+    public void sign_whenCalledSeveralTimes_shouldProduceVerifiableSignatures() throws Exception {
+        showTitle("sign_whenCalledSeveralTimes_shouldProduceVerifiableSignatures");
+        AuthCryptoProvider cryptoProvider = createCryptoProvider("sign.p12");
+
+        for (SignatureAlgorithm signatureAlgorithm : new SignatureAlgorithm[]{SignatureAlgorithm.RS256, SignatureAlgorithm.ES256}) {
+            String kid = generateKey(cryptoProvider, signatureAlgorithm.getAlg()).getString("kid");
+            assertSame(cryptoProvider.getPrivateKey(kid), cryptoProvider.getPrivateKey(kid));
+
+            for (int i = 0; i < 3; i++) {
+                String signature = cryptoProvider.sign(SIGNING_INPUT + i, kid, null, signatureAlgorithm);
+                assertTrue(cryptoProvider.verifySignature(SIGNING_INPUT + i, signature, kid, null, null, signatureAlgorithm));
+            }
+        }
+
+        String hmac = cryptoProvider.sign(SIGNING_INPUT, null, "shared_secret", SignatureAlgorithm.HS256);
+        assertEquals(cryptoProvider.sign(SIGNING_INPUT, null, "shared_secret", SignatureAlgorithm.HS256), hmac);
+        assertNotEquals(cryptoProvider.sign(SIGNING_INPUT, null, "another_secret", SignatureAlgorithm.HS256), hmac);
+    }
+
+    @Test
+    public void getKeyId_whenKeyIsRotated_shouldNotUseRemovedKey() throws Exception {
+        showTitle("getKeyId_whenKeyIsRotated_shouldNotUseRemovedKey");
+        AuthCryptoProvider cryptoProvider = createCryptoProvider("rotate.p12");
+
+        JSONObject oldKey = generateKey(cryptoProvider, Algorithm.RS256);
+        String oldKid = oldKey.getString("kid");
+        JSONWebKeySet oldKeySet = keySet(oldKey);
+
+        assertEquals(cryptoProvider.getKeyId(oldKeySet, Algorithm.RS256, Use.SIGNATURE, KeyOpsType.CONNECT), oldKid);
+        assertNotNull(cryptoProvider.getPrivateKey(oldKid));
+
+        // new key of the same algorithm replaces old one in keystore
+        JSONObject newKey = generateKey(cryptoProvider, Algorithm.RS256);
+        String newKid = newKey.getString("kid");
+
+        assertNull(cryptoProvider.getPrivateKey(oldKid));
+        assertEquals(cryptoProvider.getKeyId(keySet(oldKey, newKey), Algorithm.RS256, Use.SIGNATURE, KeyOpsType.CONNECT), newKid);
+
+        cryptoProvider.deleteKey(newKid);
+        assertNull(cryptoProvider.getPrivateKey(newKid));
+    }
+
+    @Test(enabled = false) // manual
+    public void benchmarkSignatures() throws Exception {
+        AuthCryptoProvider cryptoProvider = createCryptoProvider("benchmark.p12");
+
+        int iterations = 5000;
+        for (SignatureAlgorithm signatureAlgorithm : new SignatureAlgorithm[]{SignatureAlgorithm.RS256, SignatureAlgorithm.ES256}) {
+            JSONObject signingKey = generateKey(cryptoProvider, signatureAlgorithm.getAlg());
+            String kid = signingKey.getString("kid");
+            JSONWebKeySet keySet = keySet(generateKey(cryptoProvider, Algorithm.RS384), generateKey(cryptoProvider, Algorithm.ES384), signingKey);
+
+            for (int run = 0; run < 3; run++) {
+                // Previous flow: select kid by scanning keystore, recover key, new Signature per call
+                long start = System.nanoTime();
+                for (int i = 0; i < iterations; i++) {
+                    for (JSONWebKey key : keySet.getKeys()) {
+                        if (key.getAlg() == signatureAlgorithm.getAlg()) {
+                            cryptoProvider.getKeyStore().getKey(key.getKid(), KEYSTORE_SECRET.toCharArray());
+                        }
+                    }
+                    PrivateKey privateKey = (PrivateKey) cryptoProvider.getKeyStore().getKey(kid, KEYSTORE_SECRET.toCharArray());
+                    Signature signer = Signature.getInstance(signatureAlgorithm.getAlgorithm(), SecurityProviderUtility.getBCProvider());
+                    signer.initSign(privateKey);
+                    signer.update((SIGNING_INPUT + i).getBytes());
+                    assertNotNull(signer.sign());
+                }
+                long uncached = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                for (int i = 0; i < iterations; i++) {
+                    String selectedKid = cryptoProvider.getKeyId(keySet, signatureAlgorithm.getAlg(), Use.SIGNATURE, KeyOpsType.CONNECT);
+                    assertNotNull(cryptoProvider.sign(SIGNING_INPUT + i, selectedKid, null, signatureAlgorithm));
+                }
+                long cached = System.nanoTime() - start;
+
+                System.out.printf("Run %d, %s: uncached %d signatures/s, cached %d signatures/s%n", run, signatureAlgorithm,
+                        iterations * TimeUnit.SECONDS.toNanos(1) / uncached, iterations * TimeUnit.SECONDS.toNanos(1) / cached);
+            }
+        }
+    }
+
+    private AuthCryptoProvider createCryptoProvider(String fileName) throws Exception {
+        return new AuthCryptoProvider(new File(keyStoreDir, fileName).getAbsolutePath(), KEYSTORE_SECRET, DN_NAME);
+    }
+
+    private static JSONObject generateKey(AuthCryptoProvider cryptoProvider, Algorithm algorithm) throws Exception {
+        long expirationTime = System.currentTimeMillis() + TimeUnit.DAYS.toMillis(2);
+        return cryptoProvider.generateKey(algorithm, expirationTime);
+    }
+
+    private static JSONWebKeySet keySet(JSONObject... keys) {
+        JSONWebKeySet keySet = new JSONWebKeySet();
+        for (JSONObject key : keys) {
+            keySet.getKeys().add(JSONWebKey.fromJSONObject(key));
+        }
+        return keySet;
+    }
+}
@@ -0,0 +1,227 @@
+package io.jans.as.model.jwk;
+
+import io.jans.as.model.BaseTest;
+import io.jans.as.model.crypto.PublicKey;
+import io.jans.as.model.crypto.signature.RSAPublicKey;
+import org.jboss.resteasy.client.jaxrs.ClientHttpEngine;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class JwksResolverTest extends BaseTest {
+
+    private static final String JWKS_URI = "https://rp.example.com/jwks";
+
+    private static class TestJwksResolver extends JwksResolver {
+
+        private final AtomicInteger fetches = new AtomicInteger();
+        private volatile JSONObject jwks;
+        private volatile String cacheControl;
+        private volatile CountDownLatch latch;
+
+        TestJwksResolver(AtomicLong now) {
+            super(now::get);
+        }
+
+        @Override
+        protected FetchResult fetch(String jwksUri, ClientHttpEngine engine) throws Exception {
+            fetches.incrementAndGet();
+            if (latch != null) {
+                latch.await(5, TimeUnit.SECONDS);
+            }
+            return new FetchResult(jwks, cacheControl);
+        }
+    }
+
+    @Test
+    public void getJwks_whenCalledTwice_shouldFetchOnce() {
+        showTitle("getJwks_whenCalledTwice_shouldFetchOnce");
+        AtomicLong now = new AtomicLong(0);
+        TestJwksResolver resolver = new TestJwksResolver(now);
+        resolver.jwks = jwks("kid1");
+
+        JSONObject jwks = resolver.getJwks(JWKS_URI);
+        assertNotNull(jwks);
+        assertSame(resolver.getJwks(JWKS_URI), jwks);
+        assertEquals(resolver.fetches.get(), 1);
+
+        now.set(TimeUnit.SECONDS.toMillis(JwksResolver.DEFAULT_TTL_IN_SECONDS));
+        resolver.getJwks(JWKS_URI);
+        assertEquals(resolver.fetches.get(), 2);
+    }
+
+    @Test
+    public void getJwks_whenCacheControlIsSet_shouldHonourIt() {
+        showTitle("getJwks_whenCacheControlIsSet_shouldHonourIt");
+        AtomicLong now = new AtomicLong(0);
+        TestJwksResolver resolver = new TestJwksResolver(now);
+        resolver.jwks = jwks("kid1");
+        resolver.cacheControl = "public, max-age=10";
+
+        resolver.getJwks(JWKS_URI);
+        now.set(TimeUnit.SECONDS.toMillis(9));
+        resolver.getJwks(JWKS_URI);
+        assertEquals(resolver.fetches.get(), 1);
+
+        now.set(TimeUnit.SECONDS.toMillis(10));
+        resolver.cacheControl = "no-store";
+        resolver.getJwks(JWKS_URI);
+        resolver.getJwks(JWKS_URI);
+        assertEquals(resolver.fetches.get(), 3);
+    }
+
+    @Test
+    public void getTtlInSeconds_forVariousHeaders_shouldReturnCorrectTtl() {
+        showTitle("getTtlInSeconds_forVariousHeaders_shouldReturnCorrectTtl");
+        assertEquals(JwksResolver.getTtlInSeconds(null), JwksResolver.DEFAULT_TTL_IN_SECONDS);
+        assertEquals(JwksResolver.getTtlInSeconds("max-age=60"), 60);
+        assertEquals(JwksResolver.getTtlInSeconds("public, Max-Age=\"120\""), 120);
+        assertEquals(JwksResolver.getTtlInSeconds("max-age=abc"), JwksResolver.DEFAULT_TTL_IN_SECONDS);
+        assertEquals(JwksResolver.getTtlInSeconds("max-age=31536000"), JwksResolver.MAX_TTL_IN_SECONDS);
+        assertEquals(JwksResolver.getTtlInSeconds("max-age=60, no-cache"), 0);
+    }
+
+    @Test
+    public void getJwks_whenFetchFails_shouldCacheFailure() {
+        showTitle("getJwks_whenFetchFails_shouldCacheFailure");
+        AtomicLong now = new AtomicLong(0);
+        TestJwksResolver resolver = new TestJwksResolver(now);
+
+        assertNull(resolver.getJwks(JWKS_URI));
+        assertNull(resolver.getJwks(JWKS_URI));
+        assertEquals(resolver.fetches.get(), 1);
+
+        resolver.jwks = jwks("kid1");
+        now.set(TimeUnit.SECONDS.toMillis(JwksResolver.NEGATIVE_TTL_IN_SECONDS));
+        assertNotNull(resolver.getJwks(JWKS_URI));
+        assertEquals(resolver.fetches.get(), 2);
+    }
+
+    @Test
+    public void getPublicKey_whenKidIsUnknown_shouldRefreshNotMoreOftenThanAllowed() {
+        showTitle("getPublicKey_whenKidIsUnknown_shouldRefreshNotMoreOftenThanAllowed");
+        AtomicLong now = new AtomicLong(0);
+        TestJwksResolver resolver = new TestJwksResolver(now);
+        resolver.jwks = jwks("kid1");
+
+        PublicKey publicKey = resolver.getPublicKey(JWKS_URI, "kid1");
+        assertTrue(publicKey instanceof RSAPublicKey);
+        assertSame(resolver.getPublicKey(JWKS_URI, "kid1"), publicKey);
+
+        // rotated key is requested right after fetch
+        resolver.jwks = jwks("kid1", "kid2");
+        assertNull(resolver.getPublicKey(JWKS_URI, "kid2"));
+        assertEquals(resolver.fetches.get(), 1);
+
+        now.set(TimeUnit.SECONDS.toMillis(JwksResolver.MIN_REFRESH_INTERVAL_IN_SECONDS));
+        assertNotNull(resolver.getPublicKey(JWKS_URI, "kid2"));
+        assertNull(resolver.getPublicKey(JWKS_URI, "unknown"));
+        assertEquals(resolver.fetches.get(), 2);
+    }
+
+    @Test
+    public void getJwks_whenKidIsUnknown_shouldRefreshKeySet() {
+        showTitle("getJwks_whenKidIsUnknown_shouldRefreshKeySet");
+        AtomicLong now = new AtomicLong(0);
+        TestJwksResolver resolver = new TestJwksResolver(now);
+        resolver.jwks = jwks("kid1");
+
+        assertNotNull(resolver.getJwks(JWKS_URI, "kid1"));
+
+        resolver.jwks = jwks("kid1", "kid2");
+        now.set(TimeUnit.SECONDS.toMillis(JwksResolver.MIN_REFRESH_INTERVAL_IN_SECONDS));
+        assertEquals(resolver.getJwks(JWKS_URI, "kid1").getJSONArray(JWKParameter.JSON_WEB_KEY_SET).length(), 1);
+        assertEquals(resolver.fetches.get(), 1);
+
+        assertEquals(resolver.getJwks(JWKS_URI, "kid2").getJSONArray(JWKParameter.JSON_WEB_KEY_SET).length(), 2);
+        assertEquals(resolver.fetches.get(), 2);
+    }
+
+    @Test
+    public void getJwks_whenRefreshFails_shouldKeepLastFetchedKeySet() {
+        showTitle("getJwks_whenRefreshFails_shouldKeepLastFetchedKeySet");
+        AtomicLong now = new AtomicLong(0);
+        TestJwksResolver resolver = new TestJwksResolver(now);
+        resolver.jwks = jwks("kid1");
+
+        JSONObject jwks = resolver.getJwks(JWKS_URI);
+        assertNotNull(jwks);
+
+        // forced refresh on unknown kid fails
+        resolver.jwks = null;
+        now.set(TimeUnit.SECONDS.toMillis(JwksResolver.MIN_REFRESH_INTERVAL_IN_SECONDS));
+        assertNull(resolver.getPublicKey(JWKS_URI, "kid2"));
+        assertNotNull(resolver.getPublicKey(JWKS_URI, "kid1"));
+        assertEquals(resolver.fetches.get(), 2);
+
+        // expired key set can't be refreshed
+        now.set(TimeUnit.SECONDS.toMillis(JwksResolver.DEFAULT_TTL_IN_SECONDS));
+        assertSame(resolver.getJwks(JWKS_URI), jwks);
+        assertSame(resolver.getJwks(JWKS_URI), jwks);
+        assertEquals(resolver.fetches.get(), 3);
+
+        // last fetched key set is not served after max stale time
+        now.set(TimeUnit.SECONDS.toMillis(JwksResolver.DEFAULT_TTL_IN_SECONDS + JwksResolver.MAX_STALE_IN_SECONDS + JwksResolver.NEGATIVE_TTL_IN_SECONDS));
+        assertNull(resolver.getJwks(JWKS_URI));
+        assertEquals(resolver.fetches.get(), 4);
+    }
+
+    @Test
+    public void getJwks_whenCalledConcurrently_shouldFetchOnce() throws Exception {
+        showTitle("getJwks_whenCalledConcurrently_shouldFetchOnce");
+        TestJwksResolver resolver = new TestJwksResolver(new AtomicLong(0));
+        resolver.jwks = jwks("kid1");
+        resolver.latch = new CountDownLatch(1);
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<JSONObject>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> resolver.getJwks(JWKS_URI)));
+            }
+
+            // give all threads a chance to miss the cache
+            Thread.sleep(200);
+            resolver.latch.countDown();
+
+            for (Future<JSONObject> result : results) {
+                assertNotNull(result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(resolver.fetches.get(), 1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static JSONObject jwks(String... kids) {
+        JSONArray keys = new JSONArray();
+        for (String kid : kids) {
+            JSONObject key = new JSONObject();
+            key.put(JWKParameter.KEY_ID, kid);
+            key.put(JWKParameter.KEY_TYPE, "RSA");
+            key.put(JWKParameter.KEY_USE, "sig");
+            key.put(JWKParameter.ALGORITHM, "RS256");
+            key.put(JWKParameter.MODULUS, "0vx7agoebGcQSuuPiLJXZptN9nndrQmbXEps2aiAFbWhM78LhWx4cbbfAAtVT86zwu1RK7aPFFxuhDR1L6tSoc_BJECPebWKRXjBZCiFV4n3oknjhMstn64tZ_2W-5JsGY4Hc5n9yBXArwl93lqt7_RN5w6Cf0h4QyQ5v-65YGjQR0_FDW2QvzqY368QQMicAtaSqzs8KJZgnYb9c7d0zgdAZHzu6qMQvRL5hajrn1n91CbOpbISD08qNLyrdkt-bFTWhAI4vMQFh6WeZu0fM4lFd2NcRwr3XPksINHaQ-G_xBniIqbw0Ls1jF44-csFCur-kEgU8awapJzKnqDKgw");
+            key.put(JWKParameter.EXPONENT, "AQAB");
+            keys.put(key);
+        }
+        return new JSONObject().put(JWKParameter.JSON_WEB_KEY_SET, keys);
+    }
+}
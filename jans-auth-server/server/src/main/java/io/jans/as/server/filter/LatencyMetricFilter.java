@@ -0,0 +1,27 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.as.server.filter;
+
+import io.jans.as.server.service.MetricService;
+import io.jans.service.metric.http.BaseLatencyMetricFilter;
+import jakarta.inject.Inject;
+import jakarta.servlet.annotation.WebFilter;
+
+/**
+ * Records request processing time per endpoint in latency metrics
+ */
+@WebFilter(filterName = "LatencyMetricFilter", asyncSupported = true, urlPatterns = {"/*"})
+public class LatencyMetricFilter extends BaseLatencyMetricFilter {
+
+    @Inject
+    private MetricService metricService;
+
+    @Override
+    protected MetricService getMetricService() {
+        return metricService;
+    }
+}
@@ -193,7 +193,7 @@ public class ClientAssertion {
 
         // Validate the crypto segment
         String keyId = jwt.getHeader().getKeyId();
-        JSONObject jwks = CommonUtils.getJwks(client);
+        JSONObject jwks = CommonUtils.getJwks(client, keyId);
         boolean validSignature = cryptoProvider.verifySignature(jwt.getSigningInput(), jwt.getEncodedSignature(),
                 keyId, jwks, clientSecret, signatureAlgorithm);
 
@@ -0,0 +1,85 @@
+package io.jans.as.server.rate;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Cluster-wide rate limiter based on fixed window counters kept in shared cache (Redis).
+ * <p>
+ * To avoid a round trip per request each node leases a batch of tokens from the shared counter
+ * and consumes it locally. Tokens leased by a node but not used are lost for other nodes in the
+ * same window, so the batch size trades accuracy for number of cache calls.
+ */
+public class DistributedRateLimiter {
+
+    private static final String KEY_PREFIX = "rate_limit_";
+
+    @FunctionalInterface
+    public interface Counter {
+        long incrementBy(String key, long delta, int expirationInSeconds);
+    }
+
+    private final Counter counter;
+    private final LongSupplier currentTimeMillis;
+
+    private final Cache<String, Lease> leases = CacheBuilder.newBuilder()
+            .expireAfterAccess(2, TimeUnit.MINUTES)
+            .build();
+
+    public DistributedRateLimiter(Counter counter) {
+        this(counter, System::currentTimeMillis);
+    }
+
+    DistributedRateLimiter(Counter counter, LongSupplier currentTimeMillis) {
+        this.counter = counter;
+        this.currentTimeMillis = currentTimeMillis;
+    }
+
+    public boolean tryAcquire(String key, int requestLimit, int periodInSeconds, int batchSize) {
+        long window = currentTimeMillis.getAsLong() / TimeUnit.SECONDS.toMillis(periodInSeconds);
+
+        Lease lease = leases.asMap().computeIfAbsent(key, k -> new Lease());
+        synchronized (lease) {
+            if (lease.window != window) {
+                lease.window = window;
+                lease.available = 0;
+                lease.exhausted = false;
+            }
+
+            if (lease.available > 0) {
+                lease.available--;
+                return true;
+            }
+            if (lease.exhausted) {
+                return false;
+            }
+
+            int batch = Math.max(1, Math.min(batchSize, requestLimit));
+            // Counter outlives window a bit to tolerate clock skew between nodes
+            long total = counter.incrementBy(KEY_PREFIX + key + "_" + window, batch, periodInSeconds + 1);
+            long granted = Math.min(batch, requestLimit - (total - batch));
+
+            lease.exhausted = total >= requestLimit;
+            if (granted <= 0) {
+                return false;
+            }
+
+            lease.available = granted - 1;
+            return true;
+        }
+    }
+
+    public static int getDefaultBatchSize(int requestLimit) {
+        // 10% of limit keeps error small for typical rules
+        return Math.max(1, requestLimit / 10);
+    }
+
+    private static class Lease {
+        private long window = -1;
+        private long available;
+        private boolean exhausted;
+    }
+}
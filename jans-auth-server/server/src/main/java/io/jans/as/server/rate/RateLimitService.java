@@ -14,6 +14,7 @@ import io.jans.as.model.error.ErrorResponseFactory;
 import io.jans.as.model.exception.InvalidJwtException;
 import io.jans.as.model.jwt.Jwt;
 import io.jans.as.model.util.Pair;
+import io.jans.service.CacheService;
 import io.jans.service.cdi.event.ConfigurationUpdate;
 import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -54,11 +55,15 @@ public class RateLimitService {
     @Inject
     private ErrorResponseFactory errorResponseFactory;
 
+    @Inject
+    private CacheService cacheService;
+
     private final Cache<String, Bucket> buckets = CacheBuilder.newBuilder()
             .expireAfterWrite(2, TimeUnit.MINUTES)
             //.weakKeys()
             .build();
     private RateLimitConfig rateLimitConfiguration;
+    private DistributedRateLimiter distributedRateLimiter;
 
     public HttpServletRequest validateRateLimit(HttpServletRequest httpRequest) throws RateLimitedException, IOException {
         // if rate_limit flag is disabled immediately return
@@ -93,15 +98,10 @@ public class RateLimitService {
 
             // if key is too long -> hash it to reduce amount of space it takes in memory
             key = saveSpaceIfNeeded(key);
-            try {
-                Bucket bucket = buckets.get(key, () -> newBucket(requestLimit, periodLimit));
-                if (!bucket.tryConsume(1)) {
-                    String msg = String.format("Rate limited '%s'. Exceeds limit %s requests per %s seconds. Key: %s", requestPath, requestLimit, periodLimit, key);
-                    log.debug(msg);
-                    throw new RateLimitedException(msg);
-                }
-            } catch (ExecutionException e) {
-                log.error(e.getMessage(), e);
+            if (!tryConsume(key, requestLimit, periodLimit)) {
+                String msg = String.format("Rate limited '%s'. Exceeds limit %s requests per %s seconds. Key: %s", requestPath, requestLimit, periodLimit, key);
+                log.debug(msg);
+                throw new RateLimitedException(msg);
             }
         }
 
@@ -112,6 +112,32 @@ public class RateLimitService {
         return httpRequest;
     }
 
+    private boolean tryConsume(String key, int requestLimit, int periodLimit) {
+        if (isDistributed()) {
+            Integer batchSize = rateLimitConfiguration.getDistributedBatchSize();
+            if (batchSize == null || batchSize <= 0) {
+                batchSize = DistributedRateLimiter.getDefaultBatchSize(requestLimit);
+            }
+
+            try {
+                return distributedRateLimiter.tryAcquire(key, requestLimit, periodLimit, batchSize);
+            } catch (Exception e) {
+                log.warn("Failed to apply distributed rate limit, falling back to local one. Key: {}, error: {}", key, e.getMessage());
+            }
+        }
+
+        try {
+            return buckets.get(key, () -> newBucket(requestLimit, periodLimit)).tryConsume(1);
+        } catch (ExecutionException e) {
+            log.error(e.getMessage(), e);
+            return true;
+        }
+    }
+
+    private boolean isDistributed() {
+        return rateLimitConfiguration.isDistributed() && cacheService != null && cacheService.isAtomicCounterSupported();
+    }
+
     public static @NotNull String saveSpaceIfNeeded(String key) {
         if (key.length() > KEY_LENGTH_LIMIT_FOR_DIGEST) {
             key = DigestUtils.sha256Hex(key);
@@ -249,6 +275,7 @@ public class RateLimitService {
 
     @PostConstruct
     public void init() {
+        distributedRateLimiter = new DistributedRateLimiter((key, delta, expiration) -> cacheService.incrementBy(key, delta, expiration));
         updateConfiguration(appConfiguration);
     }
 
@@ -258,6 +285,8 @@ public class RateLimitService {
 
             if (rateLimitConfiguration == null) {
                 log.info("Rate limiting is not configured.");
+            } else if (rateLimitConfiguration.isDistributed() && (cacheService == null || !cacheService.isAtomicCounterSupported())) {
+                log.warn("Distributed rate limiting requires REDIS cache provider. Rate limits are applied per node.");
             }
         } catch (Exception e) {
             log.error(e.getMessage(), e);
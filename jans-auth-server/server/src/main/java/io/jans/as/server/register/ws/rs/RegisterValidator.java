@@ -227,7 +227,7 @@ public class RegisterValidator {
     @Nullable
     private JSONObject getJwks(HttpServletRequest httpRequest, Jwt jwt, String jwksUri, String jwksStr) {
         if (StringUtils.isNotBlank(jwksUri)) {
-            return uriService.loadJson(jwksUri);
+            return uriService.loadJwks(jwksUri, jwt.getHeader().getKeyId());
         }
 
         if (StringUtils.isNotBlank(jwksStr)) {
@@ -351,7 +351,7 @@ public class RegisterValidator {
 
             JSONObject jwks = Strings.isNullOrEmpty(jwksUriClaim) ?
                     null :
-                    uriService.loadJson(jwksUriClaim);
+                    uriService.loadJwks(jwksUriClaim, softwareStatement.getHeader().getKeyId());
             if (jwks == null && StringUtils.isNotBlank(jwksClaim)) {
                 jwks = new JSONObject(jwksClaim);
             }
@@ -114,7 +114,7 @@ public class SsaValidationConfigService {
 
     private boolean isSignatureValid(Jwt jwt, SsaValidationConfig config) {
         try {
-            JSONObject jwks = loadJwks(config);
+            JSONObject jwks = loadJwks(config, jwt.getHeader().getKeyId());
             if (jwks == null || jwks.isEmpty()) {
                 log.error("Unable to load jwks for ssaValidationConfig: {}", config);
                 return false;
@@ -130,10 +130,10 @@ public class SsaValidationConfigService {
         return false;
     }
 
-    private JSONObject loadJwks(SsaValidationConfig config) {
+    private JSONObject loadJwks(SsaValidationConfig config, String keyId) {
         JSONObject jwks = null;
         if (StringUtils.isNotBlank(config.getJwksUri())) {
-            jwks = uriService.loadJson(config.getJwksUri());
+            jwks = uriService.loadJwks(config.getJwksUri(), keyId);
         }
 
         if (jwks == null && StringUtils.isNotBlank(config.getJwks())) {
@@ -144,7 +144,7 @@ public class SsaValidationConfigService {
             final JSONObject responseJson = uriService.loadJson(config.getConfigurationEndpoint());
             final String jwksEndpoint = responseJson.optString(config.getConfigurationEndpointClaim());
             if (StringUtils.isNotBlank(jwksEndpoint)) {
-                jwks = uriService.loadJson(jwksEndpoint);
+                jwks = uriService.loadJwks(jwksEndpoint, keyId);
             }
         }
         return jwks;
@@ -22,6 +22,7 @@ import io.jans.as.server.service.logger.LoggerService;
 import io.jans.as.server.service.stat.StatService;
 import io.jans.as.server.service.stat.StatTimer;
 import io.jans.as.server.service.status.ldap.LdapStatusTimer;
+import io.jans.as.server.service.token.StatusListCacheTimer;
 import io.jans.config.GluuConfiguration;
 import io.jans.config.IDPAuthConf;
 import io.jans.exception.ConfigurationException;
@@ -170,6 +171,9 @@ public class AppInitializer {
     @Inject
     private ExpirationNotificatorTimer expirationNotificatorTimer;
 
+    @Inject
+    private StatusListCacheTimer statusListCacheTimer;
+
     @Inject
     private CustomLibrariesLoader customLibrariesLoader;
 
@@ -262,6 +266,7 @@ public class AppInitializer {
         keyGeneratorTimer.initTimer();
         statTimer.initTimer();
         expirationNotificatorTimer.initTimer();
+        statusListCacheTimer.initTimer();
 
         // Initialize Document Store Manager
         documentStoreManager.initTimer(Arrays.asList(DOCUMENT_STORE_MANAGER_JANS_AUTH_TYPE));
@@ -0,0 +1,27 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.as.server.service;
+
+import io.jans.service.metric.cache.BaseCacheLatencyListener;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Records duration of cache operations in latency metrics
+ */
+@ApplicationScoped
+public class CacheLatencyListener extends BaseCacheLatencyListener {
+
+    @Inject
+    private MetricService metricService;
+
+    @Override
+    protected MetricService getMetricService() {
+        return metricService;
+    }
+
+}
@@ -22,6 +22,8 @@ import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
 
+import java.util.List;
+
 /**
  * Store and retrieve metric
  *
@@ -74,6 +76,16 @@ public class MetricService extends io.jans.service.metric.MetricService {
         return appConfiguration.isFeatureEnabled(FeatureFlagType.METRIC);
     }
 
+    @Override
+    public boolean isLatencyMetricsEnabled() {
+        return appConfiguration.getOpenMetricsEnabled();
+    }
+
+    @Override
+    public List<String> getOpenMetricsAllowedAddresses() {
+        return appConfiguration.getOpenMetricsAllowedAddresses();
+    }
+
     @Override
     public String getString() {
         return ApplicationType.OX_AUTH.getValue();
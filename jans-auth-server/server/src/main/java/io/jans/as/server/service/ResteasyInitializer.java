@@ -33,6 +33,7 @@ import io.jans.as.server.token.ws.rs.TokenRestWebServiceImpl;
 import io.jans.as.server.uma.ws.rs.*;
 import io.jans.as.server.userinfo.ws.rs.UserInfoRestWebServiceImpl;
 import io.jans.as.server.ws.rs.stat.StatWS;
+import io.jans.service.metric.http.LatencyMetricEndpointFilter;
 import jakarta.ws.rs.ApplicationPath;
 import jakarta.ws.rs.core.Application;
 
@@ -92,6 +93,9 @@ public class ResteasyInitializer extends Application {
 
         classes.add(SsaRestWebServiceImpl.class);
 
+        // Providers
+        classes.add(LatencyMetricEndpointFilter.class);
+
         return classes;
     }
 
@@ -194,6 +194,7 @@ public abstract class AbstractStatusIndexPoolService<T extends AbstractIndexPool
             // if lock is ours do data update and release lock
             if (LOCK_KEY.equals(loadedPool.getLockKey())) {
                 log.debug("{} Updated pool {} with lock with attempt {}, lockKey: {}", logPrefix, loadedPool.getId(), attempt, LOCK_KEY);
+                onPoolUpdated(loadedPool, indexes, status);
                 return loadedPool;
             } else {
                 log.debug("{} Failed to update pool {} with lock {} with attempt {}", logPrefix, loadedPool.getId(), LOCK_KEY, attempt);
@@ -332,6 +333,17 @@ public abstract class AbstractStatusIndexPoolService<T extends AbstractIndexPool
 
     public abstract String logPrefix();
 
+    /**
+     * Called after pool data is successfully persisted with new status at given indexes.
+     *
+     * @param pool    updated pool
+     * @param indexes indexes
+     * @param status  new status
+     */
+    protected void onPoolUpdated(T pool, List<Integer> indexes, TokenStatus status) {
+        // by default nothing to do
+    }
+
     public String createDn(int id) {
         String baseDn = baseDn();
         return String.format("jansNum=%d,%s", id, baseDn);
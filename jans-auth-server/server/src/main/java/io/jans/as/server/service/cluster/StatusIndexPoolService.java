@@ -8,6 +8,7 @@ package io.jans.as.server.service.cluster;
 
 import io.jans.as.model.config.StaticConfiguration;
 import io.jans.as.model.configuration.AppConfiguration;
+import io.jans.as.server.service.token.StatusListCacheService;
 import io.jans.as.server.service.token.StatusListIndexService;
 import io.jans.model.token.StatusIndexPool;
 import io.jans.model.tokenstatus.TokenStatus;
@@ -47,6 +48,13 @@ public class StatusIndexPoolService extends AbstractStatusIndexPoolService<Statu
         indexService.updateStatusAtIndexes(enumerateAllIndexes, TokenStatus.VALID);
     }
 
+    @Override
+    protected void onPoolUpdated(StatusIndexPool pool, List<Integer> indexes, TokenStatus status) {
+        // keep node local status list in sync without reloading of all pools
+        StatusListCacheService cacheService = CdiUtil.bean(StatusListCacheService.class);
+        cacheService.applyUpdate(indexes, status);
+    }
+
     @Override
     public String logPrefix() {
         return "[TokenIndex] - ";
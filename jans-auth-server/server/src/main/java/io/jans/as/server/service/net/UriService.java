@@ -1,7 +1,7 @@
 package io.jans.as.server.service.net;
 
 import io.jans.as.model.configuration.AppConfiguration;
-import io.jans.as.model.util.JwtUtil;
+import io.jans.as.model.jwk.JwksResolver;
 import io.jans.as.model.util.URLPatternList;
 import jakarta.ejb.Stateless;
 import jakarta.inject.Inject;
@@ -63,6 +63,17 @@ public class UriService {
             log.debug("Unable to call external uri: {}, externalUriWhiteList: {}", uri, appConfiguration.getExternalUriWhiteList());
             return null;
         }
-        return JwtUtil.getJSONWebKeys(uri);
+        return JwksResolver.instance().getJwks(uri);
+    }
+
+    /**
+     * Loads jwks by uri. If loaded jwks doesn't contain given kid, it is re-fetched (keys might be rotated).
+     */
+    public JSONObject loadJwks(String uri, String keyId) {
+        if (!isExternalUriWhitelisted(uri)) {
+            log.debug("Unable to call external uri: {}, externalUriWhiteList: {}", uri, appConfiguration.getExternalUriWhiteList());
+            return null;
+        }
+        return JwksResolver.instance().getJwks(uri, keyId);
     }
 }
@@ -0,0 +1,104 @@
+package io.jans.as.server.service.stat;
+
+import net.agkn.hll.HLL;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects statistic of one month without contention on hot path.
+ * <p>
+ * Token counters are kept in striped LongAdder's, active users are recorded into per-stripe HLL sketches.
+ * Everything is merged with data loaded from persistence only on flush.
+ */
+public class StatCollector {
+
+    private static final int MAX_STRIPES = 32;
+
+    private final String month;
+    private final HLL baseHll;
+    private final Map<String, Map<String, Long>> baseTokenCounters;
+
+    private final ConcurrentMap<String, ConcurrentMap<String, LongAdder>> tokenCounters = new ConcurrentHashMap<>();
+    private final HLL[] hllStripes;
+    private final int stripeMask;
+
+    public StatCollector(String month, HLL baseHll, Map<String, Map<String, Long>> baseTokenCounters) {
+        this.month = month;
+        this.baseHll = baseHll;
+        this.baseTokenCounters = baseTokenCounters != null ? baseTokenCounters : new HashMap<>();
+
+        final int stripes = stripeCount(Runtime.getRuntime().availableProcessors());
+        this.stripeMask = stripes - 1;
+        this.hllStripes = new HLL[stripes];
+        for (int i = 0; i < stripes; i++) {
+            hllStripes[i] = new HLL(StatService.LOG_2_M, StatService.REGWIDTH);
+        }
+    }
+
+    static int stripeCount(int processors) {
+        int stripes = 1;
+        while (stripes < processors && stripes < MAX_STRIPES) {
+            stripes <<= 1;
+        }
+        return stripes;
+    }
+
+    public String getMonth() {
+        return month;
+    }
+
+    public void reportToken(String grantType, String tokenKey) {
+        ConcurrentMap<String, LongAdder> tokenMap = tokenCounters.get(grantType);
+        if (tokenMap == null) {
+            tokenMap = tokenCounters.computeIfAbsent(grantType, k -> new ConcurrentHashMap<>());
+        }
+
+        LongAdder counter = tokenMap.get(tokenKey);
+        if (counter == null) {
+            counter = tokenMap.computeIfAbsent(tokenKey, k -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    public void reportActiveUser(long rawValue) {
+        final HLL stripe = hllStripes[(int) Thread.currentThread().getId() & stripeMask];
+        synchronized (stripe) {
+            stripe.addRaw(rawValue);
+        }
+    }
+
+    /**
+     * @return token counters loaded from persistence plus everything reported since then
+     */
+    public Map<String, Map<String, Long>> snapshotTokenCounters() {
+        Map<String, Map<String, Long>> result = new HashMap<>();
+        for (Map.Entry<String, Map<String, Long>> entry : baseTokenCounters.entrySet()) {
+            result.put(entry.getKey(), new HashMap<>(entry.getValue()));
+        }
+
+        for (Map.Entry<String, ConcurrentMap<String, LongAdder>> entry : tokenCounters.entrySet()) {
+            final Map<String, Long> tokenMap = result.computeIfAbsent(entry.getKey(), k -> new HashMap<>());
+            for (Map.Entry<String, LongAdder> counter : entry.getValue().entrySet()) {
+                tokenMap.merge(counter.getKey(), counter.getValue().sum(), Long::sum);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return HLL loaded from persistence merged with all stripes
+     */
+    public HLL snapshotHll() {
+        final HLL result = HLL.fromBytes(baseHll.toBytes());
+        for (HLL stripe : hllStripes) {
+            synchronized (stripe) {
+                result.union(stripe);
+            }
+        }
+        return result;
+    }
+}
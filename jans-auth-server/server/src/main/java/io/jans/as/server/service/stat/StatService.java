@@ -19,10 +19,13 @@ import net.agkn.hll.HLL;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 
-import java.text.SimpleDateFormat;
-import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Set;
+import java.util.UUID;
 
 /**
  * @author Yuriy Zabrovarnyy
@@ -33,8 +36,8 @@ import java.util.concurrent.ConcurrentMap;
 public class StatService {
 
     // January - 202001, December - 202012
-    private static final int REGWIDTH = 5;
-    private static final int LOG_2_M = 15;
+    static final int REGWIDTH = 5;
+    static final int LOG_2_M = 15;
 
     public static final String ACCESS_TOKEN_KEY = "access_token";
     public static final String ID_TOKEN_KEY = "id_token";
@@ -56,9 +59,9 @@ public class StatService {
 
     private String nodeId;
     private StatEntry currentEntry;
-    private HLL hll;
-    private ConcurrentMap<String, Map<String, Long>> tokenCounters;
-    private final SimpleDateFormat periodDateFormat = new SimpleDateFormat("yyyyMM");
+    private volatile StatCollector collector;
+    private volatile long collectorValidUntil;
+    private final DateTimeFormatter periodDateFormat = DateTimeFormatter.ofPattern("yyyyMM");
 
     private boolean initialized = false;
 
@@ -110,22 +113,27 @@ public class StatService {
         initNodeId();
         setupCurrentEntry();
 
-        final Stat stat = currentEntry.getStat();
-        stat.setTokenCountPerGrantType(tokenCounters);
+        final StatEntry entry;
+        final StatCollector localCollector;
+        synchronized (this) {
+            entry = currentEntry;
+            localCollector = collector;
+        }
+
+        final Stat stat = entry.getStat();
+        stat.setTokenCountPerGrantType(localCollector.snapshotTokenCounters());
         stat.setLastUpdatedAt(System.currentTimeMillis());
 
-        synchronized (hll) {
-            currentEntry.setUserHllData(Base64.getEncoder().encodeToString(hll.toBytes()));
-        }
+        entry.setUserHllData(Base64.getEncoder().encodeToString(localCollector.snapshotHll().toBytes()));
 
-        log.trace("Updating entry dn {}", currentEntry.getDn());
-        entryManager.merge(currentEntry);
+        log.trace("Updating entry dn {}", entry.getDn());
+        entryManager.merge(entry);
 
         log.trace("Finished updateStat.");
     }
 
     public String currentMonth() {
-        return periodDateFormat.format(new Date());
+        return periodDateFormat.format(YearMonth.now());
     }
 
     public String currentMonthDn() {
@@ -134,7 +142,7 @@ public class StatService {
         return String.format("ou=%s,%s", month, baseDn);
     }
 
-    private void setupCurrentEntry() {
+    private synchronized void setupCurrentEntry() {
         String currentMonth = currentMonth();
         String dn = String.format("jansId=%s,%s", nodeId, currentMonthDn()); // jansId=<id>,ou=yyyyMM,ou=stat,o=gluu
         log.trace("Stat entry dn: {}", dn);
@@ -151,8 +159,8 @@ public class StatService {
         try {
             StatEntry entryFromPersistence = entryManager.find(StatEntry.class, dn);
             if (entryFromPersistence != null && currentMonth.equals(entryFromPersistence.getStat().getMonth())) {
-                hll = HLL.fromBytes(Base64.getDecoder().decode(entryFromPersistence.getUserHllData()));
-                tokenCounters = new ConcurrentHashMap<>(entryFromPersistence.getStat().getTokenCountPerGrantType());
+                final HLL hll = HLL.fromBytes(Base64.getDecoder().decode(entryFromPersistence.getUserHllData()));
+                setCollector(new StatCollector(currentMonth, hll, entryFromPersistence.getStat().getTokenCountPerGrantType()));
                 currentEntry = entryFromPersistence;
                 log.trace("Stat entry {} loaded.", dn);
                 if (StringUtils.isBlank(currentEntry.getMonth()) && currentEntry.getStat() != null) {
@@ -167,8 +175,8 @@ public class StatService {
         }
 
         log.trace("Creating stat entry ...");
-        hll = newHll();
-        tokenCounters = new ConcurrentHashMap<>();
+        final HLL hll = newHll();
+        setCollector(new StatCollector(currentMonth, hll, new HashMap<>()));
 
         currentEntry = new StatEntry();
         currentEntry.setId(nodeId);
@@ -181,6 +189,24 @@ public class StatService {
         log.trace("Created stat entry.");
     }
 
+    private void setCollector(StatCollector newCollector) {
+        collector = newCollector;
+        collectorValidUntil = YearMonth.now().plusMonths(1).atDay(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Returns collector of current month. Persistence is touched only when month is changed.
+     */
+    private StatCollector currentCollector() {
+        final StatCollector local = collector;
+        if (local != null && System.currentTimeMillis() < collectorValidUntil) {
+            return local;
+        }
+
+        setupCurrentEntry();
+        return collector;
+    }
+
     public HLL newHll() {
         return new HLL(LOG_2_M, REGWIDTH);
     }
@@ -262,10 +288,7 @@ public class StatService {
 
         final int hashCode = id.hashCode();
         try {
-            setupCurrentEntry();
-            synchronized (hll) {
-                hll.addRaw(hashCode);
-            }
+            currentCollector().reportActiveUser(hashCode);
         } catch (Exception e) {
             log.error("Failed to report active user, id: " + id + ", hash: " + hashCode, e);
         }
@@ -300,22 +323,10 @@ public class StatService {
         if (grantType == null || tokenKey == null) {
             return;
         }
-        if (tokenCounters == null) {
-            log.error("Stat service is not initialized.");
-            return;
-        }
-
-        Map<String, Long> tokenMap = tokenCounters.computeIfAbsent(grantType.getValue(), k -> new ConcurrentHashMap<>());
-
-        Long counter = tokenMap.get(tokenKey);
-
-        if (counter == null) {
-            counter = 1L;
-        } else {
-            counter++;
+        try {
+            currentCollector().reportToken(grantType.getValue(), tokenKey);
+        } catch (Exception e) {
+            log.error("Failed to report token, grantType: " + grantType + ", tokenKey: " + tokenKey, e);
         }
-
-        tokenMap.put(tokenKey, counter);
-
     }
 }
\ No newline at end of file
@@ -0,0 +1,205 @@
+package io.jans.as.server.service.token;
+
+import io.jans.as.model.configuration.AppConfiguration;
+import io.jans.as.server.service.cluster.StatusIndexPoolService;
+import io.jans.model.token.StatusIndexPool;
+import io.jans.model.tokenstatus.StatusList;
+import io.jans.model.tokenstatus.TokenStatus;
+import io.jans.util.Pair;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Node local materialized status list.
+ * <p>
+ * Status list is loaded from all pools once and then is updated incrementally on each local index status change.
+ * Changes made by other nodes are picked up by periodic re-synchronization with persistence (see StatusListCacheTimer).
+ * Encoded representation is built only once per status list version.
+ */
+@ApplicationScoped
+public class StatusListCacheService {
+
+    @Inject
+    private Logger log;
+
+    @Inject
+    private AppConfiguration appConfiguration;
+
+    @Inject
+    private StatusIndexPoolService statusIndexPoolService;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // guarded by lock
+    private StatusList statusList;
+    private long version;
+    private List<Pair<List<Integer>, TokenStatus>> pendingUpdates;
+    private CompletableFuture<Void> resyncInProgress;
+
+    private volatile EncodedStatusList encoded;
+
+    /**
+     * Applies status change to materialized status list. Must be called only after change is persisted.
+     *
+     * @param indexes indexes
+     * @param status  status
+     */
+    public void applyUpdate(List<Integer> indexes, TokenStatus status) {
+        if (indexes == null || indexes.isEmpty() || status == null) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            if (pendingUpdates != null) {
+                // re-sync is in progress, updates will be re-applied on top of loaded status list
+                pendingUpdates.add(new Pair<>(new ArrayList<>(indexes), status));
+            }
+            if (statusList == null) {
+                return; // not loaded yet, it will be loaded with all changes on first request
+            }
+
+            for (Integer index : indexes) {
+                statusList.set(index, status.getValue());
+            }
+            version++;
+
+            log.trace("Applied status {} at indexes {} to status list, version {}", status, indexes, version);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reloads status list from all pools. If re-sync is already in progress waits for it instead of starting another one.
+     */
+    public void resync() {
+        CompletableFuture<Void> inProgress;
+        final CompletableFuture<Void> resync = new CompletableFuture<>();
+        lock.lock();
+        try {
+            inProgress = resyncInProgress;
+            if (inProgress == null) {
+                resyncInProgress = resync;
+                pendingUpdates = new ArrayList<>();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (inProgress != null) {
+            log.trace("Status list re-sync is already in progress, waiting for it.");
+            awaitResync(inProgress);
+            return;
+        }
+
+        StatusList loaded = null;
+        try {
+            final List<StatusIndexPool> pools = statusIndexPoolService.getAllPools();
+            loaded = StatusListService.join(pools, appConfiguration.getStatusListBitSize(), log);
+        } finally {
+            lock.lock();
+            try {
+                if (loaded != null) {
+                    for (Pair<List<Integer>, TokenStatus> update : pendingUpdates) {
+                        for (Integer index : update.getFirst()) {
+                            loaded.set(index, update.getSecond().getValue());
+                        }
+                    }
+                    statusList = loaded;
+                    version++;
+                    log.debug("Re-synchronized status list with persistence, version {}", version);
+                }
+                pendingUpdates = null;
+                resyncInProgress = null;
+            } finally {
+                lock.unlock();
+                resync.complete(null);
+            }
+        }
+    }
+
+    private void awaitResync(CompletableFuture<Void> inProgress) {
+        try {
+            inProgress.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.debug("Status list re-sync failed.", e);
+        }
+    }
+
+    /**
+     * Returns encoded status list. Encoding is performed only if status list was changed since last call.
+     *
+     * @return encoded status list
+     * @throws IOException if failed to encode status list
+     */
+    public EncodedStatusList getEncoded() throws IOException {
+        if (!isLoaded()) {
+            resync();
+        }
+
+        lock.lock();
+        try {
+            EncodedStatusList current = encoded;
+            if (current != null && current.getVersion() == version) {
+                return current;
+            }
+            if (statusList == null) {
+                throw new IOException("Status list is not loaded.");
+            }
+
+            final String json = new JSONObject(statusList.encodeAsJSON()).toString();
+            current = new EncodedStatusList(version, json, DigestUtils.sha256Hex(json));
+            encoded = current;
+            return current;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isLoaded() {
+        lock.lock();
+        try {
+            return statusList != null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public static class EncodedStatusList {
+
+        private final long version;
+        private final String json;
+        private final String hash;
+
+        public EncodedStatusList(long version, String json, String hash) {
+            this.version = version;
+            this.json = json;
+            this.hash = hash;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public String getJson() {
+            return json;
+        }
+
+        public String getHash() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package io.jans.as.server.service.token;
+
+import io.jans.as.model.common.FeatureFlagType;
+import io.jans.as.model.configuration.AppConfiguration;
+import io.jans.as.server.service.cdi.event.StatusListCacheEvent;
+import io.jans.service.cdi.async.Asynchronous;
+import io.jans.service.cdi.event.Scheduled;
+import io.jans.service.timer.event.TimerEvent;
+import io.jans.service.timer.schedule.TimerSchedule;
+import jakarta.ejb.DependsOn;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import org.slf4j.Logger;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Periodically re-synchronizes node local status list with persistence to pick up changes made by other nodes.
+ */
+@ApplicationScoped
+@DependsOn("appInitializer")
+@Named
+public class StatusListCacheTimer {
+
+    private static final int TIMER_TICK_INTERVAL_IN_SECONDS = 10;
+
+    @Inject
+    private Logger log;
+
+    @Inject
+    private Event<TimerEvent> timerEvent;
+
+    @Inject
+    private AppConfiguration appConfiguration;
+
+    @Inject
+    private StatusListCacheService statusListCacheService;
+
+    private AtomicBoolean isActive;
+    private long lastFinishedTime;
+
+    @Asynchronous
+    public void initTimer() {
+        log.info("Initializing Status List Cache Timer");
+
+        this.isActive = new AtomicBoolean(false);
+
+        timerEvent.fire(new TimerEvent(new TimerSchedule(TIMER_TICK_INTERVAL_IN_SECONDS, TIMER_TICK_INTERVAL_IN_SECONDS), new StatusListCacheEvent(), Scheduled.Literal.INSTANCE));
+
+        this.lastFinishedTime = System.currentTimeMillis();
+        log.info("Initialized Status List Cache Timer");
+    }
+
+    @Asynchronous
+    public void process(@Observes @Scheduled StatusListCacheEvent event) {
+        if (!appConfiguration.isFeatureEnabled(FeatureFlagType.STATUS_LIST)) {
+            return;
+        }
+
+        if (this.isActive.get()) {
+            return;
+        }
+
+        if (!this.isActive.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            if (!allowToRun()) {
+                return;
+            }
+            statusListCacheService.resync();
+            this.lastFinishedTime = System.currentTimeMillis();
+        } catch (Exception ex) {
+            log.error("Exception happened while re-synchronizing status list", ex);
+        } finally {
+            this.isActive.set(false);
+        }
+    }
+
+    private boolean allowToRun() {
+        int interval = appConfiguration.getStatusListCacheResyncIntervalInSeconds();
+        if (interval <= 0) {
+            return false;
+        }
+
+        // status list is loaded lazily on first request, no reason to load it in background before that
+        if (!statusListCacheService.isLoaded()) {
+            return false;
+        }
+
+        long timeDiff = System.currentTimeMillis() - this.lastFinishedTime;
+
+        return timeDiff >= interval * 1000L;
+    }
+}
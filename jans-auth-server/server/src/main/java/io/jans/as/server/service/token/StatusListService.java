@@ -13,14 +13,13 @@ import io.jans.as.model.token.JsonWebResponse;
 import io.jans.as.server.model.common.ExecutionContext;
 import io.jans.as.server.model.token.JwtSigner;
 import io.jans.as.server.service.DiscoveryService;
-import io.jans.as.server.service.cluster.StatusIndexPoolService;
 import io.jans.model.token.AbstractIndexPool;
-import io.jans.model.token.StatusIndexPool;
 import io.jans.model.tokenstatus.StatusList;
 import io.jans.model.tokenstatus.TokenStatus;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import org.apache.commons.lang3.StringUtils;
@@ -57,12 +56,18 @@ public class StatusListService {
     private DiscoveryService discoveryService;
 
     @Inject
-    private StatusIndexPoolService statusTokenPoolService;
+    private WebKeysConfiguration webKeysConfiguration;
 
     @Inject
-    private WebKeysConfiguration webKeysConfiguration;
+    private StatusListCacheService statusListCacheService;
+
+    private volatile SignedStatusList signedStatusList;
 
     public Response requestStatusList(String acceptHeader, String time) {
+        return requestStatusList(acceptHeader, time, null);
+    }
+
+    public Response requestStatusList(String acceptHeader, String time, String ifNoneMatch) {
         log.debug("Attempting to request status_list, acceptHeader: {}, time: {} ...", acceptHeader, time);
 
         errorResponseFactory.validateFeatureEnabled(FeatureFlagType.STATUS_LIST);
@@ -70,13 +75,31 @@ public class StatusListService {
         try {
             validateTime(time);
 
-            final List<StatusIndexPool> pools = statusTokenPoolService.getAllPools();
-            final StatusList statusList = join(pools, appConfiguration.getStatusListBitSize(), log);
-
             final boolean isJsonRequested = CONTENT_TYPE_STATUSLIST_JSON.equalsIgnoreCase(acceptHeader);
-
-            final String entity = createEntity(isJsonRequested, statusList);
+            final StatusListCacheService.EncodedStatusList encoded = statusListCacheService.getEncoded();
+
+            final String entity;
+            final String etag;
+            int maxAge = appConfiguration.getStatusListResponseCacheMaxAgeInSeconds();
+            if (isJsonRequested) {
+                entity = encoded.getJson();
+                etag = "\"" + encoded.getHash() + "\"";
+            } else {
+                final SignedStatusList signed = getSignedStatusList(encoded);
+                entity = signed.getJwt();
+                etag = "\"" + encoded.getHash() + "-" + signed.getIssuedAt() + "\"";
+                maxAge = Math.min(maxAge, signed.getRemainingLifetimeInSeconds());
+            }
             final String responseType = isJsonRequested ? CONTENT_TYPE_STATUSLIST_JSON : CONTENT_TYPE_STATUSLIST_JWT;
+            final String cacheControl = maxAge > 0 ? "max-age=" + maxAge : "no-cache";
+
+            if (isNotModified(ifNoneMatch, etag)) {
+                log.trace("Status list is not modified, etag {}", etag);
+                return Response.notModified()
+                        .header(HttpHeaders.ETAG, etag)
+                        .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                        .build();
+            }
 
             if (log.isTraceEnabled()) {
                 log.trace("Response entity {}, responseType {}", entity, responseType);
@@ -85,6 +108,8 @@ public class StatusListService {
             return Response.status(Response.Status.OK)
                     .entity(entity)
                     .type(responseType)
+                    .header(HttpHeaders.ETAG, etag)
+                    .header(HttpHeaders.CACHE_CONTROL, cacheControl)
                     .build();
         } catch (WebApplicationException e) {
             if (log.isTraceEnabled()) {
@@ -97,22 +122,49 @@ public class StatusListService {
         }
     }
 
-    public void validateTime(String time) {
-        if (StringUtils.isNotBlank(time)) {
-            throw new WebApplicationException(Response.status(Response.Status.NOT_IMPLEMENTED)
-                    .entity("Time parameter is not supported.")
-                    .build());
+    public static boolean isNotModified(String ifNoneMatch, String etag) {
+        if (StringUtils.isBlank(ifNoneMatch)) {
+            return false;
+        }
+        for (String value : ifNoneMatch.split(",")) {
+            final String trimmed = StringUtils.removeStart(value.trim(), "W/");
+            if ("*".equals(trimmed) || etag.equals(trimmed)) {
+                return true;
+            }
         }
+        return false;
     }
 
-    private String createEntity(boolean isJsonRequested, StatusList statusList) throws Exception {
-        JSONObject jsonObject = new JSONObject(statusList.encodeAsJSON());
+    /**
+     * Returns signed status list JWT. JWT is re-signed only if status list is changed or
+     * if more then half of JWT lifetime is elapsed.
+     */
+    private SignedStatusList getSignedStatusList(StatusListCacheService.EncodedStatusList encoded) throws Exception {
+        SignedStatusList current = signedStatusList;
+        if (current != null && !current.needsResign(encoded.getVersion(), appConfiguration.getStatusListResponseJwtLifetime())) {
+            return current;
+        }
+
+        synchronized (this) {
+            current = signedStatusList;
+            if (current != null && !current.needsResign(encoded.getVersion(), appConfiguration.getStatusListResponseJwtLifetime())) {
+                return current;
+            }
 
-        if (isJsonRequested) {
-            return jsonObject.toString();
+            final long issuedAt = System.currentTimeMillis() / 1000;
+            final String jwt = createResponseJwt(new JSONObject(encoded.getJson()));
+            current = new SignedStatusList(encoded.getVersion(), jwt, issuedAt, appConfiguration.getStatusListResponseJwtLifetime());
+            signedStatusList = current;
+            return current;
         }
+    }
 
-        return createResponseJwt(jsonObject);
+    public void validateTime(String time) {
+        if (StringUtils.isNotBlank(time)) {
+            throw new WebApplicationException(Response.status(Response.Status.NOT_IMPLEMENTED)
+                    .entity("Time parameter is not supported.")
+                    .build());
+        }
     }
 
     public static StatusList join(List<? extends AbstractIndexPool> pools, int bitSize, Logger log) {
@@ -220,4 +272,40 @@ public class StatusListService {
             log.trace("Response before signing: {}", jwr.getClaims().toJsonString());
         }
     }
+
+    private static class SignedStatusList {
+
+        private final long version;
+        private final String jwt;
+        private final long issuedAt;
+        private final int lifetime;
+
+        private SignedStatusList(long version, String jwt, long issuedAt, int lifetime) {
+            this.version = version;
+            this.jwt = jwt;
+            this.issuedAt = issuedAt;
+            this.lifetime = lifetime;
+        }
+
+        private boolean needsResign(long currentVersion, int currentLifetime) {
+            if (version != currentVersion || lifetime != currentLifetime) {
+                return true;
+            }
+            final long elapsed = System.currentTimeMillis() / 1000 - issuedAt;
+            return elapsed >= lifetime / 2;
+        }
+
+        private int getRemainingLifetimeInSeconds() {
+            final long remaining = issuedAt + lifetime - System.currentTimeMillis() / 1000;
+            return (int) Math.max(0, remaining);
+        }
+
+        private String getJwt() {
+            return jwt;
+        }
+
+        private long getIssuedAt() {
+            return issuedAt;
+        }
+    }
 }
@@ -25,9 +25,10 @@ public class StatusListRestWebService {
     @Path("/status_list")
     @Consumes({CONTENT_TYPE_STATUSLIST_JSON, CONTENT_TYPE_STATUSLIST_JWT})
     @Produces({CONTENT_TYPE_STATUSLIST_JSON, CONTENT_TYPE_STATUSLIST_JWT})
-    public Response requestStatusList(@HeaderParam("Accept") String acceptHeader, @QueryParam("time") String time) {
+    public Response requestStatusList(@HeaderParam("Accept") String acceptHeader, @QueryParam("time") String time,
+                                      @HeaderParam("If-None-Match") String ifNoneMatch) {
         try {
-            return statusService.requestStatusList(acceptHeader, time);
+            return statusService.requestStatusList(acceptHeader, time, ifNoneMatch);
         } catch (WebApplicationException e) {
             log.debug(e.getMessage(), e);
             throw e;
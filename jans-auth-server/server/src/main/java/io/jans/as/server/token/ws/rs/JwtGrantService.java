@@ -201,7 +201,7 @@ public class JwtGrantService {
         String clientSecret = clientService.decryptSecret(client.getClientSecret());
 
         String keyId = jwt.getHeader().getKeyId();
-        JSONObject jwks = CommonUtils.getJwks(client);
+        JSONObject jwks = CommonUtils.getJwks(client, keyId);
         boolean validSignature = cryptoProvider.verifySignature(jwt.getSigningInput(), jwt.getEncodedSignature(),
                 keyId, jwks, clientSecret, signatureAlgorithm);
 
@@ -0,0 +1,128 @@
+package io.jans.as.server.rate;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class DistributedRateLimiterTest {
+
+    private static class SharedCounter implements DistributedRateLimiter.Counter {
+
+        private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public long incrementBy(String key, long delta, int expirationInSeconds) {
+            calls.incrementAndGet();
+            return counters.computeIfAbsent(key, k -> new AtomicLong()).addAndGet(delta);
+        }
+    }
+
+    @Test
+    public void tryAcquire_whenSeveralNodesShareCounter_shouldApplyLimitClusterWide() {
+        SharedCounter counter = new SharedCounter();
+        AtomicLong now = new AtomicLong(0);
+
+        DistributedRateLimiter node1 = new DistributedRateLimiter(counter, now::get);
+        DistributedRateLimiter node2 = new DistributedRateLimiter(counter, now::get);
+
+        int allowed = 0;
+        for (int i = 0; i < 10; i++) {
+            if (node1.tryAcquire("key", 10, 60, 2)) {
+                allowed++;
+            }
+            if (node2.tryAcquire("key", 10, 60, 2)) {
+                allowed++;
+            }
+        }
+
+        assertEquals(allowed, 10);
+        // batches of 2 -> 5 increments + 1 which found counter exhausted on other node
+        assertTrue(counter.calls.get() <= 6, "Calls: " + counter.calls.get());
+    }
+
+    @Test
+    public void tryAcquire_whenWindowChanges_shouldAllowAgain() {
+        SharedCounter counter = new SharedCounter();
+        AtomicLong now = new AtomicLong(0);
+
+        DistributedRateLimiter limiter = new DistributedRateLimiter(counter, now::get);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire("key", 3, 60, 1));
+        }
+        assertFalse(limiter.tryAcquire("key", 3, 60, 1));
+        assertFalse(limiter.tryAcquire("key", 3, 60, 1));
+
+        now.set(TimeUnit.SECONDS.toMillis(60));
+        assertTrue(limiter.tryAcquire("key", 3, 60, 1));
+    }
+
+    @Test
+    public void tryAcquire_whenBatchIsBiggerThanRemainder_shouldGrantOnlyRemainder() {
+        SharedCounter counter = new SharedCounter();
+        AtomicLong now = new AtomicLong(0);
+
+        DistributedRateLimiter node1 = new DistributedRateLimiter(counter, now::get);
+        DistributedRateLimiter node2 = new DistributedRateLimiter(counter, now::get);
+
+        assertTrue(node1.tryAcquire("key", 5, 60, 4));
+        // only 1 token is left for second node
+        assertTrue(node2.tryAcquire("key", 5, 60, 4));
+        assertFalse(node2.tryAcquire("key", 5, 60, 4));
+
+        // first node still consumes its lease
+        assertTrue(node1.tryAcquire("key", 5, 60, 4));
+        assertTrue(node1.tryAcquire("key", 5, 60, 4));
+        assertTrue(node1.tryAcquire("key", 5, 60, 4));
+        assertFalse(node1.tryAcquire("key", 5, 60, 4));
+    }
+
+    @Test(enabled = false) // manual
+    public void benchmarkAddedLatency() {
+        SharedCounter counter = new SharedCounter();
+        // emulate Redis round trip
+        DistributedRateLimiter.Counter remoteCounter = (key, delta, expiration) -> {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(300));
+            return counter.incrementBy(key, delta, expiration);
+        };
+
+        int iterations = 100000;
+        int requestLimit = 1000000;
+        for (int run = 0; run < 3; run++) {
+            Bucket bucket = Bucket.builder()
+                    .addLimit(Bandwidth.builder().capacity(requestLimit).refillGreedy(requestLimit, Duration.ofSeconds(60)).build())
+                    .build();
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                bucket.tryConsume(1);
+            }
+            long local = System.nanoTime() - start;
+
+            for (int batchSize : new int[] {1, 10, 100}) {
+                DistributedRateLimiter limiter = new DistributedRateLimiter(remoteCounter);
+                counter.calls.set(0);
+
+                start = System.nanoTime();
+                for (int i = 0; i < iterations; i++) {
+                    limiter.tryAcquire("key_" + run + "_" + batchSize, requestLimit, 60, batchSize);
+                }
+                long distributed = System.nanoTime() - start;
+
+                System.out.printf("Run %d: local %d ns/call, distributed (batch %d) %d ns/call, cache calls %d%n", run,
+                        local / iterations, batchSize, distributed / iterations, counter.calls.get());
+            }
+        }
+    }
+}
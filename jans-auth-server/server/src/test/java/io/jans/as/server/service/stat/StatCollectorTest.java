@@ -0,0 +1,154 @@
+package io.jans.as.server.service.stat;
+
+import net.agkn.hll.HLL;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class StatCollectorTest {
+
+    private static final int REPORTERS = 64;
+    private static final int REPORTS_PER_REPORTER = 10_000;
+
+    @Test
+    public void stripeCount_shouldBePowerOfTwoAndLimited() {
+        assertEquals(StatCollector.stripeCount(1), 1);
+        assertEquals(StatCollector.stripeCount(3), 4);
+        assertEquals(StatCollector.stripeCount(8), 8);
+        assertEquals(StatCollector.stripeCount(1000), 32);
+    }
+
+    @Test
+    public void snapshotTokenCounters_shouldAddReportedToLoadedCounters() {
+        Map<String, Map<String, Long>> loaded = new HashMap<>();
+        loaded.computeIfAbsent("authorization_code", k -> new HashMap<>()).put(StatService.ACCESS_TOKEN_KEY, 10L);
+
+        StatCollector collector = new StatCollector("202601", newHll(), loaded);
+        collector.reportToken("authorization_code", StatService.ACCESS_TOKEN_KEY);
+        collector.reportToken("authorization_code", StatService.ID_TOKEN_KEY);
+        collector.reportToken("client_credentials", StatService.ACCESS_TOKEN_KEY);
+
+        final Map<String, Map<String, Long>> snapshot = collector.snapshotTokenCounters();
+        assertEquals(snapshot.get("authorization_code").get(StatService.ACCESS_TOKEN_KEY).longValue(), 11L);
+        assertEquals(snapshot.get("authorization_code").get(StatService.ID_TOKEN_KEY).longValue(), 1L);
+        assertEquals(snapshot.get("client_credentials").get(StatService.ACCESS_TOKEN_KEY).longValue(), 1L);
+
+        // loaded counters must stay untouched, snapshot is taken on each flush
+        assertEquals(loaded.get("authorization_code").get(StatService.ACCESS_TOKEN_KEY).longValue(), 10L);
+    }
+
+    @Test
+    public void reportToken_whenConcurrent_shouldNotLoseCounts() throws InterruptedException {
+        StatCollector collector = new StatCollector("202601", newHll(), new HashMap<>());
+
+        runConcurrently(() -> collector.reportToken("authorization_code", StatService.ACCESS_TOKEN_KEY));
+
+        final long count = collector.snapshotTokenCounters().get("authorization_code").get(StatService.ACCESS_TOKEN_KEY);
+        assertEquals(count, (long) REPORTERS * REPORTS_PER_REPORTER);
+    }
+
+    @Test
+    public void snapshotHll_shouldMergeLoadedAndAllStripes() throws InterruptedException {
+        HLL loaded = newHll();
+        for (int i = 0; i < 1000; i++) {
+            loaded.addRaw(("loaded" + i).hashCode());
+        }
+
+        StatCollector collector = new StatCollector("202601", loaded, new HashMap<>());
+        runConcurrently(() -> collector.reportActiveUser(("user" + (Thread.currentThread().getId() % 500)).hashCode()));
+
+        final long cardinality = collector.snapshotHll().cardinality();
+        assertTrue(cardinality >= 1000, "Cardinality " + cardinality);
+    }
+
+    @Test(enabled = false) // manual benchmark
+    public void benchmark_legacyVsStriped() throws InterruptedException {
+        for (int round = 0; round < 3; round++) {
+            final LegacyStat legacy = new LegacyStat();
+            final long legacyNanos = runConcurrently(() -> {
+                legacy.reportToken("authorization_code", StatService.ACCESS_TOKEN_KEY);
+                legacy.reportActiveUser(Thread.currentThread().getName().hashCode());
+            });
+
+            final StatCollector collector = new StatCollector("202601", newHll(), new HashMap<>());
+            final long stripedNanos = runConcurrently(() -> {
+                collector.reportToken("authorization_code", StatService.ACCESS_TOKEN_KEY);
+                collector.reportActiveUser(Thread.currentThread().getName().hashCode());
+            });
+
+            final long total = (long) REPORTERS * REPORTS_PER_REPORTER;
+            System.out.printf("Round %d, %d reporters: legacy %d ns/op (counted %d of %d), striped %d ns/op (counted %d of %d)%n",
+                    round, REPORTERS, legacyNanos / total, legacy.count(), total,
+                    stripedNanos / total, collector.snapshotTokenCounters().get("authorization_code").get(StatService.ACCESS_TOKEN_KEY), total);
+        }
+    }
+
+    private static long runConcurrently(Runnable report) throws InterruptedException {
+        final ExecutorService executor = Executors.newFixedThreadPool(REPORTERS);
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch finish = new CountDownLatch(REPORTERS);
+        try {
+            for (int i = 0; i < REPORTERS; i++) {
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                        for (int j = 0; j < REPORTS_PER_REPORTER; j++) {
+                            report.run();
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        finish.countDown();
+                    }
+                });
+            }
+
+            final long startedAt = System.nanoTime();
+            start.countDown();
+            assertTrue(finish.await(2, TimeUnit.MINUTES));
+            return System.nanoTime() - startedAt;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static HLL newHll() {
+        return new HLL(StatService.LOG_2_M, StatService.REGWIDTH);
+    }
+
+    /**
+     * Collection path as it was before StatCollector: get/put on nested maps and one monitor for HLL.
+     */
+    private static class LegacyStat {
+
+        private final ConcurrentMap<String, Map<String, Long>> tokenCounters = new ConcurrentHashMap<>();
+        private final HLL hll = newHll();
+
+        void reportToken(String grantType, String tokenKey) {
+            Map<String, Long> tokenMap = tokenCounters.computeIfAbsent(grantType, k -> new ConcurrentHashMap<>());
+            Long counter = tokenMap.get(tokenKey);
+            counter = counter == null ? 1L : counter + 1;
+            tokenMap.put(tokenKey, counter);
+        }
+
+        void reportActiveUser(int hashCode) {
+            synchronized (hll) {
+                hll.addRaw(hashCode);
+            }
+        }
+
+        long count() {
+            return tokenCounters.get("authorization_code").get(StatService.ACCESS_TOKEN_KEY);
+        }
+    }
+}
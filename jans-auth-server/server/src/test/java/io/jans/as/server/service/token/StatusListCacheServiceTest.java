@@ -0,0 +1,134 @@
+package io.jans.as.server.service.token;
+
+import io.jans.as.model.configuration.AppConfiguration;
+import io.jans.as.server.service.cluster.StatusIndexPoolService;
+import io.jans.model.token.StatusIndexPool;
+import io.jans.model.tokenstatus.StatusList;
+import io.jans.model.tokenstatus.TokenStatus;
+import org.json.JSONObject;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.slf4j.Logger;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+@Listeners(MockitoTestNGListener.class)
+public class StatusListCacheServiceTest {
+
+    @InjectMocks
+    private StatusListCacheService statusListCacheService;
+
+    @Mock
+    private Logger log;
+
+    @Mock
+    private AppConfiguration appConfiguration;
+
+    @Mock
+    private StatusIndexPoolService statusIndexPoolService;
+
+    @Test
+    public void getEncoded_whenCalledTwice_shouldLoadPoolsOnlyOnceAndReuseEncoding() throws IOException {
+        when(appConfiguration.getStatusListBitSize()).thenReturn(2);
+        when(statusIndexPoolService.getAllPools()).thenReturn(createPools(3));
+
+        final StatusListCacheService.EncodedStatusList first = statusListCacheService.getEncoded();
+        final StatusListCacheService.EncodedStatusList second = statusListCacheService.getEncoded();
+
+        assertSame(second, first);
+        assertEquals(readStatus(first, 3), TokenStatus.INVALID.getValue());
+        verify(statusIndexPoolService, times(1)).getAllPools();
+    }
+
+    @Test
+    public void applyUpdate_whenLoaded_shouldChangeEncodingWithoutReload() throws IOException {
+        when(appConfiguration.getStatusListBitSize()).thenReturn(2);
+        when(statusIndexPoolService.getAllPools()).thenReturn(createPools(3));
+
+        final StatusListCacheService.EncodedStatusList before = statusListCacheService.getEncoded();
+        statusListCacheService.applyUpdate(Collections.singletonList(7), TokenStatus.INVALID);
+        final StatusListCacheService.EncodedStatusList after = statusListCacheService.getEncoded();
+
+        assertNotEquals(after.getHash(), before.getHash());
+        assertEquals(readStatus(after, 3), TokenStatus.INVALID.getValue());
+        assertEquals(readStatus(after, 7), TokenStatus.INVALID.getValue());
+        verify(statusIndexPoolService, times(1)).getAllPools();
+    }
+
+    @Test
+    public void resync_whenPersistenceChanged_shouldPickUpChanges() throws IOException {
+        when(appConfiguration.getStatusListBitSize()).thenReturn(2);
+        when(statusIndexPoolService.getAllPools()).thenReturn(createPools(3), createPools(5));
+
+        statusListCacheService.getEncoded();
+        statusListCacheService.resync();
+        final StatusListCacheService.EncodedStatusList encoded = statusListCacheService.getEncoded();
+
+        assertEquals(readStatus(encoded, 3), TokenStatus.VALID.getValue());
+        assertEquals(readStatus(encoded, 5), TokenStatus.INVALID.getValue());
+    }
+
+    @Test
+    public void getEncoded_whenCalledConcurrentlyOnColdStart_shouldWaitForInFlightLoad() throws Exception {
+        final CountDownLatch loadStarted = new CountDownLatch(1);
+        final CountDownLatch releaseLoad = new CountDownLatch(1);
+        when(appConfiguration.getStatusListBitSize()).thenReturn(2);
+        when(statusIndexPoolService.getAllPools()).thenAnswer(invocation -> {
+            loadStarted.countDown();
+            releaseLoad.await(5, TimeUnit.SECONDS);
+            return createPools(3);
+        });
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            final Future<StatusListCacheService.EncodedStatusList> first = executorService.submit(() -> statusListCacheService.getEncoded());
+            assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+            final Future<StatusListCacheService.EncodedStatusList> second = executorService.submit(() -> statusListCacheService.getEncoded());
+
+            Thread.sleep(200);
+            releaseLoad.countDown();
+
+            assertEquals(readStatus(first.get(5, TimeUnit.SECONDS), 3), TokenStatus.INVALID.getValue());
+            assertEquals(readStatus(second.get(5, TimeUnit.SECONDS), 3), TokenStatus.INVALID.getValue());
+        } finally {
+            executorService.shutdownNow();
+        }
+        verify(statusIndexPoolService, times(1)).getAllPools();
+    }
+
+    @Test
+    public void applyUpdate_whenNotLoaded_shouldNotFail() {
+        statusListCacheService.applyUpdate(Collections.singletonList(1), TokenStatus.INVALID);
+
+        assertFalse(statusListCacheService.isLoaded());
+    }
+
+    private static int readStatus(StatusListCacheService.EncodedStatusList encoded, int index) throws IOException {
+        final JSONObject json = new JSONObject(encoded.getJson());
+        return StatusList.fromEncoded(json.getString("lst"), json.getInt("bits")).get(index);
+    }
+
+    private static List<StatusIndexPool> createPools(int invalidIndex) throws IOException {
+        StatusList statusList = new StatusList(2);
+        statusList.set(invalidIndex, TokenStatus.INVALID.getValue());
+
+        StatusIndexPool pool = new StatusIndexPool();
+        pool.setId(0);
+        pool.setNodeId(1);
+        pool.setData(statusList.getLst());
+        return Collections.singletonList(pool);
+    }
+}
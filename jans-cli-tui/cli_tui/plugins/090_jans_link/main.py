@@ -250,6 +250,9 @@ class Plugin(DialogUtils):
                                 self.app.getTitledText(_("Snapshot Count"), name='snapshotMaxCount', value=self.data.get('snapshotMaxCount', '10'), jans_help=self.app.get_help_from_schema(self.schema, 'snapshotMaxCount'), style=cli_style.edit_text_required, widget_style=cli_style.black_bg_widget, text_type='integer'),
                                 self.app.getTitledCheckBox(_("Keep External Persons"), name='keepExternalPerson', checked=self.data.get('keepExternalPerson'), jans_help=self.app.get_help_from_schema(self.schema, 'keepExternalPerson'), style=cli_style.check_box, widget_style=cli_style.black_bg_widget),
                                 self.app.getTitledCheckBox(_("Load Source Data withLimited Search"), name='useSearchLimit', checked=self.data.get('useSearchLimit'), jans_help=self.app.get_help_from_schema(self.schema, 'useSearchLimit'), style=cli_style.check_box, widget_style=cli_style.black_bg_widget),
+                                self.app.getTitledCheckBox(_("Incremental Synchronization"), name='incrementalSync', checked=self.data.get('incrementalSync'), jans_help=self.app.get_help_from_schema(self.schema, 'incrementalSync'), style=cli_style.check_box, widget_style=cli_style.black_bg_widget),
+                                self.app.getTitledText(_("Change Tracking Attribute"), name='changeTrackingAttribute', value=self.data.get('changeTrackingAttribute', 'modifyTimestamp'), jans_help=self.app.get_help_from_schema(self.schema, 'changeTrackingAttribute'), style=cli_style.titled_text, widget_style=cli_style.black_bg_widget),
+                                self.app.getTitledText(_("Full Synchronization Interval (seconds)"), name='fullSyncInterval', value=self.data.get('fullSyncInterval', '86400'), jans_help=self.app.get_help_from_schema(self.schema, 'fullSyncInterval'), style=cli_style.titled_text, widget_style=cli_style.black_bg_widget, text_type='integer'),
                                 self.app.getTitledWidget(
                                     _("Logging Level"),
                                     name='loggingLevel',
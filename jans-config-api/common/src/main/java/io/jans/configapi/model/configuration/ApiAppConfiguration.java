@@ -92,6 +92,12 @@ public class ApiAppConfiguration implements Configuration {
     @DocProperty(description = "Choose whether to disable external log4j configuration override", defaultValue = "true")
     private Boolean disableExternalLoggerConfiguration = true;
 
+    @Schema(description = "Flag to enable/disable OpenMetrics endpoint (/metrics) with request and persistence latency histograms. Default value `false`.")
+    private boolean openMetricsEnabled;
+
+    @Schema(description = "IP addresses or CIDR ranges allowed to read OpenMetrics endpoint (/metrics). Loopback addresses are always allowed.")
+    private List<String> openMetricsAllowedAddresses;
+
     @Schema(description = "Maximum number of results per page in search endpoints.")
     private int maxCount;
 
@@ -154,6 +160,22 @@ public class ApiAppConfiguration implements Configuration {
         this.disableLoggerTimer = disableLoggerTimer;
     }
 
+    public boolean isOpenMetricsEnabled() {
+        return openMetricsEnabled;
+    }
+
+    public void setOpenMetricsEnabled(boolean openMetricsEnabled) {
+        this.openMetricsEnabled = openMetricsEnabled;
+    }
+
+    public List<String> getOpenMetricsAllowedAddresses() {
+        return openMetricsAllowedAddresses;
+    }
+
+    public void setOpenMetricsAllowedAddresses(List<String> openMetricsAllowedAddresses) {
+        this.openMetricsAllowedAddresses = openMetricsAllowedAddresses;
+    }
+
     public boolean isDisableAuditLogger() {
         return disableAuditLogger;
     }
@@ -428,7 +450,8 @@ public class ApiAppConfiguration implements Configuration {
                 + authOpenidTokenUrl + ", authOpenidRevokeUrl=" + authOpenidRevokeUrl + ", exclusiveAuthScopes="
                 + exclusiveAuthScopes + ", corsConfigurationFilters=" + corsConfigurationFilters + ", loggingLevel="
                 + loggingLevel + ", loggingLayout=" + loggingLayout + ", externalLoggerConfiguration="
-                + externalLoggerConfiguration + ", disableJdkLogger=" + disableJdkLogger + ", maxCount=" + maxCount
+                + externalLoggerConfiguration + ", disableJdkLogger=" + disableJdkLogger + ", openMetricsEnabled="
+                + openMetricsEnabled + ", openMetricsAllowedAddresses=" + openMetricsAllowedAddresses + ", maxCount=" + maxCount
                 + ", acrExclusionList=" + acrExclusionList + ", userExclusionAttributes=" + userExclusionAttributes
                 + ", userMandatoryAttributes=" + userMandatoryAttributes + ", agamaConfiguration=" + agamaConfiguration
                 + ", auditLogConf=" + auditLogConf + ", dataFormatConversionConf=" + dataFormatConversionConf
@@ -13,6 +13,7 @@ import io.jans.configapi.security.api.ApiProtectionService;
 import io.jans.configapi.security.service.AuthorizationService;
 import io.jans.configapi.security.service.OpenIdAuthorizationService;
 import io.jans.configapi.service.logger.LoggerService;
+import io.jans.configapi.service.metric.MetricService;
 import io.jans.core.cedarling.model.CedarlingConfiguration;
 import io.jans.core.cedarling.model.LockProtectionMode;
 import io.jans.exception.ConfigurationException;
@@ -94,6 +95,9 @@ public class AppInitializer {
     @Inject
     DocumentStoreManager documentStoreManager;
 
+    @Inject
+    private MetricService metricService;
+
     public void onStart(@Observes @Initialized(ApplicationScoped.class) Object init) {
         log.info("=============  STARTING API APPLICATION  ========================");
         log.info("init:{}", init);
@@ -134,6 +138,11 @@ public class AppInitializer {
             loggerService.initTimer(true);
         }
 
+        // Initialize metrics exposed via OpenMetrics endpoint
+        if (apiAppConfiguration.isOpenMetricsEnabled()) {
+            metricService.initTimer();
+        }
+
         log.info("==============  APPLICATION IS UP AND RUNNING ===================");
     }
 
@@ -142,6 +151,8 @@ public class AppInitializer {
         log.info("===========  API APPLICATION STOPPED  ==========================");
         log.info("init:{}", init);
         log.info("================================================================");
+
+        metricService.close();
     }
 
     @Produces
@@ -0,0 +1,29 @@
+/*
+ * Janssen Project software is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.configapi.filters;
+
+import io.jans.configapi.service.metric.MetricService;
+import io.jans.service.metric.http.BaseLatencyMetricFilter;
+
+import jakarta.inject.Inject;
+import jakarta.servlet.annotation.WebFilter;
+
+/**
+ * Records request processing time per endpoint in latency metrics
+ */
+@WebFilter(filterName = "LatencyMetricFilter", asyncSupported = true, urlPatterns = { "/*" })
+public class LatencyMetricFilter extends BaseLatencyMetricFilter {
+
+    @Inject
+    private MetricService metricService;
+
+    @Override
+    protected MetricService getMetricService() {
+        return metricService;
+    }
+
+}
@@ -0,0 +1,27 @@
+/*
+ * Janssen Project software is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.configapi.service.metric;
+
+import io.jans.service.metric.cache.BaseCacheLatencyListener;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Records duration of cache operations in latency metrics
+ */
+@ApplicationScoped
+public class CacheLatencyListener extends BaseCacheLatencyListener {
+
+    @Inject
+    private MetricService metricService;
+
+    @Override
+    protected MetricService getMetricService() {
+        return metricService;
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Janssen Project software is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.configapi.service.metric;
+
+import io.jans.as.model.config.StaticConfiguration;
+import io.jans.configapi.model.configuration.ApiAppConfiguration;
+import io.jans.model.ApplicationType;
+import io.jans.orm.PersistenceEntryManager;
+import io.jans.service.net.NetworkService;
+
+import java.util.Collections;
+import java.util.List;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+
+/**
+ * Keeps request and persistence latency metrics exposed via OpenMetrics endpoint. Config API has no
+ * metric persistence, so metric reporter is always disabled
+ */
+@ApplicationScoped
+@Named(MetricService.METRIC_SERVICE_COMPONENT_NAME)
+public class MetricService extends io.jans.service.metric.MetricService {
+
+    public static final String METRIC_SERVICE_COMPONENT_NAME = "metricService";
+
+    private static final long serialVersionUID = 2840197327486604147L;
+
+    @Inject
+    private Instance<MetricService> instance;
+
+    @Inject
+    private ApiAppConfiguration appConfiguration;
+
+    @Inject
+    private StaticConfiguration staticConfiguration;
+
+    @Inject
+    private NetworkService networkService;
+
+    @Inject
+    private PersistenceEntryManager persistenceEntryManager;
+
+    public void initTimer() {
+        // Reporter is disabled, use default interval
+        initTimer(0, 0);
+    }
+
+    @Override
+    public String baseDn() {
+        return staticConfiguration.getBaseDn().getMetric();
+    }
+
+    @Override
+    public io.jans.service.metric.MetricService getMetricServiceInstance() {
+        return instance.get();
+    }
+
+    @Override
+    public boolean isMetricReporterEnabled() {
+        return false;
+    }
+
+    @Override
+    public boolean isLatencyMetricsEnabled() {
+        return appConfiguration.isOpenMetricsEnabled();
+    }
+
+    @Override
+    public List<String> getOpenMetricsAllowedAddresses() {
+        List<String> allowedAddresses = appConfiguration.getOpenMetricsAllowedAddresses();
+        return (allowedAddresses == null) ? Collections.emptyList() : allowedAddresses;
+    }
+
+    @Override
+    public String getString() {
+        return ApplicationType.JANS_CONFIG_API.getValue();
+    }
+
+    @Override
+    public PersistenceEntryManager getEntryManager() {
+        return persistenceEntryManager;
+    }
+
+    @Override
+    public String getNodeIdentifier() {
+        return networkService.getMacAdress();
+    }
+
+}
@@ -7,6 +7,7 @@
 package io.jans.configapi.core.rest;
 
 import io.jans.configapi.core.configuration.ObjectMapperContextResolver;
+import io.jans.service.metric.http.LatencyMetricEndpointFilter;
 
 import java.util.Set;
 import jakarta.ws.rs.core.Application;
@@ -21,6 +22,9 @@ public class BaseApiApplication extends Application {
         // General Application level class
         classes.add(ObjectMapperContextResolver.class);
 
+        // Endpoint label for request latency metrics
+        classes.add(LatencyMetricEndpointFilter.class);
+
         return classes;
     }
 }
@@ -6,18 +6,49 @@
 
 package io.jans.service;
 
+import io.jans.orm.exception.EntryNotFoundPersistenceException;
 import io.jans.service.cache.CacheInterface;
+import io.jans.service.cache.CacheNullValue;
+import io.jans.service.cache.CacheOperationListener;
 import io.jans.service.cache.CacheProvider;
 import io.jans.service.cache.CacheProviderType;
+import io.jans.service.cache.ReadThroughConfiguration;
+import io.jans.service.cache.ReadThroughStatistics;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
 import java.util.Date;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
 
 /**
  * Provides operations with cache
+ * <p>
+ * {@link #getWithPut(String, Supplier, int)} protects load function from concurrent calls for the
+ * same key: only one thread of this node loads missing value, others wait for it. Optionally keys
+ * requested near expiration are reloaded in background (refresh-ahead) and missing values are
+ * remembered for short time (negative cache). Load function may report missing value by returning
+ * null or by throwing {@link EntryNotFoundPersistenceException}, as entry managers do when entry is
+ * not found. See {@link ReadThroughConfiguration}
  *
  * @author Yuriy Movchan Date: 01.24.2012
  * @author Yuriy Zabrovarnyy Date: 02.02.2017
@@ -29,6 +60,34 @@ public abstract class BaseCacheService implements CacheInterface {
 	@Inject
     private Logger log;
 
+	@Inject
+	private Instance<CacheOperationListener> cacheOperationListenerInstance;
+
+	private volatile CacheOperationListener cacheOperationListener;
+	private volatile boolean cacheOperationListenerResolved;
+
+	private static final ReadThroughConfiguration DEFAULT_READ_THROUGH_CONFIGURATION = new ReadThroughConfiguration();
+	private static final int REFRESH_AHEAD_THREADS = 2;
+	private static final int REFRESH_AHEAD_QUEUE_SIZE = 1000;
+	private static final long REFRESH_AHEAD_MAX_KEYS = 100000;
+
+	// Loads in progress on this node, refresh-ahead reloads are registered here too
+	private final ConcurrentMap<String, CompletableFuture<Object>> loadsInProgress = new ConcurrentHashMap<>();
+
+	// Keys loaded by this node with time when they should be refreshed. Entries are removed when values expire
+	private final Cache<String, RefreshAheadMark> refreshAheadMarks = Caffeine.newBuilder()
+			.maximumSize(REFRESH_AHEAD_MAX_KEYS)
+			.expireAfter(new RefreshAheadMarkExpiry())
+			.build();
+
+	private ExecutorService refreshAheadExecutor;
+
+	private final LongAdder loadCount = new LongAdder();
+	private final LongAdder coalescedWaitCount = new LongAdder();
+	private final LongAdder refreshAheadCount = new LongAdder();
+	private final LongAdder staleServeCount = new LongAdder();
+	private final LongAdder negativeHitCount = new LongAdder();
+
     public Object get(String key) {
     	CacheProvider cacheProvider = getCacheProvider();
         if (cacheProvider == null) {
@@ -38,8 +97,19 @@ public abstract class BaseCacheService implements CacheInterface {
 
         key = addKeyPrefix(key, cacheProvider);
 
+        Object value = getFromProvider(cacheProvider, key);
+        if (value instanceof CacheNullValue) {
+            return null;
+        }
+
+    	return value;
+    }
+
+    private Object getFromProvider(CacheProvider cacheProvider, String key) {
         log.trace("Request data, key '{}'", key);
+        long start = System.nanoTime();
     	Object value = cacheProvider.get(key);
+    	notifyOperation(cacheProvider, CacheOperationListener.GET, start);
     	log.trace("Loaded data, key '{}': '{}'", key, value);
 
     	return value;
@@ -67,25 +137,211 @@ public abstract class BaseCacheService implements CacheInterface {
             return loadFunction.get();
         }
 
-        final Object value = get(key);
-        if (value != null) {
+        ReadThroughConfiguration readThroughConfiguration = getReadThroughConfiguration(cacheProvider);
+
+        final Object value = getFromProvider(cacheProvider, key);
+        if (value instanceof CacheNullValue) {
+            log.trace("Loaded from negative cache, key: '{}'", key);
+            negativeHitCount.increment();
+            notifyReadThroughEvent(CacheOperationListener.EVENT_NEGATIVE_HIT);
+            return null;
+        } else if (value != null) {
             log.trace("Loaded from cache, key: '{}'", key);
+            refreshAheadIfNeeded(cacheProvider, key, loadFunction, expirationInSeconds, readThroughConfiguration);
             return (T) value;
-        } else {
-            log.trace("Key not in cache. Searching value via load function, key: '{}'", key);
-            final T loaded = loadFunction.get();
-            if (loaded == null) {
-                log.trace("Key not in cache. There is no value, key: '{}'", key);
-                return null;
-            }
+        }
+
+        log.trace("Key not in cache. Searching value via load function, key: '{}'", key);
+        if (!readThroughConfiguration.isSingleFlightEnabled()) {
+            return (T) loadAndPut(cacheProvider, key, loadFunction, expirationInSeconds, readThroughConfiguration);
+        }
 
-            try {
-                put(expirationInSeconds, key, loaded);
-            } catch (Exception e) {
-                log.error("Failed to put object into cache, key: '{}'", key, e); // we don't want prevent returning loaded value due to failure with put
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> existingLoad = loadsInProgress.putIfAbsent(key, load);
+        if (existingLoad != null) {
+            coalescedWaitCount.increment();
+            notifyReadThroughEvent(CacheOperationListener.EVENT_COALESCED_WAIT);
+            return (T) awaitLoad(cacheProvider, existingLoad, key, loadFunction, expirationInSeconds, readThroughConfiguration);
+        }
+
+        try {
+            Object loaded = loadAndPut(cacheProvider, key, loadFunction, expirationInSeconds, readThroughConfiguration);
+            load.complete(loaded);
+            return (T) loaded;
+        } catch (RuntimeException | Error ex) {
+            load.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            loadsInProgress.remove(key, load);
+        }
+    }
+
+    private Object loadAndPut(CacheProvider cacheProvider, String key, Supplier<?> loadFunction, int expirationInSeconds,
+            ReadThroughConfiguration readThroughConfiguration) {
+        loadCount.increment();
+        notifyReadThroughEvent(CacheOperationListener.EVENT_LOAD);
+        long start = System.nanoTime();
+        Object loaded;
+        try {
+            loaded = loadFunction.get();
+        } catch (EntryNotFoundPersistenceException ex) {
+            if (!readThroughConfiguration.isNegativeCacheEnabled()) {
+                throw ex;
             }
+            loaded = null;
+        } finally {
+            notifyOperation(cacheProvider, CacheOperationListener.LOAD, start);
+        }
+        if (loaded == null) {
+            log.trace("Key not in cache. There is no value, key: '{}'", key);
+            if (readThroughConfiguration.isNegativeCacheEnabled()) {
+                int negativeExpiration = Math.min(expirationInSeconds, readThroughConfiguration.getNegativeCacheTtl());
+                try {
+                    put(negativeExpiration, key, CacheNullValue.INSTANCE);
+                } catch (Exception e) {
+                    log.error("Failed to put negative cache marker into cache, key: '{}'", key, e);
+                }
+            }
+            return null;
+        }
+
+        try {
+            put(expirationInSeconds, key, loaded);
+        } catch (Exception e) {
+            log.error("Failed to put object into cache, key: '{}'", key, e); // we don't want prevent returning loaded value due to failure with put
             return loaded;
         }
+
+        if (readThroughConfiguration.isRefreshAheadEnabled()) {
+            long now = System.nanoTime();
+            long expirationInNanos = TimeUnit.SECONDS.toNanos(expirationInSeconds);
+            refreshAheadMarks.put(key, new RefreshAheadMark(now + (long) (expirationInNanos * readThroughConfiguration.getRefreshAheadFactor()),
+                    now + expirationInNanos));
+        }
+
+        return loaded;
+    }
+
+    private Object awaitLoad(CacheProvider cacheProvider, CompletableFuture<Object> load, String key, Supplier<?> loadFunction,
+            int expirationInSeconds, ReadThroughConfiguration readThroughConfiguration) {
+        long start = System.nanoTime();
+        try {
+            return load.get(readThroughConfiguration.getLoadWaitTimeout(), TimeUnit.SECONDS);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            log.debug("Interrupted while waiting for value load, key: '{}'", key);
+        } catch (TimeoutException | CancellationException ex) {
+            log.debug("Value load in another thread didn't finish in time, key: '{}'", key);
+        } finally {
+            notifyOperation(cacheProvider, CacheOperationListener.WAIT, start);
+        }
+
+        return loadAndPut(cacheProvider, key, loadFunction, expirationInSeconds, readThroughConfiguration);
+    }
+
+    private void refreshAheadIfNeeded(CacheProvider cacheProvider, String key, Supplier<?> loadFunction, int expirationInSeconds,
+            ReadThroughConfiguration readThroughConfiguration) {
+        if (!readThroughConfiguration.isRefreshAheadEnabled()) {
+            return;
+        }
+
+        RefreshAheadMark mark = refreshAheadMarks.getIfPresent(key);
+        if ((mark == null) || (System.nanoTime() < mark.refreshAt)) {
+            return;
+        }
+        staleServeCount.increment();
+        notifyReadThroughEvent(CacheOperationListener.EVENT_STALE_SERVE);
+
+        CompletableFuture<Object> refresh = new CompletableFuture<>();
+        if (loadsInProgress.putIfAbsent(key, refresh) != null) {
+            // Value is being loaded already
+            return;
+        }
+
+        try {
+            getRefreshAheadExecutor().execute(() -> {
+                try {
+                    Object refreshed = loadAndPut(cacheProvider, key, loadFunction, expirationInSeconds, readThroughConfiguration);
+                    if (refreshed == null) {
+                        // Value doesn't exist anymore, don't serve stale one until expiration
+                        log.debug("Refreshed value is missing, key: '{}'", key);
+                        evictRefreshed(cacheProvider, key, readThroughConfiguration);
+                    }
+                    refresh.complete(refreshed);
+                } catch (RuntimeException ex) {
+                    log.warn("Failed to refresh value, key: '{}'", key, ex);
+                    // Next request loads value itself instead of scheduling refresh on every hit
+                    evictRefreshed(cacheProvider, key, readThroughConfiguration);
+                    refresh.completeExceptionally(ex);
+                } finally {
+                    loadsInProgress.remove(key, refresh);
+                }
+            });
+            refreshAheadCount.increment();
+            notifyReadThroughEvent(CacheOperationListener.EVENT_REFRESH_AHEAD);
+        } catch (RejectedExecutionException ex) {
+            log.debug("Refresh queue is full, skipping refresh of key: '{}'", key);
+            loadsInProgress.remove(key, refresh);
+            refresh.cancel(false);
+        }
+    }
+
+    private void evictRefreshed(CacheProvider cacheProvider, String key, ReadThroughConfiguration readThroughConfiguration) {
+        refreshAheadMarks.invalidate(key);
+        try {
+            // Negative cache marker is put already for missing value
+            if (!(readThroughConfiguration.isNegativeCacheEnabled() && (getFromProvider(cacheProvider, key) instanceof CacheNullValue))) {
+                long start = System.nanoTime();
+                cacheProvider.remove(key);
+                notifyOperation(cacheProvider, CacheOperationListener.REMOVE, start);
+            }
+        } catch (RuntimeException ex) {
+            log.error("Failed to remove refreshed value from cache, key: '{}'", key, ex);
+        }
+    }
+
+    private ReadThroughConfiguration getReadThroughConfiguration(CacheProvider cacheProvider) {
+        ReadThroughConfiguration readThroughConfiguration = cacheProvider.getCacheConfiguration().getReadThroughConfiguration();
+        if (readThroughConfiguration == null) {
+            return DEFAULT_READ_THROUGH_CONFIGURATION;
+        }
+
+        return readThroughConfiguration;
+    }
+
+    private synchronized ExecutorService getRefreshAheadExecutor() {
+        if (refreshAheadExecutor == null) {
+            AtomicInteger counter = new AtomicInteger();
+            this.refreshAheadExecutor = new ThreadPoolExecutor(REFRESH_AHEAD_THREADS, REFRESH_AHEAD_THREADS, 60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(REFRESH_AHEAD_QUEUE_SIZE), runnable -> {
+                        Thread thread = new Thread(runnable, "jans-cache-refresh-" + counter.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+
+        return refreshAheadExecutor;
+    }
+
+    @PreDestroy
+    public synchronized void destroyRefreshAheadExecutor() {
+        if (refreshAheadExecutor != null) {
+            refreshAheadExecutor.shutdownNow();
+            this.refreshAheadExecutor = null;
+        }
+    }
+
+    public ReadThroughStatistics getReadThroughStatistics() {
+        return new ReadThroughStatistics(loadCount.sum(), coalescedWaitCount.sum(), refreshAheadCount.sum(), staleServeCount.sum(),
+                negativeHitCount.sum());
     }
 
 	public void put(int expirationInSeconds, String key, Object object) {
@@ -98,7 +354,9 @@ public abstract class BaseCacheService implements CacheInterface {
         key = addKeyPrefix(key, cacheProvider);
 		
     	log.trace("Put data, key '{}': '{}'", key, object);
+        long start = System.nanoTime();
 		cacheProvider.put(expirationInSeconds, key, object);
+		notifyOperation(cacheProvider, CacheOperationListener.PUT, start);
 	}
 
 	public void remove(String key) {
@@ -111,7 +369,10 @@ public abstract class BaseCacheService implements CacheInterface {
         key = addKeyPrefix(key, cacheProvider);
 		
     	log.trace("Remove data, key '{}'", key);
+		refreshAheadMarks.invalidate(key);
+        long start = System.nanoTime();
 		cacheProvider.remove(key);
+		notifyOperation(cacheProvider, CacheOperationListener.REMOVE, start);
 	}
 
 	public void clear() {
@@ -122,6 +383,7 @@ public abstract class BaseCacheService implements CacheInterface {
 		}
 
     	log.trace("Clear cache");
+		refreshAheadMarks.invalidateAll();
 		cacheProvider.clear();
 	}
 
@@ -141,6 +403,94 @@ public abstract class BaseCacheService implements CacheInterface {
         put(DEFAULT_EXPIRATION, key, object);
     }
 
+    public boolean isAtomicCounterSupported() {
+    	CacheProvider cacheProvider = getCacheProvider();
+
+    	return (cacheProvider != null) && cacheProvider.isAtomicCounterSupported();
+    }
+
+    public long incrementBy(String key, long delta, int expirationInSeconds) {
+    	CacheProvider cacheProvider = getCacheProvider();
+    	if (cacheProvider == null) {
+        	throw new IllegalStateException("Cache provider is invalid!");
+		}
+
+        key = addKeyPrefix(key, cacheProvider);
+
+    	log.trace("Increment counter, key '{}': '{}'", key, delta);
+        long start = System.nanoTime();
+		long result = cacheProvider.incrementBy(key, delta, expirationInSeconds);
+		notifyOperation(cacheProvider, CacheOperationListener.INCREMENT, start);
+
+		return result;
+    }
+
+    private void notifyOperation(CacheProvider cacheProvider, String operation, long start) {
+        CacheOperationListener listener = getCacheOperationListener();
+        if (listener == null) {
+            return;
+        }
+
+        try {
+            listener.onOperation(cacheProvider.getProviderType(), operation, System.nanoTime() - start);
+        } catch (RuntimeException ex) {
+            log.warn("Failed to process cache operation duration", ex);
+        }
+    }
+
+    private void notifyReadThroughEvent(String event) {
+        CacheOperationListener listener = getCacheOperationListener();
+        if (listener == null) {
+            return;
+        }
+
+        try {
+            listener.onReadThroughEvent(event);
+        } catch (RuntimeException ex) {
+            log.warn("Failed to process cache read-through event", ex);
+        }
+    }
+
+    private CacheOperationListener getCacheOperationListener() {
+        if (!cacheOperationListenerResolved) {
+            if ((cacheOperationListenerInstance != null) && cacheOperationListenerInstance.isResolvable()) {
+                this.cacheOperationListener = cacheOperationListenerInstance.get();
+            }
+            this.cacheOperationListenerResolved = true;
+        }
+
+        return cacheOperationListener;
+    }
+
     protected abstract CacheProvider getCacheProvider();
 
+    private static final class RefreshAheadMark {
+
+        private final long refreshAt;
+        private final long expiresAt;
+
+        RefreshAheadMark(long refreshAt, long expiresAt) {
+            this.refreshAt = refreshAt;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static final class RefreshAheadMarkExpiry implements Expiry<String, RefreshAheadMark> {
+
+        @Override
+        public long expireAfterCreate(String key, RefreshAheadMark mark, long currentTime) {
+            return Math.max(0, mark.expiresAt - currentTime);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, RefreshAheadMark mark, long currentTime, long currentDuration) {
+            return Math.max(0, mark.expiresAt - currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, RefreshAheadMark mark, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
 }
@@ -14,6 +14,12 @@ import redis.clients.jedis.JedisPoolConfig;
  */
 public abstract class AbstractRedisProvider {
 
+	/*
+	 * Sets expiration only for new counter in same atomic step
+	 */
+	protected static final String INCREMENT_SCRIPT = "local v = redis.call('INCRBY', KEYS[1], ARGV[1]) "
+			+ "if v == tonumber(ARGV[1]) then redis.call('EXPIRE', KEYS[1], ARGV[2]) end return v";
+
 	protected CacheConfiguration cacheConfiguration;
 	protected RedisConfiguration redisConfiguration;
 
@@ -78,4 +84,6 @@ public abstract class AbstractRedisProvider {
 
 	public abstract void put(String key, Object object);
 
+	public abstract long incrementBy(String key, long delta, int expirationInSeconds);
+
 }
@@ -0,0 +1,212 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Size bounded in-memory cache provider. It's used for IN_MEMORY cache type when
+ * maxEntries or maxWeightInBytes is set in InMemoryConfiguration.
+ *
+ * Eviction is based on W-TinyLFU admission policy, expiration is per entry.
+ */
+@ApplicationScoped
+public class BoundedInMemoryCacheProvider extends AbstractCacheProvider<Cache<String, BoundedInMemoryCacheProvider.CacheEntry>> {
+
+    @Inject
+    private Logger log;
+
+    @Inject
+    private CacheConfiguration cacheConfiguration;
+
+    private InMemoryConfiguration inMemoryConfiguration;
+
+    private Cache<String, CacheEntry> cache;
+
+    private final LongAdder loadCount = new LongAdder();
+
+    public BoundedInMemoryCacheProvider() {
+    }
+
+    @PostConstruct
+    public void init() {
+        this.inMemoryConfiguration = cacheConfiguration.getInMemoryConfiguration();
+    }
+
+    public void create() {
+        log.debug("Starting BoundedInMemoryCacheProvider ...");
+        try {
+            Caffeine<String, CacheEntry> builder = Caffeine.newBuilder().recordStats().expireAfter(new EntryExpiry());
+
+            if (inMemoryConfiguration.getMaxWeightInBytes() > 0) {
+                final int defaultEntryWeight = inMemoryConfiguration.getDefaultEntryWeightInBytes();
+                builder = builder.maximumWeight(inMemoryConfiguration.getMaxWeightInBytes())
+                        .weigher((String key, CacheEntry entry) -> estimateWeight(key, entry.getValue(), defaultEntryWeight));
+            } else {
+                builder = builder.maximumSize(inMemoryConfiguration.getMaxEntries());
+            }
+
+            cache = builder.build();
+
+            log.debug("BoundedInMemoryCacheProvider started with configuration: {}", inMemoryConfiguration);
+        } catch (Exception e) {
+            throw new IllegalStateException("Error starting BoundedInMemoryCacheProvider", e);
+        }
+    }
+
+    public void configure(CacheConfiguration cacheConfiguration) {
+        this.log = LoggerFactory.getLogger(BoundedInMemoryCacheProvider.class);
+        this.cacheConfiguration = cacheConfiguration;
+    }
+
+    @PreDestroy
+    public void destroy() {
+        log.debug("Destroying BoundedInMemoryCacheProvider");
+
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+
+        log.debug("Destroyed BoundedInMemoryCacheProvider");
+    }
+
+    @Override
+    public Cache<String, CacheEntry> getDelegate() {
+        return cache;
+    }
+
+    @Override
+    public boolean hasKey(String key) {
+        return cache.asMap().containsKey(key);
+    }
+
+    @Override
+    public Object get(String key) {
+        CacheEntry entry = cache.getIfPresent(key);
+        return entry == null ? null : entry.getValue();
+    }
+
+    @Override
+    public void put(int expirationInSeconds, String key, Object object) {
+        expirationInSeconds = expirationInSeconds >= 0 ? expirationInSeconds : inMemoryConfiguration.getDefaultPutExpiration();
+        cache.put(key, new CacheEntry(object, TimeUnit.SECONDS.toNanos(expirationInSeconds)));
+        loadCount.increment();
+    }
+
+    @Override
+    public void remove(String key) {
+        cache.invalidate(key);
+    }
+
+    @Override
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void cleanup(final Date now) {
+        cache.cleanUp();
+    }
+
+    @Override
+    public CacheStatistics getStatistics() {
+        CacheStats stats = cache.stats();
+        return new CacheStatistics(stats.hitCount(), stats.missCount(), loadCount.sum(), stats.evictionCount(), cache.estimatedSize());
+    }
+
+    public void setCacheConfiguration(CacheConfiguration cacheConfiguration) {
+        this.cacheConfiguration = cacheConfiguration;
+    }
+
+    @Override
+    public CacheProviderType getProviderType() {
+        return CacheProviderType.IN_MEMORY;
+    }
+
+    @Override
+    public CacheConfiguration getCacheConfiguration() {
+        return cacheConfiguration;
+    }
+
+    /**
+     * Returns cheap approximation of entry size in bytes. Precise value is not needed, it only has to be
+     * proportional to real size of typical cache entries.
+     */
+    static int estimateWeight(String key, Object value, int defaultWeight) {
+        long weight = 48L + 2L * key.length(); // entry overhead and key chars
+        if (value == null) {
+            // nothing to add
+        } else if (value instanceof String) {
+            weight += 40L + 2L * ((String) value).length();
+        } else if (value instanceof byte[]) {
+            weight += 16L + ((byte[]) value).length;
+        } else if ((value instanceof Number) || (value instanceof Boolean)) {
+            weight += 16L;
+        } else if (value instanceof Collection) {
+            weight += 16L + (long) defaultWeight * ((Collection<?>) value).size();
+        } else if (value instanceof Map) {
+            weight += 16L + (long) defaultWeight * ((Map<?, ?>) value).size();
+        } else {
+            weight += defaultWeight;
+        }
+
+        return (int) Math.min(Integer.MAX_VALUE, weight);
+    }
+
+    public static class CacheEntry {
+
+        private final Object value;
+        private final long expirationInNanos;
+
+        public CacheEntry(Object value, long expirationInNanos) {
+            this.value = value;
+            this.expirationInNanos = expirationInNanos;
+        }
+
+        public Object getValue() {
+            return value;
+        }
+
+        public long getExpirationInNanos() {
+            return expirationInNanos;
+        }
+    }
+
+    private static class EntryExpiry implements Expiry<String, CacheEntry> {
+
+        @Override
+        public long expireAfterCreate(String key, CacheEntry entry, long currentTime) {
+            return entry.getExpirationInNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CacheEntry entry, long currentTime, long currentDuration) {
+            // put always resets expiration like it's done for ExpiringMap with CREATED policy
+            return entry.getExpirationInNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, CacheEntry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -32,6 +32,10 @@ public class CacheConfiguration implements Serializable {
 
     private NativePersistenceConfiguration nativePersistenceConfiguration;
 
+    private NearCacheConfiguration nearCacheConfiguration;
+
+    private ReadThroughConfiguration readThroughConfiguration = new ReadThroughConfiguration();
+
     private String keyPrefix;
 
     public NativePersistenceConfiguration getNativePersistenceConfiguration() {
@@ -74,6 +78,22 @@ public class CacheConfiguration implements Serializable {
         this.memcachedConfiguration = memcachedConfiguration;
     }
 
+    public NearCacheConfiguration getNearCacheConfiguration() {
+        return nearCacheConfiguration;
+    }
+
+    public void setNearCacheConfiguration(NearCacheConfiguration nearCacheConfiguration) {
+        this.nearCacheConfiguration = nearCacheConfiguration;
+    }
+
+    public ReadThroughConfiguration getReadThroughConfiguration() {
+        return readThroughConfiguration;
+    }
+
+    public void setReadThroughConfiguration(ReadThroughConfiguration readThroughConfiguration) {
+        this.readThroughConfiguration = readThroughConfiguration;
+    }
+
     public String getKeyPrefix() {
         return keyPrefix;
     }
@@ -90,6 +110,8 @@ public class CacheConfiguration implements Serializable {
                 ", redisConfiguration=" + redisConfiguration +
                 ", inMemoryConfiguration=" + inMemoryConfiguration +
                 ", nativePersistenceConfiguration=" + nativePersistenceConfiguration +
+                ", nearCacheConfiguration=" + nearCacheConfiguration +
+                ", readThroughConfiguration=" + readThroughConfiguration +
                 ", keyPrefix=" + keyPrefix +
                 '}';
     }
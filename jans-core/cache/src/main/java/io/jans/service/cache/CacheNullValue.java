@@ -0,0 +1,33 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import java.io.Serializable;
+
+/**
+ * Marker which is stored in cache for keys without value. Compare with instanceof, deserialized
+ * marker is not the same instance
+ */
+public final class CacheNullValue implements Serializable {
+
+    private static final long serialVersionUID = 2381893645018617482L;
+
+    public static final CacheNullValue INSTANCE = new CacheNullValue();
+
+    private CacheNullValue() {
+    }
+
+    private Object readResolve() {
+        return INSTANCE;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheNullValue";
+    }
+
+}
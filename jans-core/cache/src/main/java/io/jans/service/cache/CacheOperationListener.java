@@ -0,0 +1,35 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+/**
+ * Receives duration of cache provider operations and read-through events. Applications provide CDI
+ * bean which implements this interface to collect cache metrics
+ */
+public interface CacheOperationListener {
+
+    String GET = "get";
+    String PUT = "put";
+    String REMOVE = "remove";
+    String INCREMENT = "increment";
+    // Load function call and waiting for value loaded by another thread in getWithPut
+    String LOAD = "load";
+    String WAIT = "wait";
+
+    // Read-through events of getWithPut
+    String EVENT_LOAD = "load";
+    String EVENT_COALESCED_WAIT = "coalesced_wait";
+    String EVENT_REFRESH_AHEAD = "refresh_ahead";
+    String EVENT_STALE_SERVE = "stale_serve";
+    String EVENT_NEGATIVE_HIT = "negative_hit";
+
+    void onOperation(CacheProviderType providerType, String operation, long durationInNanos);
+
+    default void onReadThroughEvent(String event) {
+    }
+
+}
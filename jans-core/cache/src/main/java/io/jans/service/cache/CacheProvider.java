@@ -51,6 +51,29 @@ public abstract class CacheProvider<T> implements CacheInterface {
 	
 	public abstract CacheProviderType getProviderType();
 
+    /**
+     * @return statistics of cache provider or null if provider doesn't collect it
+     */
+    public CacheStatistics getStatistics() {
+        return null;
+    }
+
+    /**
+     * @return true if provider can update counters atomically across all nodes which share it
+     */
+    public boolean isAtomicCounterSupported() {
+        return false;
+    }
+
+    /**
+     * Atomically adds delta to counter stored under the given key. Expiration is set when counter is created
+     *
+     * @return - value of counter after increment
+     */
+    public long incrementBy(String key, long delta, int expirationInSeconds) {
+        throw new UnsupportedOperationException("Atomic counters are not supported by " + getProviderType() + " cache provider");
+    }
+
     public abstract CacheConfiguration getCacheConfiguration();
 
 }
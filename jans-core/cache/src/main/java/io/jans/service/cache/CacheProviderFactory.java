@@ -32,6 +32,9 @@ public class CacheProviderFactory {
     @Any
     private Instance<CacheProvider> instance;
 
+    @Inject
+    private Instance<NearCacheInvalidationChannel> nearCacheInvalidationChannelInstance;
+
     @Produces
     @ApplicationScoped
     public CacheProvider getCacheProvider() {
@@ -53,7 +56,11 @@ public class CacheProviderFactory {
         AbstractCacheProvider<?> cacheProvider = null;
         switch (cacheProviderType) {
             case IN_MEMORY:
-            	cacheProvider = instance.select(InMemoryCacheProvider.class).get();
+                if (cacheConfiguration.getInMemoryConfiguration() != null && cacheConfiguration.getInMemoryConfiguration().isBounded()) {
+                    cacheProvider = instance.select(BoundedInMemoryCacheProvider.class).get();
+                } else {
+                    cacheProvider = instance.select(InMemoryCacheProvider.class).get();
+                }
                 break;
             case MEMCACHED:
             	cacheProvider = instance.select(MemcachedProvider.class).get();
@@ -72,9 +79,29 @@ public class CacheProviderFactory {
 
         cacheProvider.create();
 
+        NearCacheConfiguration nearCacheConfiguration = cacheConfiguration.getNearCacheConfiguration();
+        if ((nearCacheConfiguration != null) && nearCacheConfiguration.isEnabled()) {
+            NearCacheProvider nearCacheProvider = new NearCacheProvider(cacheProvider, nearCacheConfiguration, getNearCacheInvalidationChannel());
+            nearCacheProvider.create();
+
+            return nearCacheProvider;
+        }
+
         return cacheProvider;
 	}
 
+    private NearCacheInvalidationChannel getNearCacheInvalidationChannel() {
+        try {
+            if (nearCacheInvalidationChannelInstance.isResolvable()) {
+                return nearCacheInvalidationChannelInstance.get();
+            }
+        } catch (Exception ex) {
+            log.warn("Failed to get near cache invalidation channel", ex);
+        }
+
+        return null;
+    }
+
     @Produces
     @ApplicationScoped
     @LocalCache
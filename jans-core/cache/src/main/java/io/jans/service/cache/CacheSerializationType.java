@@ -0,0 +1,38 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import jakarta.xml.bind.annotation.XmlEnum;
+
+/**
+ * Format of values stored by cache providers which keeps values in serialized form
+ */
+@XmlEnum(String.class)
+public enum CacheSerializationType {
+
+    JAVA((byte) 1), CBOR((byte) 2);
+
+    private final byte id;
+
+    CacheSerializationType(byte id) {
+        this.id = id;
+    }
+
+    public byte getId() {
+        return id;
+    }
+
+    public static CacheSerializationType fromId(byte id) {
+        for (CacheSerializationType type : values()) {
+            if (type.id == id) {
+                return type;
+            }
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,22 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import java.io.IOException;
+
+/**
+ * Converts cache values to bytes and back
+ */
+public interface CacheSerializer {
+
+    CacheSerializationType getType();
+
+    byte[] serialize(Object object) throws IOException;
+
+    Object deserialize(byte[] data, int offset, int length) throws IOException;
+
+}
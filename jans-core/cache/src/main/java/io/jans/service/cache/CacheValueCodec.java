@@ -0,0 +1,156 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Encodes cache values with selected serializer and optional compression.
+ *
+ * Encoded value format: [MAGIC][serializer id][flags][payload].
+ * Values without header are values stored by Java serialization (format used by previous versions).
+ * Plain Java serialized values are still written without header to allow rolling upgrade.
+ */
+public class CacheValueCodec {
+
+    public static final byte MAGIC = (byte) 0x4A;
+    public static final int HEADER_LENGTH = 3;
+
+    public static final byte FLAG_DEFLATE = 0x01;
+
+    private static final JavaCacheSerializer JAVA_SERIALIZER = new JavaCacheSerializer();
+    private static final CborCacheSerializer CBOR_SERIALIZER = new CborCacheSerializer();
+
+    private final CacheSerializer serializer;
+    private final int compressionThreshold;
+
+    /**
+     * @param serializationType    serializer for new values
+     * @param compressionThreshold compress values which are larger than this threshold in bytes, 0 - disable compression
+     */
+    public CacheValueCodec(CacheSerializationType serializationType, int compressionThreshold) {
+        this.serializer = getSerializer(serializationType == null ? CacheSerializationType.JAVA : serializationType);
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    public static CacheSerializer getSerializer(CacheSerializationType serializationType) {
+        switch (serializationType) {
+            case CBOR:
+                return CBOR_SERIALIZER;
+            default:
+                return JAVA_SERIALIZER;
+        }
+    }
+
+    public byte[] encode(Object object) throws IOException {
+        byte[] payload = serializer.serialize(object);
+
+        byte flags = 0;
+        if ((compressionThreshold > 0) && (payload.length > compressionThreshold)) {
+            byte[] compressed = deflate(payload);
+            if (compressed.length < payload.length) {
+                payload = compressed;
+                flags |= FLAG_DEFLATE;
+            }
+        }
+
+        if ((flags == 0) && (serializer.getType() == CacheSerializationType.JAVA)) {
+            return payload;
+        }
+
+        byte[] result = new byte[HEADER_LENGTH + payload.length];
+        result[0] = MAGIC;
+        result[1] = serializer.getType().getId();
+        result[2] = flags;
+        System.arraycopy(payload, 0, result, HEADER_LENGTH, payload.length);
+
+        return result;
+    }
+
+    public Object decode(byte[] data) throws IOException {
+        if ((data == null) || (data.length == 0)) {
+            return null;
+        }
+
+        if ((data.length < HEADER_LENGTH) || (data[0] != MAGIC)) {
+            // Value without header
+            return JAVA_SERIALIZER.deserialize(data, 0, data.length);
+        }
+
+        CacheSerializationType serializationType = CacheSerializationType.fromId(data[1]);
+        if (serializationType == null) {
+            throw new IOException(String.format("Unsupported cache value serializer '%d'", data[1]));
+        }
+
+        CacheSerializer valueSerializer = getSerializer(serializationType);
+        if ((data[2] & FLAG_DEFLATE) != 0) {
+            byte[] payload = inflate(data, HEADER_LENGTH, data.length - HEADER_LENGTH);
+            return valueSerializer.deserialize(payload, 0, payload.length);
+        }
+
+        return valueSerializer.deserialize(data, HEADER_LENGTH, data.length - HEADER_LENGTH);
+    }
+
+    public String encodeToString(Object object) throws IOException {
+        return Base64.getEncoder().encodeToString(encode(object));
+    }
+
+    public Object decodeFromString(String value) throws IOException {
+        if (value == null) {
+            return null;
+        }
+
+        return decode(Base64.getMimeDecoder().decode(value));
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+
+            ByteArrayOutputStream baos = new ByteArrayOutputStream(data.length / 2);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                int count = deflater.deflate(buffer);
+                baos.write(buffer, 0, count);
+            }
+
+            return baos.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] data, int offset, int length) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data, offset, length);
+
+            ByteArrayOutputStream baos = new ByteArrayOutputStream(length * 3);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if ((count == 0) && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Compressed cache value is truncated");
+                }
+                baos.write(buffer, 0, count);
+            }
+
+            return baos.toByteArray();
+        } catch (DataFormatException ex) {
+            throw new IOException("Failed to decompress cache value", ex);
+        } finally {
+            inflater.end();
+        }
+    }
+}
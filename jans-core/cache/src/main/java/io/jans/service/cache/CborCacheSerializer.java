@@ -0,0 +1,76 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+import java.io.IOException;
+
+/**
+ * Compact binary serialization based on CBOR.
+ *
+ * Object state is written field by field like it's done by Java serialization (transient fields are skipped).
+ * Field names are stored with values, so fields added or removed in new versions of classes are tolerated.
+ * Values classes should have default constructor.
+ */
+public class CborCacheSerializer implements CacheSerializer {
+
+    private static final PolymorphicTypeValidator TYPE_VALIDATOR = BasicPolymorphicTypeValidator.builder()
+            .allowIfSubType("io.jans.")
+            .allowIfSubType("java.")
+            .allowIfSubTypeIsArray()
+            .build();
+
+    private final ObjectMapper mapper;
+
+    public CborCacheSerializer() {
+        this.mapper = new ObjectMapper(new CBORFactory());
+        this.mapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE);
+        this.mapper.setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
+        this.mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        this.mapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+        this.mapper.activateDefaultTyping(TYPE_VALIDATOR, ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+    }
+
+    @Override
+    public CacheSerializationType getType() {
+        return CacheSerializationType.CBOR;
+    }
+
+    @Override
+    public byte[] serialize(Object object) throws IOException {
+        // Wrap value to store root value type
+        return mapper.writeValueAsBytes(new Value(object));
+    }
+
+    @Override
+    public Object deserialize(byte[] data, int offset, int length) throws IOException {
+        Value value = mapper.readValue(data, offset, length, Value.class);
+
+        return value.value;
+    }
+
+    private static final class Value {
+
+        private Object value;
+
+        private Value() {
+        }
+
+        private Value(Object value) {
+            this.value = value;
+        }
+    }
+}
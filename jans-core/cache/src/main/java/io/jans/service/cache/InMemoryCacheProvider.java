@@ -16,6 +16,7 @@ import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * @author yuriyz on 02/21/2017.
@@ -34,6 +35,11 @@ public class InMemoryCacheProvider extends AbstractCacheProvider<ExpiringMap> {
 
     private InMemoryConfiguration inMemoryConfiguration;
 
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder loadCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
     public InMemoryCacheProvider() {
     }
 
@@ -45,7 +51,8 @@ public class InMemoryCacheProvider extends AbstractCacheProvider<ExpiringMap> {
     public void create() {
     	log.debug("Starting InMemoryCacheProvider ...");
         try {
-            map = ExpiringMap.builder().expirationPolicy(ExpirationPolicy.CREATED).variableExpiration().build();
+            map = ExpiringMap.builder().expirationPolicy(ExpirationPolicy.CREATED).variableExpiration()
+                    .expirationListener((key, value) -> evictionCount.increment()).build();
 
             log.debug("InMemoryCacheProvider started.");
         } catch (Exception e) {
@@ -79,18 +86,27 @@ public class InMemoryCacheProvider extends AbstractCacheProvider<ExpiringMap> {
 
     @Override
     public Object get(String key) {
-        return map.get(key);
+        Object value = map.get(key);
+        if (value == null) {
+            missCount.increment();
+        } else {
+            hitCount.increment();
+        }
+        return value;
     }
 
     @Override
     public void put(int expirationInSeconds, String key, Object object) {
-        // if key already exists and hash is the same for value then expiration time is
-        // not updated
-        // net.jodah.expiringmap.ExpiringMap.putInternal()
-        // therefore we first remove entry and then put it
-        map.remove(key);
         expirationInSeconds = expirationInSeconds >= 0 ? expirationInSeconds : inMemoryConfiguration.getDefaultPutExpiration();
-        map.put(key, object, ExpirationPolicy.CREATED, expirationInSeconds, TimeUnit.SECONDS);
+        Object oldValue = map.put(key, object, ExpirationPolicy.CREATED, expirationInSeconds, TimeUnit.SECONDS);
+
+        // if key already exists and value is the same then expiration time is not updated
+        // net.jodah.expiringmap.ExpiringMap.putInternal()
+        // therefore we reset expiration explicitly only in this case
+        if ((oldValue != null) && oldValue.equals(object)) {
+            map.setExpiration(key, expirationInSeconds, TimeUnit.SECONDS);
+        }
+        loadCount.increment();
     }
 
     @Override
@@ -107,6 +123,11 @@ public class InMemoryCacheProvider extends AbstractCacheProvider<ExpiringMap> {
         this.cacheConfiguration = cacheConfiguration;
     }
 
+    @Override
+    public CacheStatistics getStatistics() {
+        return new CacheStatistics(hitCount.sum(), missCount.sum(), loadCount.sum(), evictionCount.sum(), map.size());
+    }
+
     @Override
     public CacheProviderType getProviderType() {
         return CacheProviderType.IN_MEMORY;
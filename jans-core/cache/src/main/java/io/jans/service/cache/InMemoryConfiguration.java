@@ -10,6 +10,7 @@ import java.io.Serializable;
 
 import jakarta.xml.bind.annotation.XmlElement;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 
@@ -24,6 +25,47 @@ public class InMemoryConfiguration implements Serializable {
     @XmlElement(name = "defaultPutExpiration")
     private int defaultPutExpiration = 60; // in seconds
 
+    // 0 - unbounded
+    @XmlElement(name = "maxEntries")
+    private long maxEntries = 0;
+
+    // 0 - unbounded
+    @XmlElement(name = "maxWeightInBytes")
+    private long maxWeightInBytes = 0;
+
+    // Weight of value if it's not possible to estimate it
+    @XmlElement(name = "defaultEntryWeightInBytes")
+    private int defaultEntryWeightInBytes = 1024;
+
+    @JsonIgnore
+    public boolean isBounded() {
+        return maxEntries > 0 || maxWeightInBytes > 0;
+    }
+
+    public long getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(long maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public long getMaxWeightInBytes() {
+        return maxWeightInBytes;
+    }
+
+    public void setMaxWeightInBytes(long maxWeightInBytes) {
+        this.maxWeightInBytes = maxWeightInBytes;
+    }
+
+    public int getDefaultEntryWeightInBytes() {
+        return defaultEntryWeightInBytes;
+    }
+
+    public void setDefaultEntryWeightInBytes(int defaultEntryWeightInBytes) {
+        this.defaultEntryWeightInBytes = defaultEntryWeightInBytes;
+    }
+
     public int getDefaultPutExpiration() {
         return defaultPutExpiration;
     }
@@ -34,6 +76,7 @@ public class InMemoryConfiguration implements Serializable {
 
     @Override
     public String toString() {
-        return "InMemoryConfiguration{" + "defaultPutExpiration=" + defaultPutExpiration + '}';
+        return "InMemoryConfiguration{" + "defaultPutExpiration=" + defaultPutExpiration + ", maxEntries=" + maxEntries
+                + ", maxWeightInBytes=" + maxWeightInBytes + ", defaultEntryWeightInBytes=" + defaultEntryWeightInBytes + '}';
     }
 }
@@ -0,0 +1,43 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+/**
+ * Standard Java serialization. It's compatible with values stored by previous versions.
+ */
+public class JavaCacheSerializer implements CacheSerializer {
+
+    @Override
+    public CacheSerializationType getType() {
+        return CacheSerializationType.JAVA;
+    }
+
+    @Override
+    public byte[] serialize(Object object) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(512);
+        try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+            oos.writeObject(object);
+        }
+
+        return baos.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] data, int offset, int length) throws IOException {
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(data, offset, length))) {
+            return ois.readObject();
+        } catch (ClassNotFoundException ex) {
+            throw new IOException("Failed to find class of cache value", ex);
+        }
+    }
+}
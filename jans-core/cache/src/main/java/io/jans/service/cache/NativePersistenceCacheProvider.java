@@ -12,9 +12,7 @@ import io.jans.orm.exception.operation.DuplicateEntryException;
 import io.jans.orm.exception.operation.SearchException;
 import io.jans.orm.model.base.SimpleBranch;
 import io.jans.orm.search.filter.Filter;
-import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.codec.digest.DigestUtils;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,10 +20,6 @@ import org.slf4j.LoggerFactory;
 import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.util.Calendar;
 import java.util.Date;
 
@@ -49,6 +43,8 @@ public class NativePersistenceCacheProvider extends AbstractCacheProvider<Persis
 
 	private boolean attemptUpdateBeforeInsert;
 
+	private CacheValueCodec codec = new CacheValueCodec(CacheSerializationType.JAVA, 0);
+
     @PostConstruct
     public void init() {
     }
@@ -58,6 +54,8 @@ public class NativePersistenceCacheProvider extends AbstractCacheProvider<Persis
         try {
             baseDn = cacheConfiguration.getNativePersistenceConfiguration().getBaseDn();
             deleteExpiredOnGetRequest = cacheConfiguration.getNativePersistenceConfiguration().isDeleteExpiredOnGetRequest();
+            codec = new CacheValueCodec(cacheConfiguration.getNativePersistenceConfiguration().getSerializationType(),
+                    cacheConfiguration.getNativePersistenceConfiguration().getCompressionThreshold());
 
             if (StringUtils.isBlank(baseDn)) {
                 log.error("Failed to create NATIVE_PERSISTENCE cache provider. 'baseDn' in CacheConfiguration is not initialized. It has to be set by client application (e.g. oxAuth has to set it in ApplicationFactory.)");
@@ -249,15 +247,7 @@ public class NativePersistenceCacheProvider extends AbstractCacheProvider<Persis
 
     private Object fromString(String s) {
         try {
-            byte[] data = Base64.decodeBase64(s);
-            ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(data));
-            try {
-                Object o = ois.readObject();
-                ois.close();
-                return o;
-            } finally {
-                IOUtils.closeQuietly(ois);
-            }
+            return codec.decodeFromString(s);
         } catch (Exception e) {
             log.error("Failed to deserizalize cache entity, data: " + s, e);
             return null;
@@ -265,18 +255,11 @@ public class NativePersistenceCacheProvider extends AbstractCacheProvider<Persis
     }
 
     private String asString(Object o) {
-        ObjectOutputStream oos = null;
         try {
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            oos = new ObjectOutputStream(baos);
-            oos.writeObject(o);
-            oos.close();
-            return Base64.encodeBase64String(baos.toByteArray());
+            return codec.encodeToString(o);
         } catch (Exception e) {
-            log.error("Failed to serizalize cache entity to string, object: " + 0, e);
+            log.error("Failed to serizalize cache entity to string, object: " + o, e);
             return null;
-        } finally {
-            IOUtils.closeQuietly(oos);
         }
     }
 
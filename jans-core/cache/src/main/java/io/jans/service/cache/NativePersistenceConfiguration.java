@@ -29,6 +29,13 @@ public class NativePersistenceConfiguration implements Serializable {
     @XmlElement(name = "disableAttemptUpdateBeforeInsert")
     private boolean disableAttemptUpdateBeforeInsert = false;
 
+    @XmlElement(name = "serializationType")
+    private CacheSerializationType serializationType = CacheSerializationType.JAVA;
+
+    // Compress values which are larger than this threshold in bytes. 0 - disable compression
+    @XmlElement(name = "compressionThreshold")
+    private int compressionThreshold = 0;
+
     @JsonIgnore
     private String baseDn;
 
@@ -64,6 +71,22 @@ public class NativePersistenceConfiguration implements Serializable {
         this.disableAttemptUpdateBeforeInsert = disableAttemptUpdateBeforeInsert;
     }
 
+    public CacheSerializationType getSerializationType() {
+        return serializationType;
+    }
+
+    public void setSerializationType(CacheSerializationType serializationType) {
+        this.serializationType = serializationType;
+    }
+
+    public int getCompressionThreshold() {
+        return compressionThreshold;
+    }
+
+    public void setCompressionThreshold(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
     public String getBaseDn() {
         return baseDn;
     }
@@ -77,6 +100,7 @@ public class NativePersistenceConfiguration implements Serializable {
 		return "NativePersistenceConfiguration [defaultPutExpiration=" + defaultPutExpiration + ", defaultCleanupBatchSize="
 				+ defaultCleanupBatchSize + ", deleteExpiredOnGetRequest=" + deleteExpiredOnGetRequest
                 + ", disableAttemptUpdateBeforeInsert=" + disableAttemptUpdateBeforeInsert
+                + ", serializationType=" + serializationType + ", compressionThreshold=" + compressionThreshold
                 + ", baseDn=" + baseDn + "]";
 	}
 }
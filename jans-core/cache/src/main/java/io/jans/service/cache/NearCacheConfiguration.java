@@ -0,0 +1,91 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Configuration of L1 on-heap cache in front of main cache provider
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class NearCacheConfiguration implements Serializable {
+
+    private static final long serialVersionUID = 3302163458128712093L;
+
+    private boolean enabled = false;
+
+    // Default region settings. They are used for all keys if there are no regions
+    private int ttl = 5; // in seconds
+
+    private long maxEntries = 10000;
+
+    // Return copy of cached value to prevent changes of shared instance by callers
+    private boolean copyOnRead = true;
+
+    private String invalidationChannel = "jans_cache_invalidation";
+
+    // If regions are specified only keys which match one of them are stored in near cache
+    private List<NearCacheRegionConfiguration> regions = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(int ttl) {
+        this.ttl = ttl;
+    }
+
+    public long getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(long maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public boolean isCopyOnRead() {
+        return copyOnRead;
+    }
+
+    public void setCopyOnRead(boolean copyOnRead) {
+        this.copyOnRead = copyOnRead;
+    }
+
+    public String getInvalidationChannel() {
+        return invalidationChannel;
+    }
+
+    public void setInvalidationChannel(String invalidationChannel) {
+        this.invalidationChannel = invalidationChannel;
+    }
+
+    public List<NearCacheRegionConfiguration> getRegions() {
+        return regions;
+    }
+
+    public void setRegions(List<NearCacheRegionConfiguration> regions) {
+        this.regions = regions;
+    }
+
+    @Override
+    public String toString() {
+        return "NearCacheConfiguration{" + "enabled=" + enabled + ", ttl=" + ttl + ", maxEntries=" + maxEntries + ", copyOnRead="
+                + copyOnRead + ", invalidationChannel='" + invalidationChannel + '\'' + ", regions=" + regions + '}';
+    }
+}
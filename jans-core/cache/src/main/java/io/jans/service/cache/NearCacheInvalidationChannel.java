@@ -0,0 +1,22 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts near cache invalidations to other nodes
+ */
+public interface NearCacheInvalidationChannel {
+
+    boolean publish(String channel, String message);
+
+    void subscribe(String channel, Consumer<String> listener);
+
+    void unsubscribe(String channel);
+
+}
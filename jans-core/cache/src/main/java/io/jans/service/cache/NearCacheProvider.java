@@ -0,0 +1,514 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * Two level cache provider. Keeps short lived copies of hot entries in local heap (L1) in front of
+ * shared cache provider (L2). All updates go to L2 and are broadcasted to other nodes to evict their
+ * L1 copies. Without invalidation channel staleness on other nodes is bounded by region TTL.
+ */
+public class NearCacheProvider extends AbstractCacheProvider<CacheProvider<?>> {
+
+    public static final String CLEAR_ALL_KEY = "*";
+
+    private static final String MESSAGE_SEPARATOR = "|";
+
+    private static final Logger log = LoggerFactory.getLogger(NearCacheProvider.class);
+
+    private final CacheProvider<?> delegate;
+    private final NearCacheConfiguration nearCacheConfiguration;
+    private final NearCacheInvalidationChannel invalidationChannel;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final CacheValueCodec codec = new CacheValueCodec(CacheSerializationType.JAVA, 0);
+
+    // Sorted by key prefix length in descending order
+    private List<Region> regions;
+    private String keyPrefix;
+
+    private final LongAdder invalidationsPublished = new LongAdder();
+    private final LongAdder invalidationsReceived = new LongAdder();
+
+    public NearCacheProvider(CacheProvider<?> delegate, NearCacheConfiguration nearCacheConfiguration, NearCacheInvalidationChannel invalidationChannel) {
+        this.delegate = delegate;
+        this.nearCacheConfiguration = nearCacheConfiguration;
+        this.invalidationChannel = invalidationChannel;
+    }
+
+    @Override
+    public void create() {
+        log.debug("Starting NearCacheProvider ...");
+
+        CacheConfiguration cacheConfiguration = delegate.getCacheConfiguration();
+        this.keyPrefix = cacheConfiguration == null ? null : StringUtils.trimToNull(cacheConfiguration.getKeyPrefix());
+
+        List<Region> newRegions = new ArrayList<>();
+        List<NearCacheRegionConfiguration> regionConfigurations = nearCacheConfiguration.getRegions();
+        if ((regionConfigurations == null) || regionConfigurations.isEmpty()) {
+            NearCacheRegionConfiguration defaultRegion = new NearCacheRegionConfiguration();
+            defaultRegion.setName("default");
+            defaultRegion.setKeyPrefix("");
+            defaultRegion.setTtl(nearCacheConfiguration.getTtl());
+            defaultRegion.setMaxEntries(nearCacheConfiguration.getMaxEntries());
+            newRegions.add(new Region(defaultRegion));
+        } else {
+            for (NearCacheRegionConfiguration regionConfiguration : regionConfigurations) {
+                if (regionConfiguration.getKeyPrefix() == null) {
+                    log.warn("Skipping near cache region '{}' without key prefix", regionConfiguration.getName());
+                    continue;
+                }
+                newRegions.add(new Region(regionConfiguration));
+            }
+        }
+        newRegions.sort((r1, r2) -> Integer.compare(r2.getKeyPrefix().length(), r1.getKeyPrefix().length()));
+        this.regions = newRegions;
+
+        if (invalidationChannel == null) {
+            log.warn("Near cache invalidation channel is not available. Changes made on other nodes will be visible after region TTL");
+        } else {
+            invalidationChannel.subscribe(nearCacheConfiguration.getInvalidationChannel(), this::onInvalidationMessage);
+        }
+
+        log.debug("NearCacheProvider started with configuration: {}", nearCacheConfiguration);
+    }
+
+    @Override
+    public void destroy() {
+        log.debug("Destroying NearCacheProvider");
+
+        if (invalidationChannel != null) {
+            invalidationChannel.unsubscribe(nearCacheConfiguration.getInvalidationChannel());
+        }
+        invalidateAllLocal();
+
+        log.debug("Destroyed NearCacheProvider");
+    }
+
+    @Override
+    public CacheProvider<?> getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public boolean isAtomicCounterSupported() {
+        return delegate.isAtomicCounterSupported();
+    }
+
+    @Override
+    public long incrementBy(String key, long delta, int expirationInSeconds) {
+        // Counters are not cached locally
+        return delegate.incrementBy(key, delta, expirationInSeconds);
+    }
+
+    @Override
+    public boolean hasKey(String key) {
+        Region region = findRegion(key);
+        if ((region != null) && (region.peek(key) != null)) {
+            return true;
+        }
+
+        return delegate.hasKey(key);
+    }
+
+    @Override
+    public Object get(String key) {
+        Region region = findRegion(key);
+        if (region == null) {
+            return delegate.get(key);
+        }
+
+        NearCacheEntry entry = region.peek(key);
+        if (entry != null) {
+            try {
+                Object value = entry.getValue(codec);
+                region.recordHit();
+                return value;
+            } catch (IOException ex) {
+                log.warn("Failed to decode near cache entry '{}'", key, ex);
+                region.getCache().invalidate(key);
+            }
+        }
+        region.recordMiss();
+
+        // Pending marker is replaced by loaded value only if put or invalidation of this key didn't remove it
+        long ttlInNanos = TimeUnit.SECONDS.toNanos(region.getTtl());
+        NearCacheEntry pendingEntry = region.startLoad(key, ttlInNanos);
+        boolean stored = false;
+        try {
+            Object value = delegate.get(key);
+            if (pendingEntry != null) {
+                NearCacheEntry newEntry = toEntry(key, value, ttlInNanos);
+                stored = (newEntry != null) && region.completeLoad(key, pendingEntry, newEntry);
+            }
+
+            return value;
+        } finally {
+            if ((pendingEntry != null) && !stored) {
+                region.cancelLoad(key, pendingEntry);
+            }
+        }
+    }
+
+    @Override
+    public void put(int expirationInSeconds, String key, Object object) {
+        delegate.put(expirationInSeconds, key, object);
+
+        Region region = findRegion(key);
+        if (region != null) {
+            long ttlInNanos = TimeUnit.SECONDS.toNanos(region.getTtl());
+            if (expirationInSeconds > 0) {
+                ttlInNanos = Math.min(ttlInNanos, TimeUnit.SECONDS.toNanos(expirationInSeconds));
+            }
+
+            NearCacheEntry entry = toEntry(key, object, ttlInNanos);
+            if (entry == null) {
+                region.getCache().invalidate(key);
+            } else {
+                region.store(key, entry);
+            }
+        }
+
+        publishInvalidation(key);
+    }
+
+    @Override
+    public void remove(String key) {
+        delegate.remove(key);
+
+        Region region = findRegion(key);
+        if (region != null) {
+            region.getCache().invalidate(key);
+        }
+
+        publishInvalidation(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        invalidateAllLocal();
+
+        publishInvalidation(CLEAR_ALL_KEY);
+    }
+
+    @Override
+    public void cleanup(Date now) {
+        delegate.cleanup(now);
+        for (Region region : regions) {
+            region.getCache().cleanUp();
+        }
+    }
+
+    @Override
+    public CacheProviderType getProviderType() {
+        return delegate.getProviderType();
+    }
+
+    @Override
+    public CacheConfiguration getCacheConfiguration() {
+        return delegate.getCacheConfiguration();
+    }
+
+    /**
+     * @return aggregated statistics of local (L1) regions
+     */
+    @Override
+    public CacheStatistics getStatistics() {
+        long hitCount = 0, missCount = 0, loadCount = 0, evictionCount = 0, size = 0;
+        for (Region region : regions) {
+            CacheStats stats = region.getCache().stats();
+            hitCount += region.getHitCount();
+            missCount += region.getMissCount();
+            loadCount += region.getLoadCount();
+            evictionCount += stats.evictionCount();
+            size += region.getCache().estimatedSize();
+        }
+
+        return new CacheStatistics(hitCount, missCount, loadCount, evictionCount, size);
+    }
+
+    public Map<String, CacheStatistics> getRegionStatistics() {
+        Map<String, CacheStatistics> result = new LinkedHashMap<>();
+        for (Region region : regions) {
+            CacheStats stats = region.getCache().stats();
+            result.put(region.getName(), new CacheStatistics(region.getHitCount(), region.getMissCount(), region.getLoadCount(),
+                    stats.evictionCount(), region.getCache().estimatedSize()));
+        }
+
+        return Collections.unmodifiableMap(result);
+    }
+
+    public long getInvalidationsPublished() {
+        return invalidationsPublished.sum();
+    }
+
+    public long getInvalidationsReceived() {
+        return invalidationsReceived.sum();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    protected void onInvalidationMessage(String message) {
+        if (message == null) {
+            return;
+        }
+
+        int idx = message.indexOf(MESSAGE_SEPARATOR);
+        if (idx == -1) {
+            log.trace("Ignoring invalid near cache invalidation message '{}'", message);
+            return;
+        }
+
+        String senderNodeId = message.substring(0, idx);
+        if (nodeId.equals(senderNodeId)) {
+            // Local L1 was updated already
+            return;
+        }
+
+        invalidationsReceived.increment();
+
+        String key = message.substring(idx + 1);
+        if (CLEAR_ALL_KEY.equals(key)) {
+            invalidateAllLocal();
+            return;
+        }
+
+        Region region = findRegion(key);
+        if (region != null) {
+            region.getCache().invalidate(key);
+        }
+    }
+
+    private void publishInvalidation(String key) {
+        if (invalidationChannel == null) {
+            return;
+        }
+
+        try {
+            if (invalidationChannel.publish(nearCacheConfiguration.getInvalidationChannel(), nodeId + MESSAGE_SEPARATOR + key)) {
+                invalidationsPublished.increment();
+            }
+        } catch (Exception ex) {
+            log.warn("Failed to publish near cache invalidation for key '{}'", key, ex);
+        }
+    }
+
+    private void invalidateAllLocal() {
+        if (regions == null) {
+            return;
+        }
+
+        for (Region region : regions) {
+            region.getCache().invalidateAll();
+        }
+    }
+
+    private Region findRegion(String key) {
+        if (key == null) {
+            return null;
+        }
+
+        String regionKey = key;
+        if ((keyPrefix != null) && key.startsWith(keyPrefix)) {
+            regionKey = key.substring(keyPrefix.length());
+        }
+
+        for (Region region : regions) {
+            if (regionKey.startsWith(region.getKeyPrefix())) {
+                return region;
+            }
+        }
+
+        return null;
+    }
+
+    private NearCacheEntry toEntry(String key, Object value, long ttlInNanos) {
+        if ((value == null) || (ttlInNanos <= 0)) {
+            return null;
+        }
+
+        if (!nearCacheConfiguration.isCopyOnRead()) {
+            return new NearCacheEntry(value, null, ttlInNanos);
+        }
+
+        try {
+            return new NearCacheEntry(null, codec.encode(value), ttlInNanos);
+        } catch (IOException | RuntimeException ex) {
+            log.trace("Value of key '{}' can't be stored in near cache", key, ex);
+            return null;
+        }
+    }
+
+    private static class Region {
+
+        private final String name;
+        private final String keyPrefix;
+        private final int ttl;
+        private final Cache<String, NearCacheEntry> cache;
+        private final LongAdder hitCount = new LongAdder();
+        private final LongAdder missCount = new LongAdder();
+        private final LongAdder loadCount = new LongAdder();
+
+        Region(NearCacheRegionConfiguration regionConfiguration) {
+            this.name = regionConfiguration.getName();
+            this.keyPrefix = regionConfiguration.getKeyPrefix();
+            this.ttl = regionConfiguration.getTtl();
+            this.cache = Caffeine.newBuilder().recordStats().maximumSize(regionConfiguration.getMaxEntries())
+                    .expireAfter(new NearCacheEntryExpiry()).build();
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getKeyPrefix() {
+            return keyPrefix;
+        }
+
+        public int getTtl() {
+            return ttl;
+        }
+
+        public Cache<String, NearCacheEntry> getCache() {
+            return cache;
+        }
+
+        /**
+         * @return loaded entry of key. Map view is used to not count pending entries in hits
+         */
+        public NearCacheEntry peek(String key) {
+            NearCacheEntry entry = cache.asMap().get(key);
+            return ((entry == null) || entry.isPending()) ? null : entry;
+        }
+
+        public void store(String key, NearCacheEntry entry) {
+            cache.put(key, entry);
+            loadCount.increment();
+        }
+
+        /**
+         * @return pending entry which should be passed to {@link #completeLoad} or null if key is
+         *         loaded by another thread already
+         */
+        public NearCacheEntry startLoad(String key, long ttlInNanos) {
+            if (ttlInNanos <= 0) {
+                return null;
+            }
+
+            NearCacheEntry pendingEntry = new NearCacheEntry(null, null, ttlInNanos, true);
+            return (cache.asMap().putIfAbsent(key, pendingEntry) == null) ? pendingEntry : null;
+        }
+
+        public boolean completeLoad(String key, NearCacheEntry pendingEntry, NearCacheEntry entry) {
+            boolean stored = cache.asMap().replace(key, pendingEntry, entry);
+            if (stored) {
+                loadCount.increment();
+            }
+
+            return stored;
+        }
+
+        public void cancelLoad(String key, NearCacheEntry pendingEntry) {
+            cache.asMap().remove(key, pendingEntry);
+        }
+
+        public void recordHit() {
+            hitCount.increment();
+        }
+
+        public void recordMiss() {
+            missCount.increment();
+        }
+
+        public long getHitCount() {
+            return hitCount.sum();
+        }
+
+        public long getMissCount() {
+            return missCount.sum();
+        }
+
+        public long getLoadCount() {
+            return loadCount.sum();
+        }
+    }
+
+    private static class NearCacheEntry {
+
+        private final Object value;
+        private final byte[] data;
+        private final long expirationInNanos;
+        private final boolean pending;
+
+        NearCacheEntry(Object value, byte[] data, long expirationInNanos) {
+            this(value, data, expirationInNanos, false);
+        }
+
+        NearCacheEntry(Object value, byte[] data, long expirationInNanos, boolean pending) {
+            this.value = value;
+            this.data = data;
+            this.expirationInNanos = expirationInNanos;
+            this.pending = pending;
+        }
+
+        boolean isPending() {
+            return pending;
+        }
+
+        Object getValue(CacheValueCodec codec) throws IOException {
+            if (data == null) {
+                return value;
+            }
+
+            return codec.decode(data);
+        }
+
+        long getExpirationInNanos() {
+            return expirationInNanos;
+        }
+    }
+
+    private static class NearCacheEntryExpiry implements Expiry<String, NearCacheEntry> {
+
+        @Override
+        public long expireAfterCreate(String key, NearCacheEntry entry, long currentTime) {
+            return entry.getExpirationInNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, NearCacheEntry entry, long currentTime, long currentDuration) {
+            return entry.getExpirationInNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, NearCacheEntry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import java.io.Serializable;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Near cache settings for keys with specified prefix
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class NearCacheRegionConfiguration implements Serializable {
+
+    private static final long serialVersionUID = -2465010452367328214L;
+
+    private String name;
+
+    private String keyPrefix;
+
+    private int ttl = 5; // in seconds
+
+    private long maxEntries = 10000;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getKeyPrefix() {
+        return keyPrefix;
+    }
+
+    public void setKeyPrefix(String keyPrefix) {
+        this.keyPrefix = keyPrefix;
+    }
+
+    public int getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(int ttl) {
+        this.ttl = ttl;
+    }
+
+    public long getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(long maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public String toString() {
+        return "NearCacheRegionConfiguration{" + "name='" + name + '\'' + ", keyPrefix='" + keyPrefix + '\'' + ", ttl=" + ttl
+                + ", maxEntries=" + maxEntries + '}';
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import java.io.Serializable;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Configuration of values loading in CacheService.getWithPut
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ReadThroughConfiguration implements Serializable {
+
+    private static final long serialVersionUID = -6069224384961526107L;
+
+    // Only one thread loads missing key, other threads wait for its result
+    private boolean singleFlightEnabled = true;
+
+    // After this time waiting thread loads value itself
+    private int loadWaitTimeout = 5; // in seconds
+
+    // Reload keys in background when they are requested after refreshAheadFactor part of expiration passed
+    private boolean refreshAheadEnabled = false;
+
+    private double refreshAheadFactor = 0.8;
+
+    // Store marker for keys which load function didn't find
+    private boolean negativeCacheEnabled = false;
+
+    private int negativeCacheTtl = 10; // in seconds
+
+    public boolean isSingleFlightEnabled() {
+        return singleFlightEnabled;
+    }
+
+    public void setSingleFlightEnabled(boolean singleFlightEnabled) {
+        this.singleFlightEnabled = singleFlightEnabled;
+    }
+
+    public int getLoadWaitTimeout() {
+        return loadWaitTimeout;
+    }
+
+    public void setLoadWaitTimeout(int loadWaitTimeout) {
+        this.loadWaitTimeout = loadWaitTimeout;
+    }
+
+    public boolean isRefreshAheadEnabled() {
+        return refreshAheadEnabled;
+    }
+
+    public void setRefreshAheadEnabled(boolean refreshAheadEnabled) {
+        this.refreshAheadEnabled = refreshAheadEnabled;
+    }
+
+    public double getRefreshAheadFactor() {
+        return refreshAheadFactor;
+    }
+
+    public void setRefreshAheadFactor(double refreshAheadFactor) {
+        this.refreshAheadFactor = refreshAheadFactor;
+    }
+
+    public boolean isNegativeCacheEnabled() {
+        return negativeCacheEnabled;
+    }
+
+    public void setNegativeCacheEnabled(boolean negativeCacheEnabled) {
+        this.negativeCacheEnabled = negativeCacheEnabled;
+    }
+
+    public int getNegativeCacheTtl() {
+        return negativeCacheTtl;
+    }
+
+    public void setNegativeCacheTtl(int negativeCacheTtl) {
+        this.negativeCacheTtl = negativeCacheTtl;
+    }
+
+    @Override
+    public String toString() {
+        return "ReadThroughConfiguration{" + "singleFlightEnabled=" + singleFlightEnabled + ", loadWaitTimeout=" + loadWaitTimeout
+                + ", refreshAheadEnabled=" + refreshAheadEnabled + ", refreshAheadFactor=" + refreshAheadFactor
+                + ", negativeCacheEnabled=" + negativeCacheEnabled + ", negativeCacheTtl=" + negativeCacheTtl + '}';
+    }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import java.io.Serializable;
+
+/**
+ * Immutable snapshot of CacheService.getWithPut statistics
+ */
+public class ReadThroughStatistics implements Serializable {
+
+    private static final long serialVersionUID = 4160914409637270958L;
+
+    private final long loadCount;
+    private final long coalescedWaitCount;
+    private final long refreshAheadCount;
+    private final long staleServeCount;
+    private final long negativeHitCount;
+
+    public ReadThroughStatistics(long loadCount, long coalescedWaitCount, long refreshAheadCount, long staleServeCount,
+            long negativeHitCount) {
+        this.loadCount = loadCount;
+        this.coalescedWaitCount = coalescedWaitCount;
+        this.refreshAheadCount = refreshAheadCount;
+        this.staleServeCount = staleServeCount;
+        this.negativeHitCount = negativeHitCount;
+    }
+
+    /**
+     * @return number of load function calls
+     */
+    public long getLoadCount() {
+        return loadCount;
+    }
+
+    /**
+     * @return number of requests which waited for value loaded by another thread
+     */
+    public long getCoalescedWaitCount() {
+        return coalescedWaitCount;
+    }
+
+    /**
+     * @return number of background reloads started by refresh-ahead
+     */
+    public long getRefreshAheadCount() {
+        return refreshAheadCount;
+    }
+
+    /**
+     * @return number of requests served with cached value which is due for refresh
+     */
+    public long getStaleServeCount() {
+        return staleServeCount;
+    }
+
+    /**
+     * @return number of requests served from negative cache
+     */
+    public long getNegativeHitCount() {
+        return negativeHitCount;
+    }
+
+    @Override
+    public String toString() {
+        return "ReadThroughStatistics [loadCount=" + loadCount + ", coalescedWaitCount=" + coalescedWaitCount
+                + ", refreshAheadCount=" + refreshAheadCount + ", staleServeCount=" + staleServeCount + ", negativeHitCount="
+                + negativeHitCount + "]";
+    }
+
+}
@@ -16,6 +16,8 @@ import redis.clients.jedis.JedisPoolConfig;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
@@ -127,4 +129,11 @@ public class RedisClusterProvider extends AbstractRedisProvider {
         LOG.trace("clear not allowed for cluster deployments");
     }
 
+    @Override
+    public long incrementBy(String key, long delta, int expirationInSeconds) {
+        Object value = pool.eval(INCREMENT_SCRIPT, Collections.singletonList(key),
+                Arrays.asList(Long.toString(delta), Integer.toString(expirationInSeconds)));
+        return (Long) value;
+    }
+
 }
@@ -130,6 +130,16 @@ public class RedisProvider extends AbstractCacheProvider<AbstractRedisProvider>
         redisProvider.clear();
     }
 
+    @Override
+    public boolean isAtomicCounterSupported() {
+        return true;
+    }
+
+    @Override
+    public long incrementBy(String key, long delta, int expirationInSeconds) {
+        return redisProvider.incrementBy(key, delta, expirationInSeconds > 0 ? expirationInSeconds : defaultPutExpiration);
+    }
+
     @Override
     public CacheProviderType getProviderType() {
         return CacheProviderType.REDIS;
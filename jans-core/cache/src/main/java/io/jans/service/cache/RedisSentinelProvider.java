@@ -12,6 +12,8 @@ import org.slf4j.LoggerFactory;
 import redis.clients.jedis.*;
 
 import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
 
 import static io.jans.service.cache.RedisClusterProvider.hosts;
 
@@ -126,4 +128,13 @@ public class RedisSentinelProvider extends AbstractRedisProvider {
             LOG.trace("clear");
         }
     }
+
+    @Override
+    public long incrementBy(String key, long delta, int expirationInSeconds) {
+        try (final Jedis resource = pool.getResource()) {
+            Object value = resource.eval(INCREMENT_SCRIPT, Collections.singletonList(key),
+                    Arrays.asList(Long.toString(delta), Integer.toString(expirationInSeconds)));
+            return (Long) value;
+        }
+    }
 }
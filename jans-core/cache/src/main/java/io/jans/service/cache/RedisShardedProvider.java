@@ -12,6 +12,7 @@ import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import org.apache.http.conn.ssl.DefaultHostnameVerifier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisShardInfo;
 import redis.clients.jedis.ShardedJedis;
 import redis.clients.jedis.ShardedJedisPool;
@@ -19,6 +20,8 @@ import redis.clients.jedis.ShardedJedisPool;
 import javax.net.ssl.SSLParameters;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -165,4 +168,15 @@ public class RedisShardedProvider extends AbstractRedisProvider {
     public void clear() {
         LOG.trace("clear not supported by sharded implemented");
     }
+
+    @Override
+    public long incrementBy(String key, long delta, int expirationInSeconds) {
+        try (final ShardedJedis resource = pool.getResource()) {
+            // Scripts are executed by shard which owns the key
+            Jedis shard = resource.getShard(key);
+            Object value = shard.eval(INCREMENT_SCRIPT, Collections.singletonList(key),
+                    Arrays.asList(Long.toString(delta), Integer.toString(expirationInSeconds)));
+            return (Long) value;
+        }
+    }
 }
@@ -20,6 +20,8 @@ import jakarta.annotation.PreDestroy;
 import javax.net.ssl.SSLParameters;
 import javax.net.ssl.SSLSocketFactory;
 import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
 
 /**
  * Important : keep it weld free. It's reused by oxd !
@@ -150,4 +152,13 @@ public class RedisStandaloneProvider extends AbstractRedisProvider {
             jedis.close();
         }
     }
+
+    @Override
+    public long incrementBy(String key, long delta, int expirationInSeconds) {
+        try (final Jedis resource = pool.getResource()) {
+            Object value = resource.eval(INCREMENT_SCRIPT, Collections.singletonList(key),
+                    Arrays.asList(Long.toString(delta), Integer.toString(expirationInSeconds)));
+            return (Long) value;
+        }
+    }
 }
@@ -40,6 +40,15 @@ public class StandaloneCacheProviderFactory {
 		AbstractCacheProvider<?> cacheProvider = null;
 		switch (cacheProviderType) {
 			case IN_MEMORY:
+				if ((cacheConfiguration.getInMemoryConfiguration() != null) && cacheConfiguration.getInMemoryConfiguration().isBounded()) {
+					BoundedInMemoryCacheProvider boundedInMemoryCacheProvider = new BoundedInMemoryCacheProvider();
+					boundedInMemoryCacheProvider.configure(cacheConfiguration);
+					boundedInMemoryCacheProvider.init();
+
+					cacheProvider = boundedInMemoryCacheProvider;
+					break;
+				}
+
 				InMemoryCacheProvider inMemoryCacheProvider = new InMemoryCacheProvider();
 				inMemoryCacheProvider.configure(cacheConfiguration);
 				inMemoryCacheProvider.init();
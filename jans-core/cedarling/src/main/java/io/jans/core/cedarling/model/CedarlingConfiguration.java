@@ -45,6 +45,22 @@ public class CedarlingConfiguration implements Configuration {
     @Schema(description = "maximum number of entries in policy store file")
     private int maxEntries = 0;
 
+	@DocProperty(description = "Specify if authorization decisions should be cached", defaultValue = "false")
+	@Schema(description = "Specify if authorization decisions should be cached")
+	private boolean decisionCacheEnabled = false;
+
+	@DocProperty(description = "Maximum number of permit and deny decisions in cache", defaultValue = "10000")
+	@Schema(description = "Maximum number of permit and deny decisions in cache")
+	private int decisionCacheMaxEntries = 10000;
+
+	@DocProperty(description = "Lifetime of cached permit decision in seconds. It's never longer than tokens lifetime", defaultValue = "300")
+	@Schema(description = "Lifetime of cached permit decision in seconds")
+	private int decisionCachePermitTtlInSeconds = 300;
+
+	@DocProperty(description = "Lifetime of cached deny decision in seconds. It's never longer than tokens lifetime", defaultValue = "30")
+	@Schema(description = "Lifetime of cached deny decision in seconds")
+	private int decisionCacheDenyTtlInSeconds = 30;
+
 	public boolean isEnabled() {
 		return enabled;
 	}
@@ -93,11 +109,45 @@ public class CedarlingConfiguration implements Configuration {
         this.maxEntries = maxEntries;
     }
 
+	public boolean isDecisionCacheEnabled() {
+		return decisionCacheEnabled;
+	}
+
+	public void setDecisionCacheEnabled(boolean decisionCacheEnabled) {
+		this.decisionCacheEnabled = decisionCacheEnabled;
+	}
+
+	public int getDecisionCacheMaxEntries() {
+		return decisionCacheMaxEntries;
+	}
+
+	public void setDecisionCacheMaxEntries(int decisionCacheMaxEntries) {
+		this.decisionCacheMaxEntries = decisionCacheMaxEntries;
+	}
+
+	public int getDecisionCachePermitTtlInSeconds() {
+		return decisionCachePermitTtlInSeconds;
+	}
+
+	public void setDecisionCachePermitTtlInSeconds(int decisionCachePermitTtlInSeconds) {
+		this.decisionCachePermitTtlInSeconds = decisionCachePermitTtlInSeconds;
+	}
+
+	public int getDecisionCacheDenyTtlInSeconds() {
+		return decisionCacheDenyTtlInSeconds;
+	}
+
+	public void setDecisionCacheDenyTtlInSeconds(int decisionCacheDenyTtlInSeconds) {
+		this.decisionCacheDenyTtlInSeconds = decisionCacheDenyTtlInSeconds;
+	}
+
     @Override
 	public String toString() {
 		return "CedarlingConfiguration [enabled=" + enabled + ", policySources=" + policySources + ", logType="
 				+ logType + ", logLevel=" + logLevel + ", externalPolicyStoreUri=" + externalPolicyStoreUri 
-				+ " ,maxEntries="+ maxEntries +"]";
+				+ " ,maxEntries="+ maxEntries + ", decisionCacheEnabled=" + decisionCacheEnabled
+				+ ", decisionCacheMaxEntries=" + decisionCacheMaxEntries + ", decisionCachePermitTtlInSeconds="
+				+ decisionCachePermitTtlInSeconds + ", decisionCacheDenyTtlInSeconds=" + decisionCacheDenyTtlInSeconds + "]";
 	}
 
 }
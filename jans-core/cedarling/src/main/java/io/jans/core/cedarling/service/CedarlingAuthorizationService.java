@@ -16,6 +16,7 @@ import org.slf4j.Logger;
 import io.jans.cedarling.binding.wrapper.CedarlingAdapter;
 import io.jans.core.cedarling.config.BootstrapConfig;
 import io.jans.core.cedarling.model.CedarlingConfiguration;
+import io.jans.core.cedarling.service.cache.CedarlingDecisionCache;
 import io.jans.core.cedarling.service.policy.PolicyStoreFileProvider;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
@@ -41,6 +42,9 @@ public class CedarlingAuthorizationService {
 	@Inject
 	private PolicyStoreFileProvider cedarlingPolicyStoreFileProvider;
 
+	@Inject
+	private CedarlingDecisionCache decisionCache;
+
 	private CedarlingAdapter cedarlingAdapter;
 	
 	private boolean initialized = false;
@@ -116,6 +120,10 @@ public class CedarlingAuthorizationService {
 	        .build();
 	}
 
+	private boolean isDecisionCacheEnabled() {
+		return (decisionCache != null) && decisionCache.isEnabled();
+	}
+
 	public boolean authorize(Map<String, String> tokens, String action, Map<String, Object> resource, Map<String, Object> context) {
 		JSONObject resourceObject = new JSONObject(Optional.ofNullable(
 				resource).map(Map.class::cast).orElse(Collections.emptyMap()));
@@ -144,6 +152,16 @@ public class CedarlingAuthorizationService {
 				return false;
 			}
 
+			String cacheKey = null;
+			if (isDecisionCacheEnabled()) {
+				cacheKey = decisionCache.buildKey(tokens, action, resource, context);
+				Boolean cachedDecision = decisionCache.get(cacheKey);
+				if (cachedDecision != null) {
+					log.debug("Using cached authorization decision {} for action: {}, resource: {}", cachedDecision, action, resource);
+					return cachedDecision;
+				}
+			}
+
 			MultiIssuerAuthorizeResult res = cedarlingAdapter.authorizeMultiIssuer(tokens, action, resource, context);
 			if (res == null) {
 				log.error("Authorization response is empty for request with tokens: {}, action: {}, resource: {}, context: {}",
@@ -160,6 +178,10 @@ public class CedarlingAuthorizationService {
 						requestId, tokens, action, resource, context);
 			}
 
+			if (cacheKey != null) {
+				decisionCache.put(cacheKey, res.getDecision(), tokens);
+			}
+
 			return res.getDecision();
 		} catch (Exception ex) {
 			log.error("Failed to execute Cedarling authorize: tokens: {}, action: {}, resource: {}, context: {}", tokens, action, resource, context, ex);
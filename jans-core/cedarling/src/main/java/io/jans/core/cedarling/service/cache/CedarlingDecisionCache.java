@@ -0,0 +1,266 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2025, Janssen Project
+ */
+
+package io.jans.core.cedarling.service.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import io.jans.core.cedarling.model.CedarlingConfiguration;
+import io.jans.core.cedarling.service.event.PolicyStoreUpdatedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+/**
+ * Bounded cache of Cedarling authorization decisions. Key is digest of tokens, action, resource and context.
+ * Permit and deny decisions are stored in separate caches with own lifetime. Lifetime of entry never
+ * exceeds expiration of tokens from request.
+ */
+@ApplicationScoped
+public class CedarlingDecisionCache {
+
+	@Inject
+	private Logger log;
+
+	@Inject
+	private CedarlingConfiguration cedarConf;
+
+	private Cache<String, CachedDecision> permitCache;
+	private Cache<String, CachedDecision> denyCache;
+
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+
+	@PostConstruct
+	public void init() {
+		long maxEntries = Math.max(1, cedarConf.getDecisionCacheMaxEntries());
+		this.permitCache = CacheBuilder.newBuilder().maximumSize(maxEntries).build();
+		this.denyCache = CacheBuilder.newBuilder().maximumSize(maxEntries).build();
+	}
+
+	public boolean isEnabled() {
+		return cedarConf.isDecisionCacheEnabled();
+	}
+
+	/**
+	 * Builds cache key. Token values are not stored in key, only their digest.
+	 */
+	public String buildKey(Map<String, String> tokens, String action, JSONObject resource, JSONObject context) {
+		StringBuilder sb = new StringBuilder();
+		for (Map.Entry<String, String> token : new TreeMap<>(tokens).entrySet()) {
+			sb.append(token.getKey()).append('=').append(token.getValue()).append('\n');
+		}
+		sb.append(action).append('\n');
+		appendCanonical(sb, resource);
+		sb.append('\n');
+		appendCanonical(sb, context);
+
+		return digest(sb.toString());
+	}
+
+	/**
+	 * @return cached decision or null if there is no valid cached decision
+	 */
+	public Boolean get(String key) {
+		long now = System.currentTimeMillis();
+
+		Boolean decision = getValid(permitCache, key, now);
+		if (decision == null) {
+			decision = getValid(denyCache, key, now);
+		}
+
+		if (decision == null) {
+			missCount.increment();
+		} else {
+			hitCount.increment();
+		}
+
+		return decision;
+	}
+
+	public void put(String key, boolean decision, Map<String, String> tokens) {
+		int ttlInSeconds = decision ? cedarConf.getDecisionCachePermitTtlInSeconds() : cedarConf.getDecisionCacheDenyTtlInSeconds();
+		if (ttlInSeconds <= 0) {
+			return;
+		}
+
+		long expiresAt = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(ttlInSeconds);
+		long tokensExpiresAt = getTokensExpiration(tokens);
+		if (tokensExpiresAt > 0) {
+			expiresAt = Math.min(expiresAt, tokensExpiresAt);
+		}
+
+		if (expiresAt <= System.currentTimeMillis()) {
+			return;
+		}
+
+		(decision ? permitCache : denyCache).put(key, new CachedDecision(decision, expiresAt));
+	}
+
+	public void clear() {
+		permitCache.invalidateAll();
+		denyCache.invalidateAll();
+	}
+
+	public void onPolicyStoreUpdated(@Observes PolicyStoreUpdatedEvent event) {
+		log.info("Policy store was updated, cleaning Cedarling decision cache. Statistics before clean: {}", getStatistics());
+		clear();
+	}
+
+	public long getHitCount() {
+		return hitCount.sum();
+	}
+
+	public long getMissCount() {
+		return missCount.sum();
+	}
+
+	public double getHitRatio() {
+		long hits = hitCount.sum();
+		long total = hits + missCount.sum();
+
+		return total == 0 ? 0 : (double) hits / total;
+	}
+
+	public String getStatistics() {
+		return String.format("hits: %d, misses: %d, hit ratio: %.3f, permit entries: %d, deny entries: %d", getHitCount(),
+				getMissCount(), getHitRatio(), permitCache.size(), denyCache.size());
+	}
+
+	private Boolean getValid(Cache<String, CachedDecision> cache, String key, long now) {
+		CachedDecision cachedDecision = cache.getIfPresent(key);
+		if (cachedDecision == null) {
+			return null;
+		}
+
+		if (cachedDecision.getExpiresAt() <= now) {
+			cache.invalidate(key);
+			return null;
+		}
+
+		return cachedDecision.getDecision();
+	}
+
+	/**
+	 * @return earliest exp of JWT tokens in milliseconds or 0 if there is no token with exp claim
+	 */
+	private long getTokensExpiration(Map<String, String> tokens) {
+		long result = 0;
+		for (String token : tokens.values()) {
+			long exp = getTokenExpiration(token);
+			if ((exp > 0) && ((result == 0) || (exp < result))) {
+				result = exp;
+			}
+		}
+
+		return result;
+	}
+
+	private long getTokenExpiration(String token) {
+		if (token == null) {
+			return 0;
+		}
+
+		String[] parts = token.split("\\.");
+		if (parts.length < 2) {
+			return 0;
+		}
+
+		try {
+			String payload = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8);
+			return TimeUnit.SECONDS.toMillis(new JSONObject(payload).optLong("exp", 0));
+		} catch (RuntimeException ex) {
+			log.trace("Failed to get expiration from token", ex);
+			return 0;
+		}
+	}
+
+	/**
+	 * Appends JSON value with sorted object keys to get the same string for equal objects
+	 */
+	private void appendCanonical(StringBuilder sb, Object value) {
+		if (value instanceof JSONObject) {
+			JSONObject jsonObject = (JSONObject) value;
+			sb.append('{');
+			boolean first = true;
+			for (String name : new TreeSet<>(jsonObject.keySet())) {
+				if (!first) {
+					sb.append(',');
+				}
+				first = false;
+				sb.append(JSONObject.quote(name)).append(':');
+				appendCanonical(sb, jsonObject.opt(name));
+			}
+			sb.append('}');
+		} else if (value instanceof JSONArray) {
+			JSONArray jsonArray = (JSONArray) value;
+			sb.append('[');
+			for (int i = 0; i < jsonArray.length(); i++) {
+				if (i > 0) {
+					sb.append(',');
+				}
+				appendCanonical(sb, jsonArray.opt(i));
+			}
+			sb.append(']');
+		} else if (value instanceof Map) {
+			appendCanonical(sb, new JSONObject((Map<?, ?>) value));
+		} else if (value instanceof Collection) {
+			appendCanonical(sb, new JSONArray((Collection<?>) value));
+		} else if ((value == null) || JSONObject.NULL.equals(value)) {
+			sb.append("null");
+		} else if (value instanceof String) {
+			sb.append(JSONObject.quote((String) value));
+		} else {
+			sb.append(value);
+		}
+	}
+
+	private String digest(String value) {
+		try {
+			MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+			return Base64.getUrlEncoder().withoutPadding().encodeToString(messageDigest.digest(value.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 is not supported", ex);
+		}
+	}
+
+	private static class CachedDecision {
+
+		private final boolean decision;
+		private final long expiresAt;
+
+		CachedDecision(boolean decision, long expiresAt) {
+			this.decision = decision;
+			this.expiresAt = expiresAt;
+		}
+
+		boolean getDecision() {
+			return decision;
+		}
+
+		long getExpiresAt() {
+			return expiresAt;
+		}
+	}
+
+}
@@ -0,0 +1,13 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2025, Janssen Project
+ */
+
+package io.jans.core.cedarling.service.event;
+
+/**
+ * Fired when set of loaded policy stores was changed
+ */
+public class PolicyStoreUpdatedEvent {
+}
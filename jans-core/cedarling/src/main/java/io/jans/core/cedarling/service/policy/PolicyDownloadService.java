@@ -42,6 +42,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.jans.core.cedarling.service.event.PolicyDownloadEvent;
+import io.jans.core.cedarling.service.event.PolicyStoreUpdatedEvent;
 import io.jans.core.cedarling.model.CedarlingConfiguration;
 import io.jans.core.cedarling.model.PolicySource;
 import io.jans.service.EncryptionService;
@@ -76,6 +77,9 @@ public class PolicyDownloadService {
 	@Inject
 	private Event<TimerEvent> timerEvent;
 
+	@Inject
+	private Event<PolicyStoreUpdatedEvent> policyStoreUpdatedEvent;
+
     @Inject
 	private CedarlingConfiguration cedarlingConfiguration;
 
@@ -135,7 +139,26 @@ public class PolicyDownloadService {
 	}
 
 	private void reloadPolicies() {
-		
+		Map<String, String> policiesBefore = getPolicyJsonByUri();
+
+		reloadPoliciesImpl();
+
+		if (!policiesBefore.equals(getPolicyJsonByUri())) {
+			log.debug("Loaded policies were changed");
+			policyStoreUpdatedEvent.fire(new PolicyStoreUpdatedEvent());
+		}
+	}
+
+	private Map<String, String> getPolicyJsonByUri() {
+		Map<String, String> result = new HashMap<>();
+		for (LoadedPolicySource loadedPolicySource : loadedPolicySourcesUris.values()) {
+			result.put(loadedPolicySource.getPolicyStoreUri(), loadedPolicySource.getPolicyJson());
+		}
+
+		return result;
+	}
+
+	private void reloadPoliciesImpl() {
 		if ((cedarlingConfiguration.getPolicySources() == null) || (cedarlingConfiguration.getPolicySources().isEmpty())) {
 			log.debug("Policies sources is not specified");
 			
@@ -0,0 +1,114 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2025, Janssen Project
+ */
+
+package io.jans.core.cedarling.service.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.lenient;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+
+import io.jans.core.cedarling.model.CedarlingConfiguration;
+import io.jans.core.cedarling.service.event.PolicyStoreUpdatedEvent;
+
+/**
+ * Unit tests for {@link CedarlingDecisionCache}
+ */
+@ExtendWith(MockitoExtension.class)
+class CedarlingDecisionCacheTest {
+
+	private static final String ACTION = "Jans::Action::\"POST\"";
+
+	@Mock
+	private Logger log;
+
+	@Mock
+	private CedarlingConfiguration cedarConf;
+
+	@InjectMocks
+	private CedarlingDecisionCache decisionCache;
+
+	@BeforeEach
+	void setUp() {
+		lenient().when(cedarConf.getDecisionCacheMaxEntries()).thenReturn(100);
+		lenient().when(cedarConf.getDecisionCachePermitTtlInSeconds()).thenReturn(300);
+		lenient().when(cedarConf.getDecisionCacheDenyTtlInSeconds()).thenReturn(30);
+		decisionCache.init();
+	}
+
+	@Test
+	void buildKey_withDifferentKeyOrder_shouldReturnSameKey() {
+		Map<String, String> tokens = tokens(3600);
+		JSONObject resource1 = new JSONObject("{\"id\": \"1\", \"app\": {\"name\": \"lock\", \"path\": \"/audit\"}}");
+		JSONObject resource2 = new JSONObject("{\"app\": {\"path\": \"/audit\", \"name\": \"lock\"}, \"id\": \"1\"}");
+
+		assertEquals(decisionCache.buildKey(tokens, ACTION, resource1, new JSONObject()),
+				decisionCache.buildKey(tokens, ACTION, resource2, new JSONObject()));
+		assertNotEquals(decisionCache.buildKey(tokens, ACTION, resource1, new JSONObject()),
+				decisionCache.buildKey(tokens(3600, "other"), ACTION, resource1, new JSONObject()));
+	}
+
+	@Test
+	void get_withCachedDecisions_shouldReturnThemAndCountHits() {
+		decisionCache.put("permit", true, tokens(3600));
+		decisionCache.put("deny", false, tokens(3600));
+
+		assertTrue(decisionCache.get("permit"));
+		assertFalse(decisionCache.get("deny"));
+		assertNull(decisionCache.get("unknown"));
+
+		assertEquals(2, decisionCache.getHitCount());
+		assertEquals(1, decisionCache.getMissCount());
+		assertEquals(2.0 / 3, decisionCache.getHitRatio(), 0.0001);
+	}
+
+	@Test
+	void get_withExpiredToken_shouldNotReturnDecision() {
+		decisionCache.put("permit", true, tokens(-10));
+
+		assertNull(decisionCache.get("permit"));
+	}
+
+	@Test
+	void onPolicyStoreUpdated_shouldClearCache() {
+		decisionCache.put("permit", true, tokens(3600));
+
+		decisionCache.onPolicyStoreUpdated(new PolicyStoreUpdatedEvent());
+
+		assertNull(decisionCache.get("permit"));
+	}
+
+	private static Map<String, String> tokens(long expiresIn) {
+		return tokens(expiresIn, "token");
+	}
+
+	private static Map<String, String> tokens(long expiresIn, String jti) {
+		Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+		String header = encoder.encodeToString("{\"alg\":\"none\"}".getBytes(StandardCharsets.UTF_8));
+		String payload = encoder.encodeToString(new JSONObject()
+				.put("jti", jti)
+				.put("exp", System.currentTimeMillis() / 1000 + expiresIn)
+				.toString().getBytes(StandardCharsets.UTF_8));
+
+		return Map.of("Jans::Access_token", header + "." + payload + ".");
+	}
+
+}
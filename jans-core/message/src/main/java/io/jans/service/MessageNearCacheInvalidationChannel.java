@@ -0,0 +1,86 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2023, Janssen Project
+ */
+
+package io.jans.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+
+import io.jans.service.cache.NearCacheInvalidationChannel;
+import io.jans.service.message.pubsub.PubSubInterface;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Delivers near cache invalidations to other nodes via configured message provider
+ */
+@ApplicationScoped
+public class MessageNearCacheInvalidationChannel implements NearCacheInvalidationChannel {
+
+	@Inject
+	private Logger log;
+
+	@Inject
+	private MessageService messageService;
+
+	private final Map<String, PubSubInterface> subscriptions = new ConcurrentHashMap<>();
+
+	@Override
+	public boolean publish(String channel, String message) {
+		return messageService.publish(channel, message);
+	}
+
+	@Override
+	public void subscribe(String channel, Consumer<String> listener) {
+		PubSubInterface pubSubAdapter = new InvalidationPubSubAdapter(channel, listener);
+		PubSubInterface previous = subscriptions.put(channel, pubSubAdapter);
+		if (previous != null) {
+			messageService.unsubscribe(previous);
+		}
+
+		log.debug("Subscribing near cache to invalidation channel '{}'", channel);
+		messageService.subscribe(pubSubAdapter, channel);
+	}
+
+	@Override
+	public void unsubscribe(String channel) {
+		PubSubInterface pubSubAdapter = subscriptions.remove(channel);
+		if (pubSubAdapter != null) {
+			messageService.unsubscribe(pubSubAdapter);
+		}
+	}
+
+	private static class InvalidationPubSubAdapter implements PubSubInterface {
+
+		private final String channel;
+		private final Consumer<String> listener;
+
+		InvalidationPubSubAdapter(String channel, Consumer<String> listener) {
+			this.channel = channel;
+			this.listener = listener;
+		}
+
+		@Override
+		public void onMessage(String channel, String message) {
+			if (this.channel.equals(channel)) {
+				listener.accept(message);
+			}
+		}
+
+		@Override
+		public void onSubscribe(String channel, int subscribedChannels) {
+		}
+
+		@Override
+		public void onUnsubscribe(String channel, int subscribedChannels) {
+		}
+
+	}
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.model.metric;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import io.jans.model.metric.ldap.MetricEntry;
+import io.jans.model.metric.timer.TimerMetricData;
+import io.jans.model.metric.timer.TimerMetricEntry;
+import io.jans.orm.annotation.AttributeEnum;
+
+/**
+ * In-memory metric types shared by all applications: latency histograms and cache read-through
+ * counters. Metric sub type identifies endpoint, persistence operation, cache operation or
+ * read-through event.
+ */
+public enum LatencyMetricType implements AttributeEnum, MetricTypeDeclaration {
+
+    HTTP_REQUEST_DURATION("http_request_duration", "HTTP request processing time", "endpoint"),
+    PERSISTENCE_OPERATION_DURATION("persistence_operation_duration", "Persistence operation time", "operation"),
+    CACHE_OPERATION_DURATION("cache_operation_duration", "Cache provider operation time", "operation"),
+    CACHE_READ_THROUGH("cache_read_through", "Cache read-through events", "event");
+
+    private final String value;
+    private final String displayName;
+    private final String subTypeLabel;
+
+    private static final Map<String, LatencyMetricType> MAP_BY_VALUES = new HashMap<String, LatencyMetricType>();
+
+    static {
+        for (LatencyMetricType enumType : values()) {
+            MAP_BY_VALUES.put(enumType.getValue(), enumType);
+        }
+    }
+
+    LatencyMetricType(String value, String displayName, String subTypeLabel) {
+        this.value = value;
+        this.displayName = displayName;
+        this.subTypeLabel = subTypeLabel;
+    }
+
+    @Override
+    public String getValue() {
+        return value;
+    }
+
+    @Override
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @Override
+    public String getSubTypeLabel() {
+        return subTypeLabel;
+    }
+
+    public static LatencyMetricType getByValue(String value) {
+        return MAP_BY_VALUES.get(value);
+    }
+
+    @Override
+    public Enum<? extends AttributeEnum> resolveByValue(String value) {
+        return getByValue(value);
+    }
+
+    @Override
+    public Class<? extends MetricData> getEventDataType() {
+        return TimerMetricData.class;
+    }
+
+    @Override
+    public Class<? extends MetricEntry> getMetricEntryType() {
+        return TimerMetricEntry.class;
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+
+}
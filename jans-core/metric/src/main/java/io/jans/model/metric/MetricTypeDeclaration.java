@@ -43,4 +43,11 @@ public interface MetricTypeDeclaration {
         return getValue();
     }
 
+    /**
+     * Name of label which holds metric sub type in OpenMetrics exposition.
+     */
+    default String getSubTypeLabel() {
+        return "sub_type";
+    }
+
 }
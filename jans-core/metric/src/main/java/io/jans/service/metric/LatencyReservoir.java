@@ -0,0 +1,245 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.metric;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Snapshot;
+
+/**
+ * Reservoir which counts values in fixed log-linear buckets, like HDR histogram: every power of 2
+ * range is split into 8 linear sub buckets, so bucket width is at most 12.5% of its values. Update
+ * is one atomic increment and doesn't allocate objects, unlike default exponentially decaying
+ * reservoir which creates sample on each update.
+ * <p>
+ * Counts are cumulative since creation. It's what scrapers expect from histograms, they compute
+ * rates between scrapes themselves.
+ */
+public class LatencyReservoir implements Reservoir {
+
+    static final int SUB_BUCKET_BITS = 3;
+    static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator max = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+    @Override
+    public int size() {
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            count += counts.get(i);
+        }
+
+        return (int) Math.min(Integer.MAX_VALUE, count);
+    }
+
+    @Override
+    public void update(long value) {
+        long normalizedValue = Math.max(0, value);
+
+        counts.incrementAndGet(bucketIndex(normalizedValue));
+        sum.add(normalizedValue);
+        min.accumulate(normalizedValue);
+        max.accumulate(normalizedValue);
+    }
+
+    @Override
+    public LatencySnapshot getSnapshot() {
+        long[] bucketCounts = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            bucketCounts[i] = counts.get(i);
+        }
+
+        return new LatencySnapshot(bucketCounts, sum.sum(), min.get(), max.get());
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) ((value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1));
+
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long bucketLowerBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+
+        int exponent = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+        int subBucket = index % SUB_BUCKET_COUNT;
+
+        return ((long) (SUB_BUCKET_COUNT + subBucket)) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    /**
+     * @return largest value which belongs to bucket
+     */
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+
+        int exponent = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+
+        return bucketLowerBound(index) + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    /**
+     * Snapshot of bucket counts. Quantiles are reported as upper bound of bucket which contains them,
+     * limited by exact min and max values.
+     */
+    public static class LatencySnapshot extends Snapshot {
+
+        private final long[] bucketCounts;
+        private final long count;
+        private final long sum;
+        private final long min;
+        private final long max;
+
+        LatencySnapshot(long[] bucketCounts, long sum, long min, long max) {
+            this.bucketCounts = bucketCounts;
+            this.count = Arrays.stream(bucketCounts).sum();
+            this.sum = sum;
+            this.min = (count == 0) ? 0 : min;
+            this.max = (count == 0) ? 0 : max;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getSum() {
+            return sum;
+        }
+
+        /**
+         * @return number of values which are less or equal to specified value. Part of bucket which
+         *         contains specified value is estimated assuming values are spread evenly in it
+         */
+        public long getCountAtOrBelow(long value) {
+            if (value < 0) {
+                return 0;
+            }
+
+            long result = 0;
+            for (int i = 0; i < bucketCounts.length; i++) {
+                long upperBound = bucketUpperBound(i);
+                if (upperBound > value) {
+                    long lowerBound = bucketLowerBound(i);
+                    double fraction = (double) (value - lowerBound + 1) / (upperBound - lowerBound + 1);
+                    result += Math.round(bucketCounts[i] * fraction);
+                    break;
+                }
+                result += bucketCounts[i];
+            }
+
+            return result;
+        }
+
+        @Override
+        public double getValue(double quantile) {
+            if ((quantile < 0.0) || (quantile > 1.0) || Double.isNaN(quantile)) {
+                throw new IllegalArgumentException(quantile + " is not in [0..1]");
+            }
+
+            if (count == 0) {
+                return 0.0;
+            }
+
+            long rank = Math.max(1, (long) Math.ceil(quantile * count));
+            long cumulativeCount = 0;
+            for (int i = 0; i < bucketCounts.length; i++) {
+                cumulativeCount += bucketCounts[i];
+                if (cumulativeCount >= rank) {
+                    return Math.max(min, Math.min(max, bucketUpperBound(i)));
+                }
+            }
+
+            return max;
+        }
+
+        /**
+         * @return one representative value for each non empty bucket
+         */
+        @Override
+        public long[] getValues() {
+            return IntStream.range(0, bucketCounts.length).filter(i -> bucketCounts[i] > 0)
+                    .mapToLong(i -> Math.max(min, Math.min(max, bucketUpperBound(i)))).toArray();
+        }
+
+        @Override
+        public int size() {
+            return (int) Math.min(Integer.MAX_VALUE, count);
+        }
+
+        @Override
+        public long getMax() {
+            return max;
+        }
+
+        @Override
+        public double getMean() {
+            return (count == 0) ? 0.0 : (double) sum / count;
+        }
+
+        @Override
+        public long getMin() {
+            return min;
+        }
+
+        @Override
+        public double getStdDev() {
+            if (count <= 1) {
+                return 0.0;
+            }
+
+            double mean = getMean();
+            double variance = 0.0;
+            for (int i = 0; i < bucketCounts.length; i++) {
+                if (bucketCounts[i] > 0) {
+                    double diff = bucketMidpoint(i) - mean;
+                    variance += diff * diff * bucketCounts[i];
+                }
+            }
+
+            return Math.sqrt(variance / (count - 1));
+        }
+
+        @Override
+        public void dump(OutputStream output) {
+            try (PrintWriter out = new PrintWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+                for (int i = 0; i < bucketCounts.length; i++) {
+                    if (bucketCounts[i] > 0) {
+                        out.printf("%d %d%n", bucketUpperBound(i), bucketCounts[i]);
+                    }
+                }
+            }
+        }
+
+        private double bucketMidpoint(int index) {
+            return bucketLowerBound(index) / 2.0 + bucketUpperBound(index) / 2.0;
+        }
+
+    }
+
+}
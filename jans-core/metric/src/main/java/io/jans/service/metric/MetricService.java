@@ -6,12 +6,15 @@
 
 package io.jans.service.metric;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.io.Writer;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -31,6 +34,7 @@ import com.codahale.metrics.Counter;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
 
+import io.jans.model.metric.LatencyMetricType;
 import io.jans.model.metric.MetricTypeDeclaration;
 import io.jans.model.metric.ldap.MetricEntry;
 import io.jans.model.metric.ldap.MetricReport;
@@ -40,6 +44,7 @@ import io.jans.orm.model.DefaultBatchOperation;
 import io.jans.orm.model.SearchScope;
 import io.jans.orm.model.base.SimpleBranch;
 import io.jans.orm.search.filter.Filter;
+import io.jans.orm.watch.DurationUtil;
 import io.jans.service.cdi.async.Asynchronous;
 import io.jans.service.metric.inject.ReportMetric;
 import io.jans.util.StringHelper;
@@ -59,12 +64,21 @@ public abstract class MetricService implements Serializable {
 
     private static final int DEFAULT_METRIC_REPORTER_INTERVAL = 60;
 
+    // Limit of sub types per latency metric type. It protects registry from unbounded set of endpoints
+    static final int MAX_LATENCY_SUB_TYPES = 500;
+    static final String OTHER_LATENCY_SUB_TYPE = "other";
+
     private static final DateTimeFormatter PERIOD_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMM").withZone(ZoneOffset.UTC);
 
     private MetricRegistry metricRegistry;
 
     private ConcurrentMap<String, MetricRegistration> registeredMetrics;
 
+    // Latency timers and event counters are exposed for scraping only, they are not persisted by reporter
+    private ConcurrentMap<String, MetricRegistration> latencyMetrics;
+    private ConcurrentMap<MetricTypeDeclaration, ConcurrentMap<String, Timer>> latencyTimers;
+    private ConcurrentMap<MetricTypeDeclaration, ConcurrentMap<String, Counter>> eventCounters;
+
     private int entryLifetimeInDays;
 
 	private PersistenceEntryReporter persistenceEntryReporter;
@@ -75,8 +89,14 @@ public abstract class MetricService implements Serializable {
     public void initTimer(int metricInterval, int entryLifetimeInDays) {
         this.metricRegistry = new MetricRegistry();
         this.registeredMetrics = new ConcurrentHashMap<String, MetricRegistration>();
+        this.latencyMetrics = new ConcurrentHashMap<String, MetricRegistration>();
+        this.latencyTimers = new ConcurrentHashMap<MetricTypeDeclaration, ConcurrentMap<String, Timer>>();
+        this.eventCounters = new ConcurrentHashMap<MetricTypeDeclaration, ConcurrentMap<String, Counter>>();
         this.entryLifetimeInDays = entryLifetimeInDays;
 
+        DurationUtil.setDurationListener((operation, duration) -> recordLatency(LatencyMetricType.PERSISTENCE_OPERATION_DURATION,
+                operation, duration.toNanos()));
+
         this.persistenceEntryReporter = PersistenceEntryReporter.forRegistry(this.metricRegistry, getMetricServiceInstance()).build();
 
         int metricReporterInterval = metricInterval;
@@ -87,6 +107,8 @@ public abstract class MetricService implements Serializable {
     }
 
     public void close() {
+    	DurationUtil.setDurationListener(null);
+
     	if (this.persistenceEntryReporter != null) {
     		this.persistenceEntryReporter.close();
     	}
@@ -391,6 +413,73 @@ public abstract class MetricService implements Serializable {
         counter.inc();
     }
 
+    /**
+     * Returns timer with histogram reservoir for latency metric. When metric type has too many sub types
+     * new ones are counted in "other" sub type
+     */
+    public Timer getLatencyTimer(MetricTypeDeclaration metricType, String metricSubType) {
+        String subType = (metricSubType == null) ? "" : metricSubType;
+
+        ConcurrentMap<String, Timer> timers = latencyTimers.computeIfAbsent(metricType, key -> new ConcurrentHashMap<String, Timer>());
+        Timer timer = timers.get(subType);
+        if (timer != null) {
+            return timer;
+        }
+
+        if (timers.size() >= MAX_LATENCY_SUB_TYPES) {
+            subType = OTHER_LATENCY_SUB_TYPE;
+        }
+
+        return timers.computeIfAbsent(subType, key -> {
+            MetricRegistration metricRegistration = new MetricRegistration(metricType, key.isEmpty() ? null : key);
+            latencyMetrics.putIfAbsent(metricRegistration.getRegistryName(), metricRegistration);
+
+            return metricRegistry.timer(metricRegistration.getRegistryName(), () -> new Timer(new LatencyReservoir()));
+        });
+    }
+
+    public void recordLatency(MetricTypeDeclaration metricType, String metricSubType, long durationInNanos) {
+        if ((metricRegistry == null) || !isLatencyMetricsEnabled()) {
+            return;
+        }
+
+        getLatencyTimer(metricType, metricSubType).update(durationInNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Increments counter which is exposed for scraping together with latency metrics. Sub types should
+     * come from small fixed set, e.g. names of cache read-through events
+     */
+    public void incEventCounter(MetricTypeDeclaration metricType, String metricSubType) {
+        if ((metricRegistry == null) || !isLatencyMetricsEnabled()) {
+            return;
+        }
+
+        String subType = (metricSubType == null) ? "" : metricSubType;
+
+        ConcurrentMap<String, Counter> counters = eventCounters.computeIfAbsent(metricType, key -> new ConcurrentHashMap<String, Counter>());
+        Counter counter = counters.computeIfAbsent(subType, key -> {
+            MetricRegistration metricRegistration = new MetricRegistration(metricType, key.isEmpty() ? null : key);
+            latencyMetrics.putIfAbsent(metricRegistration.getRegistryName(), metricRegistration);
+
+            return metricRegistry.counter(metricRegistration.getRegistryName());
+        });
+        counter.inc();
+    }
+
+    /**
+     * Writes counters, timers and latency histograms in OpenMetrics text format
+     */
+    public void writeOpenMetrics(Writer writer) throws IOException {
+        List<MetricRegistration> registrations = new ArrayList<MetricRegistration>();
+        if (registeredMetrics != null) {
+            registrations.addAll(registeredMetrics.values());
+            registrations.addAll(latencyMetrics.values());
+        }
+
+        OpenMetricsWriter.write(writer, metricRegistry, registrations);
+    }
+
     private MetricRegistration register(MetricTypeDeclaration metricType, String metricSubType) {
         MetricRegistration metricRegistration = new MetricRegistration(metricType, metricSubType);
 
@@ -431,6 +520,20 @@ public abstract class MetricService implements Serializable {
 
     public abstract boolean isMetricReporterEnabled();
 
+    /**
+     * Latency histograms are kept in memory only. Applications which expose them should override this method
+     */
+    public boolean isLatencyMetricsEnabled() {
+        return false;
+    }
+
+    /**
+     * Addresses which may read OpenMetrics endpoint besides loopback ones. Entries are IP addresses or CIDR ranges
+     */
+    public List<String> getOpenMetricsAllowedAddresses() {
+        return Collections.emptyList();
+    }
+
     public abstract String getString();
 
     public abstract String getNodeIdentifier();
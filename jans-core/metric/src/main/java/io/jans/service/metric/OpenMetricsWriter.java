@@ -0,0 +1,205 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.metric;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
+
+import io.jans.model.metric.MetricTypeDeclaration;
+import io.jans.service.metric.LatencyReservoir.LatencySnapshot;
+
+/**
+ * Writes registered metrics in OpenMetrics text format. Each metric type is one metric family,
+ * metric sub type is exposed as label. Counters are written as counters, timers with
+ * {@link LatencyReservoir} as histograms with fixed buckets and other timers as summaries.
+ * Durations are in seconds.
+ */
+public final class OpenMetricsWriter {
+
+    public static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+    static final double[] HISTOGRAM_BUCKETS = { 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10 };
+    static final double[] SUMMARY_QUANTILES = { 0.5, 0.75, 0.95, 0.99 };
+
+    private static final double NANOS_IN_SECOND = 1_000_000_000.0;
+
+    private enum FamilyType {
+        COUNTER("counter"), HISTOGRAM("histogram"), SUMMARY("summary");
+
+        private final String value;
+
+        FamilyType(String value) {
+            this.value = value;
+        }
+    }
+
+    private OpenMetricsWriter() {
+    }
+
+    public static void write(Writer writer, MetricRegistry metricRegistry, Collection<MetricRegistration> registrations)
+            throws IOException {
+        if ((metricRegistry != null) && (registrations != null)) {
+            for (MetricFamily family : groupFamilies(metricRegistry, registrations).values()) {
+                writeFamily(writer, family);
+            }
+        }
+
+        writer.write("# EOF\n");
+    }
+
+    private static SortedMap<String, MetricFamily> groupFamilies(MetricRegistry metricRegistry,
+            Collection<MetricRegistration> registrations) {
+        Map<String, Counter> counters = metricRegistry.getCounters();
+        Map<String, Timer> timers = metricRegistry.getTimers();
+
+        SortedMap<String, MetricFamily> families = new TreeMap<String, MetricFamily>();
+        for (MetricRegistration registration : registrations) {
+            String registryName = registration.getRegistryName();
+            String baseName = sanitizeName(registration.getMetricType().getMetricName());
+
+            Counter counter = counters.get(registryName);
+            if (counter != null) {
+                families.computeIfAbsent(baseName + " " + FamilyType.COUNTER,
+                        key -> new MetricFamily(baseName, FamilyType.COUNTER, registration.getMetricType()))
+                        .add(registration, counter.getCount(), null);
+                continue;
+            }
+
+            Timer timer = timers.get(registryName);
+            if (timer != null) {
+                Snapshot snapshot = timer.getSnapshot();
+                FamilyType familyType = (snapshot instanceof LatencySnapshot) ? FamilyType.HISTOGRAM : FamilyType.SUMMARY;
+                String name = baseName + "_seconds";
+                families.computeIfAbsent(name + " " + familyType,
+                        key -> new MetricFamily(name, familyType, registration.getMetricType()))
+                        .add(registration, timer.getCount(), snapshot);
+            }
+        }
+
+        return families;
+    }
+
+    private static void writeFamily(Writer writer, MetricFamily family) throws IOException {
+        String name = family.name;
+        writer.write("# TYPE " + name + " " + family.type.value + "\n");
+        if (family.type != FamilyType.COUNTER) {
+            writer.write("# UNIT " + name + " seconds\n");
+        }
+        if (family.metricType.getDisplayName() != null) {
+            writer.write("# HELP " + name + " " + escapeHelp(family.metricType.getDisplayName()) + "\n");
+        }
+
+        String labelName = sanitizeName(family.metricType.getSubTypeLabel());
+        family.samples.sort(Comparator.comparing(sample -> sample.subType));
+        for (Sample sample : family.samples) {
+            String labels = sample.subType.isEmpty() ? "" : labelName + "=\"" + escapeLabelValue(sample.subType) + "\"";
+
+            switch (family.type) {
+            case COUNTER:
+                writeSample(writer, name + "_total", labels, Long.toString(sample.count));
+                break;
+            case HISTOGRAM:
+                LatencySnapshot latencySnapshot = (LatencySnapshot) sample.snapshot;
+                for (double bucket : HISTOGRAM_BUCKETS) {
+                    long count = latencySnapshot.getCountAtOrBelow((long) (bucket * NANOS_IN_SECOND));
+                    writeSample(writer, name + "_bucket", appendLabel(labels, "le", Double.toString(bucket)), Long.toString(count));
+                }
+                writeSample(writer, name + "_bucket", appendLabel(labels, "le", "+Inf"), Long.toString(latencySnapshot.getCount()));
+                writeSample(writer, name + "_count", labels, Long.toString(latencySnapshot.getCount()));
+                writeSample(writer, name + "_sum", labels, Double.toString(latencySnapshot.getSum() / NANOS_IN_SECOND));
+                break;
+            case SUMMARY:
+                for (double quantile : SUMMARY_QUANTILES) {
+                    writeSample(writer, name, appendLabel(labels, "quantile", Double.toString(quantile)),
+                            Double.toString(sample.snapshot.getValue(quantile) / NANOS_IN_SECOND));
+                }
+                writeSample(writer, name + "_count", labels, Long.toString(sample.count));
+                break;
+            default:
+                break;
+            }
+        }
+    }
+
+    private static void writeSample(Writer writer, String name, String labels, String value) throws IOException {
+        writer.write(name);
+        if (!labels.isEmpty()) {
+            writer.write("{" + labels + "}");
+        }
+        writer.write(" " + value + "\n");
+    }
+
+    private static String appendLabel(String labels, String labelName, String labelValue) {
+        String label = labelName + "=\"" + labelValue + "\"";
+        return labels.isEmpty() ? label : labels + "," + label;
+    }
+
+    static String sanitizeName(String name) {
+        StringBuilder result = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char ch = name.charAt(i);
+            boolean valid = ((ch >= 'a') && (ch <= 'z')) || ((ch >= 'A') && (ch <= 'Z')) || (ch == '_') || (ch == ':')
+                    || ((i > 0) && (ch >= '0') && (ch <= '9'));
+            result.append(valid ? ch : '_');
+        }
+
+        return result.toString();
+    }
+
+    static String escapeLabelValue(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String escapeHelp(String value) {
+        return value.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+
+    private static class MetricFamily {
+
+        private final String name;
+        private final FamilyType type;
+        private final MetricTypeDeclaration metricType;
+        private final List<Sample> samples = new ArrayList<Sample>();
+
+        MetricFamily(String name, FamilyType type, MetricTypeDeclaration metricType) {
+            this.name = name;
+            this.type = type;
+            this.metricType = metricType;
+        }
+
+        void add(MetricRegistration registration, long count, Snapshot snapshot) {
+            String subType = registration.getMetricSubType();
+            samples.add(new Sample((subType == null) ? "" : subType, count, snapshot));
+        }
+    }
+
+    private static class Sample {
+
+        private final String subType;
+        private final long count;
+        private final Snapshot snapshot;
+
+        Sample(String subType, long count, Snapshot snapshot) {
+            this.subType = subType;
+            this.count = count;
+            this.snapshot = snapshot;
+        }
+    }
+
+}
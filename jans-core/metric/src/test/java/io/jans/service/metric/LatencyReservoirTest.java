@@ -0,0 +1,81 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.metric;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import io.jans.service.metric.LatencyReservoir.LatencySnapshot;
+
+public class LatencyReservoirTest {
+
+    @Test
+    public void bucketsShouldCoverValuesWithoutGaps() {
+        for (int i = 1; i < LatencyReservoir.BUCKET_COUNT; i++) {
+            assertEquals(LatencyReservoir.bucketUpperBound(i - 1) + 1, LatencyReservoir.bucketLowerBound(i));
+        }
+        assertEquals(Long.MAX_VALUE, LatencyReservoir.bucketUpperBound(LatencyReservoir.BUCKET_COUNT - 1));
+    }
+
+    @Test
+    public void valueShouldBeInItsBucket() {
+        long[] values = { 0, 7, 8, 9, 15, 16, 1000, 123_456_789, Long.MAX_VALUE };
+        for (long value : values) {
+            int index = LatencyReservoir.bucketIndex(value);
+
+            assertTrue(LatencyReservoir.bucketLowerBound(index) <= value);
+            assertTrue(LatencyReservoir.bucketUpperBound(index) >= value);
+        }
+    }
+
+    @Test
+    public void snapshotShouldReportCountSumAndBounds() {
+        LatencyReservoir reservoir = new LatencyReservoir();
+        for (long value = 1; value <= 1000; value++) {
+            reservoir.update(value);
+        }
+
+        LatencySnapshot snapshot = reservoir.getSnapshot();
+
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(500_500, snapshot.getSum());
+        assertEquals(1, snapshot.getMin());
+        assertEquals(1000, snapshot.getMax());
+        assertEquals(1000, snapshot.getValue(1.0));
+        assertEquals(1000, snapshot.getCountAtOrBelow(1023));
+        assertEquals(959, snapshot.getCountAtOrBelow(959));
+        assertEquals(0, snapshot.getCountAtOrBelow(-1));
+        assertEquals(7, snapshot.getCountAtOrBelow(7));
+    }
+
+    @Test
+    public void quantileErrorShouldBeWithinBucketWidth() {
+        LatencyReservoir reservoir = new LatencyReservoir();
+        for (long value = 1; value <= 10_000; value++) {
+            reservoir.update(value * 1000);
+        }
+
+        LatencySnapshot snapshot = reservoir.getSnapshot();
+        double median = snapshot.getMedian();
+
+        assertTrue(median >= 5_000_000);
+        assertTrue(median <= 5_000_000 * 1.125);
+    }
+
+    @Test
+    public void emptySnapshotShouldReturnZeros() {
+        LatencySnapshot snapshot = new LatencyReservoir().getSnapshot();
+
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0, snapshot.getMin());
+        assertEquals(0, snapshot.getMax());
+        assertEquals(0.0, snapshot.get99thPercentile());
+    }
+
+}
@@ -7,10 +7,13 @@
 package io.jans.service.metric;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.TimeZone;
@@ -23,6 +26,7 @@ import com.codahale.metrics.Counter;
 import com.codahale.metrics.Timer;
 
 import io.jans.model.ApplicationType;
+import io.jans.model.metric.LatencyMetricType;
 import io.jans.model.metric.MetricType;
 import io.jans.orm.PersistenceEntryManager;
 
@@ -52,6 +56,11 @@ public class MetricServiceTest {
             return false;
         }
 
+        @Override
+        public boolean isLatencyMetricsEnabled() {
+            return true;
+        }
+
         @Override
         public String getString() {
             return ApplicationType.OX_AUTH.getValue();
@@ -136,6 +145,66 @@ public class MetricServiceTest {
         assertSame(first, second);
     }
 
+    @Test
+    public void latencyShouldBeRecordedInHistogramTimer() {
+        metricService.recordLatency(LatencyMetricType.HTTP_REQUEST_DURATION, "/token", 2_000_000);
+        Timer timer = metricService.getLatencyTimer(LatencyMetricType.HTTP_REQUEST_DURATION, "/token");
+
+        assertEquals(1, timer.getCount());
+        assertTrue(timer.getSnapshot() instanceof LatencyReservoir.LatencySnapshot);
+    }
+
+    @Test
+    public void latencyMetricsShouldNotBePersisted() {
+        metricService.recordLatency(LatencyMetricType.CACHE_OPERATION_DURATION, "memory.get", 1000);
+
+        boolean found = metricService.getRegisteredMetrics().stream()
+                .anyMatch(registration -> registration.getMetricType() == LatencyMetricType.CACHE_OPERATION_DURATION);
+
+        assertFalse(found);
+    }
+
+    @Test
+    public void latencySubTypesShouldBeLimited() {
+        for (int i = 0; i < MetricService.MAX_LATENCY_SUB_TYPES + 10; i++) {
+            metricService.recordLatency(LatencyMetricType.PERSISTENCE_OPERATION_DURATION, "operation" + i, 1000);
+        }
+
+        Timer other = metricService.getLatencyTimer(LatencyMetricType.PERSISTENCE_OPERATION_DURATION,
+                MetricService.OTHER_LATENCY_SUB_TYPE);
+        assertEquals(10, other.getCount());
+    }
+
+    @Test
+    public void openMetricsShouldIncludeCountersAndHistograms() throws IOException {
+        metricService.incCounter(MetricType.TOKEN_LONG_LIVED_ACCESS_TOKEN_COUNT);
+        metricService.recordLatency(LatencyMetricType.HTTP_REQUEST_DURATION, "/userinfo", 3_000_000);
+
+        StringWriter writer = new StringWriter();
+        metricService.writeOpenMetrics(writer);
+        String result = writer.toString();
+
+        assertTrue(result.contains("tkn_long_lived_access_token_count_total 1\n"));
+        assertTrue(result.contains("http_request_duration_seconds_count{endpoint=\"/userinfo\"} 1\n"));
+        assertTrue(result.endsWith("# EOF\n"));
+    }
+
+    @Test
+    public void eventCountersShouldBeWrittenButNotPersisted() throws IOException {
+        metricService.incEventCounter(LatencyMetricType.CACHE_READ_THROUGH, "negative_hit");
+        metricService.incEventCounter(LatencyMetricType.CACHE_READ_THROUGH, "negative_hit");
+
+        StringWriter writer = new StringWriter();
+        metricService.writeOpenMetrics(writer);
+
+        assertTrue(writer.toString().contains("cache_read_through_total{event=\"negative_hit\"} 2\n"));
+
+        boolean found = metricService.getRegisteredMetrics().stream()
+                .anyMatch(registration -> registration.getMetricType() == LatencyMetricType.CACHE_READ_THROUGH);
+
+        assertFalse(found);
+    }
+
     @Test
     public void buildDnShouldUseUtcPeriod() {
         Calendar cal = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
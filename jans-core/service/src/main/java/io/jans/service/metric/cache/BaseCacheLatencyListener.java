@@ -0,0 +1,58 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.metric.cache;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.jans.model.metric.LatencyMetricType;
+import io.jans.service.cache.CacheOperationListener;
+import io.jans.service.cache.CacheProviderType;
+import io.jans.service.metric.MetricService;
+
+/**
+ * Records duration of cache operations in latency metrics and counts read-through events.
+ * Applications provide CDI bean which extends this class and returns their metric service
+ */
+public abstract class BaseCacheLatencyListener implements CacheOperationListener {
+
+    // Metric sub types like "redis.get", prepared once to not build them on each operation
+    private final Map<CacheProviderType, Map<String, String>> subTypes = new EnumMap<>(CacheProviderType.class);
+
+    protected BaseCacheLatencyListener() {
+        for (CacheProviderType providerType : CacheProviderType.values()) {
+            Map<String, String> operations = new ConcurrentHashMap<>();
+            for (String operation : new String[] { GET, PUT, REMOVE, INCREMENT, LOAD, WAIT }) {
+                operations.put(operation, buildSubType(providerType, operation));
+            }
+            subTypes.put(providerType, operations);
+        }
+    }
+
+    @Override
+    public void onOperation(CacheProviderType providerType, String operation, long durationInNanos) {
+        if (providerType == null) {
+            return;
+        }
+
+        String subType = subTypes.get(providerType).computeIfAbsent(operation, key -> buildSubType(providerType, key));
+        getMetricService().recordLatency(LatencyMetricType.CACHE_OPERATION_DURATION, subType, durationInNanos);
+    }
+
+    @Override
+    public void onReadThroughEvent(String event) {
+        getMetricService().incEventCounter(LatencyMetricType.CACHE_READ_THROUGH, event);
+    }
+
+    static String buildSubType(CacheProviderType providerType, String operation) {
+        return providerType.name().toLowerCase() + "." + operation;
+    }
+
+    protected abstract MetricService getMetricService();
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.metric.http;
+
+import java.io.IOException;
+
+import io.jans.model.metric.LatencyMetricType;
+import io.jans.service.metric.MetricService;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.FilterConfig;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletMapping;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Records request processing time per endpoint in latency metrics. Endpoint is path template of matched
+ * JAX-RS resource method (see {@link LatencyMetricEndpointFilter}) prefixed by servlet path. Other requests,
+ * including not matched ones, are labeled by servlet mapping pattern, so random paths don't create new labels.
+ */
+public abstract class BaseLatencyMetricFilter implements Filter {
+
+    static final String UNKNOWN_ENDPOINT = "unknown";
+
+    @Override
+    public void init(FilterConfig filterConfig) {
+        // empty
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+        MetricService metricService = getMetricService();
+        if (!metricService.isLatencyMetricsEnabled()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            metricService.recordLatency(LatencyMetricType.HTTP_REQUEST_DURATION, getEndpoint((HttpServletRequest) request),
+                    System.nanoTime() - start);
+        }
+    }
+
+    static String getEndpoint(HttpServletRequest request) {
+        Object endpoint = request.getAttribute(LatencyMetricEndpointFilter.ENDPOINT_ATTRIBUTE);
+        if (endpoint != null) {
+            return request.getServletPath() + endpoint;
+        }
+
+        HttpServletMapping mapping = request.getHttpServletMapping();
+        if ((mapping == null) || (mapping.getPattern() == null)) {
+            return UNKNOWN_ENDPOINT;
+        }
+
+        // Context root mapping has empty pattern
+        return mapping.getPattern().isEmpty() ? "/" : mapping.getPattern();
+    }
+
+    @Override
+    public void destroy() {
+        // empty
+    }
+
+    protected abstract MetricService getMetricService();
+
+}
@@ -0,0 +1,151 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.metric.http;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+
+import io.jans.service.metric.MetricService;
+import io.jans.service.metric.OpenMetricsWriter;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Exposes metrics in OpenMetrics text format for scrapers. Endpoint is available only when latency metrics
+ * are enabled and only to loopback addresses and addresses allowed by
+ * {@link MetricService#getOpenMetricsAllowedAddresses()}. Requests forwarded by proxy are allowed only when
+ * every address in X-Forwarded-For header is allowed too.
+ */
+public abstract class BaseOpenMetricsServlet extends HttpServlet {
+
+    private static final long serialVersionUID = 3712004869372468461L;
+
+    private static final String FORWARDED_FOR_HEADER = "X-Forwarded-For";
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        MetricService metricService = getMetricService();
+        if (!metricService.isLatencyMetricsEnabled()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        if (!isAllowed(request.getRemoteAddr(), request.getHeader(FORWARDED_FOR_HEADER), metricService.getOpenMetricsAllowedAddresses())) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+
+        // Render fully before sending to not return partial exposition on error
+        StringWriter writer = new StringWriter();
+        metricService.writeOpenMetrics(writer);
+
+        response.setContentType(OpenMetricsWriter.CONTENT_TYPE);
+        response.setHeader("Cache-Control", "no-store");
+        response.getWriter().write(writer.toString());
+    }
+
+    static boolean isAllowed(String remoteAddress, String forwardedFor, Collection<String> allowedAddresses) {
+        List<String> addresses = new ArrayList<>();
+        addresses.add(remoteAddress);
+        if (StringUtils.isNotBlank(forwardedFor)) {
+            for (String forwardedAddress : forwardedFor.split(",")) {
+                addresses.add(forwardedAddress.trim());
+            }
+        }
+
+        for (String address : addresses) {
+            InetAddress inetAddress = parseAddress(address);
+            if ((inetAddress == null) || !(inetAddress.isLoopbackAddress() || matchesAny(inetAddress, allowedAddresses))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean matchesAny(InetAddress address, Collection<String> allowedAddresses) {
+        if (allowedAddresses == null) {
+            return false;
+        }
+
+        for (String allowedAddress : allowedAddresses) {
+            if (matches(address, StringUtils.trim(allowedAddress))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean matches(InetAddress address, String allowedAddress) {
+        if (StringUtils.isEmpty(allowedAddress)) {
+            return false;
+        }
+
+        int prefixLength = -1;
+        String network = allowedAddress;
+        int slash = allowedAddress.indexOf('/');
+        if (slash >= 0) {
+            network = allowedAddress.substring(0, slash);
+            try {
+                prefixLength = Integer.parseInt(allowedAddress.substring(slash + 1));
+            } catch (NumberFormatException ex) {
+                return false;
+            }
+        }
+
+        InetAddress networkAddress = parseAddress(network);
+        if (networkAddress == null) {
+            return false;
+        }
+
+        byte[] addressBytes = address.getAddress();
+        byte[] networkBytes = networkAddress.getAddress();
+        if (addressBytes.length != networkBytes.length) {
+            return false;
+        }
+        if ((prefixLength < 0) || (prefixLength > addressBytes.length * 8)) {
+            prefixLength = addressBytes.length * 8;
+        }
+
+        for (int i = 0; i < prefixLength; i++) {
+            int mask = 0x80 >> (i % 8);
+            if ((addressBytes[i / 8] & mask) != (networkBytes[i / 8] & mask)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Accepts only IP literals, so checks never trigger DNS lookups
+     */
+    private static InetAddress parseAddress(String address) {
+        if (StringUtils.isEmpty(address) || !StringUtils.containsOnly(address.toLowerCase(), "0123456789abcdef.:")
+                || !StringUtils.containsAny(address, ".:")) {
+            return null;
+        }
+
+        try {
+            return InetAddress.getByName(address);
+        } catch (UnknownHostException ex) {
+            return null;
+        }
+    }
+
+    protected abstract MetricService getMetricService();
+
+}
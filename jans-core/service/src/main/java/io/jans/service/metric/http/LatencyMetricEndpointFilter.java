@@ -0,0 +1,115 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.metric.http;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * Stores path template of matched JAX-RS resource method in request, {@link BaseLatencyMetricFilter}
+ * uses it as endpoint label. Templates don't contain path parameter values, so number of labels is
+ * bounded by number of resource methods. Applications should register it in their JAX-RS application.
+ */
+@Provider
+public class LatencyMetricEndpointFilter implements ContainerRequestFilter {
+
+    public static final String ENDPOINT_ATTRIBUTE = LatencyMetricEndpointFilter.class.getName() + ".endpoint";
+
+    private static final ConcurrentMap<Class<?>, ConcurrentMap<Method, String>> ENDPOINTS = new ConcurrentHashMap<>();
+
+    @Context
+    private ResourceInfo resourceInfo;
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        Class<?> resourceClass = resourceInfo.getResourceClass();
+        Method resourceMethod = resourceInfo.getResourceMethod();
+        if ((resourceClass == null) || (resourceMethod == null)) {
+            return;
+        }
+
+        String endpoint = ENDPOINTS.computeIfAbsent(resourceClass, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(resourceMethod, key -> getEndpoint(resourceClass, key));
+        requestContext.setProperty(ENDPOINT_ATTRIBUTE, endpoint);
+    }
+
+    static String getEndpoint(Class<?> resourceClass, Method resourceMethod) {
+        StringBuilder endpoint = new StringBuilder();
+        appendPath(endpoint, findPath(resourceClass));
+        appendPath(endpoint, findPath(resourceClass, resourceMethod));
+
+        return (endpoint.length() == 0) ? "/" : endpoint.toString();
+    }
+
+    private static void appendPath(StringBuilder endpoint, Path path) {
+        if (path == null) {
+            return;
+        }
+
+        for (String segment : path.value().split("/")) {
+            if (!segment.isEmpty()) {
+                endpoint.append('/').append(segment);
+            }
+        }
+    }
+
+    /**
+     * Resources often declare paths on interfaces implemented by CDI beans
+     */
+    private static Path findPath(Class<?> type) {
+        if ((type == null) || (type == Object.class)) {
+            return null;
+        }
+
+        Path path = type.getAnnotation(Path.class);
+        if (path != null) {
+            return path;
+        }
+
+        for (Class<?> interfaceType : type.getInterfaces()) {
+            path = findPath(interfaceType);
+            if (path != null) {
+                return path;
+            }
+        }
+
+        return findPath(type.getSuperclass());
+    }
+
+    private static Path findPath(Class<?> type, Method method) {
+        if ((type == null) || (type == Object.class)) {
+            return null;
+        }
+
+        try {
+            Path path = type.getDeclaredMethod(method.getName(), method.getParameterTypes()).getAnnotation(Path.class);
+            if (path != null) {
+                return path;
+            }
+        } catch (NoSuchMethodException ex) {
+            // Method is declared in parent type
+        }
+
+        for (Class<?> interfaceType : type.getInterfaces()) {
+            Path path = findPath(interfaceType, method);
+            if (path != null) {
+                return path;
+            }
+        }
+
+        return findPath(type.getSuperclass(), method);
+    }
+
+}
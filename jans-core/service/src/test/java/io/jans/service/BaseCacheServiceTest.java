@@ -0,0 +1,252 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service;
+
+import io.jans.orm.exception.EntryNotFoundPersistenceException;
+import io.jans.orm.exception.EntryPersistenceException;
+import io.jans.service.cache.CacheConfiguration;
+import io.jans.service.cache.CacheProvider;
+import io.jans.service.cache.InMemoryCacheProvider;
+import io.jans.service.cache.ReadThroughConfiguration;
+import io.jans.service.cache.ReadThroughStatistics;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+public class BaseCacheServiceTest {
+
+    private InMemoryCacheProvider cacheProvider;
+    private ReadThroughConfiguration readThroughConfiguration;
+    private TestCacheService cacheService;
+
+    private static class TestCacheService extends BaseCacheService {
+
+        private final CacheProvider cacheProvider;
+
+        TestCacheService(CacheProvider cacheProvider) {
+            this.cacheProvider = cacheProvider;
+        }
+
+        @Override
+        protected CacheProvider getCacheProvider() {
+            return cacheProvider;
+        }
+    }
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        CacheConfiguration cacheConfiguration = new CacheConfiguration();
+        readThroughConfiguration = cacheConfiguration.getReadThroughConfiguration();
+
+        cacheProvider = new InMemoryCacheProvider();
+        cacheProvider.configure(cacheConfiguration);
+        cacheProvider.create();
+
+        cacheService = new TestCacheService(cacheProvider);
+        Field logField = BaseCacheService.class.getDeclaredField("log");
+        logField.setAccessible(true);
+        logField.set(cacheService, LoggerFactory.getLogger(BaseCacheService.class));
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        cacheService.destroyRefreshAheadExecutor();
+        cacheProvider.destroy();
+    }
+
+    @Test
+    public void concurrentMissesShouldCallLoaderOnce() throws Exception {
+        final int threads = 8;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(threads);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executorService.submit(() -> {
+                    started.countDown();
+                    started.await();
+                    return cacheService.getWithPut("client", () -> {
+                        loads.incrementAndGet();
+                        sleep(300);
+                        return "value";
+                    }, 60);
+                }));
+            }
+
+            for (Future<String> result : results) {
+                assertEquals(result.get(5, TimeUnit.SECONDS), "value");
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        ReadThroughStatistics statistics = cacheService.getReadThroughStatistics();
+        assertEquals(loads.get(), 1);
+        assertEquals(statistics.getLoadCount(), 1);
+        assertEquals(statistics.getCoalescedWaitCount(), threads - 1);
+    }
+
+    @Test
+    public void missingValueShouldBeCachedWhenNegativeCacheEnabled() {
+        readThroughConfiguration.setNegativeCacheEnabled(true);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertNull(cacheService.getWithPut("missing", () -> { loads.incrementAndGet(); return null; }, 60));
+        assertNull(cacheService.getWithPut("missing", () -> { loads.incrementAndGet(); return null; }, 60));
+
+        assertEquals(loads.get(), 1);
+        assertEquals(cacheService.getReadThroughStatistics().getNegativeHitCount(), 1);
+        assertNull(cacheService.get("missing"));
+    }
+
+    @Test
+    public void missingValueShouldNotBeCachedByDefault() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertNull(cacheService.getWithPut("missing", () -> { loads.incrementAndGet(); return null; }, 60));
+        assertNull(cacheService.getWithPut("missing", () -> { loads.incrementAndGet(); return null; }, 60));
+
+        assertEquals(loads.get(), 2);
+    }
+
+    @Test
+    public void hotKeyShouldBeRefreshedInBackground() throws Exception {
+        readThroughConfiguration.setRefreshAheadEnabled(true);
+        readThroughConfiguration.setRefreshAheadFactor(0.1);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals(cacheService.getWithPut("scope", () -> "value" + loads.incrementAndGet(), 10), "value1");
+        sleep(1200);
+
+        // Current value is returned, reload runs in background
+        assertEquals(cacheService.getWithPut("scope", () -> "value" + loads.incrementAndGet(), 10), "value1");
+
+        for (int i = 0; (i < 50) && !"value2".equals(cacheService.get("scope")); i++) {
+            sleep(100);
+        }
+
+        ReadThroughStatistics statistics = cacheService.getReadThroughStatistics();
+        assertEquals(cacheService.get("scope"), "value2");
+        assertEquals(statistics.getRefreshAheadCount(), 1);
+        assertTrue(statistics.getStaleServeCount() >= 1);
+    }
+
+    @Test
+    public void entryNotFoundShouldBeCachedWhenNegativeCacheEnabled() {
+        readThroughConfiguration.setNegativeCacheEnabled(true);
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            assertNull(cacheService.getWithPut("deleted", () -> {
+                loads.incrementAndGet();
+                throw new EntryNotFoundPersistenceException("Failed to find entry: 'deleted'");
+            }, 60));
+        }
+
+        assertEquals(loads.get(), 1);
+        assertEquals(cacheService.getReadThroughStatistics().getNegativeHitCount(), 1);
+    }
+
+    @Test
+    public void lookupFailureShouldNotBeCached() {
+        readThroughConfiguration.setNegativeCacheEnabled(true);
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            expectThrows(EntryPersistenceException.class, () -> cacheService.getWithPut("client", () -> {
+                loads.incrementAndGet();
+                throw new EntryPersistenceException("Failed to find entry: 'client'", new IllegalStateException("Connection refused"));
+            }, 60));
+        }
+
+        assertEquals(loads.get(), 2);
+        assertEquals(cacheService.getReadThroughStatistics().getNegativeHitCount(), 0);
+    }
+
+    @Test
+    public void persistenceFailureWithoutCauseShouldNotBeCached() {
+        readThroughConfiguration.setNegativeCacheEnabled(true);
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            expectThrows(EntryPersistenceException.class, () -> cacheService.getWithPut("client", () -> {
+                loads.incrementAndGet();
+                throw new EntryPersistenceException("Failed to persist entry: 'client'");
+            }, 60));
+        }
+
+        assertEquals(loads.get(), 2);
+        assertEquals(cacheService.getReadThroughStatistics().getNegativeHitCount(), 0);
+    }
+
+    @Test
+    public void failedRefreshShouldEvictKey() {
+        readThroughConfiguration.setRefreshAheadEnabled(true);
+        readThroughConfiguration.setRefreshAheadFactor(0.1);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals(cacheService.getWithPut("scope", () -> "value" + loads.incrementAndGet(), 10), "value1");
+        sleep(1200);
+
+        assertEquals(cacheService.getWithPut("scope", () -> {
+            loads.incrementAndGet();
+            throw new IllegalStateException("Connection refused");
+        }, 10), "value1");
+
+        for (int i = 0; (i < 50) && (cacheService.get("scope") != null); i++) {
+            sleep(100);
+        }
+        assertNull(cacheService.get("scope"));
+
+        // Next request loads value itself, no more refreshes are scheduled
+        assertEquals(cacheService.getWithPut("scope", () -> "value" + loads.incrementAndGet(), 10), "value3");
+        assertEquals(cacheService.getReadThroughStatistics().getRefreshAheadCount(), 1);
+    }
+
+    @Test
+    public void missingValueOnRefreshShouldEvictKey() {
+        readThroughConfiguration.setRefreshAheadEnabled(true);
+        readThroughConfiguration.setRefreshAheadFactor(0.1);
+
+        assertEquals(cacheService.getWithPut("scope", () -> "value", 10), "value");
+        sleep(1200);
+
+        assertEquals(cacheService.getWithPut("scope", () -> null, 10), "value");
+        for (int i = 0; (i < 50) && (cacheService.get("scope") != null); i++) {
+            sleep(100);
+        }
+
+        assertNull(cacheService.get("scope"));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class BoundedInMemoryCacheProviderTest {
+
+    private BoundedInMemoryCacheProvider createProvider(long maxEntries, long maxWeightInBytes) {
+        CacheConfiguration cacheConfiguration = new CacheConfiguration();
+        cacheConfiguration.getInMemoryConfiguration().setMaxEntries(maxEntries);
+        cacheConfiguration.getInMemoryConfiguration().setMaxWeightInBytes(maxWeightInBytes);
+
+        BoundedInMemoryCacheProvider cache = new BoundedInMemoryCacheProvider();
+        cache.configure(cacheConfiguration);
+        cache.init();
+        cache.create();
+
+        return cache;
+    }
+
+    @Test
+    public void expirationTest() throws InterruptedException {
+        BoundedInMemoryCacheProvider cache = createProvider(100, 0);
+
+        String value = "expirationTest";
+        cache.put(2, "myKey", value);
+        assertEquals(cache.get("myKey"), value);
+
+        cache.put(4, "myKey", value); // put must reset expiration
+        Thread.sleep(3000);
+        assertEquals(cache.get("myKey"), value);
+
+        Thread.sleep(2000);
+        assertNull(cache.get("myKey"));
+        assertTrue(!cache.hasKey("myKey"));
+    }
+
+    @Test
+    public void maxEntriesTest() {
+        BoundedInMemoryCacheProvider cache = createProvider(100, 0);
+
+        for (int i = 0; i < 1000; i++) {
+            cache.put(60, "key" + i, "value" + i);
+        }
+        cache.cleanup(null);
+
+        assertTrue(cache.getStatistics().getSize() <= 100, "Size: " + cache.getStatistics().getSize());
+        assertTrue(cache.getStatistics().getEvictionCount() >= 900, "Evictions: " + cache.getStatistics().getEvictionCount());
+    }
+
+    @Test
+    public void maxWeightTest() {
+        BoundedInMemoryCacheProvider cache = createProvider(0, 64 * 1024);
+
+        for (int i = 0; i < 1000; i++) {
+            cache.put(60, "key" + i, new byte[1024]);
+        }
+        cache.cleanup(null);
+
+        assertTrue(cache.getStatistics().getSize() < 64, "Size: " + cache.getStatistics().getSize());
+    }
+
+    @Test
+    public void statisticsTest() {
+        BoundedInMemoryCacheProvider cache = createProvider(100, 0);
+
+        cache.put(60, "key", "value");
+        cache.get("key");
+        cache.get("key");
+        cache.get("missing");
+
+        CacheStatistics statistics = cache.getStatistics();
+        assertEquals(statistics.getHitCount(), 2);
+        assertEquals(statistics.getMissCount(), 1);
+        assertEquals(statistics.getLoadCount(), 1);
+    }
+
+    @Test
+    public void estimateWeightTest() {
+        assertEquals(BoundedInMemoryCacheProvider.estimateWeight("k", new byte[100], 1024), 48 + 2 + 16 + 100);
+        assertEquals(BoundedInMemoryCacheProvider.estimateWeight("k", new Object(), 1024), 48 + 2 + 1024);
+    }
+}
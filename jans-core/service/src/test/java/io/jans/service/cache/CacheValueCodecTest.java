@@ -0,0 +1,149 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+public class CacheValueCodecTest {
+
+    @Test
+    public void javaWithoutCompressionMustProduceLegacyFormat() throws IOException {
+        SampleSessionId sessionId = createSessionId(10);
+
+        CacheValueCodec codec = new CacheValueCodec(CacheSerializationType.JAVA, 0);
+        String encoded = codec.encodeToString(sessionId);
+
+        assertEquals(encoded, legacyEncode(sessionId));
+    }
+
+    @Test
+    public void legacyValueMustBeReadableByAnyCodec() throws IOException {
+        SampleSessionId sessionId = createSessionId(10);
+        String legacy = legacyEncode(sessionId);
+
+        for (CacheSerializationType type : CacheSerializationType.values()) {
+            CacheValueCodec codec = new CacheValueCodec(type, 128);
+            SampleSessionId decoded = (SampleSessionId) codec.decodeFromString(legacy);
+
+            assertSessionEquals(decoded, sessionId);
+        }
+    }
+
+    @Test
+    public void roundTripWithAllFormats() throws IOException {
+        SampleSessionId sessionId = createSessionId(50);
+
+        for (CacheSerializationType type : CacheSerializationType.values()) {
+            for (int threshold : new int[] { 0, 64 }) {
+                CacheValueCodec codec = new CacheValueCodec(type, threshold);
+                byte[] encoded = codec.encode(sessionId);
+
+                // Values written in any format must be readable by codec with other settings
+                SampleSessionId decoded = (SampleSessionId) new CacheValueCodec(CacheSerializationType.JAVA, 0).decode(encoded);
+                assertSessionEquals(decoded, sessionId);
+            }
+        }
+    }
+
+    @Test
+    public void compressionMustReduceSize() throws IOException {
+        SampleSessionId sessionId = createSessionId(100);
+
+        byte[] plain = new CacheValueCodec(CacheSerializationType.CBOR, 0).encode(sessionId);
+        byte[] compressed = new CacheValueCodec(CacheSerializationType.CBOR, 256).encode(sessionId);
+
+        assertEquals(compressed[2] & CacheValueCodec.FLAG_DEFLATE, CacheValueCodec.FLAG_DEFLATE);
+        assertTrue(compressed.length < plain.length);
+    }
+
+    @Test
+    public void cborMustBeSmallerThanJava() throws IOException {
+        SampleSessionId sessionId = createSessionId(10);
+
+        byte[] java = new CacheValueCodec(CacheSerializationType.JAVA, 0).encode(sessionId);
+        byte[] cbor = new CacheValueCodec(CacheSerializationType.CBOR, 0).encode(sessionId);
+
+        assertTrue(cbor.length < java.length, "CBOR: " + cbor.length + ", Java: " + java.length);
+    }
+
+    @Test(enabled = false) // manual
+    public void benchmark() throws IOException {
+        int iterations = 100_000;
+        for (int attributes : new int[] { 5, 50 }) {
+            SampleSessionId sessionId = createSessionId(attributes);
+            for (CacheSerializationType type : CacheSerializationType.values()) {
+                for (int threshold : new int[] { 0, 512 }) {
+                    CacheValueCodec codec = new CacheValueCodec(type, threshold);
+
+                    // warm up
+                    for (int i = 0; i < iterations; i++) {
+                        codec.decode(codec.encode(sessionId));
+                    }
+
+                    long started = System.nanoTime();
+                    long bytes = 0;
+                    for (int i = 0; i < iterations; i++) {
+                        byte[] encoded = codec.encode(sessionId);
+                        bytes = encoded.length;
+                        codec.decode(encoded);
+                    }
+                    long nsPerOp = (System.nanoTime() - started) / iterations;
+
+                    System.out.printf("attributes: %d, format: %s, compressionThreshold: %d, bytes: %d, put+get: %d ns/op%n",
+                            attributes, type, threshold, bytes, nsPerOp);
+                }
+            }
+        }
+    }
+
+    private static SampleSessionId createSessionId(int attributesCount) {
+        Map<String, String> sessionAttributes = new HashMap<>();
+        for (int i = 0; i < attributesCount; i++) {
+            sessionAttributes.put("attr" + i, "value_" + UUID.randomUUID());
+        }
+
+        SampleSessionId sessionId = new SampleSessionId();
+        sessionId.setId(UUID.randomUUID().toString());
+        sessionId.setDn("jansId=" + sessionId.getId() + ",ou=sessions,o=jans");
+        sessionId.setAuthenticationTime(new Date());
+        sessionId.setState(SessionIdState.AUTHENTICATED);
+        sessionId.setSessionAttributes(sessionAttributes);
+
+        return sessionId;
+    }
+
+    private static void assertSessionEquals(SampleSessionId actual, SampleSessionId expected) {
+        assertNotNull(actual);
+        assertEquals(actual.getId(), expected.getId());
+        assertEquals(actual.getDn(), expected.getDn());
+        assertEquals(actual.getAuthenticationTime(), expected.getAuthenticationTime());
+        assertEquals(actual.getState(), expected.getState());
+        assertEquals(actual.getSessionAttributes(), expected.getSessionAttributes());
+    }
+
+    private static String legacyEncode(Object object) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+            oos.writeObject(object);
+        }
+
+        return Base64.getEncoder().encodeToString(baos.toByteArray());
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+public class NearCacheProviderTest {
+
+    private static final String CHANNEL = "jans_cache_invalidation";
+
+    private static class LocalInvalidationChannel implements NearCacheInvalidationChannel {
+
+        private final Map<String, List<Consumer<String>>> listeners = new HashMap<>();
+
+        @Override
+        public boolean publish(String channel, String message) {
+            List<Consumer<String>> channelListeners = listeners.get(channel);
+            if (channelListeners != null) {
+                for (Consumer<String> listener : new ArrayList<>(channelListeners)) {
+                    listener.accept(message);
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void subscribe(String channel, Consumer<String> listener) {
+            listeners.computeIfAbsent(channel, k -> new ArrayList<>()).add(listener);
+        }
+
+        @Override
+        public void unsubscribe(String channel) {
+            listeners.remove(channel);
+        }
+    }
+
+    /**
+     * Runs action while value is loaded from shared cache, after it was read
+     */
+    private static class LoadHookCacheProvider extends InMemoryCacheProvider {
+
+        private Runnable onLoad;
+
+        @Override
+        public Object get(String key) {
+            Object value = super.get(key);
+
+            Runnable action = onLoad;
+            onLoad = null;
+            if (action != null) {
+                action.run();
+            }
+
+            return value;
+        }
+
+        public void setOnLoad(Runnable onLoad) {
+            this.onLoad = onLoad;
+        }
+    }
+
+    private InMemoryCacheProvider createSharedCache() {
+        return initSharedCache(new InMemoryCacheProvider());
+    }
+
+    private <T extends InMemoryCacheProvider> T initSharedCache(T cache) {
+        CacheConfiguration cacheConfiguration = new CacheConfiguration();
+
+        cache.configure(cacheConfiguration);
+        cache.init();
+        cache.create();
+
+        return cache;
+    }
+
+    private NearCacheProvider createNearCache(CacheProvider<?> sharedCache, NearCacheConfiguration nearCacheConfiguration,
+            NearCacheInvalidationChannel channel) {
+        NearCacheProvider cache = new NearCacheProvider(sharedCache, nearCacheConfiguration, channel);
+        cache.create();
+
+        return cache;
+    }
+
+    private NearCacheConfiguration createConfiguration(boolean copyOnRead) {
+        NearCacheConfiguration nearCacheConfiguration = new NearCacheConfiguration();
+        nearCacheConfiguration.setEnabled(true);
+        nearCacheConfiguration.setCopyOnRead(copyOnRead);
+
+        return nearCacheConfiguration;
+    }
+
+    @Test
+    public void hitFromLocalCacheTest() {
+        InMemoryCacheProvider sharedCache = createSharedCache();
+        NearCacheProvider cache = createNearCache(sharedCache, createConfiguration(false), null);
+
+        String value = "value";
+        sharedCache.put(60, "key", value);
+
+        assertSame(cache.get("key"), value);
+        assertSame(cache.get("key"), value);
+
+        CacheStatistics statistics = cache.getStatistics();
+        assertEquals(statistics.getHitCount(), 1);
+        assertEquals(statistics.getMissCount(), 1);
+        assertEquals(statistics.getSize(), 1);
+    }
+
+    @Test
+    public void copyOnReadTest() {
+        InMemoryCacheProvider sharedCache = createSharedCache();
+        NearCacheProvider cache = createNearCache(sharedCache, createConfiguration(true), null);
+
+        ArrayList<String> value = new ArrayList<>(Arrays.asList("a", "b"));
+        cache.put(60, "key", value);
+
+        Object first = cache.get("key");
+        Object second = cache.get("key");
+        assertEquals(first, value);
+        assertNotSame(first, second);
+    }
+
+    @Test
+    public void invalidationTest() {
+        LocalInvalidationChannel channel = new LocalInvalidationChannel();
+        InMemoryCacheProvider sharedCache = createSharedCache();
+
+        NearCacheProvider node1 = createNearCache(sharedCache, createConfiguration(true), channel);
+        NearCacheProvider node2 = createNearCache(sharedCache, createConfiguration(true), channel);
+
+        node1.put(60, "key", "v1");
+        assertEquals(node2.get("key"), "v1");
+
+        node1.put(60, "key", "v2");
+        assertEquals(node2.get("key"), "v2");
+        assertEquals(node2.getInvalidationsReceived(), 2);
+
+        node1.remove("key");
+        assertNull(node2.get("key"));
+
+        node1.put(60, "key", "v3");
+        assertEquals(node2.get("key"), "v3");
+        node2.clear();
+        assertNull(node1.get("key"));
+    }
+
+    @Test
+    public void invalidationDuringLoadTest() {
+        LocalInvalidationChannel channel = new LocalInvalidationChannel();
+        LoadHookCacheProvider sharedCache = initSharedCache(new LoadHookCacheProvider());
+
+        NearCacheProvider node1 = createNearCache(sharedCache, createConfiguration(false), channel);
+        NearCacheProvider node2 = createNearCache(sharedCache, createConfiguration(false), channel);
+
+        sharedCache.put(60, "key", "v1");
+
+        // Node 1 updates key after node 2 read old value from L2 but before it was stored in L1
+        sharedCache.setOnLoad(() -> node1.put(60, "key", "v2"));
+        assertEquals(node2.get("key"), "v1");
+        assertEquals(node2.get("key"), "v2");
+
+        sharedCache.put(60, "key2", "k1");
+
+        sharedCache.setOnLoad(() -> node1.remove("key2"));
+        assertEquals(node2.get("key2"), "k1");
+        assertNull(node2.get("key2"));
+    }
+
+    @Test
+    public void invalidationOfOtherKeyDuringLoadTest() {
+        LocalInvalidationChannel channel = new LocalInvalidationChannel();
+        LoadHookCacheProvider sharedCache = initSharedCache(new LoadHookCacheProvider());
+
+        NearCacheProvider node1 = createNearCache(sharedCache, createConfiguration(false), channel);
+        NearCacheProvider node2 = createNearCache(sharedCache, createConfiguration(false), channel);
+
+        sharedCache.put(60, "key", "v1");
+
+        sharedCache.setOnLoad(() -> node1.put(60, "other", "o1"));
+        assertEquals(node2.get("key"), "v1");
+
+        // Change L2 directly to check that value was stored in L1
+        sharedCache.put(60, "key", "v2");
+        assertEquals(node2.get("key"), "v1");
+        assertEquals(node2.getStatistics().getHitCount(), 1);
+    }
+
+    @Test
+    public void regionTest() {
+        InMemoryCacheProvider sharedCache = createSharedCache();
+
+        NearCacheRegionConfiguration sessionRegion = new NearCacheRegionConfiguration();
+        sessionRegion.setName("session");
+        sessionRegion.setKeyPrefix("session_");
+
+        NearCacheConfiguration nearCacheConfiguration = createConfiguration(false);
+        nearCacheConfiguration.getRegions().add(sessionRegion);
+
+        NearCacheProvider cache = createNearCache(sharedCache, nearCacheConfiguration, null);
+
+        cache.put(60, "session_1", "s1");
+        cache.put(60, "other_1", "o1");
+
+        // Change L2 directly to check which keys are served from L1
+        sharedCache.put(60, "session_1", "s2");
+        sharedCache.put(60, "other_1", "o2");
+
+        assertEquals(cache.get("session_1"), "s1");
+        assertEquals(cache.get("other_1"), "o2");
+        assertEquals(cache.getRegionStatistics().get("session").getSize(), 1);
+    }
+
+    @Test
+    public void ttlTest() throws InterruptedException {
+        InMemoryCacheProvider sharedCache = createSharedCache();
+
+        NearCacheConfiguration nearCacheConfiguration = createConfiguration(false);
+        nearCacheConfiguration.setTtl(1);
+        NearCacheProvider cache = createNearCache(sharedCache, nearCacheConfiguration, null);
+
+        cache.put(60, "key", "v1");
+        sharedCache.put(60, "key", "v2");
+        assertEquals(cache.get("key"), "v1");
+
+        Thread.sleep(1500);
+        assertEquals(cache.get("key"), "v2");
+    }
+
+}
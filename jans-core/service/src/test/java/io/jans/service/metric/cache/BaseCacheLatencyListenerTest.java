@@ -0,0 +1,218 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.metric.cache;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import io.jans.model.ApplicationType;
+import io.jans.orm.PersistenceEntryManager;
+import io.jans.service.BaseCacheService;
+import io.jans.service.cache.CacheConfiguration;
+import io.jans.service.cache.CacheProvider;
+import io.jans.service.cache.InMemoryCacheProvider;
+import io.jans.service.cache.ReadThroughConfiguration;
+import io.jans.service.metric.MetricService;
+import io.jans.service.metric.http.BaseOpenMetricsServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+public class BaseCacheLatencyListenerTest {
+
+    private InMemoryCacheProvider cacheProvider;
+    private ReadThroughConfiguration readThroughConfiguration;
+    private TestCacheService cacheService;
+    private TestMetricService metricService;
+
+    private static class TestCacheService extends BaseCacheService {
+
+        private final CacheProvider cacheProvider;
+
+        TestCacheService(CacheProvider cacheProvider) {
+            this.cacheProvider = cacheProvider;
+        }
+
+        @Override
+        protected CacheProvider getCacheProvider() {
+            return cacheProvider;
+        }
+    }
+
+    private static class TestMetricService extends MetricService {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public String baseDn() {
+            return "ou=metric,o=jans";
+        }
+
+        @Override
+        public MetricService getMetricServiceInstance() {
+            return this;
+        }
+
+        @Override
+        public boolean isMetricReporterEnabled() {
+            return false;
+        }
+
+        @Override
+        public boolean isLatencyMetricsEnabled() {
+            return true;
+        }
+
+        @Override
+        public String getString() {
+            return ApplicationType.OX_AUTH.getValue();
+        }
+
+        @Override
+        public String getNodeIdentifier() {
+            return "test-node";
+        }
+
+        @Override
+        public PersistenceEntryManager getEntryManager() {
+            return null;
+        }
+    }
+
+    private static class TestCacheLatencyListener extends BaseCacheLatencyListener {
+
+        private final MetricService metricService;
+
+        TestCacheLatencyListener(MetricService metricService) {
+            this.metricService = metricService;
+        }
+
+        @Override
+        protected MetricService getMetricService() {
+            return metricService;
+        }
+    }
+
+    private static class TestOpenMetricsServlet extends BaseOpenMetricsServlet {
+
+        private static final long serialVersionUID = 1L;
+
+        private final MetricService metricService;
+
+        TestOpenMetricsServlet(MetricService metricService) {
+            this.metricService = metricService;
+        }
+
+        @Override
+        protected MetricService getMetricService() {
+            return metricService;
+        }
+    }
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        CacheConfiguration cacheConfiguration = new CacheConfiguration();
+        readThroughConfiguration = cacheConfiguration.getReadThroughConfiguration();
+
+        cacheProvider = new InMemoryCacheProvider();
+        cacheProvider.configure(cacheConfiguration);
+        cacheProvider.create();
+
+        metricService = new TestMetricService();
+        // Long interval to make sure the reporter never fires during the test
+        metricService.initTimer(3600, 1);
+
+        cacheService = new TestCacheService(cacheProvider);
+        setField(cacheService, "log", LoggerFactory.getLogger(BaseCacheService.class));
+        setField(cacheService, "cacheOperationListener", new TestCacheLatencyListener(metricService));
+        setField(cacheService, "cacheOperationListenerResolved", true);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        cacheService.destroyRefreshAheadExecutor();
+        cacheProvider.destroy();
+        metricService.close();
+    }
+
+    @Test
+    public void readThroughEventsShouldBeExposedOnMetricsEndpoint() throws Exception {
+        readThroughConfiguration.setNegativeCacheEnabled(true);
+        readThroughConfiguration.setRefreshAheadEnabled(true);
+        readThroughConfiguration.setRefreshAheadFactor(0.1);
+
+        assertNull(cacheService.getWithPut("missing", () -> null, 60));
+        assertNull(cacheService.getWithPut("missing", () -> null, 60));
+
+        assertEquals(cacheService.getWithPut("scope", () -> "value1", 10), "value1");
+        Thread.sleep(1200);
+        // Stale value is served, reload runs in background
+        assertEquals(cacheService.getWithPut("scope", () -> "value2", 10), "value1");
+        for (int i = 0; (i < 50) && !"value2".equals(cacheService.get("scope")); i++) {
+            Thread.sleep(100);
+        }
+
+        String metrics = scrape(new TestOpenMetricsServlet(metricService));
+
+        assertTrue(metrics.contains("# TYPE cache_read_through counter\n"), metrics);
+        assertTrue(metrics.contains("cache_read_through_total{event=\"negative_hit\"} 1\n"), metrics);
+        assertTrue(metrics.contains("cache_read_through_total{event=\"stale_serve\"} 1\n"), metrics);
+        assertTrue(metrics.contains("cache_read_through_total{event=\"refresh_ahead\"} 1\n"), metrics);
+        assertTrue(metrics.contains("cache_read_through_total{event=\"load\"} 3\n"), metrics);
+    }
+
+    private static String scrape(BaseOpenMetricsServlet servlet) throws Exception {
+        HttpServletRequest request = (HttpServletRequest) Proxy.newProxyInstance(HttpServletRequest.class.getClassLoader(),
+                new Class<?>[] { HttpServletRequest.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                    case "getMethod":
+                        return "GET";
+                    case "getRemoteAddr":
+                        return "127.0.0.1";
+                    case "getDateHeader":
+                        return -1L;
+                    default:
+                        return null;
+                    }
+                });
+
+        StringWriter body = new StringWriter();
+        PrintWriter bodyWriter = new PrintWriter(body);
+        HttpServletResponse response = (HttpServletResponse) Proxy.newProxyInstance(HttpServletResponse.class.getClassLoader(),
+                new Class<?>[] { HttpServletResponse.class }, (proxy, method, args) -> {
+                    if ("getWriter".equals(method.getName())) {
+                        return bodyWriter;
+                    }
+                    if ("sendError".equals(method.getName())) {
+                        throw new AssertionError("Metrics endpoint returned error " + args[0]);
+                    }
+                    return null;
+                });
+
+        servlet.service(request, response);
+        bodyWriter.flush();
+
+        return body.toString();
+    }
+
+    private static void setField(Object target, String name, Object value) throws Exception {
+        Field field = BaseCacheService.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+}
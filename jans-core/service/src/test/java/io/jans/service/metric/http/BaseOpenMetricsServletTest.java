@@ -0,0 +1,54 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.metric.http;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+public class BaseOpenMetricsServletTest {
+
+    private static final List<String> ALLOWED = Arrays.asList("10.1.0.0/16", "192.168.5.7", "fd00::/8");
+
+    @Test
+    public void isAllowed_loopbackAddress_shouldBeAllowedByDefault() {
+        assertTrue(BaseOpenMetricsServlet.isAllowed("127.0.0.1", null, Collections.emptyList()));
+        assertTrue(BaseOpenMetricsServlet.isAllowed("0:0:0:0:0:0:0:1", null, Collections.emptyList()));
+    }
+
+    @Test
+    public void isAllowed_remoteAddress_shouldMatchAddressesAndRanges() {
+        assertTrue(BaseOpenMetricsServlet.isAllowed("10.1.200.3", null, ALLOWED));
+        assertTrue(BaseOpenMetricsServlet.isAllowed("192.168.5.7", null, ALLOWED));
+        assertTrue(BaseOpenMetricsServlet.isAllowed("fd12::5", null, ALLOWED));
+
+        assertFalse(BaseOpenMetricsServlet.isAllowed("10.2.0.1", null, ALLOWED));
+        assertFalse(BaseOpenMetricsServlet.isAllowed("192.168.5.8", null, ALLOWED));
+        assertFalse(BaseOpenMetricsServlet.isAllowed("2001:db8::1", null, ALLOWED));
+    }
+
+    @Test
+    public void isAllowed_forwardedRequest_shouldCheckEveryAddress() {
+        // Proxy on the same host forwards external client
+        assertFalse(BaseOpenMetricsServlet.isAllowed("127.0.0.1", "203.0.113.9", ALLOWED));
+        assertFalse(BaseOpenMetricsServlet.isAllowed("127.0.0.1", "10.1.0.5, 203.0.113.9", ALLOWED));
+
+        assertTrue(BaseOpenMetricsServlet.isAllowed("127.0.0.1", "10.1.0.5", ALLOWED));
+    }
+
+    @Test
+    public void isAllowed_hostNames_shouldBeRejected() {
+        assertFalse(BaseOpenMetricsServlet.isAllowed("127.0.0.1", "localhost", ALLOWED));
+        assertFalse(BaseOpenMetricsServlet.isAllowed("10.1.0.5", null, Collections.singletonList("cafe")));
+    }
+
+}
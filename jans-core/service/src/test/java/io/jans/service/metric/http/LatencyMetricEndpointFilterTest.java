@@ -0,0 +1,67 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.metric.http;
+
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+
+public class LatencyMetricEndpointFilterTest {
+
+    @Path("/clients/")
+    public interface ClientsResource {
+
+        @GET
+        String list();
+
+        @GET
+        @Path("{inum}")
+        String get(@PathParam("inum") String inum);
+    }
+
+    public static class ClientsResourceImpl implements ClientsResource {
+
+        @Override
+        public String list() {
+            return null;
+        }
+
+        @Override
+        public String get(String inum) {
+            return null;
+        }
+    }
+
+    @Path("token")
+    public static class TokenResource {
+
+        @GET
+        @Path("/introspect/")
+        public String introspect() {
+            return null;
+        }
+    }
+
+    @Test
+    public void getEndpoint_pathsOnInterface_shouldReturnTemplate() throws Exception {
+        assertEquals(LatencyMetricEndpointFilter.getEndpoint(ClientsResourceImpl.class,
+                ClientsResourceImpl.class.getMethod("list")), "/clients");
+        assertEquals(LatencyMetricEndpointFilter.getEndpoint(ClientsResourceImpl.class,
+                ClientsResourceImpl.class.getMethod("get", String.class)), "/clients/{inum}");
+    }
+
+    @Test
+    public void getEndpoint_pathsOnClass_shouldNormalizeSlashes() throws Exception {
+        assertEquals(LatencyMetricEndpointFilter.getEndpoint(TokenResource.class,
+                TokenResource.class.getMethod("introspect")), "/token/introspect");
+    }
+
+}
@@ -70,6 +70,12 @@ public class AppConfiguration implements Configuration, Serializable {
 	
 	@DocProperty(description = "Boolean value specifying whether metric reporter is enabled")
     private boolean metricReporterEnabled = true;
+
+	@DocProperty(description = "Boolean value specifying whether OpenMetrics endpoint (/metrics) with request and persistence latency histograms is enabled", defaultValue = "false")
+    private boolean openMetricsEnabled = false;
+
+	@DocProperty(description = "IP addresses or CIDR ranges allowed to read OpenMetrics endpoint (/metrics). Loopback addresses are always allowed")
+    private List<String> openMetricsAllowedAddresses;
 	
 	@DocProperty(description = "Boolean value specifying whether FIDO2 passkey metrics collection is enabled", defaultValue = "true")
     private boolean fido2MetricsEnabled = true;
@@ -92,6 +98,21 @@ public class AppConfiguration implements Configuration, Serializable {
 	@DocProperty(description = "Interval in minutes for FIDO2 metrics aggregation", defaultValue = "60")
     private int fido2MetricsAggregationInterval = 60;
 	
+	@DocProperty(description = "Maximum number of FIDO2 metrics entries buffered in memory before they are written to database", defaultValue = "10000")
+    private int fido2MetricsBufferSize = 10000;
+	
+	@DocProperty(description = "Maximum number of FIDO2 metrics entries written to database in one batch", defaultValue = "100")
+    private int fido2MetricsBatchSize = 100;
+	
+	@DocProperty(description = "Maximum time in milliseconds a FIDO2 metrics entry waits in buffer before it is written", defaultValue = "1000")
+    private int fido2MetricsFlushIntervalInMillis = 1000;
+	
+	@DocProperty(description = "What to do when FIDO2 metrics buffer is overloaded: drop_oldest drops oldest buffered entry, sample keeps every N-th entry while buffer is more than half full", defaultValue = "drop_oldest")
+    private Fido2MetricsOverflowPolicy fido2MetricsOverflowPolicy = Fido2MetricsOverflowPolicy.DROP_OLDEST;
+	
+	@DocProperty(description = "Every N-th FIDO2 metrics entry is kept when overflow policy is sample and buffer is more than half full", defaultValue = "10")
+    private int fido2MetricsSampleRate = 10;
+	
 	@DocProperty(description = "Custom object class list for dynamic person enrolment")
     private List<String> personCustomObjectClassList;
 	
@@ -206,6 +227,22 @@ public class AppConfiguration implements Configuration, Serializable {
 		this.metricReporterEnabled = metricReporterEnabled;
 	}
 
+	public boolean isOpenMetricsEnabled() {
+		return openMetricsEnabled;
+	}
+
+	public void setOpenMetricsEnabled(boolean openMetricsEnabled) {
+		this.openMetricsEnabled = openMetricsEnabled;
+	}
+
+	public List<String> getOpenMetricsAllowedAddresses() {
+		return openMetricsAllowedAddresses;
+	}
+
+	public void setOpenMetricsAllowedAddresses(List<String> openMetricsAllowedAddresses) {
+		this.openMetricsAllowedAddresses = openMetricsAllowedAddresses;
+	}
+
 	public boolean isFido2MetricsEnabled() {
 		return fido2MetricsEnabled;
 	}
@@ -262,6 +299,46 @@ public class AppConfiguration implements Configuration, Serializable {
 		this.fido2MetricsAggregationInterval = fido2MetricsAggregationInterval;
 	}
 
+	public int getFido2MetricsBufferSize() {
+		return fido2MetricsBufferSize;
+	}
+
+	public void setFido2MetricsBufferSize(int fido2MetricsBufferSize) {
+		this.fido2MetricsBufferSize = fido2MetricsBufferSize;
+	}
+
+	public int getFido2MetricsBatchSize() {
+		return fido2MetricsBatchSize;
+	}
+
+	public void setFido2MetricsBatchSize(int fido2MetricsBatchSize) {
+		this.fido2MetricsBatchSize = fido2MetricsBatchSize;
+	}
+
+	public int getFido2MetricsFlushIntervalInMillis() {
+		return fido2MetricsFlushIntervalInMillis;
+	}
+
+	public void setFido2MetricsFlushIntervalInMillis(int fido2MetricsFlushIntervalInMillis) {
+		this.fido2MetricsFlushIntervalInMillis = fido2MetricsFlushIntervalInMillis;
+	}
+
+	public Fido2MetricsOverflowPolicy getFido2MetricsOverflowPolicy() {
+		return fido2MetricsOverflowPolicy;
+	}
+
+	public void setFido2MetricsOverflowPolicy(Fido2MetricsOverflowPolicy fido2MetricsOverflowPolicy) {
+		this.fido2MetricsOverflowPolicy = fido2MetricsOverflowPolicy;
+	}
+
+	public int getFido2MetricsSampleRate() {
+		return fido2MetricsSampleRate;
+	}
+
+	public void setFido2MetricsSampleRate(int fido2MetricsSampleRate) {
+		this.fido2MetricsSampleRate = fido2MetricsSampleRate;
+	}
+
 	public List<String> getPersonCustomObjectClassList() {
 		return personCustomObjectClassList;
 	}
@@ -0,0 +1,61 @@
+package io.jans.fido2.model.conf;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import io.jans.orm.annotation.AttributeEnum;
+import jakarta.xml.bind.annotation.XmlEnum;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * What FIDO2 metrics writer does with new entries when its buffer can't keep up with the database
+ */
+
+@XmlEnum(String.class)
+public enum Fido2MetricsOverflowPolicy implements AttributeEnum {
+
+    DROP_OLDEST("drop_oldest", "Drop oldest buffered entry"), SAMPLE("sample", "Keep every N-th entry");
+
+    private String value;
+    private String displayName;
+
+    private Fido2MetricsOverflowPolicy(String value, String displayName) {
+        this.value = value;
+        this.displayName = displayName;
+    }
+
+    private static final Map<String, Fido2MetricsOverflowPolicy> mapByValues = new HashMap<>();
+
+    static {
+        for (Fido2MetricsOverflowPolicy enumType : values()) {
+            mapByValues.put(enumType.getValue(), enumType);
+        }
+    }
+
+    @JsonCreator
+    public static Fido2MetricsOverflowPolicy forValues(String value) {
+        return getByValue(value);
+    }
+
+    public static Fido2MetricsOverflowPolicy getByValue(String value) {
+        return mapByValues.get(value);
+    }
+
+    @Override
+    public Enum<? extends AttributeEnum> resolveByValue(String value) {
+        return getByValue(value);
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
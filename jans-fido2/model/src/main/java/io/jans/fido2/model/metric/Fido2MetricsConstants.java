@@ -79,6 +79,15 @@ public final class Fido2MetricsConstants {
 
     // Database Attributes
     public static final String JANS_TIMESTAMP = "jansFido2MetricsTimestamp";
+    public static final String JANS_USER_ID = "jansFido2MetricsUserId";
+    public static final String JANS_OPERATION_TYPE = "jansFido2MetricsOperationType";
+    public static final String JANS_STATUS = "jansFido2MetricsStatus";
+    public static final String JANS_DURATION = "jansFido2MetricsDuration";
+    public static final String JANS_AUTHENTICATOR_TYPE = "jansFido2MetricsAuthenticatorType";
+    public static final String JANS_DEVICE_INFO = "jansFido2MetricsDeviceInfo";
+    public static final String JANS_ERROR_REASON = "jansFido2MetricsErrorReason";
+    public static final String JANS_ERROR_CATEGORY = "jansFido2MetricsErrorCategory";
+    public static final String JANS_ADDITIONAL_DATA = "jansFido2MetricsAdditionalData";
     
     // Service Names
     public static final String METRICS_SERVICE = "metricsService";
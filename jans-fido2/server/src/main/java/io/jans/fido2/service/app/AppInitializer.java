@@ -12,6 +12,7 @@ import io.jans.exception.ConfigurationException;
 import io.jans.fido2.service.shared.LoggerService;
 import io.jans.fido2.service.shared.MetricService;
 import io.jans.fido2.service.metric.Fido2MetricsAggregationScheduler;
+import io.jans.fido2.service.metric.Fido2MetricsWriter;
 import io.jans.model.custom.script.CustomScriptType;
 import io.jans.as.common.service.common.ApplicationFactory;
 import io.jans.orm.PersistenceEntryManager;
@@ -111,6 +112,9 @@ public class AppInitializer {
 	@Inject
 	private Instance<Fido2MetricsAggregationScheduler> fido2MetricsAggregationSchedulerInstance;
 
+	@Inject
+	private Instance<Fido2MetricsWriter> fido2MetricsWriterInstance;
+
 	@PostConstruct
 	public void createApplicationComponents() {
 		try {
@@ -214,6 +218,15 @@ public class AppInitializer {
 			log.error("Failed to initialize custom script manager timer: {}", e.getMessage(), e);
 		}
 		
+		// Start FIDO2 metrics writer (buffers metrics entries and writes them in batches)
+		try {
+			if (!fido2MetricsWriterInstance.isUnsatisfied()) {
+				fido2MetricsWriterInstance.get().initWorker();
+			}
+		} catch (Exception e) {
+			log.warn("Failed to initialize FIDO2 metrics writer: {}", e.getMessage(), e);
+		}
+
 		// Initialize FIDO2 metrics aggregation scheduler (optional - might not be available)
 		// Note: CDI Instance<> is never null when injected, so we only check isUnsatisfied()
 		try {
@@ -374,6 +387,11 @@ public class AppInitializer {
 
 		metricService.close();
 
+		// Drain buffered FIDO2 metrics while persistence entry manager is still open
+		if (!fido2MetricsWriterInstance.isUnsatisfied()) {
+			fido2MetricsWriterInstance.get().destroy();
+		}
+
 		PersistenceEntryManager persistenceEntryManager = persistenceEntryManagerInstance.get();
 		closePersistenceEntryManager(persistenceEntryManager, ApplicationFactory.PERSISTENCE_ENTRY_MANAGER_NAME);
 	}
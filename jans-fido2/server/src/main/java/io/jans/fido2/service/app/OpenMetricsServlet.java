@@ -0,0 +1,32 @@
+/*
+ * Janssen Project software is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.fido2.service.app;
+
+import io.jans.fido2.service.shared.MetricService;
+import io.jans.service.metric.http.BaseOpenMetricsServlet;
+import jakarta.inject.Inject;
+import jakarta.servlet.annotation.WebServlet;
+
+/**
+ * Exposes metrics in OpenMetrics text format for scrapers. Endpoint is available only when
+ * openMetricsEnabled configuration property is true and only to addresses listed in
+ * openMetricsAllowedAddresses (loopback addresses are always allowed).
+ */
+@WebServlet(urlPatterns = "/metrics")
+public class OpenMetricsServlet extends BaseOpenMetricsServlet {
+
+	private static final long serialVersionUID = 5383668189464516072L;
+
+	@Inject
+	private MetricService metricService;
+
+	@Override
+	protected MetricService getMetricService() {
+		return metricService;
+	}
+
+}
@@ -18,6 +18,7 @@ import io.jans.fido2.ws.rs.controller.AttestationController;
 import io.jans.fido2.ws.rs.controller.ConfigurationController;
 import io.jans.fido2.ws.rs.controller.Fido2MetricsController;
 import io.jans.fido2.ws.rs.controller.Fido2TrustController;
+import io.jans.service.metric.http.LatencyMetricEndpointFilter;
 
 /**
  * Integration with Resteasy
@@ -38,6 +39,9 @@ public class ResteasyInitializer extends Application {
         classes.add(Fido2MetricsController.class);
         classes.add(Fido2TrustController.class);
 
+        // Providers
+        classes.add(LatencyMetricEndpointFilter.class);
+
         return classes;
     }
 
@@ -6,7 +6,6 @@
 
 package io.jans.fido2.service.mds;
 
-import java.io.IOException;
 import java.security.KeyStore;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
@@ -67,6 +66,9 @@ public class AttestationCertificateService {
     @Inject
     private DataMapperService dataMapperService;
 
+	@Inject
+	private MetadataTrustIndexService metadataTrustIndexService;
+
 	private static final String APPLE_WEBAUTHN_ROOT_CA_DISPLAY_NAME = "Apple_WebAuthn_Root_CA.pem";
 	private static final String ATTESTATION_ROOT_CERTIFICATES = "attestationRootCertificates";
 	private static final String METADATA_STATEMENT = "metadataStatement";
@@ -107,17 +109,19 @@ public class AttestationCertificateService {
 
 	public List<X509Certificate> getAttestationRootCertificates(JsonNode metadataNode,
 			List<X509Certificate> attestationCertificates) {
+		// Root certificates of MDS and local metadata entries are decoded when metadata is loaded
+		MetadataTrustAnchors trustAnchors = getValidTrustAnchors(metadataNode);
+		if (trustAnchors != null) {
+			return new ArrayList<>(trustAnchors.getRootCertificates());
+		}
+
 		JsonNode metaDataStatement = null;
 		// incase of u2f-fido2 attestation
 		if ((metadataNode != null)) {
 			if (metadataNode.has(ATTESTATION_ROOT_CERTIFICATES)) {
 				metaDataStatement = metadataNode;
 			} else if (metadataNode.has(METADATA_STATEMENT)) {
-				try {
-					metaDataStatement = dataMapperService.readTree(metadataNode.get(METADATA_STATEMENT).toPrettyString());
-				} catch (IOException e) {
-					log.error("Error parsing the metadata statement", e);
-				}
+				metaDataStatement = metadataNode.get(METADATA_STATEMENT);
 			}
 		}
 
@@ -144,11 +148,7 @@ public class AttestationCertificateService {
 			if (metadataForAuthenticator.has(DESCRIPTION)) {
 				metaDataStatement = metadataForAuthenticator;
 			} else if (metadataForAuthenticator.has(METADATA_STATEMENT)) {
-				try {
-					metaDataStatement = dataMapperService.readTree(metadataForAuthenticator.get(METADATA_STATEMENT).toPrettyString());
-				} catch (IOException e) {
-					log.error("Error parsing the metadata statement", e);
-				}
+				metaDataStatement = metadataForAuthenticator.get(METADATA_STATEMENT);
 			}
 		}
 		if (metadataForAuthenticator == null || metaDataStatement == null
@@ -248,7 +248,14 @@ public class AttestationCertificateService {
 
 	public X509TrustManager populateTrustManager(AuthData authData, List<X509Certificate> attestationCertificates) {
 		String aaguid = Hex.encodeHexString(authData. getAaguid());
-		List<X509Certificate> trustedCertificates = getAttestationRootCertificates(authData, attestationCertificates);
+		JsonNode metadataForAuthenticator = getMetadataForAuthenticator(authData);
+
+		MetadataTrustAnchors trustAnchors = getValidTrustAnchors(metadataForAuthenticator);
+		if ((trustAnchors != null) && (trustAnchors.getTrustManager() != null)) {
+			return trustAnchors.getTrustManager();
+		}
+
+		List<X509Certificate> trustedCertificates = getAttestationRootCertificates(metadataForAuthenticator, attestationCertificates);
 		if ((trustedCertificates == null) || trustedCertificates.isEmpty()) {
 			log.error("Failed to get trusted certificates");
 			return null;
@@ -288,6 +295,20 @@ public class AttestationCertificateService {
 		return certificates;
 	}
 
+	/**
+	 * @return prepared trust material of metadata entry or null if it's not indexed, has no root
+	 *         certificates or one of them is not valid at this moment
+	 */
+	private MetadataTrustAnchors getValidTrustAnchors(JsonNode metadataNode) {
+		MetadataTrustAnchors trustAnchors = metadataTrustIndexService.getTrustAnchors(metadataNode);
+		if ((trustAnchors == null) || !trustAnchors.hasRootCertificates()
+				|| !trustAnchors.isValidAt(System.currentTimeMillis())) {
+			return null;
+		}
+
+		return trustAnchors;
+	}
+
 	private KeyStore getCertificationKeyStore(String aaguid, List<X509Certificate> certificates) {
 		return keyStoreCreator.createKeyStore(aaguid, certificates);
 	}
@@ -50,6 +50,9 @@ public class LocalMdsService {
     @Inject
     private DataMapperService dataMapperService;
 
+    @Inject
+    private MetadataTrustIndexService metadataTrustIndexService;
+
     private Map<String, JsonNode> authenticatorsMetadata;
 
     public void init(@Observes @ApplicationInitialized(ApplicationScoped.class) Object init) {
@@ -64,6 +67,7 @@ public class LocalMdsService {
 
         log.info("Populating metadata from {}", serverMetadataFolder);
         authenticatorsMetadata.putAll(getAAGUIDMapOfMetadata(serverMetadataFolder));
+        metadataTrustIndexService.publishLocalEntries(authenticatorsMetadata);
     }
 
     private Map<String, JsonNode> getAAGUIDMapOfMetadata(String serverMetadataFolder) {
@@ -0,0 +1,75 @@
+/*
+ * Janssen Project software is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.fido2.service.mds;
+
+import java.security.cert.X509Certificate;
+import java.util.Collections;
+import java.util.List;
+
+import javax.net.ssl.X509TrustManager;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Immutable trust material prepared for one MDS metadata entry: its metadata statement, decoded
+ * attestation root certificates and trust manager built from them. Instances are created once when
+ * metadata is loaded and shared by all attestation requests.
+ */
+public class MetadataTrustAnchors {
+
+	private final JsonNode metadataStatement;
+	private final List<X509Certificate> rootCertificates;
+	private final X509TrustManager trustManager;
+	private final long notBefore;
+	private final long notAfter;
+
+	public MetadataTrustAnchors(JsonNode metadataStatement, List<X509Certificate> rootCertificates,
+			X509TrustManager trustManager) {
+		this.metadataStatement = metadataStatement;
+		this.rootCertificates = (rootCertificates == null) ? null : Collections.unmodifiableList(rootCertificates);
+		this.trustManager = trustManager;
+
+		long latestNotBefore = Long.MIN_VALUE;
+		long earliestNotAfter = Long.MAX_VALUE;
+		if (rootCertificates != null) {
+			for (X509Certificate certificate : rootCertificates) {
+				latestNotBefore = Math.max(latestNotBefore, certificate.getNotBefore().getTime());
+				earliestNotAfter = Math.min(earliestNotAfter, certificate.getNotAfter().getTime());
+			}
+		}
+		this.notBefore = latestNotBefore;
+		this.notAfter = earliestNotAfter;
+	}
+
+	public JsonNode getMetadataStatement() {
+		return metadataStatement;
+	}
+
+	/**
+	 * @return root certificates declared in metadata statement or null if statement has no usable ones
+	 */
+	public List<X509Certificate> getRootCertificates() {
+		return rootCertificates;
+	}
+
+	public X509TrustManager getTrustManager() {
+		return trustManager;
+	}
+
+	public boolean hasRootCertificates() {
+		return (rootCertificates != null) && !rootCertificates.isEmpty();
+	}
+
+	/**
+	 * Root certificates were checked when index was built. This check keeps cached certificates from
+	 * being used after one of them expires.
+	 */
+	public boolean isValidAt(long time) {
+		return (time >= notBefore) && (time <= notAfter);
+	}
+
+}
@@ -0,0 +1,173 @@
+/*
+ * Janssen Project software is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.fido2.service.mds;
+
+import java.security.KeyStore;
+import java.security.KeyStoreException;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.TrustManagerFactory;
+import javax.net.ssl.X509TrustManager;
+
+import org.slf4j.Logger;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.jans.fido2.service.CertificateService;
+import io.jans.fido2.service.KeyStoreCreator;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Index of trust material prepared from MDS TOC and local metadata entries. Metadata statements,
+ * attestation root certificates and trust managers are built once when metadata is (re)loaded
+ * instead of on every registration.
+ * <p>
+ * Index is keyed by identity of metadata entry node which {@link TocService} and {@link LocalMdsService}
+ * return for AAGUID, AAID or attestation certificate key identifier. Each reload publishes new
+ * immutable map in one step. Entry from previous load is not found in new index and is processed
+ * in slow path, so readers never get trust material which doesn't belong to their metadata.
+ */
+@ApplicationScoped
+public class MetadataTrustIndexService {
+
+	private static final String ATTESTATION_ROOT_CERTIFICATES = "attestationRootCertificates";
+	private static final String METADATA_STATEMENT = "metadataStatement";
+
+	@Inject
+	private Logger log;
+
+	@Inject
+	private CertificateService certificateService;
+
+	@Inject
+	private KeyStoreCreator keyStoreCreator;
+
+	private final AtomicReference<Map<JsonNode, MetadataTrustAnchors>> tocIndex = new AtomicReference<>(Collections.emptyMap());
+	private final AtomicReference<Map<JsonNode, MetadataTrustAnchors>> localIndex = new AtomicReference<>(Collections.emptyMap());
+
+	/**
+	 * Replaces index of MDS TOC entries
+	 */
+	public void publishTocEntries(Map<String, JsonNode> entries) {
+		Map<JsonNode, MetadataTrustAnchors> index = buildIndex(entries);
+		this.tocIndex.set(index);
+		log.info("Published trust anchors index for {} MDS TOC entries", index.size());
+	}
+
+	/**
+	 * Replaces index of local metadata entries
+	 */
+	public void publishLocalEntries(Map<String, JsonNode> entries) {
+		Map<JsonNode, MetadataTrustAnchors> index = buildIndex(entries);
+		this.localIndex.set(index);
+		log.info("Published trust anchors index for {} local metadata entries", index.size());
+	}
+
+	/**
+	 * @return trust material for metadata entry or null if entry is not in current index
+	 */
+	public MetadataTrustAnchors getTrustAnchors(JsonNode metadataNode) {
+		if (metadataNode == null) {
+			return null;
+		}
+
+		MetadataTrustAnchors trustAnchors = tocIndex.get().get(metadataNode);
+		if (trustAnchors == null) {
+			trustAnchors = localIndex.get().get(metadataNode);
+		}
+
+		return trustAnchors;
+	}
+
+	public int getIndexSize() {
+		return tocIndex.get().size() + localIndex.get().size();
+	}
+
+	Map<JsonNode, MetadataTrustAnchors> buildIndex(Map<String, JsonNode> entries) {
+		if ((entries == null) || entries.isEmpty()) {
+			return Collections.emptyMap();
+		}
+
+		// Snapshot first, entries maps are synchronized maps
+		Map<String, JsonNode> entriesCopy;
+		synchronized (entries) {
+			entriesCopy = new HashMap<>(entries);
+		}
+
+		// Same node is stored under several keys, build it only once
+		Map<JsonNode, MetadataTrustAnchors> index = new IdentityHashMap<>(entriesCopy.size());
+		for (Map.Entry<String, JsonNode> entry : entriesCopy.entrySet()) {
+			JsonNode metadataNode = entry.getValue();
+			if ((metadataNode == null) || index.containsKey(metadataNode)) {
+				continue;
+			}
+
+			index.put(metadataNode, buildTrustAnchors(entry.getKey(), metadataNode));
+		}
+
+		return Collections.unmodifiableMap(index);
+	}
+
+	MetadataTrustAnchors buildTrustAnchors(String key, JsonNode metadataNode) {
+		JsonNode metadataStatement = null;
+		if (metadataNode.has(ATTESTATION_ROOT_CERTIFICATES)) {
+			metadataStatement = metadataNode;
+		} else if (metadataNode.hasNonNull(METADATA_STATEMENT)) {
+			metadataStatement = metadataNode.get(METADATA_STATEMENT);
+		}
+
+		if ((metadataStatement == null) || !metadataStatement.has(ATTESTATION_ROOT_CERTIFICATES)) {
+			return new MetadataTrustAnchors(metadataStatement, null, null);
+		}
+
+		List<String> x509certificates = new ArrayList<>();
+		for (JsonNode certNode : metadataStatement.get(ATTESTATION_ROOT_CERTIFICATES)) {
+			x509certificates.add(certNode.asText());
+		}
+
+		List<X509Certificate> rootCertificates;
+		try {
+			rootCertificates = certificateService.getCertificates(x509certificates);
+		} catch (RuntimeException ex) {
+			// Leave certificates empty, attestation will fail in slow path with the same error as before
+			log.warn("Failed to load attestation root certificates for metadata entry {}: {}", key, ex.getMessage());
+			return new MetadataTrustAnchors(metadataStatement, null, null);
+		}
+
+		return new MetadataTrustAnchors(metadataStatement, rootCertificates, createTrustManager(key, rootCertificates));
+	}
+
+	public X509TrustManager createTrustManager(String alias, List<X509Certificate> certificates) {
+		if ((certificates == null) || certificates.isEmpty()) {
+			return null;
+		}
+
+		try {
+			KeyStore keyStore = keyStoreCreator.createKeyStore(alias, certificates);
+
+			TrustManagerFactory trustManagerFactory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+			trustManagerFactory.init(keyStore);
+			TrustManager[] tms = trustManagerFactory.getTrustManagers();
+
+			return (X509TrustManager) tms[0];
+		} catch (NoSuchAlgorithmException | KeyStoreException | RuntimeException ex) {
+			log.error("Failed to initialize trust manager for metadata entry {}", alias, ex);
+			return null;
+		}
+	}
+
+}
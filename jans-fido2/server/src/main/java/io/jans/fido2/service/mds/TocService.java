@@ -103,6 +103,9 @@ public class TocService {
 	@Inject
 	private DBDocumentService dbDocumentService;
 
+	@Inject
+	private MetadataTrustIndexService metadataTrustIndexService;
+
 	/**
 	 * The FIDO Alliance metadata endpoint is fronted by a CDN that throttles the JDK's default
 	 * {@code Java/<version>} User-Agent, which surfaces as an opaque HTTP 429. Identify the server
@@ -186,6 +189,9 @@ public class TocService {
 		} else {
 			entries.putAll(parseTOCs(rejectExpired));
 		}
+		// Root certificates and trust managers are prepared before entries become visible. A reader
+		// which still holds an entry of the previous TOC simply misses the new index.
+		metadataTrustIndexService.publishTocEntries(entries);
 		this.tocEntries.set(entries);
 	}
 
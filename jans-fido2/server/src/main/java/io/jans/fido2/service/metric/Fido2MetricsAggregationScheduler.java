@@ -57,6 +57,9 @@ public class Fido2MetricsAggregationScheduler {
     @Inject
     private Fido2MetricsService metricsService;
 
+    @Inject
+    private Fido2MetricsWriter metricsWriter;
+
     // Cluster node service - optional, only available in multi-node deployments
     private Fido2ClusterNodeService clusterNodeService;
     
@@ -115,6 +118,9 @@ public class Fido2MetricsAggregationScheduler {
                 log.info("FIDO2 metrics: cluster lock unavailable, proceeding with {} aggregation (single-node fallback)", jobType);
             }
             
+            // Entries of aggregated period may still be buffered on this node
+            scheduler.flushPendingMetrics();
+
             try {
                 aggregationTask.accept(metricsSvc);
             } finally {
@@ -292,11 +298,12 @@ public class Fido2MetricsAggregationScheduler {
      */
     public void flushPendingMetrics() {
         try {
-            if (metricsService != null) {
+            if (metricsWriter != null) {
                 // Force flush any pending metrics to database
-                log.info("Flushing pending FIDO2 metrics to database...");
-                // The actual flush logic would be implemented in Fido2MetricsService
-                // This ensures no data is lost when nodes are removed from cluster
+                log.debug("Flushing pending FIDO2 metrics to database...");
+                // This ensures aggregation sees entries buffered on this node and no data is lost
+                // when nodes are removed from cluster
+                metricsWriter.flush();
             }
         } catch (Exception e) {
             log.error("Failed to flush pending metrics: {}", e.getMessage(), e);
@@ -14,19 +14,27 @@ import io.jans.fido2.model.metric.Fido2MetricsEntry;
 import io.jans.fido2.model.trust.AttestationTrustDiagnostic;
 import io.jans.as.common.service.common.ApplicationFactory;
 import io.jans.orm.PersistenceEntryManager;
+import io.jans.orm.model.AttributeData;
+import io.jans.orm.model.EntryData;
+import io.jans.orm.model.PagedResult;
+import io.jans.orm.model.SearchProjection;
 import io.jans.orm.search.filter.Filter;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
 import org.slf4j.Logger;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service for managing FIDO2 metrics data operations
@@ -47,6 +55,9 @@ public class Fido2MetricsService {
     @Named(ApplicationFactory.PERSISTENCE_ENTRY_MANAGER_NAME)
     private PersistenceEntryManager persistenceEntryManager;
 
+    @Inject
+    private Fido2MetricsWriter metricsWriter;
+
     /** Response keys for the attestation-rejection analysis. */
     private static final String TOTAL_REJECTIONS = "totalRejections";
     private static final String REGISTRATION_ATTEMPTS = "registrationAttempts";
@@ -64,25 +75,46 @@ public class Fido2MetricsService {
     private static final String METRICS_ENTRY_BASE_DN = "ou=fido2-metrics,o=jans";
     private static final String METRICS_AGGREGATION_BASE_DN = "ou=fido2-aggregations,o=jans";
 
+    /** Page size used when entries are streamed for single-pass aggregation. */
+    private static final int METRICS_STREAM_CHUNK_SIZE = 1000;
+
+    /** Aliases of aggregates in server-side GROUP BY queries. */
+    private static final String COUNT_ALIAS = "total";
+    private static final String MIN_DURATION_ALIAS = "minDuration";
+    private static final String MAX_DURATION_ALIAS = "maxDuration";
+    private static final String AVG_DURATION_ALIAS = "avgDuration";
+
+    /** Attributes loaded by single-pass aggregation, nothing else is needed to compute the analytics. */
+    private static final String[] ADOPTION_ATTRIBUTES = { Fido2MetricsConstants.JANS_USER_ID,
+            Fido2MetricsConstants.JANS_OPERATION_TYPE, Fido2MetricsConstants.JANS_STATUS };
+    private static final String[] DURATION_ATTRIBUTES = { Fido2MetricsConstants.JANS_OPERATION_TYPE,
+            Fido2MetricsConstants.JANS_STATUS, Fido2MetricsConstants.JANS_DURATION };
+    private static final String[] DEVICE_ATTRIBUTES = { Fido2MetricsConstants.JANS_STATUS,
+            Fido2MetricsConstants.JANS_AUTHENTICATOR_TYPE, Fido2MetricsConstants.JANS_DEVICE_INFO };
+    private static final String[] ERROR_ATTRIBUTES = { Fido2MetricsConstants.JANS_OPERATION_TYPE,
+            Fido2MetricsConstants.JANS_STATUS, Fido2MetricsConstants.JANS_ERROR_CATEGORY,
+            Fido2MetricsConstants.JANS_ERROR_REASON };
+    private static final String[] REJECTION_ATTRIBUTES = { Fido2MetricsConstants.JANS_ERROR_CATEGORY,
+            Fido2MetricsConstants.JANS_ERROR_REASON, Fido2MetricsConstants.JANS_ADDITIONAL_DATA };
+
+    /** Cleared once backend reports that it can't run GROUP BY queries. */
+    private volatile boolean serverSideAggregationSupported = true;
+
     // ========== METRICS ENTRY OPERATIONS ==========
 
     /**
-     * Store a metrics entry asynchronously
+     * Store a metrics entry asynchronously. Entry is buffered by {@link Fido2MetricsWriter} and
+     * written in batch, so the ceremony never waits for the database.
      */
     public void storeMetricsEntry(Fido2MetricsEntry entry) {
         if (!isFido2MetricsEnabled()) {
             return;
         }
 
-        CompletableFuture.runAsync(() -> {
-            try {
-                entry.setDn(generateMetricsEntryDn(entry.getId()));
-                persistenceEntryManager.persist(entry);
-                log.debug("Stored FIDO2 metrics entry: {}", entry.getId());
-            } catch (Exception e) {
-                log.error("Failed to store FIDO2 metrics entry: {}", e.getMessage(), e);
-            }
-        });
+        entry.setDn(generateMetricsEntryDn(entry.getId()));
+        if (!metricsWriter.offer(entry)) {
+            log.debug("FIDO2 metrics entry was dropped: {}", entry.getId());
+        }
     }
 
     /**
@@ -363,33 +395,35 @@ public class Fido2MetricsService {
      * Get user adoption metrics
      */
     public Map<String, Object> getUserAdoptionMetrics(LocalDateTime startTime, LocalDateTime endTime) {
-        List<Fido2MetricsEntry> entries = getMetricsEntries(startTime, endTime);
-        
+        Filter usersFilter = Filter.createANDFilter(timeRangeFilter(startTime, endTime),
+                Filter.createPresenceFilter(Fido2MetricsConstants.JANS_USER_ID));
+        Filter newUsersFilter = Filter.createANDFilter(usersFilter,
+                Filter.createEqualityFilter(Fido2MetricsConstants.JANS_OPERATION_TYPE, Fido2MetricsConstants.REGISTRATION),
+                Filter.createEqualityFilter(Fido2MetricsConstants.JANS_STATUS, Fido2MetricsConstants.SUCCESS));
+
+        // Number of groups by user is the number of distinct users, so only two counts leave the database
+        Long uniqueUsers = countGroups(usersFilter, Fido2MetricsConstants.JANS_USER_ID);
+        Long newUsers = (uniqueUsers == null) ? null : countGroups(newUsersFilter, Fido2MetricsConstants.JANS_USER_ID);
+        if ((uniqueUsers == null) || (newUsers == null)) {
+            AdoptionTally tally = streamMetricsEntries(usersFilter, ADOPTION_ATTRIBUTES, AdoptionTally::new);
+            uniqueUsers = (long) tally.uniqueUsers.size();
+            newUsers = (long) tally.newUsers.size();
+        }
+
         Map<String, Object> metrics = new HashMap<>();
-        
+
         // Total unique users
-        Set<String> uniqueUsers = entries.stream()
-            .map(Fido2MetricsEntry::getUserId)
-            .filter(Objects::nonNull)
-            .collect(Collectors.toSet());
-        metrics.put(Fido2MetricsConstants.TOTAL_UNIQUE_USERS, uniqueUsers.size());
+        metrics.put(Fido2MetricsConstants.TOTAL_UNIQUE_USERS, uniqueUsers.intValue());
 
         // New users (first registration)
-        Set<String> newUsers = entries.stream()
-            .filter(e -> Fido2MetricsConstants.REGISTRATION.equals(e.getOperationType()) && Fido2MetricsConstants.SUCCESS.equals(e.getStatus()))
-            .map(Fido2MetricsEntry::getUserId)
-            .filter(Objects::nonNull)
-            .collect(Collectors.toSet());
-        metrics.put(Fido2MetricsConstants.NEW_USERS, newUsers.size());
-
-        // Returning users
-        Set<String> returningUsers = new HashSet<>(uniqueUsers);
-        returningUsers.removeAll(newUsers);
-        metrics.put(Fido2MetricsConstants.RETURNING_USERS, returningUsers.size());
+        metrics.put(Fido2MetricsConstants.NEW_USERS, newUsers.intValue());
+
+        // Returning users. New users are a subset of unique users
+        metrics.put(Fido2MetricsConstants.RETURNING_USERS, (int) (uniqueUsers - newUsers));
 
         // Adoption rate
-        if (!uniqueUsers.isEmpty()) {
-            metrics.put(Fido2MetricsConstants.ADOPTION_RATE, (double) newUsers.size() / uniqueUsers.size());
+        if (uniqueUsers > 0) {
+            metrics.put(Fido2MetricsConstants.ADOPTION_RATE, (double) newUsers / uniqueUsers);
         }
 
         return metrics;
@@ -409,18 +443,33 @@ public class Fido2MetricsService {
                 || Fido2MetricsConstants.FAILURE.equals(entry.getStatus());
     }
 
+    /**
+     * Same rule as {@link #isCompletedCeremony}, expressed as a search filter so the database can apply it.
+     */
+    private static Filter completedCeremonyFilter() {
+        return Filter.createORFilter(
+                Filter.createEqualityFilter(Fido2MetricsConstants.JANS_STATUS, Fido2MetricsConstants.SUCCESS),
+                Filter.createEqualityFilter(Fido2MetricsConstants.JANS_STATUS, Fido2MetricsConstants.FAILURE));
+    }
+
     /**
      * Get performance metrics
      */
     public Map<String, Object> getPerformanceMetrics(LocalDateTime startTime, LocalDateTime endTime) {
-        List<Fido2MetricsEntry> entries = getMetricsEntries(startTime, endTime);
+        Filter filter = Filter.createANDFilter(timeRangeFilter(startTime, endTime), completedCeremonyFilter(),
+                Filter.createPresenceFilter(Fido2MetricsConstants.JANS_DURATION));
+
+        Map<String, DurationStats> durations = aggregateDurations(filter);
+        if (durations == null) {
+            durations = streamMetricsEntries(filter, DURATION_ATTRIBUTES, DurationTally::new).toDurationStats();
+        }
 
         Map<String, Object> metrics = new HashMap<>();
 
-        putDurationStats(metrics, entries, Fido2MetricsConstants.REGISTRATION,
+        putDurationStats(metrics, durations.get(Fido2MetricsConstants.REGISTRATION),
                 Fido2MetricsConstants.REGISTRATION_AVG_DURATION, REGISTRATION_MIN_DURATION,
                 REGISTRATION_MAX_DURATION);
-        putDurationStats(metrics, entries, Fido2MetricsConstants.AUTHENTICATION,
+        putDurationStats(metrics, durations.get(Fido2MetricsConstants.AUTHENTICATION),
                 Fido2MetricsConstants.AUTHENTICATION_AVG_DURATION, AUTHENTICATION_MIN_DURATION,
                 AUTHENTICATION_MAX_DURATION);
 
@@ -439,17 +488,46 @@ public class Fido2MetricsService {
      * The keys are left absent rather than zeroed when nothing completed, which is the behaviour
      * callers have always seen for an empty range.
      */
-    private void putDurationStats(Map<String, Object> metrics, List<Fido2MetricsEntry> entries,
-            String operationType, String avgKey, String minKey, String maxKey) {
-        LongSummaryStatistics durations = completedDurations(entries, operationType);
-
-        if (durations.getCount() == 0) {
+    private void putDurationStats(Map<String, Object> metrics, DurationStats durations,
+            String avgKey, String minKey, String maxKey) {
+        if ((durations == null) || (durations.count == 0)) {
             return;
         }
 
-        metrics.put(avgKey, durations.getAverage());
-        metrics.put(minKey, durations.getMin());
-        metrics.put(maxKey, durations.getMax());
+        metrics.put(avgKey, durations.average);
+        metrics.put(minKey, durations.min);
+        metrics.put(maxKey, durations.max);
+    }
+
+    /**
+     * Min/max/avg duration per operation type computed by the database.
+     *
+     * @return statistics by operation type or null if backend can't aggregate
+     */
+    private Map<String, DurationStats> aggregateDurations(Filter filter) {
+        SearchProjection projection = SearchProjection.groupBy(Fido2MetricsConstants.JANS_OPERATION_TYPE)
+                .count(COUNT_ALIAS)
+                .min(Fido2MetricsConstants.JANS_DURATION, MIN_DURATION_ALIAS)
+                .max(Fido2MetricsConstants.JANS_DURATION, MAX_DURATION_ALIAS)
+                .avg(Fido2MetricsConstants.JANS_DURATION, AVG_DURATION_ALIAS);
+
+        PagedResult<EntryData> groups = findGroups(filter, projection, 0);
+        if (groups == null) {
+            return null;
+        }
+
+        Map<String, DurationStats> durations = new HashMap<>();
+        for (EntryData group : groups.getEntries()) {
+            String operationType = getGroupValue(group, Fido2MetricsConstants.JANS_OPERATION_TYPE);
+            if (operationType != null) {
+                durations.put(operationType, new DurationStats(getGroupNumber(group, COUNT_ALIAS).longValue(),
+                        getGroupNumber(group, MIN_DURATION_ALIAS).longValue(),
+                        getGroupNumber(group, MAX_DURATION_ALIAS).longValue(),
+                        getGroupNumber(group, AVG_DURATION_ALIAS).doubleValue()));
+            }
+        }
+
+        return durations;
     }
 
     /**
@@ -457,7 +535,8 @@ public class Fido2MetricsService {
      * <p>
      * Shared by the live analytics and by aggregation generation so both apply one rule. An
      * aggregation is persisted and never recomputed, so a duration admitted here is one no later fix
-     * can take back out.
+     * can take back out. The live analytics apply the same rule through {@link #completedCeremonyFilter}
+     * when the database computes the figures.
      */
     private static LongSummaryStatistics completedDurations(List<Fido2MetricsEntry> entries,
             String operationType) {
@@ -480,47 +559,16 @@ public class Fido2MetricsService {
         // cannot appear here either way — the sweep runs off a request thread and so has no device
         // details to record. Still approximate in multi-node deployments, where a ceremony can be
         // recorded more than once.
-        List<Fido2MetricsEntry> ceremonies = getMetricsEntries(startTime, endTime).stream()
-            .filter(Fido2MetricsService::isCompletedCeremony)
-            .collect(Collectors.toList());
+        // Device details are stored as one JSON attribute which can't be grouped by the database, so
+        // completed ceremonies are streamed and counted in one pass.
+        Filter filter = Filter.createANDFilter(timeRangeFilter(startTime, endTime), completedCeremonyFilter());
+        DeviceTally tally = streamMetricsEntries(filter, DEVICE_ATTRIBUTES, DeviceTally::new);
 
         Map<String, Object> analytics = new HashMap<>();
-
-        // Device types
-        Map<String, Long> deviceTypes = ceremonies.stream()
-            .filter(e -> e.getDeviceInfo() != null && e.getDeviceInfo().getDeviceType() != null)
-            .collect(Collectors.groupingBy(
-                e -> e.getDeviceInfo().getDeviceType(),
-                Collectors.counting()
-            ));
-        analytics.put("deviceTypes", deviceTypes);
-
-        // Authenticator types
-        Map<String, Long> authenticatorTypes = ceremonies.stream()
-            .filter(e -> e.getAuthenticatorType() != null)
-            .collect(Collectors.groupingBy(
-                Fido2MetricsEntry::getAuthenticatorType,
-                Collectors.counting()
-            ));
-        analytics.put("authenticatorTypes", authenticatorTypes);
-
-        // Browsers
-        Map<String, Long> browsers = ceremonies.stream()
-            .filter(e -> e.getDeviceInfo() != null && e.getDeviceInfo().getBrowser() != null)
-            .collect(Collectors.groupingBy(
-                e -> e.getDeviceInfo().getBrowser(),
-                Collectors.counting()
-            ));
-        analytics.put("browsers", browsers);
-
-        // Operating systems
-        Map<String, Long> operatingSystems = ceremonies.stream()
-            .filter(e -> e.getDeviceInfo() != null && e.getDeviceInfo().getOs() != null)
-            .collect(Collectors.groupingBy(
-                e -> e.getDeviceInfo().getOs(),
-                Collectors.counting()
-            ));
-        analytics.put("operatingSystems", operatingSystems);
+        analytics.put("deviceTypes", tally.deviceTypes);
+        analytics.put("authenticatorTypes", tally.authenticatorTypes);
+        analytics.put("browsers", tally.browsers);
+        analytics.put("operatingSystems", tally.operatingSystems);
 
         return analytics;
     }
@@ -546,48 +594,31 @@ public class Fido2MetricsService {
      */
     public Map<String, Object> getErrorAnalysis(LocalDateTime startTime, LocalDateTime endTime,
             String operationType) {
-        List<Fido2MetricsEntry> entries = getMetricsEntries(startTime, endTime).stream()
-            .filter(e -> operationType == null || operationType.equals(e.getOperationType()))
-            .collect(Collectors.toList());
+        Filter filter = timeRangeFilter(startTime, endTime);
+        if (operationType != null) {
+            filter = Filter.createANDFilter(filter,
+                    Filter.createEqualityFilter(Fido2MetricsConstants.JANS_OPERATION_TYPE, operationType));
+        }
+
+        ErrorTally tally = aggregateErrors(filter);
+        if (tally == null) {
+            tally = streamMetricsEntries(filter, ERROR_ATTRIBUTES, () -> new ErrorTally(operationType));
+        }
 
         Map<String, Object> analysis = new HashMap<>();
         
         // Error categories
-        Map<String, Long> errorCategories = entries.stream()
-            .filter(e -> e.getErrorCategory() != null)
-            .collect(Collectors.groupingBy(
-                Fido2MetricsEntry::getErrorCategory,
-                Collectors.counting()
-            ));
-        analysis.put("errorCategories", errorCategories);
+        analysis.put("errorCategories", tally.errorCategories);
 
         // Top errors
-        Map<String, Long> topErrors = entries.stream()
-            .filter(e -> e.getErrorReason() != null)
-            .collect(Collectors.groupingBy(
-                Fido2MetricsEntry::getErrorReason,
-                Collectors.counting()
-            ));
-        analysis.put("topErrors", topErrors);
+        analysis.put("topErrors", tally.errorReasons);
 
-        // Single-pass tally of status counts (ATTEMPT = started, SUCCESS/FAILURE = completed,
+        // Status counts (ATTEMPT = started, SUCCESS/FAILURE = completed,
         // ABANDONED = observed to have lapsed without ever completing)
-        long totalStarted = 0;
-        long successfulOperations = 0;
-        long failedOperations = 0;
-        long abandonedOperations = 0;
-        for (Fido2MetricsEntry e : entries) {
-            String status = e.getStatus();
-            if (Fido2MetricsConstants.ATTEMPT.equals(status)) {
-                totalStarted++;
-            } else if (Fido2MetricsConstants.SUCCESS.equals(status)) {
-                successfulOperations++;
-            } else if (Fido2MetricsConstants.FAILURE.equals(status)) {
-                failedOperations++;
-            } else if (Fido2MetricsConstants.ABANDONED.equals(status)) {
-                abandonedOperations++;
-            }
-        }
+        long totalStarted = tally.getStatusCount(Fido2MetricsConstants.ATTEMPT);
+        long successfulOperations = tally.getStatusCount(Fido2MetricsConstants.SUCCESS);
+        long failedOperations = tally.getStatusCount(Fido2MetricsConstants.FAILURE);
+        long abandonedOperations = tally.getStatusCount(Fido2MetricsConstants.ABANDONED);
 
         // Reported alongside dropOffRate rather than replacing it: dropOffRate is inferred as the
         // residual of attempts minus completions, so it also absorbs ceremonies still in flight at the
@@ -642,50 +673,71 @@ public class Fido2MetricsService {
         return analysis;
     }
 
+    /**
+     * Status, error category and error reason counts computed by the database.
+     *
+     * @return counts or null if backend can't aggregate
+     */
+    private ErrorTally aggregateErrors(Filter filter) {
+        PagedResult<EntryData> statuses = findGroups(filter,
+                SearchProjection.groupBy(Fido2MetricsConstants.JANS_STATUS).count(COUNT_ALIAS), 0);
+        if (statuses == null) {
+            return null;
+        }
+
+        PagedResult<EntryData> errorCategories = findGroups(
+                Filter.createANDFilter(filter, Filter.createPresenceFilter(Fido2MetricsConstants.JANS_ERROR_CATEGORY)),
+                SearchProjection.groupBy(Fido2MetricsConstants.JANS_ERROR_CATEGORY).count(COUNT_ALIAS), 0);
+        if (errorCategories == null) {
+            return null;
+        }
+
+        PagedResult<EntryData> errorReasons = findGroups(
+                Filter.createANDFilter(filter, Filter.createPresenceFilter(Fido2MetricsConstants.JANS_ERROR_REASON)),
+                SearchProjection.groupBy(Fido2MetricsConstants.JANS_ERROR_REASON).count(COUNT_ALIAS), 0);
+        if (errorReasons == null) {
+            return null;
+        }
+
+        ErrorTally tally = new ErrorTally(null);
+        tally.statusCounts.putAll(toGroupCounts(statuses, Fido2MetricsConstants.JANS_STATUS));
+        tally.errorCategories.putAll(toGroupCounts(errorCategories, Fido2MetricsConstants.JANS_ERROR_CATEGORY));
+        tally.errorReasons.putAll(toGroupCounts(errorReasons, Fido2MetricsConstants.JANS_ERROR_REASON));
+
+        return tally;
+    }
+
     /**
      * Break down attestation rejections by trust diagnostic code over a time range.
      * <p>
      * Reads the same metrics store as {@link #getErrorAnalysis}: a rejection is an entry whose error
      * category is {@link AttestationTrustDiagnostic#CATEGORY}. No new store, no new collection path.
+     * Only rejections are read from the store; registration attempts are counted by the database.
      *
      * @param startTime range start
      * @param endTime   range end
      * @return counts per reason code and per AAGUID, plus the totals needed to interpret them
      */
     public Map<String, Object> getAttestationRejectionAnalysis(LocalDateTime startTime, LocalDateTime endTime) {
-        List<Fido2MetricsEntry> entries = getMetricsEntries(startTime, endTime);
-
-        List<Fido2MetricsEntry> rejections = entries.stream()
-            .filter(e -> AttestationTrustDiagnostic.CATEGORY.equals(e.getErrorCategory()))
-            .filter(e -> e.getErrorReason() != null)
-            .collect(Collectors.toList());
-
-        Map<String, Long> reasonCodes = rejections.stream()
-            .collect(Collectors.groupingBy(
-                Fido2MetricsEntry::getErrorReason,
-                Collectors.counting()
-            ));
+        Filter timeRangeFilter = timeRangeFilter(startTime, endTime);
 
-        Map<String, Long> topRejectedAaguids = rejections.stream()
-            .map(this::extractAaguid)
-            .filter(Objects::nonNull)
-            .collect(Collectors.groupingBy(
-                aaguid -> aaguid,
-                Collectors.counting()
-            ));
+        // AAGUID is kept in the additional data JSON, so rejections are streamed rather than grouped
+        Filter rejectionsFilter = Filter.createANDFilter(timeRangeFilter,
+                Filter.createEqualityFilter(Fido2MetricsConstants.JANS_ERROR_CATEGORY, AttestationTrustDiagnostic.CATEGORY),
+                Filter.createPresenceFilter(Fido2MetricsConstants.JANS_ERROR_REASON));
+        RejectionTally rejections = streamMetricsEntries(rejectionsFilter, REJECTION_ATTRIBUTES, RejectionTally::new);
 
-        long totalRejections = rejections.size();
+        long totalRejections = rejections.totalRejections;
 
-        long registrationAttempts = entries.stream()
-            .filter(e -> Fido2MetricsConstants.REGISTRATION.equals(e.getOperationType()))
-            .filter(e -> Fido2MetricsConstants.ATTEMPT.equals(e.getStatus()))
-            .count();
+        long registrationAttempts = countMetricsEntries(Filter.createANDFilter(timeRangeFilter,
+                Filter.createEqualityFilter(Fido2MetricsConstants.JANS_OPERATION_TYPE, Fido2MetricsConstants.REGISTRATION),
+                Filter.createEqualityFilter(Fido2MetricsConstants.JANS_STATUS, Fido2MetricsConstants.ATTEMPT)));
 
         Map<String, Object> analysis = new HashMap<>();
         analysis.put(TOTAL_REJECTIONS, totalRejections);
         analysis.put(REGISTRATION_ATTEMPTS, registrationAttempts);
-        analysis.put(REASON_CODES, reasonCodes);
-        analysis.put(TOP_REJECTED_AAGUIDS, topRejectedAaguids);
+        analysis.put(REASON_CODES, rejections.reasonCodes);
+        analysis.put(TOP_REJECTED_AAGUIDS, rejections.rejectedAaguids);
         putRejectionRate(analysis, totalRejections, registrationAttempts);
 
         return analysis;
@@ -721,7 +773,7 @@ public class Fido2MetricsService {
      * tied to an authenticator model — an attestation format the mode does not permit, for instance —
      * carry none, and are counted in the reason codes only.
      */
-    private String extractAaguid(Fido2MetricsEntry entry) {
+    private static String extractAaguid(Fido2MetricsEntry entry) {
         Map<String, Object> additionalData = entry.getAdditionalData();
         if (additionalData == null) {
             return null;
@@ -734,6 +786,253 @@ public class Fido2MetricsService {
         return value.isEmpty() ? null : value;
     }
 
+    /**
+     * Entries with timestamp within the range, both ends inclusive
+     */
+    private Filter timeRangeFilter(LocalDateTime startTime, LocalDateTime endTime) {
+        // Convert LocalDateTime to Date for SQL persistence filters
+        return Filter.createANDFilter(
+            Filter.createGreaterOrEqualFilter(Fido2MetricsConstants.JANS_TIMESTAMP, convertToDate(startTime)),
+            Filter.createLessOrEqualFilter(Fido2MetricsConstants.JANS_TIMESTAMP, convertToDate(endTime))
+        );
+    }
+
+    /**
+     * Server-side GROUP BY over metrics entries.
+     *
+     * @return groups or null if backend can't aggregate and caller should stream entries instead
+     */
+    private PagedResult<EntryData> findGroups(Filter filter, SearchProjection projection, int count) {
+        if (!serverSideAggregationSupported) {
+            return null;
+        }
+
+        try {
+            return persistenceEntryManager.findAggregatedEntries(METRICS_ENTRY_BASE_DN, Fido2MetricsEntry.class,
+                    filter, projection, 0, count);
+        } catch (UnsupportedOperationException e) {
+            log.info("Persistence backend doesn't support server-side aggregation, metrics will be aggregated by streaming entries: {}",
+                    e.getMessage());
+            serverSideAggregationSupported = false;
+        } catch (Exception e) {
+            log.error("Failed to aggregate metrics entries, falling back to streaming: {}", e.getMessage(), e);
+        }
+
+        return null;
+    }
+
+    /**
+     * @return number of distinct values of attribute or null if backend can't aggregate
+     */
+    private Long countGroups(Filter filter, String attributeName) {
+        PagedResult<EntryData> groups = findGroups(filter, SearchProjection.groupBy(attributeName).count(COUNT_ALIAS), 1);
+
+        return (groups == null) ? null : (long) groups.getTotalEntriesCount();
+    }
+
+    private long countMetricsEntries(Filter filter) {
+        try {
+            return persistenceEntryManager.countEntries(METRICS_ENTRY_BASE_DN, Fido2MetricsEntry.class, filter);
+        } catch (Exception e) {
+            log.error("Failed to count metrics entries: {}", e.getMessage(), e);
+            return 0;
+        }
+    }
+
+    /**
+     * Feeds metrics entries to accumulator page by page. Entries are not collected in memory, only
+     * accumulator state is kept. If search fails empty accumulator is returned, the same as an empty
+     * range.
+     */
+    private <A extends Consumer<Fido2MetricsEntry>> A streamMetricsEntries(Filter filter, String[] returnAttributes,
+            Supplier<A> accumulatorFactory) {
+        A accumulator = accumulatorFactory.get();
+        try (Stream<Fido2MetricsEntry> entries = persistenceEntryManager.findEntriesStream(METRICS_ENTRY_BASE_DN,
+                Fido2MetricsEntry.class, filter, returnAttributes, METRICS_STREAM_CHUNK_SIZE)) {
+            entries.forEach(accumulator);
+            return accumulator;
+        } catch (Exception e) {
+            log.error("Failed to retrieve metrics entries: {}", e.getMessage(), e);
+            return accumulatorFactory.get();
+        }
+    }
+
+    private static Map<String, Long> toGroupCounts(PagedResult<EntryData> groups, String attributeName) {
+        Map<String, Long> counts = new HashMap<>();
+        for (EntryData group : groups.getEntries()) {
+            String value = getGroupValue(group, attributeName);
+            if (value != null) {
+                counts.merge(value, getGroupNumber(group, COUNT_ALIAS).longValue(), Long::sum);
+            }
+        }
+
+        return counts;
+    }
+
+    private static String getGroupValue(EntryData group, String name) {
+        AttributeData attributeData = group.getAttributeData(name);
+        if ((attributeData == null) || (attributeData.getValue() == null)) {
+            return null;
+        }
+
+        return attributeData.getValue().toString();
+    }
+
+    /**
+     * Aggregate values type depends on database and driver, e.g. AVG is DECIMAL in MySQL and NUMERIC in PostgreSQL
+     */
+    private static Number getGroupNumber(EntryData group, String alias) {
+        AttributeData attributeData = group.getAttributeData(alias);
+        Object value = (attributeData == null) ? null : attributeData.getValue();
+        if (value == null) {
+            return 0L;
+        }
+        if (value instanceof Number) {
+            return (Number) value;
+        }
+
+        return new BigDecimal(value.toString());
+    }
+
+    private static void increment(Map<String, Long> counts, String key) {
+        if (key != null) {
+            counts.merge(key, 1L, Long::sum);
+        }
+    }
+
+    /**
+     * Duration statistics of one operation type
+     */
+    private static class DurationStats {
+
+        private final long count;
+        private final long min;
+        private final long max;
+        private final double average;
+
+        DurationStats(long count, long min, long max, double average) {
+            this.count = count;
+            this.min = min;
+            this.max = max;
+            this.average = average;
+        }
+    }
+
+    // ========== SINGLE-PASS ACCUMULATORS ==========
+    // Used when persistence backend can't aggregate on server side. Each keeps only counters or
+    // distinct values, never entries. Filters are pushed to the database, predicates are still
+    // checked here so results don't depend on how exactly backend applied them.
+
+    private static class AdoptionTally implements Consumer<Fido2MetricsEntry> {
+
+        private final Set<String> uniqueUsers = new HashSet<>();
+        private final Set<String> newUsers = new HashSet<>();
+
+        @Override
+        public void accept(Fido2MetricsEntry entry) {
+            if (entry.getUserId() == null) {
+                return;
+            }
+
+            uniqueUsers.add(entry.getUserId());
+            if (Fido2MetricsConstants.REGISTRATION.equals(entry.getOperationType())
+                    && Fido2MetricsConstants.SUCCESS.equals(entry.getStatus())) {
+                newUsers.add(entry.getUserId());
+            }
+        }
+    }
+
+    private static class DurationTally implements Consumer<Fido2MetricsEntry> {
+
+        private final Map<String, LongSummaryStatistics> durations = new HashMap<>();
+
+        @Override
+        public void accept(Fido2MetricsEntry entry) {
+            if ((entry.getOperationType() == null) || !isCompletedCeremony(entry) || (entry.getDurationMs() == null)) {
+                return;
+            }
+
+            durations.computeIfAbsent(entry.getOperationType(), k -> new LongSummaryStatistics()).accept(entry.getDurationMs());
+        }
+
+        Map<String, DurationStats> toDurationStats() {
+            Map<String, DurationStats> result = new HashMap<>();
+            durations.forEach((operationType, stats) -> result.put(operationType,
+                    new DurationStats(stats.getCount(), stats.getMin(), stats.getMax(), stats.getAverage())));
+
+            return result;
+        }
+    }
+
+    private static class DeviceTally implements Consumer<Fido2MetricsEntry> {
+
+        private final Map<String, Long> deviceTypes = new HashMap<>();
+        private final Map<String, Long> authenticatorTypes = new HashMap<>();
+        private final Map<String, Long> browsers = new HashMap<>();
+        private final Map<String, Long> operatingSystems = new HashMap<>();
+
+        @Override
+        public void accept(Fido2MetricsEntry entry) {
+            if (!isCompletedCeremony(entry)) {
+                return;
+            }
+
+            increment(authenticatorTypes, entry.getAuthenticatorType());
+
+            Fido2MetricsEntry.DeviceInfo deviceInfo = entry.getDeviceInfo();
+            if (deviceInfo != null) {
+                increment(deviceTypes, deviceInfo.getDeviceType());
+                increment(browsers, deviceInfo.getBrowser());
+                increment(operatingSystems, deviceInfo.getOs());
+            }
+        }
+    }
+
+    private static class ErrorTally implements Consumer<Fido2MetricsEntry> {
+
+        private final String operationType;
+        private final Map<String, Long> statusCounts = new HashMap<>();
+        private final Map<String, Long> errorCategories = new HashMap<>();
+        private final Map<String, Long> errorReasons = new HashMap<>();
+
+        ErrorTally(String operationType) {
+            this.operationType = operationType;
+        }
+
+        @Override
+        public void accept(Fido2MetricsEntry entry) {
+            if ((operationType != null) && !operationType.equals(entry.getOperationType())) {
+                return;
+            }
+
+            increment(statusCounts, entry.getStatus());
+            increment(errorCategories, entry.getErrorCategory());
+            increment(errorReasons, entry.getErrorReason());
+        }
+
+        long getStatusCount(String status) {
+            return statusCounts.getOrDefault(status, 0L);
+        }
+    }
+
+    private static class RejectionTally implements Consumer<Fido2MetricsEntry> {
+
+        private long totalRejections;
+        private final Map<String, Long> reasonCodes = new HashMap<>();
+        private final Map<String, Long> rejectedAaguids = new HashMap<>();
+
+        @Override
+        public void accept(Fido2MetricsEntry entry) {
+            if (!AttestationTrustDiagnostic.CATEGORY.equals(entry.getErrorCategory()) || (entry.getErrorReason() == null)) {
+                return;
+            }
+
+            totalRejections++;
+            increment(reasonCodes, entry.getErrorReason());
+            increment(rejectedAaguids, extractAaguid(entry));
+        }
+    }
+
     /**
      * Calculate aggregation for a specific time period
      */
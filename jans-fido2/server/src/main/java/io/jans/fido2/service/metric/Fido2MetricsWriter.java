@@ -0,0 +1,293 @@
+/*
+ * Janssen Project software is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.fido2.service.metric;
+
+import io.jans.as.common.service.common.ApplicationFactory;
+import io.jans.fido2.model.conf.AppConfiguration;
+import io.jans.fido2.model.conf.Fido2MetricsOverflowPolicy;
+import io.jans.fido2.model.metric.Fido2MetricsEntry;
+import io.jans.orm.PersistenceEntryManager;
+import io.jans.orm.model.EntryBatchResult;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Asynchronous sink for FIDO2 metrics entries. Ceremonies only put entries into a bounded buffer
+ * and never wait for the database. Background worker writes buffered entries in batches: up to
+ * batch size entries or whatever is collected during flush interval.
+ * <p>
+ * When buffer is full entries are dropped according to {@link Fido2MetricsOverflowPolicy}. Dropped
+ * entries are missing from aggregations as well, so drop counter should stay at zero in normal
+ * operation.
+ */
+@ApplicationScoped
+public class Fido2MetricsWriter {
+
+    private static final int IDLE_POLL_INTERVAL_IN_MILLIS = 1000;
+    private static final int SHUTDOWN_TIMEOUT_IN_SECONDS = 30;
+
+    @Inject
+    private Logger log;
+
+    @Inject
+    private AppConfiguration appConfiguration;
+
+    @Inject
+    @Named(ApplicationFactory.PERSISTENCE_ENTRY_MANAGER_NAME)
+    private PersistenceEntryManager persistenceEntryManager;
+
+    private final LongAdder acceptedCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder flushedCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder batchCount = new LongAdder();
+    private final AtomicLong sampleCounter = new AtomicLong();
+
+    private volatile BlockingQueue<Fido2MetricsEntry> buffer;
+    private ExecutorService executorService;
+    private volatile boolean running;
+
+    /**
+     * Starts background worker. Buffer capacity is fixed at this moment, later configuration
+     * changes of buffer size are applied after restart.
+     */
+    public synchronized void initWorker() {
+        if (executorService != null) {
+            return;
+        }
+
+        initBuffer();
+        this.executorService = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jans-fido2-metrics-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executorService.execute(this::processBuffer);
+
+        log.info("FIDO2 metrics writer started, buffer size: {}", buffer.remainingCapacity());
+    }
+
+    void initBuffer() {
+        this.buffer = new ArrayBlockingQueue<>(Math.max(1, appConfiguration.getFido2MetricsBufferSize()));
+        this.running = true;
+    }
+
+    /**
+     * Stops background worker. Entries which are in buffer at this moment are written before worker exits.
+     */
+    @PreDestroy
+    public synchronized void destroy() {
+        if (executorService == null) {
+            return;
+        }
+
+        this.running = false;
+        executorService.shutdown();
+        try {
+            if (!executorService.awaitTermination(SHUTDOWN_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("FIDO2 metrics writer did not terminate, {} entries are lost", buffer.size());
+                executorService.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            executorService.shutdownNow();
+        }
+        this.executorService = null;
+
+        log.info("FIDO2 metrics writer stopped. {}", getStatistics());
+    }
+
+    /**
+     * Adds entry to buffer. Never blocks.
+     *
+     * @return false if entry was dropped
+     */
+    public boolean offer(Fido2MetricsEntry entry) {
+        BlockingQueue<Fido2MetricsEntry> currentBuffer = this.buffer;
+        if ((currentBuffer == null) || !running) {
+            // Writer is not started or already stopped
+            droppedCount.increment();
+            return false;
+        }
+
+        boolean added;
+        if (Fido2MetricsOverflowPolicy.SAMPLE == appConfiguration.getFido2MetricsOverflowPolicy()) {
+            added = offerSampled(currentBuffer, entry);
+        } else {
+            added = offerDropOldest(currentBuffer, entry);
+        }
+
+        if (added) {
+            acceptedCount.increment();
+        }
+
+        return added;
+    }
+
+    private boolean offerDropOldest(BlockingQueue<Fido2MetricsEntry> currentBuffer, Fido2MetricsEntry entry) {
+        while (!currentBuffer.offer(entry)) {
+            if (currentBuffer.poll() != null) {
+                droppedCount.increment();
+            }
+        }
+
+        return true;
+    }
+
+    private boolean offerSampled(BlockingQueue<Fido2MetricsEntry> currentBuffer, Fido2MetricsEntry entry) {
+        // Sampling starts when buffer is half full, before anything has to be dropped
+        if (currentBuffer.size() >= currentBuffer.remainingCapacity()) {
+            int sampleRate = Math.max(1, appConfiguration.getFido2MetricsSampleRate());
+            if (sampleCounter.incrementAndGet() % sampleRate != 0) {
+                droppedCount.increment();
+                return false;
+            }
+        }
+
+        if (!currentBuffer.offer(entry)) {
+            droppedCount.increment();
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Writes all entries which are in buffer at this moment in caller thread.
+     */
+    public void flush() {
+        BlockingQueue<Fido2MetricsEntry> currentBuffer = this.buffer;
+        if (currentBuffer == null) {
+            return;
+        }
+
+        int batchSize = Math.max(1, appConfiguration.getFido2MetricsBatchSize());
+        while (true) {
+            List<Fido2MetricsEntry> batch = new ArrayList<>(batchSize);
+            if (currentBuffer.drainTo(batch, batchSize) == 0) {
+                break;
+            }
+            write(batch);
+        }
+    }
+
+    private void processBuffer() {
+        List<Fido2MetricsEntry> batch = new ArrayList<>();
+        while (running || !buffer.isEmpty()) {
+            try {
+                collectBatch(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+
+            if (!batch.isEmpty()) {
+                try {
+                    write(batch);
+                } catch (Exception ex) {
+                    log.error("Failed to write FIDO2 metrics entries batch", ex);
+                } finally {
+                    batch.clear();
+                }
+            }
+        }
+    }
+
+    private void collectBatch(List<Fido2MetricsEntry> batch) throws InterruptedException {
+        Fido2MetricsEntry entry = buffer.poll(IDLE_POLL_INTERVAL_IN_MILLIS, TimeUnit.MILLISECONDS);
+        if (entry == null) {
+            return;
+        }
+        batch.add(entry);
+
+        int batchSize = Math.max(1, appConfiguration.getFido2MetricsBatchSize());
+        long flushIntervalInMillis = Math.max(1, appConfiguration.getFido2MetricsFlushIntervalInMillis());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalInMillis);
+        while (batch.size() < batchSize) {
+            long remaining = deadline - System.nanoTime();
+            if ((remaining <= 0) || !running) {
+                // Don't wait for more entries on shutdown
+                entry = buffer.poll();
+            } else {
+                entry = buffer.poll(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(IDLE_POLL_INTERVAL_IN_MILLIS)),
+                        TimeUnit.NANOSECONDS);
+                if (entry == null) {
+                    continue;
+                }
+            }
+
+            if (entry == null) {
+                break;
+            }
+            batch.add(entry);
+        }
+    }
+
+    /**
+     * Writes entries with one batched persistence call
+     */
+    protected void write(List<Fido2MetricsEntry> batch) {
+        try {
+            EntryBatchResult result = persistenceEntryManager.persistEntries(batch);
+
+            List<EntryBatchResult.Failure> failures = result.getFailures();
+            flushedCount.add(batch.size() - failures.size());
+            failedCount.add(failures.size());
+            if (!failures.isEmpty()) {
+                log.error("Failed to store {} of {} FIDO2 metrics entries", failures.size(), batch.size(),
+                        failures.get(0).getException());
+            }
+        } catch (Exception ex) {
+            failedCount.add(batch.size());
+            log.error("Failed to store {} FIDO2 metrics entries", batch.size(), ex);
+        }
+        batchCount.increment();
+
+        log.debug("Stored FIDO2 metrics entries batch, size: {}", batch.size());
+    }
+
+    public int getBufferSize() {
+        BlockingQueue<Fido2MetricsEntry> currentBuffer = this.buffer;
+        return (currentBuffer == null) ? 0 : currentBuffer.size();
+    }
+
+    public long getAcceptedCount() {
+        return acceptedCount.sum();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    public long getFlushedCount() {
+        return flushedCount.sum();
+    }
+
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    public String getStatistics() {
+        return String.format("buffered: %d, accepted: %d, dropped: %d, flushed: %d, failed: %d, batches: %d",
+                getBufferSize(), getAcceptedCount(), getDroppedCount(), getFlushedCount(), getFailedCount(),
+                batchCount.sum());
+    }
+
+}
@@ -32,6 +32,7 @@ import org.slf4j.Logger;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -165,6 +166,17 @@ public class MetricService extends io.jans.service.metric.MetricService {
         return this.appConfiguration.getMetricReporterEnabled();
     }
 
+    @Override
+    public boolean isLatencyMetricsEnabled() {
+        return this.appConfiguration.isOpenMetricsEnabled();
+    }
+
+    @Override
+    public List<String> getOpenMetricsAllowedAddresses() {
+        List<String> allowedAddresses = this.appConfiguration.getOpenMetricsAllowedAddresses();
+        return (allowedAddresses == null) ? Collections.emptyList() : allowedAddresses;
+    }
+
     @Override
     public String getString() {
         return ApplicationType.FIDO2.getValue();
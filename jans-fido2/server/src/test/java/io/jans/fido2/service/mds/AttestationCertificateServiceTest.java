@@ -1,6 +1,8 @@
 package io.jans.fido2.service.mds;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.jans.fido2.exception.Fido2RuntimeException;
 import io.jans.fido2.model.auth.AuthData;
 import io.jans.fido2.model.conf.AppConfiguration;
@@ -23,11 +25,16 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -47,6 +54,8 @@ class AttestationCertificateServiceTest {
     private MdsService mdsService;
     @Mock
     private DataMapperService dataMapperService;
+    @Mock
+    private MetadataTrustIndexService metadataTrustIndexService;
 
     private AuthData authDataWithAaguid() {
         AuthData authData = mock(AuthData.class);
@@ -87,6 +96,39 @@ class AttestationCertificateServiceTest {
         assertDoesNotThrow(() -> attestationCertificateService.getAttestationRootCertificates(authData, certs));
     }
 
+    @Test
+    void getAttestationRootCertificates_indexedMetadata_usesPreparedCertificates() {
+        JsonNode metadata = new ObjectMapper().createObjectNode();
+        X509Certificate rootCert = mock(X509Certificate.class);
+        MetadataTrustAnchors trustAnchors = mock(MetadataTrustAnchors.class);
+        when(trustAnchors.hasRootCertificates()).thenReturn(true);
+        when(trustAnchors.isValidAt(anyLong())).thenReturn(true);
+        when(trustAnchors.getRootCertificates()).thenReturn(Collections.singletonList(rootCert));
+        when(metadataTrustIndexService.getTrustAnchors(metadata)).thenReturn(trustAnchors);
+
+        List<X509Certificate> result = attestationCertificateService.getAttestationRootCertificates(metadata,
+                Collections.emptyList());
+
+        assertEquals(Collections.singletonList(rootCert), result);
+        verify(certificateService, never()).getCertificates(anyList());
+    }
+
+    @Test
+    void getAttestationRootCertificates_indexedCertificateExpired_decodesMetadata() {
+        ObjectNode metadata = new ObjectMapper().createObjectNode();
+        metadata.putObject("metadataStatement").putArray("attestationRootCertificates").add("cert");
+        MetadataTrustAnchors trustAnchors = mock(MetadataTrustAnchors.class);
+        when(trustAnchors.hasRootCertificates()).thenReturn(true);
+        when(trustAnchors.isValidAt(anyLong())).thenReturn(false);
+        when(metadataTrustIndexService.getTrustAnchors(metadata)).thenReturn(trustAnchors);
+        when(certificateService.getCertificates(anyList())).thenThrow(new Fido2RuntimeException("Certificate not valid"));
+
+        // Expired root certificate must be rejected the same way as without index
+        assertThrows(Fido2RuntimeException.class,
+                () -> attestationCertificateService.getAttestationRootCertificates(metadata, Collections.emptyList()));
+        verify(certificateService).getCertificates(Collections.singletonList("cert"));
+    }
+
     // #14602 — Apple root CA presence surfaced by the trust/attestation/config endpoint.
 
     private void configureAuthenticatorCertsFolder() {
@@ -0,0 +1,250 @@
+package io.jans.fido2.service.mds;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.jans.fido2.exception.Fido2RuntimeException;
+import io.jans.fido2.service.CertificateService;
+import io.jans.fido2.service.KeyStoreCreator;
+import io.jans.util.security.SecurityProviderUtility;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.BasicConstraints;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.ContentSigner;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.slf4j.Logger;
+
+import javax.net.ssl.TrustManagerFactory;
+import java.io.ByteArrayInputStream;
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.KeyStore;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.security.spec.ECGenParameterSpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class MetadataTrustIndexServiceTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @InjectMocks
+    private MetadataTrustIndexService metadataTrustIndexService;
+
+    @Mock
+    private Logger log;
+    @Mock
+    private CertificateService certificateService;
+    @Mock
+    private KeyStoreCreator keyStoreCreator;
+
+    private X509Certificate rootCertificate;
+
+    @BeforeAll
+    static void installProvider() {
+        SecurityProviderUtility.installBCProvider();
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        rootCertificate = buildCertificate("CN=Test Root CA");
+        when(certificateService.getCertificates(anyList())).thenReturn(Collections.singletonList(rootCertificate));
+        when(keyStoreCreator.createKeyStore(anyString(), anyList()))
+                .thenAnswer(invocation -> createKeyStore(invocation.getArgument(1)));
+    }
+
+    @Test
+    void publishTocEntries_entryWithRootCertificates_buildsTrustAnchors() throws Exception {
+        JsonNode entry = tocEntry(rootCertificate);
+
+        metadataTrustIndexService.publishTocEntries(Map.of("aaguid-1", entry));
+
+        MetadataTrustAnchors trustAnchors = metadataTrustIndexService.getTrustAnchors(entry);
+        assertNotNull(trustAnchors);
+        assertSame(entry.get("metadataStatement"), trustAnchors.getMetadataStatement());
+        assertEquals(List.of(rootCertificate), trustAnchors.getRootCertificates());
+        assertNotNull(trustAnchors.getTrustManager());
+        assertEquals(1, trustAnchors.getTrustManager().getAcceptedIssuers().length);
+        assertTrue(trustAnchors.isValidAt(System.currentTimeMillis()));
+    }
+
+    @Test
+    void publishTocEntries_sameEntryUnderSeveralKeys_buildsItOnce() throws Exception {
+        JsonNode entry = tocEntry(rootCertificate);
+        Map<String, JsonNode> entries = new HashMap<>();
+        entries.put("key-id-1", entry);
+        entries.put("key-id-2", entry);
+
+        metadataTrustIndexService.publishTocEntries(entries);
+
+        assertEquals(1, metadataTrustIndexService.getIndexSize());
+        verify(certificateService, times(1)).getCertificates(anyList());
+    }
+
+    @Test
+    void publishTocEntries_reload_replacesPreviousIndex() throws Exception {
+        JsonNode oldEntry = tocEntry(rootCertificate);
+        JsonNode newEntry = tocEntry(rootCertificate);
+        metadataTrustIndexService.publishTocEntries(Map.of("aaguid-1", oldEntry));
+
+        metadataTrustIndexService.publishTocEntries(Map.of("aaguid-1", newEntry));
+
+        // Lookup is by entry identity, equal entry of previous TOC is not served from new index
+        assertNull(metadataTrustIndexService.getTrustAnchors(oldEntry));
+        assertNotNull(metadataTrustIndexService.getTrustAnchors(newEntry));
+    }
+
+    @Test
+    void publishLocalEntries_keepsTocIndex() throws Exception {
+        JsonNode tocEntry = tocEntry(rootCertificate);
+        ObjectNode localEntry = MAPPER.createObjectNode();
+        localEntry.putArray("attestationRootCertificates").add(encode(rootCertificate));
+
+        metadataTrustIndexService.publishTocEntries(Map.of("aaguid-1", tocEntry));
+        metadataTrustIndexService.publishLocalEntries(Map.of("aaguid2", localEntry));
+
+        assertNotNull(metadataTrustIndexService.getTrustAnchors(tocEntry));
+        MetadataTrustAnchors localTrustAnchors = metadataTrustIndexService.getTrustAnchors(localEntry);
+        assertNotNull(localTrustAnchors);
+        assertSame(localEntry, localTrustAnchors.getMetadataStatement());
+    }
+
+    @Test
+    void buildTrustAnchors_invalidRootCertificates_leavesCertificatesEmpty() throws Exception {
+        when(certificateService.getCertificates(anyList())).thenThrow(new Fido2RuntimeException("Certificate not valid"));
+
+        MetadataTrustAnchors trustAnchors = metadataTrustIndexService.buildTrustAnchors("aaguid-1", tocEntry(rootCertificate));
+
+        assertFalse(trustAnchors.hasRootCertificates());
+        assertNull(trustAnchors.getTrustManager());
+    }
+
+    @Test
+    void buildTrustAnchors_entryWithoutMetadataStatement_hasNoRootCertificates() {
+        ObjectNode entry = MAPPER.createObjectNode();
+        entry.put("aaguid", "aaguid-1");
+
+        MetadataTrustAnchors trustAnchors = metadataTrustIndexService.buildTrustAnchors("aaguid-1", entry);
+
+        assertNull(trustAnchors.getMetadataStatement());
+        assertFalse(trustAnchors.hasRootCertificates());
+    }
+
+    @Test
+    void isValidAt_afterRootCertificateExpiration_returnsFalse() {
+        MetadataTrustAnchors trustAnchors = new MetadataTrustAnchors(null, List.of(rootCertificate), null);
+
+        assertFalse(trustAnchors.isValidAt(rootCertificate.getNotAfter().getTime() + 1));
+        assertFalse(trustAnchors.isValidAt(rootCertificate.getNotBefore().getTime() - 1));
+    }
+
+    /**
+     * Compares preparing trust material on every registration (previous behavior: copy metadata
+     * statement through its pretty printed form, decode root certificates and build trust manager)
+     * against lookup in prebuilt index.
+     */
+    @Test
+    @Disabled("manual")
+    void benchmark() throws Exception {
+        final int iterations = 5000;
+        JsonNode entry = tocEntry(rootCertificate);
+        metadataTrustIndexService.publishTocEntries(Map.of("aaguid-1", entry));
+        CertificateFactory certificateFactory = CertificateFactory.getInstance("X.509");
+
+        for (int run = 0; run < 3; run++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                JsonNode metadataStatement = MAPPER.readTree(entry.get("metadataStatement").toPrettyString());
+                List<X509Certificate> certificates = new ArrayList<>();
+                for (JsonNode certNode : metadataStatement.get("attestationRootCertificates")) {
+                    certificates.add((X509Certificate) certificateFactory.generateCertificate(
+                            new ByteArrayInputStream(Base64.getDecoder().decode(certNode.asText()))));
+                }
+                TrustManagerFactory trustManagerFactory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+                trustManagerFactory.init(createKeyStore(certificates));
+                assertNotNull(trustManagerFactory.getTrustManagers()[0]);
+            }
+            long parsed = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                assertNotNull(metadataTrustIndexService.getTrustAnchors(entry).getTrustManager());
+            }
+            long indexed = System.nanoTime() - start;
+
+            System.out.printf("Run %d: per request %d us/registration, prebuilt index %d ns/registration%n", run,
+                    parsed / iterations / 1000, indexed / iterations);
+        }
+    }
+
+    private JsonNode tocEntry(X509Certificate certificate) throws Exception {
+        ObjectNode entry = MAPPER.createObjectNode();
+        entry.put("aaguid", "aaguid-1");
+        ObjectNode metadataStatement = entry.putObject("metadataStatement");
+        metadataStatement.put("description", "Test authenticator");
+        metadataStatement.putArray("attestationRootCertificates").add(encode(certificate));
+        return entry;
+    }
+
+    private static String encode(X509Certificate certificate) throws Exception {
+        return Base64.getEncoder().encodeToString(certificate.getEncoded());
+    }
+
+    private static KeyStore createKeyStore(List<X509Certificate> certificates) throws Exception {
+        KeyStore keyStore = KeyStore.getInstance(KeyStore.getDefaultType());
+        keyStore.load(null, null);
+        for (int i = 0; i < certificates.size(); i++) {
+            keyStore.setCertificateEntry("cert-" + i, certificates.get(i));
+        }
+        return keyStore;
+    }
+
+    private static X509Certificate buildCertificate(String subjectDn) throws Exception {
+        KeyPairGenerator kpg = KeyPairGenerator.getInstance("EC");
+        kpg.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair keyPair = kpg.generateKeyPair();
+        X500Name subject = new X500Name(subjectDn);
+        Date notBefore = new Date(System.currentTimeMillis() - 3600_000L);
+        Date notAfter = new Date(System.currentTimeMillis() + 3600_000L);
+        JcaX509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(
+                subject, BigInteger.ONE, notBefore, notAfter, subject, keyPair.getPublic());
+        builder.addExtension(Extension.basicConstraints, true, new BasicConstraints(true));
+        String bc = SecurityProviderUtility.getBCProviderName();
+        ContentSigner signer = new JcaContentSignerBuilder("SHA256withECDSA").setProvider(bc).build(keyPair.getPrivate());
+        return new JcaX509CertificateConverter().setProvider(bc).getCertificate(builder.build(signer));
+    }
+
+}
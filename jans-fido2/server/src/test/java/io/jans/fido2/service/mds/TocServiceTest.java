@@ -84,6 +84,8 @@ class TocServiceTest {
     private CertificateService certificateService;
     @Mock
     private Base64Service base64Service;
+    @Mock
+    private MetadataTrustIndexService metadataTrustIndexService;
 
     private static final String TOC_FOLDER = "/etc/jans/conf/fido2/mds/toc";
 
@@ -33,6 +33,10 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 
 /**
@@ -89,7 +93,15 @@ class Fido2MetricsAttestationRejectionTest {
     }
 
     private void givenEntries(List<Fido2MetricsEntry> entries) {
-        doReturn(entries).when(metricsService).getMetricsEntries(any(), any());
+        doAnswer(invocation -> entries.stream()).when(persistenceEntryManager)
+                .findEntriesStream(anyString(), eq(Fido2MetricsEntry.class), any(), any(), anyInt());
+        // Attempts are counted by the database
+        int registrationAttempts = (int) entries.stream()
+                .filter(e -> Fido2MetricsConstants.REGISTRATION.equals(e.getOperationType()))
+                .filter(e -> Fido2MetricsConstants.ATTEMPT.equals(e.getStatus()))
+                .count();
+        doReturn(registrationAttempts).when(persistenceEntryManager)
+                .countEntries(anyString(), eq(Fido2MetricsEntry.class), any());
     }
 
     @SuppressWarnings("unchecked")
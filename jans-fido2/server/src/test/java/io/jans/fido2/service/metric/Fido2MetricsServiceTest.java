@@ -12,6 +12,9 @@ import io.jans.fido2.model.metric.Fido2MetricsConstants;
 import io.jans.fido2.model.metric.Fido2MetricsData;
 import io.jans.fido2.model.metric.Fido2MetricsEntry;
 import io.jans.orm.PersistenceEntryManager;
+import io.jans.orm.model.AttributeData;
+import io.jans.orm.model.EntryData;
+import io.jans.orm.model.PagedResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -23,16 +26,21 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.slf4j.Logger;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.timeout;
@@ -74,6 +82,9 @@ class Fido2MetricsServiceTest {
     @Mock
     private PersistenceEntryManager persistenceEntryManager;
 
+    @Mock
+    private Fido2MetricsWriter metricsWriter;
+
     @InjectMocks
     private Fido2MetricsService fido2MetricsService;
 
@@ -425,6 +436,28 @@ class Fido2MetricsServiceTest {
     private void stubMetricsEntries(Fido2MetricsEntry... entries) {
         when(persistenceEntryManager.findEntries(any(String.class), eq(Fido2MetricsEntry.class), any()))
                 .thenReturn(List.of(entries));
+        // Backend without server-side aggregation: analytics fall back to streaming entries
+        when(persistenceEntryManager.findAggregatedEntries(anyString(), eq(Fido2MetricsEntry.class), any(), any(),
+                anyInt(), anyInt())).thenThrow(new UnsupportedOperationException());
+        when(persistenceEntryManager.findEntriesStream(anyString(), eq(Fido2MetricsEntry.class), any(), any(), anyInt()))
+                .thenAnswer(invocation -> Stream.of(entries));
+    }
+
+    private void stubGroups(String attributeName, Object... valuesAndCounts) {
+        List<EntryData> groups = new ArrayList<>();
+        for (int i = 0; i < valuesAndCounts.length; i += 2) {
+            groups.add(new EntryData(List.of(new AttributeData(attributeName, valuesAndCounts[i]),
+                    new AttributeData("total", valuesAndCounts[i + 1]))));
+        }
+
+        PagedResult<EntryData> result = new PagedResult<>();
+        result.setEntries(groups);
+        result.setEntriesCount(groups.size());
+        result.setTotalEntriesCount(groups.size());
+
+        when(persistenceEntryManager.findAggregatedEntries(anyString(), eq(Fido2MetricsEntry.class), any(),
+                argThat(projection -> (projection != null) && attributeName.equals(projection.getAttributes()[0])),
+                anyInt(), anyInt())).thenReturn(result);
     }
 
     private Fido2MetricsEntry statusEntry(String status) {
@@ -434,6 +467,80 @@ class Fido2MetricsServiceTest {
         return entry;
     }
 
+    /**
+     * Backends with server-side aggregation return only group counts, entries are never loaded.
+     */
+    @Test
+    void getErrorAnalysis_ifBackendAggregates_usesGroupCountsWithoutLoadingEntries() {
+        stubGroups(Fido2MetricsConstants.JANS_STATUS,
+                Fido2MetricsConstants.ATTEMPT, 4L,
+                Fido2MetricsConstants.SUCCESS, 2L,
+                Fido2MetricsConstants.FAILURE, 1L,
+                Fido2MetricsConstants.ABANDONED, 1L);
+        stubGroups(Fido2MetricsConstants.JANS_ERROR_CATEGORY, "INVALID_INPUT", 1L);
+        stubGroups(Fido2MetricsConstants.JANS_ERROR_REASON, "Challenge mismatch", 1L);
+
+        Map<String, Object> analysis = fido2MetricsService.getErrorAnalysis(LocalDateTime.now().minusDays(1),
+                LocalDateTime.now());
+
+        assertEquals(0.5, (Double) analysis.get(Fido2MetricsConstants.SUCCESS_RATE), 0.0001);
+        assertEquals(0.25, (Double) analysis.get(Fido2MetricsConstants.FAILURE_RATE), 0.0001);
+        assertEquals(1L, analysis.get(Fido2MetricsConstants.ABANDONED_OPERATIONS));
+        assertEquals(Map.of("INVALID_INPUT", 1L), analysis.get("errorCategories"));
+        assertEquals(Map.of("Challenge mismatch", 1L), analysis.get("topErrors"));
+        verify(persistenceEntryManager, never()).findEntriesStream(anyString(), any(), any(), any(), anyInt());
+        verify(persistenceEntryManager, never()).findEntries(anyString(), any(), any());
+    }
+
+    /**
+     * Aggregate values arrive with driver-specific types, AVG in particular as a decimal.
+     */
+    @Test
+    void getPerformanceMetrics_ifBackendAggregates_readsDurationsFromGroups() {
+        List<AttributeData> registration = List.of(
+                new AttributeData(Fido2MetricsConstants.JANS_OPERATION_TYPE, Fido2MetricsConstants.REGISTRATION),
+                new AttributeData("total", 3L),
+                new AttributeData("minDuration", 27L),
+                new AttributeData("maxDuration", 35),
+                new AttributeData("avgDuration", new BigDecimal("30.0000")));
+        PagedResult<EntryData> result = new PagedResult<>();
+        result.setEntries(List.of(new EntryData(registration)));
+        when(persistenceEntryManager.findAggregatedEntries(anyString(), eq(Fido2MetricsEntry.class), any(), any(),
+                anyInt(), anyInt())).thenReturn(result);
+
+        Map<String, Object> metrics = performance();
+
+        assertEquals(30.0, (Double) metrics.get(Fido2MetricsConstants.REGISTRATION_AVG_DURATION), 0.0001);
+        assertEquals(27L, metrics.get("registrationMinDuration"));
+        assertEquals(35L, metrics.get("registrationMaxDuration"));
+        assertFalse(metrics.containsKey(Fido2MetricsConstants.AUTHENTICATION_AVG_DURATION));
+        verify(persistenceEntryManager, never()).findEntriesStream(anyString(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void getUserAdoptionMetrics_ifBackendCannotAggregate_countsDistinctUsersInOnePass() {
+        stubMetricsEntries(
+                userEntry("user-1", Fido2MetricsConstants.REGISTRATION, Fido2MetricsConstants.SUCCESS),
+                userEntry("user-1", Fido2MetricsConstants.AUTHENTICATION, Fido2MetricsConstants.SUCCESS),
+                userEntry("user-2", Fido2MetricsConstants.AUTHENTICATION, Fido2MetricsConstants.SUCCESS),
+                userEntry(null, Fido2MetricsConstants.AUTHENTICATION, Fido2MetricsConstants.ATTEMPT));
+
+        Map<String, Object> metrics = fido2MetricsService.getUserAdoptionMetrics(LocalDateTime.now().minusDays(1),
+                LocalDateTime.now());
+
+        assertEquals(2, metrics.get(Fido2MetricsConstants.TOTAL_UNIQUE_USERS));
+        assertEquals(1, metrics.get(Fido2MetricsConstants.NEW_USERS));
+        assertEquals(1, metrics.get(Fido2MetricsConstants.RETURNING_USERS));
+        assertEquals(0.5, (Double) metrics.get(Fido2MetricsConstants.ADOPTION_RATE), 0.0001);
+        verify(persistenceEntryManager, never()).findEntries(anyString(), any(), any());
+    }
+
+    private Fido2MetricsEntry userEntry(String userId, String operationType, String status) {
+        Fido2MetricsEntry entry = statusEntry(operationType, status);
+        entry.setUserId(userId);
+        return entry;
+    }
+
     @Test
     void testOversizedUserAgentIsTruncatedToColumnWidth() {
         // Given
@@ -663,7 +770,7 @@ class Fido2MetricsServiceTest {
      */
     private Fido2MetricsEntry capturePersistedEntry() {
         ArgumentCaptor<Fido2MetricsEntry> captor = ArgumentCaptor.forClass(Fido2MetricsEntry.class);
-        verify(persistenceEntryManager, timeout(5000)).persist(captor.capture());
+        verify(metricsWriter).offer(captor.capture());
         return captor.getValue();
     }
 
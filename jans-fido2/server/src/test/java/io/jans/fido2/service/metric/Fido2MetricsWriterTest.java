@@ -0,0 +1,159 @@
+/*
+ * Janssen Project software is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2024, Janssen Project
+ */
+
+package io.jans.fido2.service.metric;
+
+import io.jans.fido2.model.conf.AppConfiguration;
+import io.jans.fido2.model.conf.Fido2MetricsOverflowPolicy;
+import io.jans.fido2.model.metric.Fido2MetricsEntry;
+import io.jans.orm.PersistenceEntryManager;
+import io.jans.orm.model.EntryBatchResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Overflow handling and batching of the FIDO2 metrics writer.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class Fido2MetricsWriterTest {
+
+    @Mock
+    private Logger log;
+
+    @Mock
+    private AppConfiguration appConfiguration;
+
+    @Mock
+    private PersistenceEntryManager persistenceEntryManager;
+
+    @InjectMocks
+    private Fido2MetricsWriter metricsWriter;
+
+    @BeforeEach
+    void setUp() {
+        when(appConfiguration.getFido2MetricsBufferSize()).thenReturn(4);
+        when(appConfiguration.getFido2MetricsBatchSize()).thenReturn(3);
+        when(appConfiguration.getFido2MetricsSampleRate()).thenReturn(2);
+        when(appConfiguration.getFido2MetricsOverflowPolicy()).thenReturn(Fido2MetricsOverflowPolicy.DROP_OLDEST);
+        when(persistenceEntryManager.persistEntries(any())).thenReturn(new EntryBatchResult(3));
+    }
+
+    @Test
+    void offer_ifWriterIsNotStarted_dropsEntry() {
+        assertFalse(metricsWriter.offer(entry("1")));
+        assertEquals(1, metricsWriter.getDroppedCount());
+    }
+
+    @Test
+    void offer_ifBufferIsFull_dropsOldestEntry() {
+        metricsWriter.initBuffer();
+        for (int i = 1; i <= 6; i++) {
+            assertTrue(metricsWriter.offer(entry(String.valueOf(i))));
+        }
+
+        assertEquals(4, metricsWriter.getBufferSize());
+        assertEquals(2, metricsWriter.getDroppedCount());
+
+        List<String> written = flushAndCollectIds();
+        assertEquals(List.of("3", "4", "5", "6"), written);
+    }
+
+    @Test
+    void offer_ifSamplingAndBufferIsHalfFull_keepsEveryNthEntry() {
+        when(appConfiguration.getFido2MetricsOverflowPolicy()).thenReturn(Fido2MetricsOverflowPolicy.SAMPLE);
+        metricsWriter.initBuffer();
+
+        metricsWriter.offer(entry("1"));
+        metricsWriter.offer(entry("2"));
+        // Half full from here: only every second entry is kept
+        metricsWriter.offer(entry("3"));
+        metricsWriter.offer(entry("4"));
+        metricsWriter.offer(entry("5"));
+        metricsWriter.offer(entry("6"));
+
+        assertEquals(4, metricsWriter.getBufferSize());
+        assertEquals(2, metricsWriter.getDroppedCount());
+        assertEquals(List.of("1", "2", "4", "6"), flushAndCollectIds());
+    }
+
+    @Test
+    void flush_writesBufferedEntriesInBatchesAndCountsFailures() {
+        EntryBatchResult withFailure = new EntryBatchResult(3);
+        withFailure.addFailure(0, null, new RuntimeException("duplicate"));
+        when(persistenceEntryManager.persistEntries(any())).thenReturn(withFailure, new EntryBatchResult(3));
+
+        metricsWriter.initBuffer();
+        for (int i = 1; i <= 4; i++) {
+            metricsWriter.offer(entry(String.valueOf(i)));
+        }
+
+        metricsWriter.flush();
+
+        verify(persistenceEntryManager, times(2)).persistEntries(any());
+        assertEquals(0, metricsWriter.getBufferSize());
+        assertEquals(3, metricsWriter.getFlushedCount());
+        assertEquals(1, metricsWriter.getFailedCount());
+    }
+
+    @Test
+    void destroy_writesBufferedEntriesBeforeWorkerStops() {
+        when(appConfiguration.getFido2MetricsFlushIntervalInMillis()).thenReturn(60000);
+        metricsWriter.initWorker();
+        metricsWriter.offer(entry("1"));
+        metricsWriter.offer(entry("2"));
+
+        metricsWriter.destroy();
+
+        assertEquals(2, metricsWriter.getFlushedCount());
+        assertEquals(0, metricsWriter.getBufferSize());
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private List<String> flushAndCollectIds() {
+        metricsWriter.flush();
+
+        ArgumentCaptor<Collection<?>> captor = ArgumentCaptor.forClass((Class) Collection.class);
+        verify(persistenceEntryManager, atLeastOnce()).persistEntries(captor.capture());
+
+        List<String> ids = new ArrayList<>();
+        for (Collection<?> batch : captor.getAllValues()) {
+            for (Object entry : batch) {
+                ids.add(((Fido2MetricsEntry) entry).getId());
+            }
+        }
+
+        return ids;
+    }
+
+    private static Fido2MetricsEntry entry(String id) {
+        Fido2MetricsEntry entry = new Fido2MetricsEntry();
+        entry.setId(id);
+        return entry;
+    }
+
+}
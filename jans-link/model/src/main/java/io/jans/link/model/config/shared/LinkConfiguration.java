@@ -44,6 +44,12 @@ public class LinkConfiguration implements Configuration {
     private String snapshotFolder;
     private int snapshotMaxCount;
 
+    // Load only entries changed since previous run. Removed entries are detected during full synchronization
+    private boolean incrementalSync;
+    private String changeTrackingAttribute = "modifyTimestamp";
+    // In seconds
+    private int fullSyncInterval = 86400;
+
     public List<GluuLdapConfiguration> getSourceConfigs() {
         return sourceConfigs;
     }
@@ -164,4 +170,28 @@ public class LinkConfiguration implements Configuration {
         this.snapshotMaxCount = snapshotMaxCount;
     }
 
+    public boolean isIncrementalSync() {
+        return incrementalSync;
+    }
+
+    public void setIncrementalSync(boolean incrementalSync) {
+        this.incrementalSync = incrementalSync;
+    }
+
+    public String getChangeTrackingAttribute() {
+        return changeTrackingAttribute;
+    }
+
+    public void setChangeTrackingAttribute(String changeTrackingAttribute) {
+        this.changeTrackingAttribute = changeTrackingAttribute;
+    }
+
+    public int getFullSyncInterval() {
+        return fullSyncInterval;
+    }
+
+    public void setFullSyncInterval(int fullSyncInterval) {
+        this.fullSyncInterval = fullSyncInterval;
+    }
+
 }
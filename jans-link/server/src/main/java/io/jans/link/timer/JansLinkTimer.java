@@ -62,9 +62,14 @@ public class JansLinkTimer extends BaseJansLinkTimer {
 
 	private static final String LETTERS_FOR_SEARCH = "abcdefghijklmnopqrstuvwxyz1234567890.";
 	private static final String[] TARGET_PERSON_RETURN_ATTRIBUTES = { JansConstants.inum };
+	private static final String INUM_MAP_PRIMARY_KEY_VALUE_ATTRIBUTE = "jansPrimaryKeyValue";
 
 	private static final int DEFAULT_INTERVAL = 60;
 
+	private static final String SYNC_STATE_FULL_SYNC_TIME = "fullSyncTime";
+	private static final String SYNC_STATE_CONFIGURATION_HASH = "configurationHash";
+	private static final String SYNC_STATE_CHANGE_MARK_PREFIX = "changeMark.";
+
 	@Inject
 	private Logger log;
 
@@ -301,44 +306,98 @@ public class JansLinkTimer extends BaseJansLinkTimer {
 										 LinkUpdateMethod updateMethod) throws SearchException {
 		boolean isVDSMode = LinkUpdateMethod.VDS.equals(updateMethod);
 
-		// Load all entries from Source servers
-		log.info("Attempting to load entries from source server");
+		// Create snapshots cache folder if needed
+		boolean result = linkSnapshotFileService.prepareSnapshotsFolder(currentConfiguration);
+		if (!result) {
+			return false;
+		}
+
+		// Load last snapshot into memory
+		Map<String, Integer> prevInumWithEntryHashCodeMap = linkSnapshotFileService
+				.readLastSnapshot(currentConfiguration);
+
+		// Check if it's enough to process only entries changed since last run
+		Properties syncState = null;
+		boolean incrementalRun = false;
+		if (currentConfiguration.isIncrementalSync()) {
+			syncState = linkSnapshotFileService.readSyncState(currentConfiguration);
+			incrementalRun = isIncrementalRun(currentConfiguration, sourceServerConnections, syncState,
+					prevInumWithEntryHashCodeMap);
+		}
+
+		Map<String, String> changeMarks = new HashMap<String, String>();
 		List<GluuSimplePerson> sourcePersons;
+		if (incrementalRun) {
+			changeMarks.putAll(getChangeMarks(syncState));
 
-		if (currentConfiguration.isUseSearchLimit()) {
-			sourcePersons = loadSourceServerEntries(currentConfiguration, sourceServerConnections);
+			// Load only entries changed since last run from Source servers
+			log.info("Attempting to load changed entries from source server");
+			sourcePersons = loadChangedSourceServerEntries(currentConfiguration, sourceServerConnections, changeMarks);
 		} else {
-			sourcePersons = loadSourceServerEntriesWithoutLimits(currentConfiguration, sourceServerConnections);
+			// Load all entries from Source servers
+			log.info("Attempting to load entries from source server");
+			if (currentConfiguration.isUseSearchLimit()) {
+				sourcePersons = loadSourceServerEntries(currentConfiguration, sourceServerConnections);
+			} else {
+				sourcePersons = loadSourceServerEntriesWithoutLimits(currentConfiguration, sourceServerConnections);
+			}
 		}
 
 		log.info("Found {} entries in source server", sourcePersons.size());
 
-		Map<CacheCompoundKey, GluuSimplePerson> sourcePersonCacheCompoundKeyMap = getSourcePersonCompoundKeyMap(
-				currentConfiguration, sourcePersons);
-		log.info("Found {} unique entries in source server", sourcePersonCacheCompoundKeyMap.size());
+		if (currentConfiguration.isIncrementalSync()) {
+			updateChangeMarks(currentConfiguration, sourcePersons, changeMarks);
+		}
 
-		// Load all inum entries
-		List<JansInumMap> inumMaps = null;
+		// Load problem list from disk
+		List<String> problemInums = linkSnapshotFileService.readProblemList(currentConfiguration);
+		if (problemInums != null) {
+			log.info("Loaded {} problem entries from problem file", problemInums.size());
+		}
 
-		// Load all inum entries from local disk cache
+		List<JansInumMap> inumMaps = null;
 		String inumCachePath = getInumCachePath(currentConfiguration);
-		Object loadedObject = objectSerializationService.loadObject(inumCachePath);
-		if (loadedObject != null) {
-			try {
-				inumMaps = (List<JansInumMap>) loadedObject;
-				log.info("Found {} entries in inum objects disk cache", inumMaps.size());
-			} catch (Exception ex) {
-				log.error("Failed to convert to GluuInumMap list (exception: {})", ex.getMessage()); //Giving Exception Details
-				objectSerializationService.cleanup(inumCachePath);
+		if (incrementalRun) {
+			// Changed entries list doesn't contain entries which failed to update and not changed entries with the same keys
+			List<JansInumMap> problemInumMaps = new ArrayList<JansInumMap>(0);
+			if ((problemInums != null) && !problemInums.isEmpty()) {
+				problemInumMaps = loadInumServerEntriesByValues(currentConfiguration, inumDbServerConnection,
+						JansConstants.inum, problemInums);
 			}
-		}
 
-		if (inumMaps == null) {
-			// Load all inum entries from LDAP
-			inumMaps = loadInumServerEntries(currentConfiguration, inumDbServerConnection);
-			log.info("Found {} entries in inum server", inumMaps.size());
+			Set<String> primaryKeyValues = getPrimaryKeyValues(currentConfiguration, sourcePersons, problemInumMaps);
+			sourcePersons = reloadSourceServerEntriesByKeys(currentConfiguration, sourceServerConnections, sourcePersons,
+					primaryKeyValues);
+			log.info("Found {} entries in source server by keys of changed and problem entries", sourcePersons.size());
+
+			// Load only inum entries of changed and problem entries
+			inumMaps = loadInumServerEntriesByValues(currentConfiguration, inumDbServerConnection,
+					INUM_MAP_PRIMARY_KEY_VALUE_ATTRIBUTE, primaryKeyValues);
+			log.info("Found {} entries in inum server by keys of changed and problem entries", inumMaps.size());
+		} else {
+			// Load all inum entries from local disk cache
+			Object loadedObject = objectSerializationService.loadObject(inumCachePath);
+			if (loadedObject != null) {
+				try {
+					inumMaps = (List<JansInumMap>) loadedObject;
+					log.info("Found {} entries in inum objects disk cache", inumMaps.size());
+				} catch (Exception ex) {
+					log.error("Failed to convert to GluuInumMap list (exception: {})", ex.getMessage()); //Giving Exception Details
+					objectSerializationService.cleanup(inumCachePath);
+				}
+			}
+
+			if (inumMaps == null) {
+				// Load all inum entries from LDAP
+				inumMaps = loadInumServerEntries(currentConfiguration, inumDbServerConnection);
+				log.info("Found {} entries in inum server", inumMaps.size());
+			}
 		}
 
+		Map<CacheCompoundKey, GluuSimplePerson> sourcePersonCacheCompoundKeyMap = getSourcePersonCompoundKeyMap(
+				currentConfiguration, sourcePersons);
+		log.info("Found {} unique entries in source server", sourcePersonCacheCompoundKeyMap.size());
+
 		HashMap<CacheCompoundKey, JansInumMap> primaryKeyAttrValueInumMap = getPrimaryKeyAttrValueInumMap(inumMaps);
 
 		// Go through Source entries and create new InumMap entries if needed
@@ -354,26 +413,13 @@ public class JansLinkTimer extends BaseJansLinkTimer {
 				sourcePersonCacheCompoundKeyMap, allPrimaryKeyAttrValueInumMap);
 		log.info("Count actual source entries {} after calculating hash code", currInumWithEntryHashCodeMap.size());
 
-		// Create snapshots cache folder if needed
-		boolean result = linkSnapshotFileService.prepareSnapshotsFolder(currentConfiguration);
-		if (!result) {
-			return false;
-		}
-
-		// Load last snapshot into memory
-		Map<String, Integer> prevInumWithEntryHashCodeMap = linkSnapshotFileService
-				.readLastSnapshot(currentConfiguration);
-
-		// Compare 2 snapshot and invoke update if needed
+		// Compare 2 snapshot and invoke update if needed. Entries which weren't loaded in incremental mode aren't removed
 		Set<String> changedInums = getChangedInums(currInumWithEntryHashCodeMap, prevInumWithEntryHashCodeMap,
-				isVDSMode);
+				isVDSMode && !incrementalRun);
 		log.info("Found {} changed entries", changedInums.size());
 
-		// Load problem list from disk and add to changedInums
-		List<String> problemInums = linkSnapshotFileService.readProblemList(currentConfiguration);
+		// Process inums from problem list too
 		if (problemInums != null) {
-			log.info("Loaded {} problem entries from problem file", problemInums.size());
-			// Process inums from problem list too
 			changedInums.addAll(problemInums);
 		}
 
@@ -390,16 +436,28 @@ public class JansLinkTimer extends BaseJansLinkTimer {
 		changedInums.removeAll(updatedInums);
 		log.info("Failed to update {} entries", changedInums.size());
 
-		// Persist snapshot to cache folder
-		result = linkSnapshotFileService.createSnapshot(currentConfiguration,
-				currInumWithEntryHashCodeMap);
-		if (!result) {
-			return false;
-		}
+		// Snapshot of incremental run is previous snapshot with hash codes of changed entries
+		if (incrementalRun && !isIncrementalSnapshotChanged(prevInumWithEntryHashCodeMap, currInumWithEntryHashCodeMap,
+				changedInums)) {
+			log.info("There are no updated entries, skipping snapshot creation");
+		} else {
+			HashMap<String, Integer> snapshotInumWithEntryHashCodeMap = currInumWithEntryHashCodeMap;
+			if (incrementalRun) {
+				snapshotInumWithEntryHashCodeMap = getIncrementalSnapshot(prevInumWithEntryHashCodeMap,
+						currInumWithEntryHashCodeMap, changedInums);
+			}
+
+			// Persist snapshot to cache folder
+			result = linkSnapshotFileService.createSnapshot(currentConfiguration,
+					snapshotInumWithEntryHashCodeMap);
+			if (!result) {
+				return false;
+			}
 
-		// Retain only specified number of snapshots
-		linkSnapshotFileService.retainSnapshots(currentConfiguration,
-				currentConfiguration.getSnapshotMaxCount());
+			// Retain only specified number of snapshots
+			linkSnapshotFileService.retainSnapshots(currentConfiguration,
+					currentConfiguration.getSnapshotMaxCount());
+		}
 
 		// Save changedInums as problem list to disk
 		currentConfiguration.setProblemCount(String.valueOf(changedInums.size()));
@@ -410,7 +468,11 @@ public class JansLinkTimer extends BaseJansLinkTimer {
 
 		boolean keepExternalPerson = currentConfiguration.isKeepExternalPerson();
 		log.info("Keep external persons: {}", keepExternalPerson);
-		if (keepExternalPerson) {
+		if (incrementalRun) {
+			// Removed entries aren't visible in changed entries list, they are processed during full synchronization
+			log.info("Skipping detection of removed entries in incremental mode");
+			personsForRemoval = new ArrayList<GluuSimplePerson>(0);
+		} else if (keepExternalPerson) {
 			// Determine entries which need to remove
 			personsForRemoval = getRemovedPersons(currInumWithEntryHashCodeMap, prevInumWithEntryHashCodeMap);
 		} else {
@@ -433,19 +495,143 @@ public class JansLinkTimer extends BaseJansLinkTimer {
 		List<String> removedGluuInumMaps = removeTargetEntriesResult.getSecond();
 		log.info("Removed {} persons from target server", removedPersonInums.size());
 
-		// Prepare list of inum for serialization
-		ArrayList<JansInumMap> currentInumMaps = applyChangesToInumMap(inumInumMap, addedPrimaryKeyAttrValueInumMap,
-				removedGluuInumMaps);
+		if (!incrementalRun) {
+			// Prepare list of inum for serialization
+			ArrayList<JansInumMap> currentInumMaps = applyChangesToInumMap(inumInumMap, addedPrimaryKeyAttrValueInumMap,
+					removedGluuInumMaps);
 
-		// Strore all inum entries into local disk cache
-		objectSerializationService.saveObject(inumCachePath, currentInumMaps);
+			// Strore all inum entries into local disk cache
+			objectSerializationService.saveObject(inumCachePath, currentInumMaps);
+		} else if (!addedPrimaryKeyAttrValueInumMap.isEmpty()) {
+			// Disk cache contains all inum entries, next full run should reload them from LDAP
+			objectSerializationService.cleanup(inumCachePath);
+		}
 
 		currentConfiguration
 				.setLastUpdateCount(String.valueOf(updatedInums.size() + removedPersonInums.size()));
 
+		// Store change marks for next incremental run
+		if (currentConfiguration.isIncrementalSync()) {
+			long fullSyncTime = incrementalRun
+					? StringHelper.toLong(syncState.getProperty(SYNC_STATE_FULL_SYNC_TIME), 0L)
+					: System.currentTimeMillis();
+			linkSnapshotFileService.writeSyncState(currentConfiguration,
+					createSyncState(currentConfiguration, fullSyncTime, changeMarks));
+		}
+
 		return true;
 	}
 
+	private boolean isIncrementalRun(LinkConfiguration linkConfiguration, LdapServerConnection[] sourceServerConnections,
+			Properties syncState, Map<String, Integer> prevInumWithEntryHashCodeMap) {
+		if (StringHelper.isEmpty(linkConfiguration.getChangeTrackingAttribute())) {
+			log.warn("Change tracking attribute isn't specified, incremental synchronization is not possible");
+			return false;
+		}
+
+		if ((syncState == null) || (prevInumWithEntryHashCodeMap == null)) {
+			log.info("There is no state of previous synchronization, starting full synchronization");
+			return false;
+		}
+
+		if (!StringHelper.equals(getSyncConfigurationHash(linkConfiguration),
+				syncState.getProperty(SYNC_STATE_CONFIGURATION_HASH))) {
+			log.info("Link configuration was changed after previous synchronization, starting full synchronization");
+			return false;
+		}
+
+		long fullSyncTime = StringHelper.toLong(syncState.getProperty(SYNC_STATE_FULL_SYNC_TIME), 0L);
+		if (System.currentTimeMillis() - fullSyncTime >= linkConfiguration.getFullSyncInterval() * 1000L) {
+			log.info("Full synchronization interval is reached, starting full synchronization");
+			return false;
+		}
+
+		for (LdapServerConnection sourceServerConnection : sourceServerConnections) {
+			String sourceServerName = sourceServerConnection.getSourceServerName();
+			if (StringHelper.isEmpty(syncState.getProperty(SYNC_STATE_CHANGE_MARK_PREFIX + sourceServerName))) {
+				log.info("There is no change mark for source server {}, starting full synchronization", sourceServerName);
+				return false;
+			}
+		}
+
+		log.info("Starting incremental synchronization");
+		return true;
+	}
+
+	private Map<String, String> getChangeMarks(Properties syncState) {
+		Map<String, String> result = new HashMap<String, String>();
+		for (String key : syncState.stringPropertyNames()) {
+			if (key.startsWith(SYNC_STATE_CHANGE_MARK_PREFIX)) {
+				result.put(key.substring(SYNC_STATE_CHANGE_MARK_PREFIX.length()), syncState.getProperty(key));
+			}
+		}
+
+		return result;
+	}
+
+	private Set<String> getPrimaryKeyValues(LinkConfiguration linkConfiguration, List<GluuSimplePerson> changedPersons,
+			List<JansInumMap> problemInumMaps) {
+		String primaryKeyAttribute = getCompoundKeyAttributesWithoutValues(linkConfiguration)[0];
+
+		Set<String> primaryKeyValues = new HashSet<String>();
+		for (GluuSimplePerson changedPerson : changedPersons) {
+			String[] keyValues = changedPerson.getStringAttributes(primaryKeyAttribute);
+			if (keyValues != null) {
+				primaryKeyValues.addAll(Arrays.asList(keyValues));
+			}
+		}
+
+		for (JansInumMap problemInumMap : problemInumMaps) {
+			if (problemInumMap.getPrimaryKeyValues() != null) {
+				primaryKeyValues.addAll(Arrays.asList(problemInumMap.getPrimaryKeyValues()));
+			}
+		}
+
+		return primaryKeyValues;
+	}
+
+	private List<GluuSimplePerson> reloadSourceServerEntriesByKeys(LinkConfiguration linkConfiguration,
+			LdapServerConnection[] sourceServerConnections, List<GluuSimplePerson> changedPersons,
+			Set<String> primaryKeyValues) throws SearchException {
+		if (primaryKeyValues.isEmpty()) {
+			return changedPersons;
+		}
+
+		List<GluuSimplePerson> sourcePersons = loadSourceServerEntriesByKeys(linkConfiguration, sourceServerConnections,
+				primaryKeyValues);
+		removeChangeTrackingAttribute(linkConfiguration, sourcePersons);
+
+		return sourcePersons;
+	}
+
+	private Properties createSyncState(LinkConfiguration linkConfiguration, long fullSyncTime,
+			Map<String, String> changeMarks) {
+		Properties syncState = new Properties();
+		syncState.setProperty(SYNC_STATE_FULL_SYNC_TIME, String.valueOf(fullSyncTime));
+		syncState.setProperty(SYNC_STATE_CONFIGURATION_HASH, getSyncConfigurationHash(linkConfiguration));
+		for (Entry<String, String> changeMarkEntry : changeMarks.entrySet()) {
+			syncState.setProperty(SYNC_STATE_CHANGE_MARK_PREFIX + changeMarkEntry.getKey(), changeMarkEntry.getValue());
+		}
+
+		return syncState;
+	}
+
+	/**
+	 * Snapshot hash codes and change marks are valid only for the same source entries set
+	 */
+	private String getSyncConfigurationHash(LinkConfiguration linkConfiguration) {
+		List<String> sourceConfigIds = new ArrayList<String>();
+		if (linkConfiguration.getSourceConfigs() != null) {
+			for (GluuLdapConfiguration sourceConfig : linkConfiguration.getSourceConfigs()) {
+				sourceConfigIds.add(sourceConfig.getConfigId());
+			}
+		}
+
+		return String.valueOf(Objects.hash(sourceConfigIds, linkConfiguration.getKeyAttributes(),
+				linkConfiguration.getKeyObjectClasses(), linkConfiguration.getSourceAttributes(),
+				linkConfiguration.getCustomLdapFilter(), linkConfiguration.getChangeTrackingAttribute()));
+	}
+
 	public LdapServerConnection prepareLdapServerConnection(LinkConfiguration linkConfiguration,
 															GluuLdapConfiguration ldapConfiguration) {
 		return prepareLdapServerConnection(linkConfiguration, ldapConfiguration, false);
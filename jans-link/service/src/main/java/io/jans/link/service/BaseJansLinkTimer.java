@@ -2,6 +2,7 @@ package io.jans.link.service;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
@@ -50,6 +51,7 @@ public abstract class BaseJansLinkTimer {
 
     private static final String LETTERS_FOR_SEARCH = "abcdefghijklmnopqrstuvwxyz1234567890.";
     private static final String[] TARGET_PERSON_RETURN_ATTRIBUTES = { JansConstants.inum };
+    private static final int KEY_VALUES_BATCH_SIZE = 100;
     @Inject
     private Logger log;
     @Inject
@@ -387,7 +389,8 @@ public abstract class BaseJansLinkTimer {
         String[] keyObjectClasses = getCompoundKeyObjectClasses(LinkConfiguration);
         String[] sourceAttributes = getSourceAttributes(LinkConfiguration);
 
-        String[] returnAttributes = ArrayHelper.arrayMerge(keyAttributesWithoutValues, sourceAttributes);
+        String[] returnAttributes = ArrayHelper.arrayMerge(keyAttributesWithoutValues, sourceAttributes,
+                getChangeTrackingAttributes(LinkConfiguration));
 
         Set<String> addedDns = new HashSet<String>();
 
@@ -434,7 +437,8 @@ public abstract class BaseJansLinkTimer {
         String[] sourceAttributes = getSourceAttributes(LinkConfiguration);
 
         String[] twoLettersArray = createTwoLettersArray();
-        String[] returnAttributes = ArrayHelper.arrayMerge(keyAttributesWithoutValues, sourceAttributes);
+        String[] returnAttributes = ArrayHelper.arrayMerge(keyAttributesWithoutValues, sourceAttributes,
+                getChangeTrackingAttributes(LinkConfiguration));
 
         Set<String> addedDns = new HashSet<String>();
 
@@ -475,6 +479,228 @@ public abstract class BaseJansLinkTimer {
         return sourcePersons;
     }
 
+    /**
+     * Loads entries which were modified since previous run. Each source server has own change mark. It's
+     * compared with change tracking attribute on server side, so clocks of link and source servers
+     * don't need to be in sync
+     */
+    public List<GluuSimplePerson> loadChangedSourceServerEntries(LinkConfiguration LinkConfiguration,
+                                                                  LdapServerConnection[] sourceServerConnections, Map<String, String> changeMarks)
+            throws SearchException {
+        Filter customFilter = linkService.createFilter(LinkConfiguration.getCustomLdapFilter());
+        String[] keyAttributes = getCompoundKeyAttributes(LinkConfiguration);
+        String[] keyAttributesWithoutValues = getCompoundKeyAttributesWithoutValues(LinkConfiguration);
+        String[] keyObjectClasses = getCompoundKeyObjectClasses(LinkConfiguration);
+        String[] sourceAttributes = getSourceAttributes(LinkConfiguration);
+        String changeTrackingAttribute = LinkConfiguration.getChangeTrackingAttribute();
+
+        String[] returnAttributes = ArrayHelper.arrayMerge(keyAttributesWithoutValues, sourceAttributes,
+                getChangeTrackingAttributes(LinkConfiguration));
+
+        Set<String> addedDns = new HashSet<String>();
+
+        List<GluuSimplePerson> sourcePersons = new ArrayList<GluuSimplePerson>();
+        for (LdapServerConnection sourceServerConnection : sourceServerConnections) {
+            String sourceServerName = sourceServerConnection.getSourceServerName();
+
+            PersistenceEntryManager sourcePersistenceEntryManager = sourceServerConnection.getPersistenceEntryManager();
+            String[] baseDns = sourceServerConnection.getBaseDns();
+            Filter filter = Filter.createANDFilter(linkService.createFilter(keyAttributes, keyObjectClasses, "", customFilter),
+                    Filter.createGreaterOrEqualFilter(changeTrackingAttribute, changeMarks.get(sourceServerName)));
+            if (log.isTraceEnabled()) {
+                log.trace("Using next filter to load changed entries from source server: {}", filter);
+            }
+
+            for (String baseDn : baseDns) {
+                List<GluuSimplePerson> currentSourcePersons = sourcePersistenceEntryManager.findEntries(baseDn,
+                        GluuSimplePerson.class, filter, SearchScope.SUB, returnAttributes, null, 0, 0,
+                        LinkConfiguration.getLdapSearchSizeLimit());
+
+                for (GluuSimplePerson currentSourcePerson : currentSourcePersons) {
+                    currentSourcePerson.setSourceServerName(sourceServerName);
+                    String currentSourcePersonDn = currentSourcePerson.getDn().toLowerCase();
+                    if (!addedDns.contains(currentSourcePersonDn)) {
+                        sourcePersons.add(currentSourcePerson);
+                        addedDns.add(currentSourcePersonDn);
+                    }
+                }
+            }
+        }
+
+        return sourcePersons;
+    }
+
+    /**
+     * Loads entries with specified primary key values. In incremental mode it's used to load entries which failed
+     * to update during previous runs and entries with the same keys as changed entries
+     */
+    public List<GluuSimplePerson> loadSourceServerEntriesByKeys(LinkConfiguration LinkConfiguration,
+                                                                LdapServerConnection[] sourceServerConnections, Collection<String> primaryKeyValues)
+            throws SearchException {
+        Filter customFilter = linkService.createFilter(LinkConfiguration.getCustomLdapFilter());
+        String[] keyAttributes = getCompoundKeyAttributes(LinkConfiguration);
+        String[] keyAttributesWithoutValues = getCompoundKeyAttributesWithoutValues(LinkConfiguration);
+        String[] keyObjectClasses = getCompoundKeyObjectClasses(LinkConfiguration);
+        String[] sourceAttributes = getSourceAttributes(LinkConfiguration);
+
+        String[] returnAttributes = ArrayHelper.arrayMerge(keyAttributesWithoutValues, sourceAttributes,
+                getChangeTrackingAttributes(LinkConfiguration));
+        Filter keyFilter = linkService.createFilter(keyAttributes, keyObjectClasses, "", customFilter);
+
+        Set<String> addedDns = new HashSet<String>();
+
+        List<String> keyValues = new ArrayList<String>(primaryKeyValues);
+        List<GluuSimplePerson> sourcePersons = new ArrayList<GluuSimplePerson>();
+        for (int start = 0; start < keyValues.size(); start += KEY_VALUES_BATCH_SIZE) {
+            List<Filter> keyValueFilters = new ArrayList<Filter>();
+            for (String keyValue : keyValues.subList(start, Math.min(start + KEY_VALUES_BATCH_SIZE, keyValues.size()))) {
+                keyValueFilters.add(Filter.createEqualityFilter(keyAttributesWithoutValues[0], keyValue));
+            }
+            Filter filter = Filter.createANDFilter(keyFilter, Filter.createORFilter(keyValueFilters));
+
+            for (LdapServerConnection sourceServerConnection : sourceServerConnections) {
+                String sourceServerName = sourceServerConnection.getSourceServerName();
+
+                PersistenceEntryManager sourcePersistenceEntryManager = sourceServerConnection.getPersistenceEntryManager();
+                for (String baseDn : sourceServerConnection.getBaseDns()) {
+                    List<GluuSimplePerson> currentSourcePersons = sourcePersistenceEntryManager.findEntries(baseDn,
+                            GluuSimplePerson.class, filter, SearchScope.SUB, returnAttributes, null, 0, 0,
+                            LinkConfiguration.getLdapSearchSizeLimit());
+
+                    for (GluuSimplePerson currentSourcePerson : currentSourcePersons) {
+                        currentSourcePerson.setSourceServerName(sourceServerName);
+                        String currentSourcePersonDn = currentSourcePerson.getDn().toLowerCase();
+                        if (!addedDns.contains(currentSourcePersonDn)) {
+                            sourcePersons.add(currentSourcePerson);
+                            addedDns.add(currentSourcePersonDn);
+                        }
+                    }
+                }
+            }
+        }
+
+        return sourcePersons;
+    }
+
+    /**
+     * Loads active inum entries which have one of specified values of attribute. In incremental mode it's used
+     * instead of loading all inum entries to get inum entries of changed and problem entries only
+     */
+    public List<JansInumMap> loadInumServerEntriesByValues(LinkConfiguration LinkConfiguration,
+                                                           LdapServerConnection inumDbServerConnection, String attributeName, Collection<String> values) {
+        PersistenceEntryManager inumDbPersistenceEntryManager = inumDbServerConnection.getPersistenceEntryManager();
+        String inumbaseDn = inumDbServerConnection.getBaseDns()[0];
+
+        Filter filterObjectClass = Filter.createEqualityFilter(OxConstants.OBJECT_CLASS,
+                JansConstants.objectClassInumMap);
+        Filter filterStatus = Filter.createNOTFilter(
+                Filter.createEqualityFilter(JansConstants.jansStatus, GluuStatus.INACTIVE.getValue()));
+
+        Set<String> addedInums = new HashSet<String>();
+
+        List<String> attributeValues = new ArrayList<String>(values);
+        List<JansInumMap> inumMaps = new ArrayList<JansInumMap>();
+        for (int start = 0; start < attributeValues.size(); start += KEY_VALUES_BATCH_SIZE) {
+            List<Filter> valueFilters = new ArrayList<Filter>();
+            for (String value : attributeValues.subList(start, Math.min(start + KEY_VALUES_BATCH_SIZE, attributeValues.size()))) {
+                valueFilters.add(Filter.createEqualityFilter(attributeName, value));
+            }
+            Filter filter = Filter.createANDFilter(filterObjectClass, filterStatus, Filter.createORFilter(valueFilters));
+
+            List<JansInumMap> currentInumMaps = inumDbPersistenceEntryManager.findEntries(inumbaseDn, JansInumMap.class,
+                    filter, SearchScope.SUB, null, null, 0, 0, LinkConfiguration.getLdapSearchSizeLimit());
+            for (JansInumMap currentInumMap : currentInumMaps) {
+                if (addedInums.add(currentInumMap.getInum())) {
+                    inumMaps.add(currentInumMap);
+                }
+            }
+        }
+
+        return inumMaps;
+    }
+
+    /**
+     * Moves change mark of each source server to latest change tracking attribute value of loaded entries. Attribute
+     * is removed from entries if it's not in source attributes list to keep entries hash codes independent from it.
+     * Next run loads entries with the same value again, so changes done in the same moment are not lost.
+     */
+    public void updateChangeMarks(LinkConfiguration LinkConfiguration, List<GluuSimplePerson> sourcePersons,
+                                  Map<String, String> changeMarks) {
+        String changeTrackingAttribute = LinkConfiguration.getChangeTrackingAttribute();
+        if (StringHelper.isEmpty(changeTrackingAttribute)) {
+            return;
+        }
+
+        for (GluuSimplePerson sourcePerson : sourcePersons) {
+            String changeMark = sourcePerson.getStringAttribute(changeTrackingAttribute);
+            if (StringHelper.isEmpty(changeMark)) {
+                continue;
+            }
+
+            String sourceServerName = sourcePerson.getSourceServerName();
+            String currentChangeMark = changeMarks.get(sourceServerName);
+            if ((currentChangeMark == null) || (compareChangeMarks(changeMark, currentChangeMark) > 0)) {
+                changeMarks.put(sourceServerName, changeMark);
+            }
+        }
+
+        removeChangeTrackingAttribute(LinkConfiguration, sourcePersons);
+    }
+
+    public void removeChangeTrackingAttribute(LinkConfiguration LinkConfiguration, List<GluuSimplePerson> sourcePersons) {
+        if (ArrayHelper.isEmpty(getChangeTrackingAttributes(LinkConfiguration))) {
+            return;
+        }
+
+        String changeTrackingAttribute = LinkConfiguration.getChangeTrackingAttribute();
+        for (GluuSimplePerson sourcePerson : sourcePersons) {
+            sourcePerson.getCustomAttributes().removeIf(
+                    customAttribute -> StringHelper.equalsIgnoreCase(changeTrackingAttribute, customAttribute.getName()));
+        }
+    }
+
+    public int compareChangeMarks(String changeMark1, String changeMark2) {
+        // Update sequence numbers (uSNChanged, changeNumber) are numbers, time stamps are in generalized time format
+        Long changeNumber1 = StringHelper.toLong(changeMark1, null);
+        Long changeNumber2 = StringHelper.toLong(changeMark2, null);
+        if ((changeNumber1 != null) && (changeNumber2 != null)) {
+            return changeNumber1.compareTo(changeNumber2);
+        }
+
+        return changeMark1.compareTo(changeMark2);
+    }
+
+    /**
+     * Snapshot of incremental run is previous snapshot with hash codes of changed entries. Entries which weren't
+     * updated on target server keep previous hash codes, so they are still considered as changed during next runs
+     */
+    public HashMap<String, Integer> getIncrementalSnapshot(Map<String, Integer> prevInumWithEntryHashCodeMap,
+                                                           Map<String, Integer> currInumWithEntryHashCodeMap, Set<String> failedInums) {
+        HashMap<String, Integer> result = new HashMap<String, Integer>(prevInumWithEntryHashCodeMap);
+        for (Map.Entry<String, Integer> currEntry : currInumWithEntryHashCodeMap.entrySet()) {
+            if (!failedInums.contains(currEntry.getKey())) {
+                result.put(currEntry.getKey(), currEntry.getValue());
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Checks if incremental snapshot differs from previous one. Hash codes of failed entries aren't stored in snapshot
+     */
+    public boolean isIncrementalSnapshotChanged(Map<String, Integer> prevInumWithEntryHashCodeMap,
+                                                Map<String, Integer> currInumWithEntryHashCodeMap, Set<String> failedInums) {
+        for (Map.Entry<String, Integer> currEntry : currInumWithEntryHashCodeMap.entrySet()) {
+            if (!failedInums.contains(currEntry.getKey())
+                    && !currEntry.getValue().equals(prevInumWithEntryHashCodeMap.get(currEntry.getKey()))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
     public List<TypedGluuSimplePerson> loadTargetServerEntries(LinkConfiguration LinkConfiguration,
                                                                 PersistenceEntryManager targetPersistenceEntryManager) {
         Filter filter = Filter.createEqualityFilter(OxConstants.OBJECT_CLASS, JansConstants.objectClassPerson);
@@ -647,6 +873,19 @@ public abstract class BaseJansLinkTimer {
         return LinkConfiguration.getSourceAttributes().toArray(new String[0]);
     }
 
+    /**
+     * @return change tracking attribute if it should be loaded in addition to source attributes
+     */
+    public String[] getChangeTrackingAttributes(LinkConfiguration LinkConfiguration) {
+        String changeTrackingAttribute = LinkConfiguration.getChangeTrackingAttribute();
+        if (!LinkConfiguration.isIncrementalSync() || StringHelper.isEmpty(changeTrackingAttribute)
+                || LinkConfiguration.getSourceAttributes().contains(changeTrackingAttribute)) {
+            return new String[0];
+        }
+
+        return new String[] { changeTrackingAttribute };
+    }
+
     public String[] getCompoundKeyObjectClasses(LinkConfiguration LinkConfiguration) {
         return LinkConfiguration.getKeyObjectClasses().toArray(new String[0]);
     }
@@ -9,8 +9,12 @@ package io.jans.link.service;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.FileReader;
 import java.io.FileWriter;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.IOException;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
@@ -21,6 +25,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Properties;
 import java.util.Set;
 
 import io.jans.link.model.config.shared.LinkConfiguration;
@@ -46,6 +51,7 @@ public class LinkSnapshotFileService {
 
 	private static final String SNAPSHOT_FILE_NAME_PATTERN = "inum-snapshot-%s.txt";
 	private static final String PROBLEM_LIST_FILE_NAME = "problem-inum-list.txt";
+	private static final String SYNC_STATE_FILE_NAME = "sync-state.properties";
 	private static final String SNAPSHOT_FILE_NAME_DATE_PATTERN = "yyyy-MM-dd-HH-mm";
 
 	public boolean prepareSnapshotsFolder(LinkConfiguration linkConfiguration) {
@@ -195,4 +201,36 @@ public class LinkSnapshotFileService {
 		return true;
 	}
 
+	public Properties readSyncState(LinkConfiguration linkConfiguration) {
+		if (!prepareSnapshotsFolder(linkConfiguration)) {
+			return null;
+		}
+		File file = new File(linkConfiguration.getSnapshotFolder() + File.separator + SYNC_STATE_FILE_NAME);
+		if (!file.exists()) {
+			return null;
+		}
+		Properties result = new Properties();
+		try (InputStream is = new FileInputStream(file)) {
+			result.load(is);
+		} catch (IOException | IllegalArgumentException ex) {
+			log.error("Failed to load synchronization state from file '{}'", file.getAbsolutePath(), ex);
+			return null;
+		}
+		return result;
+	}
+
+	public boolean writeSyncState(LinkConfiguration linkConfiguration, Properties syncState) {
+		if (!prepareSnapshotsFolder(linkConfiguration)) {
+			return false;
+		}
+		File file = new File(linkConfiguration.getSnapshotFolder() + File.separator + SYNC_STATE_FILE_NAME);
+		try (OutputStream os = new FileOutputStream(file)) {
+			syncState.store(os, "jans-link synchronization state");
+		} catch (IOException ex) {
+			log.error("Failed to write synchronization state to file '{}'", file.getAbsolutePath(), ex);
+			return false;
+		}
+		return true;
+	}
+
 }
@@ -0,0 +1,129 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.link.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import io.jans.link.model.GluuSimplePerson;
+import io.jans.link.model.config.shared.LinkConfiguration;
+
+public class BaseJansLinkTimerTest {
+
+	private final BaseJansLinkTimer linkTimer = new BaseJansLinkTimer() {
+	};
+
+	@Test
+	public void incrementalSnapshotShouldKeepPreviousHashCodesOfFailedEntries() {
+		Map<String, Integer> prev = new HashMap<String, Integer>();
+		prev.put("a", 1);
+		prev.put("b", 2);
+		prev.put("c", 3);
+
+		Map<String, Integer> curr = new HashMap<String, Integer>();
+		curr.put("b", 20);
+		curr.put("c", 30);
+		curr.put("d", 40);
+
+		Map<String, Integer> snapshot = linkTimer.getIncrementalSnapshot(prev, curr, new HashSet<String>(Arrays.asList("c", "d")));
+
+		assertEquals(3, snapshot.size());
+		assertEquals(Integer.valueOf(1), snapshot.get("a"));
+		assertEquals(Integer.valueOf(20), snapshot.get("b"));
+		// Failed entries are detected as changed during next runs
+		assertEquals(Integer.valueOf(3), snapshot.get("c"));
+		assertNull(snapshot.get("d"));
+		// Previous snapshot is not modified
+		assertEquals(Integer.valueOf(2), prev.get("b"));
+	}
+
+	@Test
+	public void incrementalSnapshotShouldBeChangedOnlyByUpdatedEntries() {
+		Map<String, Integer> prev = new HashMap<String, Integer>();
+		prev.put("a", 1);
+		prev.put("b", 2);
+
+		Map<String, Integer> curr = new HashMap<String, Integer>();
+		curr.put("b", 2);
+		curr.put("c", 30);
+
+		assertFalse(linkTimer.isIncrementalSnapshotChanged(prev, curr, new HashSet<String>(Arrays.asList("c"))));
+		assertTrue(linkTimer.isIncrementalSnapshotChanged(prev, curr, new HashSet<String>()));
+
+		curr.put("b", 20);
+		assertTrue(linkTimer.isIncrementalSnapshotChanged(prev, curr, new HashSet<String>(Arrays.asList("c"))));
+	}
+
+	@Test
+	public void changeMarksShouldMoveToLatestValuePerSourceServer() {
+		LinkConfiguration linkConfiguration = createLinkConfiguration("uSNChanged");
+
+		Map<String, String> changeMarks = new HashMap<String, String>();
+		changeMarks.put("server1", "9");
+		changeMarks.put("server2", "50");
+
+		List<GluuSimplePerson> persons = Arrays.asList(person("server1", "10"), person("server1", "8"),
+				person("server2", "40"), person("server2", null));
+		linkTimer.updateChangeMarks(linkConfiguration, persons, changeMarks);
+
+		// Update sequence numbers are compared as numbers
+		assertEquals("10", changeMarks.get("server1"));
+		assertEquals("50", changeMarks.get("server2"));
+
+		// Change tracking attribute doesn't affect entries hash codes
+		for (GluuSimplePerson person : persons) {
+			assertNull(person.getStringAttribute("uSNChanged"));
+			assertFalse(person.getCustomAttributes().isEmpty());
+		}
+	}
+
+	@Test
+	public void changeMarksShouldCompareTimestamps() {
+		LinkConfiguration linkConfiguration = createLinkConfiguration("modifyTimestamp");
+
+		Map<String, String> changeMarks = new HashMap<String, String>();
+		linkTimer.updateChangeMarks(linkConfiguration, Arrays.asList(person("server1", "20260101000000Z", "modifyTimestamp"),
+				person("server1", "20251231235959Z", "modifyTimestamp")), changeMarks);
+
+		assertEquals("20260101000000Z", changeMarks.get("server1"));
+	}
+
+	private LinkConfiguration createLinkConfiguration(String changeTrackingAttribute) {
+		LinkConfiguration linkConfiguration = new LinkConfiguration();
+		linkConfiguration.setIncrementalSync(true);
+		linkConfiguration.setChangeTrackingAttribute(changeTrackingAttribute);
+		linkConfiguration.setSourceAttributes(Arrays.asList("cn", "mail"));
+
+		return linkConfiguration;
+	}
+
+	private GluuSimplePerson person(String sourceServerName, String changeMark) {
+		return person(sourceServerName, changeMark, "uSNChanged");
+	}
+
+	private GluuSimplePerson person(String sourceServerName, String changeMark, String changeTrackingAttribute) {
+		GluuSimplePerson person = new GluuSimplePerson();
+		person.setSourceServerName(sourceServerName);
+		person.setAttribute("cn", "user");
+		if (changeMark != null) {
+			person.setAttribute(changeTrackingAttribute, changeMark);
+		}
+
+		return person;
+	}
+
+}
@@ -105,6 +105,14 @@ public class AppConfiguration implements Configuration {
     @Schema(description = "Enable metric reporter")
     private Boolean metricReporterEnabled;
 
+    @DocProperty(description = "Boolean value specifying whether OpenMetrics endpoint (/metrics) with request and persistence latency histograms is enabled", defaultValue = "false")
+    @Schema(description = "Boolean value specifying whether OpenMetrics endpoint (/metrics) with request and persistence latency histograms is enabled")
+    private boolean openMetricsEnabled = false;
+
+    @DocProperty(description = "IP addresses or CIDR ranges allowed to read OpenMetrics endpoint (/metrics). Loopback addresses are always allowed")
+    @Schema(description = "IP addresses or CIDR ranges allowed to read OpenMetrics endpoint (/metrics). Loopback addresses are always allowed")
+    private List<String> openMetricsAllowedAddresses;
+
     // Period in seconds
     @DocProperty(description = "Time interval for the Clean Service in seconds")
     @Schema(description = "Time interval for the Clean Service in seconds")
@@ -121,6 +129,22 @@ public class AppConfiguration implements Configuration {
     @Schema(description = "Each clean up iteration fetches chunk of expired data per base dn and removes it from storage")
     private int cleanServiceBatchChunkSize;
 
+    @DocProperty(description = "Enable asynchronous batched ingestion of audit entries", defaultValue = "false")
+    @Schema(description = "Enable asynchronous batched ingestion of audit entries")
+    private Boolean auditQueueEnabled = false;
+
+    @DocProperty(description = "Maximum number of audit entries waiting in ingestion queue. Requests above this limit are rejected", defaultValue = "10000")
+    @Schema(description = "Maximum number of audit entries waiting in ingestion queue. Requests above this limit are rejected")
+    private int auditQueueCapacity = 10000;
+
+    @DocProperty(description = "Maximum number of audit entries written in one batch", defaultValue = "100")
+    @Schema(description = "Maximum number of audit entries written in one batch")
+    private int auditQueueBatchSize = 100;
+
+    @DocProperty(description = "Maximum time in milliseconds to wait for a full batch before writing collected audit entries", defaultValue = "500")
+    @Schema(description = "Maximum time in milliseconds to wait for a full batch before writing collected audit entries")
+    private int auditQueueMaxLingerInMillis = 500;
+
     public String getBaseDN() {
         return baseDN;
     }
@@ -311,6 +335,22 @@ public class AppConfiguration implements Configuration {
         this.metricReporterEnabled = metricReporterEnabled;
     }
 
+    public boolean isOpenMetricsEnabled() {
+        return openMetricsEnabled;
+    }
+
+    public void setOpenMetricsEnabled(boolean openMetricsEnabled) {
+        this.openMetricsEnabled = openMetricsEnabled;
+    }
+
+    public List<String> getOpenMetricsAllowedAddresses() {
+        return openMetricsAllowedAddresses;
+    }
+
+    public void setOpenMetricsAllowedAddresses(List<String> openMetricsAllowedAddresses) {
+        this.openMetricsAllowedAddresses = openMetricsAllowedAddresses;
+    }
+
     public int getCleanServiceInterval() {
         return cleanServiceInterval;
     }
@@ -352,6 +392,40 @@ public class AppConfiguration implements Configuration {
         this.cleanServiceBatchChunkSize = cleanServiceBatchChunkSize;
     }
 
+    public Boolean getAuditQueueEnabled() {
+        if (auditQueueEnabled == null)
+            auditQueueEnabled = false;
+        return auditQueueEnabled;
+    }
+
+    public void setAuditQueueEnabled(Boolean auditQueueEnabled) {
+        this.auditQueueEnabled = auditQueueEnabled;
+    }
+
+    public int getAuditQueueCapacity() {
+        return auditQueueCapacity;
+    }
+
+    public void setAuditQueueCapacity(int auditQueueCapacity) {
+        this.auditQueueCapacity = auditQueueCapacity;
+    }
+
+    public int getAuditQueueBatchSize() {
+        return auditQueueBatchSize;
+    }
+
+    public void setAuditQueueBatchSize(int auditQueueBatchSize) {
+        this.auditQueueBatchSize = auditQueueBatchSize;
+    }
+
+    public int getAuditQueueMaxLingerInMillis() {
+        return auditQueueMaxLingerInMillis;
+    }
+
+    public void setAuditQueueMaxLingerInMillis(int auditQueueMaxLingerInMillis) {
+        this.auditQueueMaxLingerInMillis = auditQueueMaxLingerInMillis;
+    }
+
     @Override
 	public String toString() {
 		return "AppConfiguration [baseDN=" + baseDN + ", baseEndpoint=" + baseEndpoint + ", openIdIssuer="
@@ -362,9 +436,12 @@ public class AppConfiguration implements Configuration {
 				+ disableJdkLogger + ", loggingLevel=" + loggingLevel + ", loggingLayout=" + loggingLayout
 				+ ", externalLoggerConfiguration=" + externalLoggerConfiguration + ", metricReporterInterval="
 				+ metricReporterInterval + ", metricReporterKeepDataDays=" + metricReporterKeepDataDays
-				+ ", metricReporterEnabled=" + metricReporterEnabled + ", cleanServiceInterval=" + cleanServiceInterval
+				+ ", metricReporterEnabled=" + metricReporterEnabled + ", openMetricsEnabled=" + openMetricsEnabled
+				+ ", openMetricsAllowedAddresses=" + openMetricsAllowedAddresses + ", cleanServiceInterval=" + cleanServiceInterval
 				+ ", messageConsumerType=" + messageConsumerType + ", errorReasonEnabled=" + errorReasonEnabled
-				+ ", cleanServiceBatchChunkSize=" + cleanServiceBatchChunkSize + "]";
+				+ ", cleanServiceBatchChunkSize=" + cleanServiceBatchChunkSize + ", auditQueueEnabled=" + auditQueueEnabled
+				+ ", auditQueueCapacity=" + auditQueueCapacity + ", auditQueueBatchSize=" + auditQueueBatchSize
+				+ ", auditQueueMaxLingerInMillis=" + auditQueueMaxLingerInMillis + "]";
 	}
 
 }
\ No newline at end of file
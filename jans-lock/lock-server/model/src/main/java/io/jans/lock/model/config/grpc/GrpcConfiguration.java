@@ -41,6 +41,14 @@ public class GrpcConfiguration {
 	@Schema(description = "TLS Private Key File Path")
     private String tlsPrivateKeyFilePath; // PEM private key file
 
+	@DocProperty(description = "Number of entries after which streaming audit call sends acknowledgement", defaultValue = "1000")
+	@Schema(description = "Number of entries after which streaming audit call sends acknowledgement")
+	private int streamAckEntries = 1000;
+
+	@DocProperty(description = "Max time in milliseconds between acknowledgements of streaming audit call", defaultValue = "1000")
+	@Schema(description = "Max time in milliseconds between acknowledgements of streaming audit call")
+	private int streamAckIntervalInMillis = 1000;
+
 	public GrpcServerMode getServerMode() {
 		return serverMode;
 	}
@@ -81,10 +89,27 @@ public class GrpcConfiguration {
 		this.tlsPrivateKeyFilePath = tlsPrivateKeyFilePath;
 	}
 
+	public int getStreamAckEntries() {
+		return streamAckEntries;
+	}
+
+	public void setStreamAckEntries(int streamAckEntries) {
+		this.streamAckEntries = streamAckEntries;
+	}
+
+	public int getStreamAckIntervalInMillis() {
+		return streamAckIntervalInMillis;
+	}
+
+	public void setStreamAckIntervalInMillis(int streamAckIntervalInMillis) {
+		this.streamAckIntervalInMillis = streamAckIntervalInMillis;
+	}
+
 	@Override
 	public String toString() {
 		return "GrpcConfiguration [serverMode=" + serverMode + ", grpcPort=" + grpcPort + ", useTls=" + useTls
 				+ ", tlsCertChainFilePath=" + tlsCertChainFilePath + ", tlsPrivateKeyFilePath=" + tlsPrivateKeyFilePath
+				+ ", streamAckEntries=" + streamAckEntries + ", streamAckIntervalInMillis=" + streamAckIntervalInMillis
 				+ "]";
 	}
 
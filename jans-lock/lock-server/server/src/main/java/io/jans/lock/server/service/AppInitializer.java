@@ -176,6 +176,11 @@ public class AppInitializer {
 
         // Initialize Document Store Manager
         documentStoreManager.initTimer(Arrays.asList(DOCUMENT_STORE_MANAGER_JANS_LOCK_TYPE));
+
+        // Initialize metrics exposed via OpenMetrics endpoint
+        if (configurationFactory.getAppConfiguration().isOpenMetricsEnabled()) {
+            metricService.initTimer();
+        }
         
 		// Notify plugins about finish application initialization 
 		eventApplicationInitialized.select(ApplicationInitialized.Literal.APPLICATION)
@@ -0,0 +1,37 @@
+/*
+ * Copyright [2024] [Janssen Project]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jans.lock.server.service;
+
+import io.jans.service.metric.http.BaseLatencyMetricFilter;
+import jakarta.inject.Inject;
+import jakarta.servlet.annotation.WebFilter;
+
+/**
+ * Records request processing time per endpoint in latency metrics
+ */
+@WebFilter(filterName = "LatencyMetricFilter", asyncSupported = true, urlPatterns = {"/*"})
+public class LatencyMetricFilter extends BaseLatencyMetricFilter {
+
+	@Inject
+	private MetricService metricService;
+
+	@Override
+	protected MetricService getMetricService() {
+		return metricService;
+	}
+
+}
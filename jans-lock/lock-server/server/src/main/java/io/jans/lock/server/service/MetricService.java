@@ -16,6 +16,9 @@
 
 package io.jans.lock.server.service;
 
+import java.util.Collections;
+import java.util.List;
+
 import io.jans.lock.model.config.AppConfiguration;
 import io.jans.lock.model.config.StaticConfiguration;
 import io.jans.model.ApplicationType;
@@ -80,6 +83,17 @@ public class MetricService extends io.jans.service.metric.MetricService {
 		return this.appConfiguration.getMetricReporterEnabled();
 	}
 
+	@Override
+	public boolean isLatencyMetricsEnabled() {
+		return this.appConfiguration.isOpenMetricsEnabled();
+	}
+
+	@Override
+	public List<String> getOpenMetricsAllowedAddresses() {
+		List<String> allowedAddresses = this.appConfiguration.getOpenMetricsAllowedAddresses();
+		return (allowedAddresses == null) ? Collections.emptyList() : allowedAddresses;
+	}
+
 	@Override
 	public String getString() {
 		return ApplicationType.JANS_LOCK.getValue();
@@ -1,5 +1,7 @@
 package io.jans.lock.service;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 import io.jans.lock.model.audit.HealthEntry;
@@ -7,6 +9,7 @@ import io.jans.lock.model.audit.LogEntry;
 import io.jans.lock.model.audit.TelemetryEntry;
 import io.jans.lock.model.config.StaticConfiguration;
 import io.jans.orm.PersistenceEntryManager;
+import io.jans.orm.model.EntryBatchResult;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
@@ -85,6 +88,75 @@ public class AuditService {
 		persistenceEntryManager.persist(healthEntry);
 	}
 
+	/**
+	 * Persists a batch of log entries with one multi-entry persistence operation. Null entries are skipped.
+	 * Random inums are not checked for existence, an unlikely collision is reported as failed entry in result.
+	 *
+	 * @param logEntries the log entries to assign identifiers to and persist
+	 * @return result with entries which failed to persist
+	 */
+	public EntryBatchResult addLogEntries(List<LogEntry> logEntries) {
+		List<LogEntry> entries = new ArrayList<>(logEntries.size());
+		for (LogEntry logEntry : logEntries) {
+			if (logEntry == null) {
+				continue;
+			}
+
+			String inum = this.generateId();
+			logEntry.setInum(inum);
+			logEntry.setDn(this.getDnForLogEntry(inum));
+			entries.add(logEntry);
+		}
+
+		return persistenceEntryManager.persistEntries(entries);
+	}
+
+	/**
+	 * Persists a batch of telemetry entries with one multi-entry persistence operation. Null entries are skipped.
+	 * Inums are generated as in {@link #addLogEntries(List)}.
+	 *
+	 * @param telemetryEntries the telemetry entries to assign identifiers to and persist
+	 * @return result with entries which failed to persist
+	 */
+	public EntryBatchResult addTelemetryEntries(List<TelemetryEntry> telemetryEntries) {
+		List<TelemetryEntry> entries = new ArrayList<>(telemetryEntries.size());
+		for (TelemetryEntry telemetryEntry : telemetryEntries) {
+			if (telemetryEntry == null) {
+				continue;
+			}
+
+			String inum = this.generateId();
+			telemetryEntry.setInum(inum);
+			telemetryEntry.setDn(this.getDnForTelemetryEntry(inum));
+			entries.add(telemetryEntry);
+		}
+
+		return persistenceEntryManager.persistEntries(entries);
+	}
+
+	/**
+	 * Persists a batch of health entries with one multi-entry persistence operation. Null entries are skipped.
+	 * Inums are generated as in {@link #addLogEntries(List)}.
+	 *
+	 * @param healthEntries the health entries to assign identifiers to and persist
+	 * @return result with entries which failed to persist
+	 */
+	public EntryBatchResult addHealthEntries(List<HealthEntry> healthEntries) {
+		List<HealthEntry> entries = new ArrayList<>(healthEntries.size());
+		for (HealthEntry healthEntry : healthEntries) {
+			if (healthEntry == null) {
+				continue;
+			}
+
+			String inum = this.generateId();
+			healthEntry.setInum(inum);
+			healthEntry.setDn(this.getDnForHealthEntry(inum));
+			entries.add(healthEntry);
+		}
+
+		return persistenceEntryManager.persistEntries(entries);
+	}
+
 	/**
 	 * Builds the Distinguished Name (DN) for a log entry using the provided inum.
 	 *
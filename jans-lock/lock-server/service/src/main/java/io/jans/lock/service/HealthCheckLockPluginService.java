@@ -1,5 +1,6 @@
 package io.jans.lock.service;
 
+import io.jans.lock.service.audit.AuditIngestionService;
 import io.jans.lock.service.config.ConfigurationFactory;
 import io.jans.orm.PersistenceEntryManager;
 import io.jans.service.HealthCheckPluginService;
@@ -17,10 +18,18 @@ public class HealthCheckLockPluginService implements HealthCheckPluginService {
 	@Inject
 	private PersistenceEntryManager persistenceEntryManager;
 
+	@Inject
+	private AuditIngestionService auditIngestionService;
+
 	@Override
 	public String provideHealthCheckData() {
     	boolean isConnected = persistenceEntryManager.getOperationService().isConnected();
     	String dbStatus = isConnected ? "online" : "offline"; 
+    	if (auditIngestionService.isEnabled()) {
+    		return "{\"status\": \"running\", \"db_status\":\"" + dbStatus + "\", \"audit_queue\": "
+    				+ auditIngestionService.getMetricsAsJson() + "}";
+    	}
+
         return "{\"status\": \"running\", \"db_status\":\"" + dbStatus + "\"}";
 	}
 
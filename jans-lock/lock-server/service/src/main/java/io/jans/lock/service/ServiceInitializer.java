@@ -18,6 +18,7 @@ package io.jans.lock.service;
 
 import org.slf4j.Logger;
 
+import io.jans.lock.service.audit.AuditIngestionService;
 import io.jans.lock.service.config.ConfigurationFactory;
 import io.jans.lock.service.grpc.server.GrpcServerStarter;
 import io.jans.service.cdi.event.ApplicationInitializedEvent;
@@ -43,10 +44,14 @@ public class ServiceInitializer {
 	@Inject
     private GrpcServerStarter grpcServerStarter;
 
+	@Inject
+    private AuditIngestionService auditIngestionService;
+
 	public void applicationInitialized(@Observes ApplicationInitializedEvent applicationInitializedEvent) {
 		log.info("Initializing Lock service module services");
 
 		configurationFactory.initTimer();
+		auditIngestionService.initWorker();
 		grpcServerStarter.initGrpcServer();
 
 		log.debug("Initializing Lock service module services complete");
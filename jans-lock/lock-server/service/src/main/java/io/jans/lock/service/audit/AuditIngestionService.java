@@ -0,0 +1,330 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2025, Janssen Project
+ */
+
+package io.jans.lock.service.audit;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.http.entity.ContentType;
+import org.slf4j.Logger;
+
+import io.jans.lock.model.AuditEndpointType;
+import io.jans.lock.model.audit.HealthEntry;
+import io.jans.lock.model.audit.LogEntry;
+import io.jans.lock.model.audit.TelemetryEntry;
+import io.jans.lock.model.config.AppConfiguration;
+import io.jans.lock.model.config.AuditPersistenceMode;
+import io.jans.lock.service.AuditService;
+import io.jans.orm.model.EntryBatchResult;
+import io.jans.service.JsonService;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Bounded in-memory queue for audit entries. Entries are written by background worker
+ * in batches: up to batch size entries or whatever is collected during max linger time.
+ * When queue is full new entries are rejected and caller should respond with backpressure
+ * status instead of waiting.
+ */
+@ApplicationScoped
+public class AuditIngestionService {
+
+	private static final int IDLE_POLL_INTERVAL_IN_SECONDS = 1;
+	private static final int SHUTDOWN_TIMEOUT_IN_SECONDS = 30;
+
+	@Inject
+	private Logger log;
+
+	@Inject
+	private AppConfiguration appConfiguration;
+
+	@Inject
+	private AuditService auditService;
+
+	@Inject
+	private AuditForwarderService auditForwarderService;
+
+	@Inject
+	private JsonService jsonService;
+
+	private final BlockingQueue<AuditQueueItem> queue = new LinkedBlockingQueue<>();
+	private final AtomicInteger queueSize = new AtomicInteger();
+
+	private final LongAdder acceptedCount = new LongAdder();
+	private final LongAdder rejectedCount = new LongAdder();
+	private final LongAdder writtenCount = new LongAdder();
+	private final LongAdder failedCount = new LongAdder();
+	private final LongAdder batchCount = new LongAdder();
+	private final AtomicLong lastBatchSize = new AtomicLong();
+	private final AtomicLong maxBatchSize = new AtomicLong();
+	private final LongAdder flushTimeInNanos = new LongAdder();
+	private final AtomicLong lastFlushTimeInNanos = new AtomicLong();
+	private final AtomicLong maxFlushTimeInNanos = new AtomicLong();
+
+	private ExecutorService executorService;
+	private volatile boolean running;
+
+	/**
+	 * Starts background worker which writes queued entries.
+	 */
+	public synchronized void initWorker() {
+		if (executorService != null) {
+			return;
+		}
+
+		this.running = true;
+		this.executorService = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "jans-lock-audit-ingestion");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.executorService.execute(this::processQueue);
+
+		log.info("Audit ingestion worker started");
+	}
+
+	/**
+	 * Stops background worker. Entries which are in queue at this moment are written before worker exits.
+	 */
+	@PreDestroy
+	public synchronized void destroy() {
+		if (executorService == null) {
+			return;
+		}
+
+		this.running = false;
+		executorService.shutdown();
+		try {
+			if (!executorService.awaitTermination(SHUTDOWN_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS)) {
+				log.warn("Audit ingestion worker did not terminate, {} entries are lost", queueSize.get());
+				executorService.shutdownNow();
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			executorService.shutdownNow();
+		}
+		this.executorService = null;
+	}
+
+	public boolean isEnabled() {
+		return appConfiguration.getAuditQueueEnabled();
+	}
+
+	/**
+	 * Adds entries to queue. Bulk request is accepted either completely or not at all.
+	 *
+	 * @param requestType the audit endpoint type of request
+	 * @param entries entries to write
+	 * @return false if there is not enough space in queue
+	 */
+	public boolean enqueue(AuditEndpointType requestType, List<?> entries) {
+		int count = entries.size();
+		int capacity = appConfiguration.getAuditQueueCapacity();
+		int size;
+		do {
+			size = queueSize.get();
+			if (size + count > capacity) {
+				rejectedCount.add(count);
+				log.debug("Audit ingestion queue is full, rejecting {} entries, queue size: {}", count, size);
+				return false;
+			}
+		} while (!queueSize.compareAndSet(size, size + count));
+
+		AuditEndpointType bulkType = getBulkType(requestType);
+		for (Object entry : entries) {
+			queue.add(new AuditQueueItem(bulkType, entry));
+		}
+		acceptedCount.add(count);
+
+		return true;
+	}
+
+	private void processQueue() {
+		List<AuditQueueItem> batch = new ArrayList<>();
+		while (running || !queue.isEmpty()) {
+			try {
+				collectBatch(batch);
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				running = false;
+			}
+
+			if (!batch.isEmpty()) {
+				try {
+					flush(batch);
+				} catch (Exception ex) {
+					log.error("Failed to write audit entries batch", ex);
+				} finally {
+					batch.clear();
+				}
+			}
+		}
+	}
+
+	private void collectBatch(List<AuditQueueItem> batch) throws InterruptedException {
+		AuditQueueItem item = queue.poll(IDLE_POLL_INTERVAL_IN_SECONDS, TimeUnit.SECONDS);
+		if (item == null) {
+			return;
+		}
+		batch.add(item);
+
+		int batchSize = Math.max(1, appConfiguration.getAuditQueueBatchSize());
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(appConfiguration.getAuditQueueMaxLingerInMillis());
+		while (batch.size() < batchSize) {
+			long remaining = deadline - System.nanoTime();
+			item = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+			if (item == null) {
+				break;
+			}
+			batch.add(item);
+		}
+		queueSize.addAndGet(-batch.size());
+	}
+
+	/**
+	 * Writes collected entries with one call per entry type.
+	 */
+	@SuppressWarnings("unchecked")
+	protected void flush(List<AuditQueueItem> batch) {
+		long start = System.nanoTime();
+
+		Map<AuditEndpointType, List<Object>> entriesByType = new EnumMap<>(AuditEndpointType.class);
+		for (AuditQueueItem item : batch) {
+			entriesByType.computeIfAbsent(item.getRequestType(), key -> new ArrayList<>()).add(item.getEntry());
+		}
+
+		boolean forward = AuditPersistenceMode.CONFIG_API.equals(appConfiguration.getAuditPersistenceMode());
+		for (Map.Entry<AuditEndpointType, List<Object>> typeEntries : entriesByType.entrySet()) {
+			AuditEndpointType requestType = typeEntries.getKey();
+			List<Object> entries = typeEntries.getValue();
+			try {
+				if (forward) {
+					forward(requestType, entries);
+					writtenCount.add(entries.size());
+				} else {
+					EntryBatchResult result;
+					switch (requestType) {
+					case LOG_BULK:
+						result = auditService.addLogEntries((List<LogEntry>) (List<?>) entries);
+						break;
+					case HEALTH_BULK:
+						result = auditService.addHealthEntries((List<HealthEntry>) (List<?>) entries);
+						break;
+					case TELEMETRY_BULK:
+						result = auditService.addTelemetryEntries((List<TelemetryEntry>) (List<?>) entries);
+						break;
+					default:
+						throw new IllegalArgumentException("Unsupported request type: " + requestType);
+					}
+
+					List<EntryBatchResult.Failure> failures = result.getFailures();
+					writtenCount.add(entries.size() - failures.size());
+					failedCount.add(failures.size());
+					if (!failures.isEmpty()) {
+						log.error("Failed to write {} of {} audit entries of type {}", failures.size(), entries.size(),
+								requestType, failures.get(0).getException());
+					}
+				}
+			} catch (Exception ex) {
+				failedCount.add(entries.size());
+				log.error("Failed to write {} audit entries of type {}", entries.size(), requestType, ex);
+			}
+		}
+
+		long duration = System.nanoTime() - start;
+		batchCount.increment();
+		lastBatchSize.set(batch.size());
+		maxBatchSize.accumulateAndGet(batch.size(), Math::max);
+		flushTimeInNanos.add(duration);
+		lastFlushTimeInNanos.set(duration);
+		maxFlushTimeInNanos.accumulateAndGet(duration, Math::max);
+
+		log.debug("Written audit entries batch, size: {}, time: {} ms", batch.size(), TimeUnit.NANOSECONDS.toMillis(duration));
+	}
+
+	private void forward(AuditEndpointType requestType, List<Object> entries) throws Exception {
+		Response.ResponseBuilder builder = Response.ok();
+		String json = jsonService.objectToJson(entries);
+		String response = auditForwarderService.post(builder, requestType, json, ContentType.APPLICATION_JSON);
+		if (response == null) {
+			throw new IllegalStateException("Config API rejected audit entries, status: " + builder.build().getStatus());
+		}
+	}
+
+	private static AuditEndpointType getBulkType(AuditEndpointType requestType) {
+		switch (requestType) {
+		case LOG:
+			return AuditEndpointType.LOG_BULK;
+		case HEALTH:
+			return AuditEndpointType.HEALTH_BULK;
+		case TELEMETRY:
+			return AuditEndpointType.TELEMETRY_BULK;
+		default:
+			return requestType;
+		}
+	}
+
+	public int getQueueSize() {
+		return queueSize.get();
+	}
+
+	/**
+	 * Returns queue depth, batch size and flush latency statistics in JSON format.
+	 */
+	public String getMetricsAsJson() {
+		long batches = batchCount.sum();
+		long written = writtenCount.sum();
+		long failed = failedCount.sum();
+
+		return "{\"queue_size\": " + queueSize.get()
+				+ ", \"queue_capacity\": " + appConfiguration.getAuditQueueCapacity()
+				+ ", \"accepted\": " + acceptedCount.sum()
+				+ ", \"rejected\": " + rejectedCount.sum()
+				+ ", \"written\": " + written
+				+ ", \"failed\": " + failed
+				+ ", \"batches\": " + batches
+				+ ", \"last_batch_size\": " + lastBatchSize.get()
+				+ ", \"max_batch_size\": " + maxBatchSize.get()
+				+ ", \"avg_batch_size\": " + (batches == 0 ? 0 : (written + failed) / batches)
+				+ ", \"last_flush_time_ms\": " + TimeUnit.NANOSECONDS.toMillis(lastFlushTimeInNanos.get())
+				+ ", \"max_flush_time_ms\": " + TimeUnit.NANOSECONDS.toMillis(maxFlushTimeInNanos.get())
+				+ ", \"avg_flush_time_ms\": " + (batches == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(flushTimeInNanos.sum() / batches))
+				+ "}";
+	}
+
+	protected static class AuditQueueItem {
+
+		private final AuditEndpointType requestType;
+		private final Object entry;
+
+		public AuditQueueItem(AuditEndpointType requestType, Object entry) {
+			this.requestType = requestType;
+			this.entry = entry;
+		}
+
+		public AuditEndpointType getRequestType() {
+			return requestType;
+		}
+
+		public Object getEntry() {
+			return entry;
+		}
+	}
+
+}
@@ -0,0 +1,224 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2025, Janssen Project
+ */
+
+package io.jans.lock.service.grpc.audit;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import org.slf4j.Logger;
+
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import io.jans.lock.model.audit.grpc.AuditStreamAck;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Request observer of streaming audit call. Inbound flow control is manual: next message is
+ * requested only after previous one was handled. While audit ingestion queue is full message
+ * is retried later and client is held back by HTTP/2 flow control instead of receiving errors.
+ * If client half-closes stream while message waits for retry, stream is completed after retry.
+ */
+public class AuditStreamObserver<T> implements StreamObserver<T> {
+
+    static final long RETRY_DELAY_IN_MILLIS = 100;
+
+    private final Logger log;
+    private final ServerCallStreamObserver<AuditStreamAck> responseObserver;
+    private final Function<T, Response> handler;
+    private final ToIntFunction<T> entriesCounter;
+    private final ScheduledExecutorService retryExecutor;
+    private final int ackEntries;
+    private final long ackIntervalInMillis;
+
+    private long accepted;
+    private long rejected;
+    private long unacknowledged;
+    private long lastAckTime;
+    private String lastMessage = "";
+    private T pendingRetry;
+    private ScheduledFuture<?> ackTask;
+    private boolean completed;
+    private boolean finished;
+
+    public AuditStreamObserver(ServerCallStreamObserver<AuditStreamAck> responseObserver, Function<T, Response> handler,
+            ToIntFunction<T> entriesCounter, ScheduledExecutorService retryExecutor, int ackEntries, long ackIntervalInMillis,
+            Logger log) {
+        this.responseObserver = responseObserver;
+        this.handler = handler;
+        this.entriesCounter = entriesCounter;
+        this.retryExecutor = retryExecutor;
+        this.ackEntries = Math.max(1, ackEntries);
+        this.ackIntervalInMillis = ackIntervalInMillis;
+        this.log = log;
+        this.lastAckTime = System.currentTimeMillis();
+
+        // Should be called before service method returns
+        responseObserver.disableAutoRequest();
+        responseObserver.setOnCancelHandler(this::onCancel);
+        scheduleAck();
+        responseObserver.request(1);
+    }
+
+    @Override
+    public synchronized void onNext(T request) {
+        if (finished) {
+            return;
+        }
+
+        process(request);
+    }
+
+    @Override
+    public synchronized void onError(Throwable t) {
+        log.debug("Audit stream was closed by client with error", t);
+        stop();
+    }
+
+    @Override
+    public synchronized void onCompleted() {
+        if (finished) {
+            return;
+        }
+        completed = true;
+
+        if (pendingRetry == null) {
+            complete();
+        }
+    }
+
+    private synchronized void onCancel() {
+        log.debug("Audit stream was cancelled, accepted: {}, rejected: {}", accepted, rejected);
+        stop();
+    }
+
+    private synchronized void retry(T request) {
+        if (finished || (pendingRetry != request)) {
+            return;
+        }
+
+        process(request);
+    }
+
+    private synchronized void ackIfDue() {
+        if (finished || (unacknowledged == 0)) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        if (now - lastAckTime >= ackIntervalInMillis) {
+            sendAck(now);
+        }
+    }
+
+    private void process(T request) {
+        Response restResponse;
+        try {
+            restResponse = handler.apply(request);
+        } catch (Exception ex) {
+            log.error("Error processing audit stream request", ex);
+            finish(Status.INTERNAL.withDescription(ex.getMessage()).withCause(ex));
+            return;
+        }
+
+        int status = restResponse.getStatus();
+        if (status == Response.Status.TOO_MANY_REQUESTS.getStatusCode()) {
+            // Don't request next message until this one is accepted
+            scheduleRetry(request);
+            return;
+        }
+        pendingRetry = null;
+
+        int count = entriesCounter.applyAsInt(request);
+        if (status >= 200 && status < 300) {
+            accepted += count;
+        } else {
+            rejected += count;
+            lastMessage = restResponse.getEntity() != null ? restResponse.getEntity().toString() : "";
+        }
+        unacknowledged += count;
+
+        if (completed) {
+            // Client half-closed stream while this message waited for retry
+            complete();
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        if ((unacknowledged >= ackEntries) || (now - lastAckTime >= ackIntervalInMillis)) {
+            sendAck(now);
+        }
+
+        responseObserver.request(1);
+    }
+
+    private void scheduleRetry(T request) {
+        pendingRetry = request;
+        try {
+            retryExecutor.schedule(() -> retry(request), RETRY_DELAY_IN_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ex) {
+            finish(Status.UNAVAILABLE.withDescription("Server is shutting down"));
+        }
+    }
+
+    private void scheduleAck() {
+        if (ackIntervalInMillis <= 0) {
+            return;
+        }
+
+        try {
+            ackTask = retryExecutor.scheduleWithFixedDelay(this::ackIfDue, ackIntervalInMillis, ackIntervalInMillis,
+                    TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ex) {
+            log.debug("Failed to schedule periodic audit stream acknowledgement", ex);
+        }
+    }
+
+    private void sendAck(long now) {
+        if (responseObserver.isCancelled()) {
+            return;
+        }
+
+        responseObserver.onNext(AuditStreamAck.newBuilder()
+                .setAccepted(accepted)
+                .setRejected(rejected)
+                .setMessage(lastMessage)
+                .build());
+        unacknowledged = 0;
+        lastAckTime = now;
+    }
+
+    private void complete() {
+        stop();
+
+        sendAck(System.currentTimeMillis());
+        if (!responseObserver.isCancelled()) {
+            responseObserver.onCompleted();
+        }
+    }
+
+    private void finish(Status status) {
+        stop();
+        if (!responseObserver.isCancelled()) {
+            responseObserver.onError(status.asRuntimeException());
+        }
+    }
+
+    private void stop() {
+        finished = true;
+        pendingRetry = null;
+        if (ackTask != null) {
+            ackTask.cancel(false);
+            ackTask = null;
+        }
+    }
+
+}
@@ -6,17 +6,25 @@
 
 package io.jans.lock.service.grpc.audit;
 
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import io.jans.lock.model.audit.HealthEntry;
 import io.jans.lock.model.audit.LogEntry;
 import io.jans.lock.model.audit.TelemetryEntry;
 import io.jans.lock.model.audit.grpc.*;
+import io.jans.lock.model.config.AppConfiguration;
+import io.jans.lock.model.config.grpc.GrpcConfiguration;
 import io.jans.lock.service.ws.rs.audit.AuditRestWebService;
 import jakarta.ws.rs.core.Response;
 import org.slf4j.Logger;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
 
 /**
  * gRPC service implementation for Audit operations.
@@ -33,21 +41,38 @@ public class GrpcAuditServiceImpl extends AuditServiceGrpc.AuditServiceImplBase
     private final Logger log;
     private final AuditRestWebService auditRestWebService;
     private final GrpcToJavaMapper mapper;
+    private final AppConfiguration appConfiguration;
+    private final ScheduledExecutorService streamRetryExecutor;
 
     /**
      * Constructor for manual instantiation (not CDI).
      * 
      * @param auditRestWebService REST service to delegate to
      * @param mapper mapper for proto to Java conversion
+     * @param appConfiguration application configuration
      * @param log logger instance
      */
     public GrpcAuditServiceImpl(
             AuditRestWebService auditRestWebService,
             GrpcToJavaMapper mapper,
+            AppConfiguration appConfiguration,
             Logger log) {
         this.auditRestWebService = auditRestWebService;
         this.mapper = mapper;
+        this.appConfiguration = appConfiguration;
         this.log = log;
+        this.streamRetryExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jans-lock-grpc-stream-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Stop executor which resumes streams paused by full ingestion queue.
+     */
+    public void destroy() {
+        streamRetryExecutor.shutdownNow();
     }
 
     @Override
@@ -59,9 +84,7 @@ public class GrpcAuditServiceImpl extends AuditServiceGrpc.AuditServiceImplBase
             HealthEntry healthEntry = mapper.toHealthEntry(request.getEntry());
             Response restResponse = auditRestWebService.processHealthRequest(healthEntry, null, null);
 
-            AuditResponse grpcResponse = buildAuditResponse(restResponse);
-            responseObserver.onNext(grpcResponse);
-            responseObserver.onCompleted();
+            sendAuditResponse(restResponse, responseObserver);
         } catch (Exception e) {
             log.error("Error processing health request", e);
             responseObserver.onError(e);
@@ -81,9 +104,7 @@ public class GrpcAuditServiceImpl extends AuditServiceGrpc.AuditServiceImplBase
 
             Response restResponse = auditRestWebService.processBulkHealthRequest(healthEntries, null, null);
 
-            AuditResponse grpcResponse = buildAuditResponse(restResponse);
-            responseObserver.onNext(grpcResponse);
-            responseObserver.onCompleted();
+            sendAuditResponse(restResponse, responseObserver);
         } catch (Exception e) {
             log.error("Error processing bulk health request", e);
             responseObserver.onError(e);
@@ -99,9 +120,7 @@ public class GrpcAuditServiceImpl extends AuditServiceGrpc.AuditServiceImplBase
             LogEntry logEntry = mapper.toLogEntry(request.getEntry());
             Response restResponse = auditRestWebService.processLogRequest(logEntry, null, null);
 
-            AuditResponse grpcResponse = buildAuditResponse(restResponse);
-            responseObserver.onNext(grpcResponse);
-            responseObserver.onCompleted();
+            sendAuditResponse(restResponse, responseObserver);
         } catch (Exception e) {
             log.error("Error processing log request", e);
             responseObserver.onError(e);
@@ -121,9 +140,7 @@ public class GrpcAuditServiceImpl extends AuditServiceGrpc.AuditServiceImplBase
 
             Response restResponse = auditRestWebService.processBulkLogRequest(logEntries, null, null);
 
-            AuditResponse grpcResponse = buildAuditResponse(restResponse);
-            responseObserver.onNext(grpcResponse);
-            responseObserver.onCompleted();
+            sendAuditResponse(restResponse, responseObserver);
         } catch (Exception e) {
             log.error("Error processing bulk log request", e);
             responseObserver.onError(e);
@@ -139,9 +156,7 @@ public class GrpcAuditServiceImpl extends AuditServiceGrpc.AuditServiceImplBase
             TelemetryEntry telemetryEntry = mapper.toTelemetryEntry(request.getEntry());
             Response restResponse = auditRestWebService.processTelemetryRequest(telemetryEntry, null, null);
 
-            AuditResponse grpcResponse = buildAuditResponse(restResponse);
-            responseObserver.onNext(grpcResponse);
-            responseObserver.onCompleted();
+            sendAuditResponse(restResponse, responseObserver);
         } catch (Exception e) {
             log.error("Error processing telemetry request", e);
             responseObserver.onError(e);
@@ -161,15 +176,83 @@ public class GrpcAuditServiceImpl extends AuditServiceGrpc.AuditServiceImplBase
 
             Response restResponse = auditRestWebService.processBulkTelemetryRequest(telemetryEntries, null, null);
 
-            AuditResponse grpcResponse = buildAuditResponse(restResponse);
-            responseObserver.onNext(grpcResponse);
-            responseObserver.onCompleted();
+            sendAuditResponse(restResponse, responseObserver);
         } catch (Exception e) {
             log.error("Error processing bulk telemetry request", e);
             responseObserver.onError(e);
         }
     }
 
+    @Override
+    public StreamObserver<BulkHealthRequest> streamHealth(StreamObserver<AuditStreamAck> responseObserver) {
+        log.info("gRPC streamHealth called");
+
+        return createStreamObserver(responseObserver, request -> {
+            List<HealthEntry> healthEntries = new ArrayList<>();
+            for (io.jans.lock.model.audit.grpc.HealthEntry grpcEntry : request.getEntriesList()) {
+                healthEntries.add(mapper.toHealthEntry(grpcEntry));
+            }
+
+            return auditRestWebService.processBulkHealthRequest(healthEntries, null, null);
+        }, BulkHealthRequest::getEntriesCount);
+    }
+
+    @Override
+    public StreamObserver<BulkLogRequest> streamLog(StreamObserver<AuditStreamAck> responseObserver) {
+        log.info("gRPC streamLog called");
+
+        return createStreamObserver(responseObserver, request -> {
+            List<LogEntry> logEntries = new ArrayList<>();
+            for (io.jans.lock.model.audit.grpc.LogEntry grpcEntry : request.getEntriesList()) {
+                logEntries.add(mapper.toLogEntry(grpcEntry));
+            }
+
+            return auditRestWebService.processBulkLogRequest(logEntries, null, null);
+        }, BulkLogRequest::getEntriesCount);
+    }
+
+    @Override
+    public StreamObserver<BulkTelemetryRequest> streamTelemetry(StreamObserver<AuditStreamAck> responseObserver) {
+        log.info("gRPC streamTelemetry called");
+
+        return createStreamObserver(responseObserver, request -> {
+            List<TelemetryEntry> telemetryEntries = new ArrayList<>();
+            for (io.jans.lock.model.audit.grpc.TelemetryEntry grpcEntry : request.getEntriesList()) {
+                telemetryEntries.add(mapper.toTelemetryEntry(grpcEntry));
+            }
+
+            return auditRestWebService.processBulkTelemetryRequest(telemetryEntries, null, null);
+        }, BulkTelemetryRequest::getEntriesCount);
+    }
+
+    private <T> StreamObserver<T> createStreamObserver(StreamObserver<AuditStreamAck> responseObserver,
+            Function<T, Response> handler, ToIntFunction<T> entriesCounter) {
+        GrpcConfiguration grpcConfiguration = appConfiguration.getGrpcConfiguration();
+        int ackEntries = grpcConfiguration != null ? grpcConfiguration.getStreamAckEntries() : 1000;
+        int ackIntervalInMillis = grpcConfiguration != null ? grpcConfiguration.getStreamAckIntervalInMillis() : 1000;
+
+        return new AuditStreamObserver<>((ServerCallStreamObserver<AuditStreamAck>) responseObserver, handler,
+                entriesCounter, streamRetryExecutor, ackEntries, ackIntervalInMillis, log);
+    }
+
+    /**
+     * Send JAX-RS Response to gRPC client. Rejection because of full ingestion queue is
+     * reported as RESOURCE_EXHAUSTED status so that client can back off.
+     *
+     * @param restResponse the JAX-RS response
+     * @param responseObserver the gRPC response observer
+     */
+    private void sendAuditResponse(Response restResponse, StreamObserver<AuditResponse> responseObserver) {
+        if (restResponse.getStatus() == Response.Status.TOO_MANY_REQUESTS.getStatusCode()) {
+            String message = restResponse.getEntity() != null ? restResponse.getEntity().toString() : "";
+            responseObserver.onError(Status.RESOURCE_EXHAUSTED.withDescription(message).asRuntimeException());
+            return;
+        }
+
+        responseObserver.onNext(buildAuditResponse(restResponse));
+        responseObserver.onCompleted();
+    }
+
     /**
      * Build gRPC AuditResponse from JAX-RS Response.
      *
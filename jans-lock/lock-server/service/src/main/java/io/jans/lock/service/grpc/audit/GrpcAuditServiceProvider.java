@@ -8,8 +8,10 @@ package io.jans.lock.service.grpc.audit;
 
 import org.slf4j.Logger;
 
+import io.jans.lock.model.config.AppConfiguration;
 import io.jans.lock.service.ws.rs.audit.AuditRestWebService;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
@@ -34,6 +36,9 @@ public class GrpcAuditServiceProvider {
     @Inject
     private GrpcToJavaMapper mapper;
 
+    @Inject
+    private AppConfiguration appConfiguration;
+
     private GrpcAuditServiceImpl grpcAuditService;
 
     @PostConstruct
@@ -42,11 +47,18 @@ public class GrpcAuditServiceProvider {
         
         // Create the gRPC service implementation
         // This avoids CDI trying to proxy the class with final methods
-        grpcAuditService = new GrpcAuditServiceImpl(auditRestWebService, mapper, log);
+        grpcAuditService = new GrpcAuditServiceImpl(auditRestWebService, mapper, appConfiguration, log);
         
         log.info("GrpcAuditServiceImpl created successfully");
     }
 
+    @PreDestroy
+    public void destroy() {
+        if (grpcAuditService != null) {
+            grpcAuditService.destroy();
+        }
+    }
+
     /**
      * Get the gRPC audit service instance.
      * 
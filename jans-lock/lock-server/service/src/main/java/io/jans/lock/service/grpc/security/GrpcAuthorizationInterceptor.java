@@ -9,6 +9,7 @@ package io.jans.lock.service.grpc.security;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Method;
+import java.util.Map;
 import java.util.Optional;
 
 import org.apache.commons.lang3.StringUtils;
@@ -47,6 +48,11 @@ import jakarta.ws.rs.core.Response;
 @ApplicationScoped
 public class GrpcAuthorizationInterceptor implements ServerInterceptor {
 
+    private static final Map<String, String> STREAM_TO_BULK_METHODS = Map.of(
+            "StreamHealth", "ProcessBulkHealth",
+            "StreamLog", "ProcessBulkLog",
+            "StreamTelemetry", "ProcessBulkTelemetry");
+
     @Inject
     private Logger log;
 
@@ -172,6 +178,9 @@ public class GrpcAuthorizationInterceptor implements ServerInterceptor {
         }
 
         String method = parts[1];
+
+        // Streaming methods require same access as corresponding bulk methods
+        method = STREAM_TO_BULK_METHODS.getOrDefault(method, method);
         
         // Map gRPC methods to ResourceInfo (same as REST API)
         Optional<ResourceInfo> resourceInfo = getProtectionApiMethod(AuditRestWebService.class, method);
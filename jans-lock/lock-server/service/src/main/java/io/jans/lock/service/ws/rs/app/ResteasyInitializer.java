@@ -27,6 +27,7 @@ import io.jans.lock.service.ws.rs.policy.PolicyRestWebServiceImpl;
 import io.jans.lock.service.ws.rs.stat.StatRestWebServiceImpl;
 import io.jans.lock.util.ApiAccessConstants;
 import io.jans.lock.util.Constants;
+import io.jans.service.metric.http.LatencyMetricEndpointFilter;
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.enums.SecuritySchemeType;
 import io.swagger.v3.oas.annotations.info.Contact;
@@ -84,6 +85,7 @@ public class ResteasyInitializer extends Application {
 
 		classes.add(CedarlingAuthorizationProcessingFilter.class);
 		classes.add(AuthorizationProcessingFilter.class);
+		classes.add(LatencyMetricEndpointFilter.class);
 
 		return classes;
 	}
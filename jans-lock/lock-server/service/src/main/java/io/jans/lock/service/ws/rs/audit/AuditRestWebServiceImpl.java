@@ -16,6 +16,7 @@
 
 package io.jans.lock.service.ws.rs.audit;
 
+import java.util.Collections;
 import java.util.List;
 
 import org.apache.http.entity.ContentType;
@@ -33,6 +34,7 @@ import io.jans.lock.model.config.AuditPersistenceMode;
 import io.jans.lock.service.AuditService;
 import io.jans.lock.service.app.audit.ApplicationAuditLogger;
 import io.jans.lock.service.audit.AuditForwarderService;
+import io.jans.lock.service.audit.AuditIngestionService;
 import io.jans.lock.service.stat.StatService;
 import io.jans.lock.service.ws.rs.base.BaseResource;
 import io.jans.lock.util.ServerUtil;
@@ -41,6 +43,7 @@ import io.jans.service.JsonService;
 import jakarta.enterprise.context.Dependent;
 import jakarta.inject.Inject;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.ResponseBuilder;
 import jakarta.ws.rs.core.Response.Status;
@@ -60,6 +63,8 @@ public class AuditRestWebServiceImpl extends BaseResource implements AuditRestWe
 	private static final String LOG_DECISION_RESULT_ALLOW = "allow";
 	private static final String LOG_DECISION_RESULT_DENY = "deny";
 
+	private static final String RETRY_AFTER_IN_SECONDS = "1";
+
 	@Inject
 	private Logger log;
 
@@ -75,6 +80,9 @@ public class AuditRestWebServiceImpl extends BaseResource implements AuditRestWe
 	@Inject
 	private AuditService auditService;
 
+	@Inject
+	private AuditIngestionService auditIngestionService;
+
 	@Inject
 	private StatService statService;
 
@@ -284,7 +292,9 @@ public class AuditRestWebServiceImpl extends BaseResource implements AuditRestWe
 
 		try {
 			String response;
-			if (AuditPersistenceMode.CONFIG_API.equals(appConfiguration.getAuditPersistenceMode())) {
+			if (auditIngestionService.isEnabled()) {
+				response = queueAuditData(builder, requestType, Collections.singletonList(entry));
+			} else if (AuditPersistenceMode.CONFIG_API.equals(appConfiguration.getAuditPersistenceMode())) {
 				String json = jsonService.objectToJson(entry);
 				response = auditForwarderService.post(builder, requestType, json, ContentType.APPLICATION_JSON);
 			} else {
@@ -320,7 +330,9 @@ public class AuditRestWebServiceImpl extends BaseResource implements AuditRestWe
 		try {
 			String response;
 
-			if (AuditPersistenceMode.CONFIG_API.equals(appConfiguration.getAuditPersistenceMode())) {
+			if (auditIngestionService.isEnabled()) {
+				response = queueAuditData(builder, requestType, entries);
+			} else if (AuditPersistenceMode.CONFIG_API.equals(appConfiguration.getAuditPersistenceMode())) {
 				String json = jsonService.objectToJson(entries);
 				response = auditForwarderService.post(builder, requestType, json, ContentType.APPLICATION_JSON);
 			} else {
@@ -369,6 +381,25 @@ public class AuditRestWebServiceImpl extends BaseResource implements AuditRestWe
 		}
 	}
 
+	/**
+	 * Add audit entries to ingestion queue. Entries are written asynchronously in batches.
+	 *
+	 * @param builder response builder
+	 * @param requestType the audit endpoint type
+	 * @param entries list of audit entry objects
+	 * @return empty string on success, error message if queue is full
+	 */
+	private String queueAuditData(ResponseBuilder builder, AuditEndpointType requestType, List<?> entries) {
+		if (auditIngestionService.enqueue(requestType, entries)) {
+			return "";
+		}
+
+		log.warn("Audit ingestion queue is full, rejecting {} request with {} entries", requestType, entries.size());
+		builder.status(Status.TOO_MANY_REQUESTS);
+		builder.header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_IN_SECONDS);
+		return "Audit ingestion queue is full";
+	}
+
 	/**
 	 * Persist a single audit entry.
 	 *
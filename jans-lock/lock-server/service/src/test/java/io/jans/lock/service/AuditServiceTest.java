@@ -12,6 +12,7 @@ import io.jans.lock.model.audit.TelemetryEntry;
 import io.jans.lock.model.config.BaseDnConfiguration;
 import io.jans.lock.model.config.StaticConfiguration;
 import io.jans.orm.PersistenceEntryManager;
+import io.jans.orm.model.EntryBatchResult;
 import io.jans.service.OrganizationService;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
@@ -20,6 +21,9 @@ import org.mockito.MockitoAnnotations;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.Arrays;
+import java.util.Collection;
+
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.testng.Assert.*;
@@ -228,6 +232,25 @@ public class AuditServiceTest {
         assertTrue(persistedEntry.getDn().matches("inum=.+,ou=health,ou=audit,o=jans"));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testAddLogEntries_withNullEntry_shouldPersistOthersInOneCall() {
+        LogEntry entry1 = new LogEntry();
+        LogEntry entry2 = new LogEntry();
+        ArgumentCaptor<Collection<?>> captor = ArgumentCaptor.forClass(Collection.class);
+        when(persistenceEntryManager.persistEntries(any())).thenReturn(new EntryBatchResult(2));
+
+        EntryBatchResult result = auditService.addLogEntries(Arrays.asList(entry1, null, entry2));
+
+        assertTrue(result.isSuccess());
+        verify(persistenceEntryManager).persistEntries(captor.capture());
+        verify(persistenceEntryManager, never()).persist(any());
+        verify(persistenceEntryManager, never()).contains(anyString(), any(Class.class));
+        assertEquals(captor.getValue(), Arrays.asList(entry1, entry2));
+        assertNotNull(entry1.getDn());
+        assertNotEquals(entry1.getInum(), entry2.getInum());
+    }
+
     @Test
     public void testGetDnForLogEntry_withSpecialCharacters_shouldHandleCorrectly() {
         String inumWithSpecial = "test-inum-123-abc";
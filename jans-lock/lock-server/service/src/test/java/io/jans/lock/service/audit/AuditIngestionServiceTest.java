@@ -0,0 +1,118 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2025, Janssen Project
+ */
+
+package io.jans.lock.service.audit;
+
+import io.jans.lock.model.AuditEndpointType;
+import io.jans.lock.model.audit.HealthEntry;
+import io.jans.lock.model.audit.LogEntry;
+import io.jans.lock.model.config.AppConfiguration;
+import io.jans.lock.model.config.AuditPersistenceMode;
+import io.jans.lock.service.AuditService;
+import io.jans.orm.model.EntryBatchResult;
+import io.jans.service.JsonService;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.slf4j.Logger;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+/**
+ * Unit tests for AuditIngestionService
+ */
+public class AuditIngestionServiceTest {
+
+    @Mock
+    private Logger log;
+
+    @Mock
+    private AppConfiguration appConfiguration;
+
+    @Mock
+    private AuditService auditService;
+
+    @Mock
+    private AuditForwarderService auditForwarderService;
+
+    @Mock
+    private JsonService jsonService;
+
+    @InjectMocks
+    private AuditIngestionService auditIngestionService;
+
+    @BeforeMethod
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(appConfiguration.getAuditQueueEnabled()).thenReturn(true);
+        when(appConfiguration.getAuditQueueCapacity()).thenReturn(3);
+        when(appConfiguration.getAuditQueueBatchSize()).thenReturn(10);
+        when(appConfiguration.getAuditQueueMaxLingerInMillis()).thenReturn(50);
+        when(appConfiguration.getAuditPersistenceMode()).thenReturn(AuditPersistenceMode.INTERNAL);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        auditIngestionService.destroy();
+    }
+
+    @Test
+    public void testEnqueue_aboveCapacity_shouldRejectWholeRequest() {
+        assertTrue(auditIngestionService.enqueue(AuditEndpointType.LOG, Collections.singletonList(new LogEntry())));
+        assertFalse(auditIngestionService.enqueue(AuditEndpointType.LOG_BULK, Arrays.asList(new LogEntry(), new LogEntry(), new LogEntry())));
+        assertEquals(auditIngestionService.getQueueSize(), 1);
+
+        assertTrue(auditIngestionService.enqueue(AuditEndpointType.LOG_BULK, Arrays.asList(new LogEntry(), new LogEntry())));
+        assertEquals(auditIngestionService.getQueueSize(), 3);
+        assertTrue(auditIngestionService.getMetricsAsJson().contains("\"rejected\": 3"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testWorker_withQueuedEntries_shouldWriteThemInBatchPerType() {
+        LogEntry logEntry1 = new LogEntry();
+        LogEntry logEntry2 = new LogEntry();
+        HealthEntry healthEntry = new HealthEntry();
+        auditIngestionService.enqueue(AuditEndpointType.LOG, Collections.singletonList(logEntry1));
+        auditIngestionService.enqueue(AuditEndpointType.HEALTH, Collections.singletonList(healthEntry));
+        auditIngestionService.enqueue(AuditEndpointType.LOG, Collections.singletonList(logEntry2));
+        when(auditService.addLogEntries(any())).thenReturn(new EntryBatchResult(2));
+        when(auditService.addHealthEntries(any())).thenReturn(new EntryBatchResult(1));
+
+        auditIngestionService.initWorker();
+
+        ArgumentCaptor<List<LogEntry>> captor = ArgumentCaptor.forClass(List.class);
+        verify(auditService, timeout(5000)).addLogEntries(captor.capture());
+        verify(auditService, timeout(5000)).addHealthEntries(Collections.singletonList(healthEntry));
+        verify(auditService, never()).addLogEntry(any());
+        assertEquals(captor.getValue(), Arrays.asList(logEntry1, logEntry2));
+        assertEquals(auditIngestionService.getQueueSize(), 0);
+    }
+
+    @Test
+    public void testWorker_withConfigApiMode_shouldForwardBulkRequest() throws Exception {
+        when(appConfiguration.getAuditPersistenceMode()).thenReturn(AuditPersistenceMode.CONFIG_API);
+        when(jsonService.objectToJson(any())).thenReturn("[{}, {}]");
+        when(auditForwarderService.post(any(), any(), anyString(), any())).thenReturn("");
+
+        auditIngestionService.enqueue(AuditEndpointType.LOG_BULK, Arrays.asList(new LogEntry(), new LogEntry()));
+        auditIngestionService.initWorker();
+
+        verify(auditForwarderService, timeout(5000)).post(any(), eq(AuditEndpointType.LOG_BULK), eq("[{}, {}]"), any());
+        verify(auditService, never()).addLogEntries(any());
+    }
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2025, Janssen Project
+ */
+
+package io.jans.lock.service.grpc.audit;
+
+import io.grpc.stub.ServerCallStreamObserver;
+import io.jans.lock.model.audit.grpc.AuditStreamAck;
+import jakarta.ws.rs.core.Response;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.slf4j.Logger;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+/**
+ * Unit tests for AuditStreamObserver
+ */
+public class AuditStreamObserverTest {
+
+    @Mock
+    private Logger log;
+
+    @Mock
+    private ServerCallStreamObserver<AuditStreamAck> responseObserver;
+
+    @Mock
+    private ScheduledExecutorService retryExecutor;
+
+    private Queue<Response> responses;
+
+    @BeforeMethod
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        responses = new LinkedList<>();
+    }
+
+    @Mock
+    private ScheduledFuture<?> ackFuture;
+
+    private AuditStreamObserver<Integer> createObserver(int ackEntries) {
+        return createObserver(ackEntries, TimeUnit.HOURS.toMillis(1));
+    }
+
+    private AuditStreamObserver<Integer> createObserver(int ackEntries, long ackIntervalInMillis) {
+        return new AuditStreamObserver<>(responseObserver, request -> responses.remove(), request -> request,
+                retryExecutor, ackEntries, ackIntervalInMillis, log);
+    }
+
+    @Test
+    public void testOnNext_withAcceptedEntries_shouldAckAfterConfiguredCount() {
+        AuditStreamObserver<Integer> observer = createObserver(5);
+        verify(responseObserver).disableAutoRequest();
+        verify(responseObserver).request(1);
+
+        responses.add(Response.ok().build());
+        observer.onNext(3);
+        verify(responseObserver, never()).onNext(any());
+
+        responses.add(Response.status(Response.Status.BAD_REQUEST).entity("invalid").build());
+        observer.onNext(2);
+
+        ArgumentCaptor<AuditStreamAck> captor = ArgumentCaptor.forClass(AuditStreamAck.class);
+        verify(responseObserver).onNext(captor.capture());
+        assertEquals(captor.getValue().getAccepted(), 3);
+        assertEquals(captor.getValue().getRejected(), 2);
+        assertEquals(captor.getValue().getMessage(), "invalid");
+        verify(responseObserver, times(3)).request(1);
+
+        observer.onCompleted();
+        verify(responseObserver, times(2)).onNext(any());
+        verify(responseObserver).onCompleted();
+    }
+
+    @Test
+    public void testOnNext_withFullQueue_shouldPauseStreamAndRetry() {
+        AuditStreamObserver<Integer> observer = createObserver(1);
+
+        responses.add(Response.status(Response.Status.TOO_MANY_REQUESTS).build());
+        observer.onNext(4);
+
+        ArgumentCaptor<Runnable> retryCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(retryExecutor).schedule(retryCaptor.capture(), eq(AuditStreamObserver.RETRY_DELAY_IN_MILLIS), eq(TimeUnit.MILLISECONDS));
+        // Next message is not requested while entries are not accepted
+        verify(responseObserver, times(1)).request(1);
+        verify(responseObserver, never()).onNext(any());
+
+        responses.add(Response.ok().build());
+        retryCaptor.getValue().run();
+
+        ArgumentCaptor<AuditStreamAck> captor = ArgumentCaptor.forClass(AuditStreamAck.class);
+        verify(responseObserver).onNext(captor.capture());
+        assertEquals(captor.getValue().getAccepted(), 4);
+        verify(responseObserver, times(2)).request(1);
+    }
+
+    @Test
+    public void testOnCompleted_withPendingRetry_shouldCompleteAfterRetry() {
+        AuditStreamObserver<Integer> observer = createObserver(1000);
+
+        responses.add(Response.status(Response.Status.TOO_MANY_REQUESTS).build());
+        observer.onNext(4);
+
+        ArgumentCaptor<Runnable> retryCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(retryExecutor).schedule(retryCaptor.capture(), eq(AuditStreamObserver.RETRY_DELAY_IN_MILLIS), eq(TimeUnit.MILLISECONDS));
+
+        // Client half-closes stream before entries are accepted
+        observer.onCompleted();
+        verify(responseObserver, never()).onCompleted();
+        verify(responseObserver, never()).onNext(any());
+
+        responses.add(Response.ok().build());
+        retryCaptor.getValue().run();
+
+        ArgumentCaptor<AuditStreamAck> captor = ArgumentCaptor.forClass(AuditStreamAck.class);
+        verify(responseObserver).onNext(captor.capture());
+        assertEquals(captor.getValue().getAccepted(), 4);
+        verify(responseObserver).onCompleted();
+        // No more messages are requested after client half-closed stream
+        verify(responseObserver, times(1)).request(1);
+    }
+
+    @Test
+    public void testAckTask_withIdleStream_shouldAckUnacknowledgedEntries() throws Exception {
+        doReturn(ackFuture).when(retryExecutor).scheduleWithFixedDelay(any(Runnable.class), anyLong(), anyLong(), any(TimeUnit.class));
+        AuditStreamObserver<Integer> observer = createObserver(1000, 50);
+
+        ArgumentCaptor<Runnable> ackCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(retryExecutor).scheduleWithFixedDelay(ackCaptor.capture(), eq(50L), eq(50L), eq(TimeUnit.MILLISECONDS));
+
+        responses.add(Response.ok().build());
+        observer.onNext(3);
+
+        Thread.sleep(60);
+        ackCaptor.getValue().run();
+
+        ArgumentCaptor<AuditStreamAck> captor = ArgumentCaptor.forClass(AuditStreamAck.class);
+        verify(responseObserver, atLeastOnce()).onNext(captor.capture());
+        assertEquals(captor.getValue().getAccepted(), 3);
+
+        observer.onCompleted();
+        verify(ackFuture).cancel(false);
+    }
+
+}
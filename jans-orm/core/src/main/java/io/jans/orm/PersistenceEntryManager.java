@@ -10,6 +10,7 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import jakarta.persistence.EntityGraph;
 import jakarta.persistence.EntityManager;
@@ -28,9 +29,11 @@ import jakarta.persistence.metamodel.Metamodel;
 import io.jans.orm.annotation.AttributesList;
 import io.jans.orm.event.DeleteNotifier;
 import io.jans.orm.extension.PersistenceExtension;
+import io.jans.orm.impl.PagedEntrySpliterator;
 import io.jans.orm.model.AttributeData;
 import io.jans.orm.model.AttributeType;
 import io.jans.orm.model.BatchOperation;
+import io.jans.orm.model.EntryBatchResult;
 import io.jans.orm.model.EntryData;
 import io.jans.orm.model.PagedResult;
 import io.jans.orm.model.PersistenceMetadata;
@@ -60,6 +63,44 @@ public interface PersistenceEntryManager extends EntityManager {
 
 	Void merge(Object entry);
 
+	/**
+	 * Persists entries with one backend operation per group of entries where backend supports it.
+	 * Failure of one entry doesn't stop processing of other entries, failed entries are reported in result.
+	 */
+	default EntryBatchResult persistEntries(Collection<?> entries) {
+		EntryBatchResult result = new EntryBatchResult(entries.size());
+		int index = 0;
+		for (Object entry : entries) {
+			try {
+				persist(entry);
+			} catch (RuntimeException ex) {
+				result.addFailure(index, entry, ex);
+			}
+			index++;
+		}
+
+		return result;
+	}
+
+	/**
+	 * Merges entries with one backend operation per group of entries where backend supports it.
+	 * Failure of one entry doesn't stop processing of other entries, failed entries are reported in result.
+	 */
+	default EntryBatchResult mergeEntries(Collection<?> entries) {
+		EntryBatchResult result = new EntryBatchResult(entries.size());
+		int index = 0;
+		for (Object entry : entries) {
+			try {
+				merge(entry);
+			} catch (RuntimeException ex) {
+				result.addFailure(index, entry, ex);
+			}
+			index++;
+		}
+
+		return result;
+	}
+
 	@Deprecated
 	boolean contains(Object entity);
 
@@ -93,6 +134,21 @@ public interface PersistenceEntryManager extends EntityManager {
     <T> List<T> findEntries(String primaryKey, Class<T> entryClass, Filter filter, SearchScope scope, String[] ldapReturnAttributes,
                             BatchOperation<T> batchOperation, int start, int count, int chunkSize);
 
+    /**
+     * Forward-only search. Entries are loaded by pages of chunkSize on demand and are not collected in memory.
+     * Backends without cursor support page with start/count.
+     */
+    default <T> Stream<T> findEntriesStream(String primaryKey, Class<T> entryClass, Filter filter, String[] ldapReturnAttributes,
+            int chunkSize) {
+        final int[] start = { 0 };
+        return PagedEntrySpliterator.stream(pageSize -> {
+            List<T> page = findEntries(primaryKey, entryClass, filter, SearchScope.SUB, ldapReturnAttributes, start[0], pageSize, pageSize);
+            start[0] += page.size();
+
+            return page;
+        }, chunkSize);
+    }
+
     // TODO: Combine sortBy and SortOrder into Sort
     <T> PagedResult<T> findPagedEntries(String primaryKey, Class<T> entryClass, Filter filter, String[] ldapReturnAttributes, String sortBy,
                                         SortOrder sortOrder, int start, int count, int chunkSize);
@@ -0,0 +1,24 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.orm.exception;
+
+/**
+ * An exception is a result if entry with specified DN doesn't exist
+ */
+public class EntryNotFoundPersistenceException extends EntryPersistenceException {
+
+    private static final long serialVersionUID = 4393425174352637548L;
+
+    public EntryNotFoundPersistenceException(String string, Throwable root) {
+        super(string, root);
+    }
+
+    public EntryNotFoundPersistenceException(String s) {
+        super(s);
+    }
+
+}
@@ -27,6 +27,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.apache.commons.codec.binary.Base64;
@@ -52,11 +53,14 @@ import io.jans.orm.annotation.SchemaEntry;
 import io.jans.orm.exception.EntryPersistenceException;
 import io.jans.orm.exception.InvalidArgumentException;
 import io.jans.orm.exception.MappingException;
+import io.jans.orm.exception.PropertyNotFoundException;
 import io.jans.orm.extension.PersistenceExtension;
+import io.jans.orm.impl.model.PreparedEntry;
 import io.jans.orm.model.AttributeData;
 import io.jans.orm.model.AttributeDataModification;
 import io.jans.orm.model.AttributeDataModification.AttributeModificationType;
 import io.jans.orm.model.AttributeType;
+import io.jans.orm.model.EntryBatchResult;
 import io.jans.orm.model.PasswordAttributeData;
 import io.jans.orm.model.PersistenceMetadata;
 import io.jans.orm.model.SearchScope;
@@ -99,13 +103,7 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 	private static final Class<?>[] SUM_BY_ALLOWED_DATA_TYPES = { int.class, Integer.class, float.class, Float.class,
 			double.class, Double.class };
 
-	private final Map<String, List<PropertyAnnotation>> classAnnotations = new HashMap<String, List<PropertyAnnotation>>();
-	private final Map<String, Getter> classGetters = new HashMap<String, Getter>();
-	private final Map<String, Setter> classSetters = new HashMap<String, Setter>();
-
-	private static Object CLASS_ANNOTATIONS_LOCK = new Object();
-	private static Object CLASS_SETTERS_LOCK = new Object();
-	private static Object CLASS_GETTERS_LOCK = new Object();
+	private final Map<Class<?>, EntryMappingPlan> classMappingPlans = new ConcurrentHashMap<Class<?>, EntryMappingPlan>();
 
 	private static final ObjectMapper JSON_OBJECT_MAPPER = new ObjectMapper();
 
@@ -123,6 +121,36 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 
 	@Override
 	public void persist(Object entry) {
+		PreparedEntry preparedEntry = prepareForPersist(entry);
+
+		persist(preparedEntry.getDn(), preparedEntry.getObjectClasses(), preparedEntry.getAttributes(), preparedEntry.getExpiration());
+	}
+
+	@Override
+	public EntryBatchResult persistEntries(Collection<?> entries) {
+		EntryBatchResult result = new EntryBatchResult(entries.size());
+
+		List<PreparedEntry> preparedEntries = new ArrayList<PreparedEntry>(entries.size());
+		int index = 0;
+		for (Object entry : entries) {
+			try {
+				PreparedEntry preparedEntry = prepareForPersist(entry);
+				preparedEntry.setIndex(index);
+				preparedEntries.add(preparedEntry);
+			} catch (RuntimeException ex) {
+				result.addFailure(index, entry, ex);
+			}
+			index++;
+		}
+
+		if (!preparedEntries.isEmpty()) {
+			persist(preparedEntries, result);
+		}
+
+		return result;
+	}
+
+	protected PreparedEntry prepareForPersist(Object entry) {
 		if (entry == null) {
 			throw new MappingException("Entry to persist is null");
 		}
@@ -146,7 +174,21 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 			LOG.debug(String.format("LDAP attributes for persist: %s", maskSensetiveData(attributes)));
 		}
 
-		persist(dnValue.toString(), objectClasses, attributes, expirationValue);
+		return new PreparedEntry(entry, dnValue.toString(), objectClasses, attributes, expirationValue);
+	}
+
+	/**
+	 * Persists prepared entries. Default implementation executes one operation per entry.
+	 * Backend which supports multi-entry writes should override it.
+	 */
+	protected void persist(List<PreparedEntry> preparedEntries, EntryBatchResult result) {
+		for (PreparedEntry preparedEntry : preparedEntries) {
+			try {
+				persist(preparedEntry.getDn(), preparedEntry.getObjectClasses(), preparedEntry.getAttributes(), preparedEntry.getExpiration());
+			} catch (RuntimeException ex) {
+				result.addFailure(preparedEntry.getIndex(), preparedEntry.getEntry(), ex);
+			}
+		}
 	}
 
 	protected abstract void persist(String dn, String[] objectClasses, List<AttributeData> attributes, Integer expiration);
@@ -223,8 +265,20 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 		return countEntries(dnValue.toString(), entryClass, searchFilter);
 	}
 
-	@SuppressWarnings("unchecked")
 	protected Void merge(Object entry, boolean isSchemaUpdate, boolean isConfigurationUpdate, AttributeModificationType schemaModificationType) {
+		PreparedEntry preparedEntry = prepareForMerge(entry, isSchemaUpdate, isConfigurationUpdate, schemaModificationType);
+
+		merge(preparedEntry.getDn(), preparedEntry.getObjectClasses(), preparedEntry.getModifications(), preparedEntry.getExpiration());
+		
+		if (isValidateAfterUpdate()) {
+			validateAfterMerge(preparedEntry, isSchemaUpdate, isConfigurationUpdate, schemaModificationType);
+		}
+
+		return null;
+	}
+
+	@SuppressWarnings("unchecked")
+	protected PreparedEntry prepareForMerge(Object entry, boolean isSchemaUpdate, boolean isConfigurationUpdate, AttributeModificationType schemaModificationType) {
 		if (entry == null) {
 			throw new MappingException("Entry for check if exists is null");
 		}
@@ -249,17 +303,12 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 
 		// Load entry
 		List<AttributeData> attributesFromLdap = null;
-		List<String> currentLdapReturnAttributesList = null;
 		if (isSchemaUpdate || forceUpdate) {
 			// If it's schema modification request we don't need to load
 			// attributes from LDAP
 			attributesFromLdap = new ArrayList<AttributeData>();
 		} else {
-			currentLdapReturnAttributesList = buildAttributesListForUpdate(entry, objectClasses, propertiesAnnotations);
-			if (!isConfigurationUpdate) {
-				currentLdapReturnAttributesList.add("objectClass");
-			}
-
+			List<String> currentLdapReturnAttributesList = buildAttributesListForMergeLoad(entry, objectClasses, propertiesAnnotations, isConfigurationUpdate);
 			attributesFromLdap = find(dnValue.toString(), objectClasses, propertiesAnnotationsMap, currentLdapReturnAttributesList.toArray(EMPTY_STRING_ARRAY));
 		}
 
@@ -272,31 +321,53 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 				entry, propertiesAnnotations, attributesToPersistMap, attributesFromLdap, schemaModificationType, isSchemaUpdate,
 				isConfigurationUpdate, forceUpdate);
 
-		merge(dnValue.toString(), objectClasses, attributeDataModifications, expirationValue);
-		
-		if (isValidateAfterUpdate()) {
-			if (!isSchemaUpdate && !forceUpdate) {
-				// Compare loaded entry data after merge
-				
-				// Step 1. Rebuild map with attributes which we planned to persist
-				attributesToPersistMap = getAttributesMap(attributesToPersist);
-
-				// Step 2. Load current entry from DB
-				List<AttributeData> attributesAfterMergeFromLdap = find(dnValue.toString(), objectClasses, propertiesAnnotationsMap, currentLdapReturnAttributesList.toArray(EMPTY_STRING_ARRAY));
-
-				// Step 3. Compare loaded entry data with initial entry data
-				List<AttributeDataModification> attributeDataModificationsAftermerge = prepareAttributeDataModifications(entryClass,
-						dnValue, entry, propertiesAnnotations, attributesToPersistMap, attributesAfterMergeFromLdap, schemaModificationType,
-						isSchemaUpdate, isConfigurationUpdate, forceUpdate);
-
-				if (attributeDataModificationsAftermerge.size() > 0) {
-					LOG.warn("Detected changes which not exists in enry after merge. Entry DN: {}, missing changes: {}",
-							dnValue, attributeDataModificationsAftermerge);
-				}
-			}
+		PreparedEntry preparedEntry = new PreparedEntry(entry, dnValue.toString(), objectClasses, attributesToPersist, expirationValue);
+		preparedEntry.setModifications(attributeDataModifications);
+
+		return preparedEntry;
+	}
+
+	private void validateAfterMerge(PreparedEntry preparedEntry, boolean isSchemaUpdate, boolean isConfigurationUpdate,
+			AttributeModificationType schemaModificationType) {
+		Object entry = preparedEntry.getEntry();
+		Class<?> entryClass = entry.getClass();
+		boolean forceUpdate = isUseEntryForceUpdate(entryClass);
+		if (isSchemaUpdate || forceUpdate) {
+			return;
 		}
 
-		return null;
+		// Compare loaded entry data after merge
+		String dnValue = preparedEntry.getDn();
+		String[] objectClasses = preparedEntry.getObjectClasses();
+		List<PropertyAnnotation> propertiesAnnotations = getEntryPropertyAnnotations(entryClass);
+        Map<String, PropertyAnnotation> propertiesAnnotationsMap = prepareEntryPropertiesTypes(entryClass, propertiesAnnotations);
+		List<String> currentLdapReturnAttributesList = buildAttributesListForMergeLoad(entry, objectClasses, propertiesAnnotations, isConfigurationUpdate);
+
+		// Step 1. Rebuild map with attributes which we planned to persist
+		Map<String, AttributeData> attributesToPersistMap = getAttributesMap(preparedEntry.getAttributes());
+
+		// Step 2. Load current entry from DB
+		List<AttributeData> attributesAfterMergeFromLdap = find(dnValue, objectClasses, propertiesAnnotationsMap, currentLdapReturnAttributesList.toArray(EMPTY_STRING_ARRAY));
+
+		// Step 3. Compare loaded entry data with initial entry data
+		List<AttributeDataModification> attributeDataModificationsAftermerge = prepareAttributeDataModifications(entryClass,
+				dnValue, entry, propertiesAnnotations, attributesToPersistMap, attributesAfterMergeFromLdap, schemaModificationType,
+				isSchemaUpdate, isConfigurationUpdate, forceUpdate);
+
+		if (attributeDataModificationsAftermerge.size() > 0) {
+			LOG.warn("Detected changes which not exists in enry after merge. Entry DN: {}, missing changes: {}",
+					dnValue, attributeDataModificationsAftermerge);
+		}
+	}
+
+	private List<String> buildAttributesListForMergeLoad(Object entry, String[] objectClasses, List<PropertyAnnotation> propertiesAnnotations,
+			boolean isConfigurationUpdate) {
+		List<String> currentLdapReturnAttributesList = buildAttributesListForUpdate(entry, objectClasses, propertiesAnnotations);
+		if (!isConfigurationUpdate) {
+			currentLdapReturnAttributesList.add("objectClass");
+		}
+
+		return currentLdapReturnAttributesList;
 	}
 
 	private List<AttributeDataModification> prepareAttributeDataModifications(Class<?> entryClass, Object dnValue,
@@ -1007,6 +1078,8 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 		String[] typeObjectClasses = getTypeObjectClasses(entryClass);
 		Arrays.sort(typeObjectClasses);
 
+		List<EntryAttributeDescriptor> attributeDescriptors = getEntryAttributeDescriptors(entryClass, propertiesAnnotations);
+
 		List<T> results = new ArrayList<T>(entriesAttributes.size());
 		for (Entry<String, List<AttributeData>> entryAttributes : entriesAttributes.entrySet()) {
 			String dn = entryAttributes.getKey();
@@ -1035,24 +1108,13 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 			// Set loaded properties to entry
 
 			// Process properties with AttributeName annotation
-			for (PropertyAnnotation propertiesAnnotation : propertiesAnnotations) {
-				String propertyName = propertiesAnnotation.getPropertyName();
-				Annotation ldapAttribute;
-
-				ldapAttribute = ReflectHelper.getAnnotationByType(propertiesAnnotation.getAnnotations(),
-						AttributeName.class);
-                Annotation languageTag = ReflectHelper.getAnnotationByType(propertiesAnnotation.getAnnotations(), LanguageTag.class);
+			for (EntryAttributeDescriptor attributeDescriptor : attributeDescriptors) {
+				AttributeName ldapAttribute = attributeDescriptor.getAttributeName();
 				if (ldapAttribute != null) {
-					String ldapAttributeName = ((AttributeName) ldapAttribute).name();
-					if (StringHelper.isEmpty(ldapAttributeName)) {
-						ldapAttributeName = propertyName;
-					}
+					String propertyName = attributeDescriptor.getPropertyName();
 
-                    if (languageTag != null) {
-                        Getter getter = getGetter(entryClass, propertyName);
-                        if (getter == null) {
-                            throw new MappingException("Entry should has getter for property " + propertyName);
-                        }
+                    if (attributeDescriptor.isLanguageTag()) {
+                        Getter getter = getDescriptorGetter(entryClass, attributeDescriptor);
 
                         Object propertyValue = getter.get(entry);
                         if (propertyValue == null) {
@@ -1064,7 +1126,7 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
                         }
 
                         LocalizedString localizedString = (LocalizedString) propertyValue;
-                        final String finalLdapAttributeName = ldapAttributeName.replace(LOCALIZED, EMPTY_LANG_TAG);
+                        final String finalLdapAttributeName = attributeDescriptor.getDbAttributeName().replace(LOCALIZED, EMPTY_LANG_TAG);
                         Map<String, AttributeData> filteredAttrs = attributesMap.entrySet().stream()
                                 .filter(x -> x.getKey().toLowerCase().startsWith(finalLdapAttributeName.toLowerCase()))
                                 .collect(Collectors.toMap(Entry::getKey, Entry::getValue));
@@ -1074,41 +1136,31 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
                         continue;
                     }
 
-					ldapAttributeName = ldapAttributeName.toLowerCase();
+					String ldapAttributeName = attributeDescriptor.getDbAttributeNameLowerCase();
 
 					AttributeData attributeData = attributesMap.get(ldapAttributeName);
 
 					// Remove processed attributes
 					attributesMap.remove(ldapAttributeName);
 
-					if (((AttributeName) ldapAttribute).ignoreDuringRead()) {
+					if (ldapAttribute.ignoreDuringRead()) {
 						continue;
 					}
 
-					Setter setter = getSetter(entryClass, propertyName);
-					if (setter == null) {
-						throw new MappingException("Entry should has setter for property " + propertyName);
-					}
-
-					Annotation ldapJsonObject = ReflectHelper.getAnnotationByType(propertiesAnnotation.getAnnotations(),
-							JsonObject.class);
-					boolean jsonObject = ldapJsonObject != null;
+					Setter setter = getDescriptorSetter(entryClass, attributeDescriptor);
 
-					setPropertyValue(propertyName, setter, entry, attributeData, jsonObject);
+					setPropertyValue(attributeDescriptor, setter, entry, attributeData);
 				}
 			}
 
 			// Process properties with @AttributesList annotation
-			for (PropertyAnnotation propertiesAnnotation : propertiesAnnotations) {
-				String propertyName = propertiesAnnotation.getPropertyName();
-				Annotation ldapAttribute;
-
-				ldapAttribute = ReflectHelper.getAnnotationByType(propertiesAnnotation.getAnnotations(),
-						AttributesList.class);
+			for (EntryAttributeDescriptor attributeDescriptor : attributeDescriptors) {
+				AttributesList ldapAttribute = attributeDescriptor.getAttributesList();
 				if (ldapAttribute != null) {
+					String propertyName = attributeDescriptor.getPropertyName();
+
 					Map<String, AttributeName> ldapAttributesConfiguration = new HashMap<String, AttributeName>();
-					for (AttributeName ldapAttributeConfiguration : ((AttributesList) ldapAttribute)
-							.attributesConfiguration()) {
+					for (AttributeName ldapAttributeConfiguration : ldapAttribute.attributesConfiguration()) {
 						ldapAttributesConfiguration.put(ldapAttributeConfiguration.name(), ldapAttributeConfiguration);
 					}
 
@@ -1143,21 +1195,18 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 						}
 					}
 
-					List<Object> propertyValue = getCustomAttributesListFromAttributeData(entryClass, (AttributesList) ldapAttribute, propertyName,
+					List<Object> propertyValue = getCustomAttributesListFromAttributeData(entryClass, ldapAttribute, propertyName,
 							attributesMap.values(), ldapAttributesConfiguration);
 
-					Setter setter = getSetter(entryClass, propertyName);
-					if (setter == null) {
-						throw new MappingException("Entry should has setter for property " + propertyName);
-					}
+					Setter setter = getDescriptorSetter(entryClass, attributeDescriptor);
 
 					if (doSort) {
-						Class<?> entryItemType = ReflectHelper.getListType(setter);
+						Class<?> entryItemType = attributeDescriptor.getItemType();
 						if (entryItemType == null) {
 							throw new MappingException(
 									"Entry property " + propertyName + " should has setter with specified element type");
 						}
-						sortAttributesListIfNeeded((AttributesList) ldapAttribute, entryItemType,
+						sortAttributesListIfNeeded(ldapAttribute, entryItemType,
 								propertyValue);
 					}
 					setter.set(entry, propertyValue);
@@ -1215,6 +1264,10 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 			}
 		}
 
+		// Converter of value setter is resolved once for all items
+		EntryAttributeDescriptor entryPropertyValueDescriptor = EntryAttributeDescriptor.forSetter(propertyName,
+				entryPropertyValueSetter, false);
+
 		for (AttributeData entryAttribute : attributes) {
 			if (ldapAttributesConfiguration != null) {
 				AttributeName ldapAttributeConfiguration = ldapAttributesConfiguration
@@ -1224,7 +1277,7 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 				}
 			}
 
-			Object listItem = getListItem(propertyName, entryPropertyNameSetter, entryPropertyValueSetter,
+			Object listItem = getListItem(entryPropertyNameSetter, entryPropertyValueSetter, entryPropertyValueDescriptor,
 					entryPropertyMultivaluedSetter, entryItemType, entryAttribute);
 			if (listItem != null) {
 				resultList.add(listItem);
@@ -1653,24 +1706,21 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 
 	protected List<AttributeData> getAttributesListForPersist(Object entry,
 			List<PropertyAnnotation> propertiesAnnotations) {
+		Class<?> entryClass = entry.getClass();
+		List<EntryAttributeDescriptor> attributeDescriptors = getEntryAttributeDescriptors(entryClass, propertiesAnnotations);
+
 		// Prepare list of properties to persist
 		List<AttributeData> attributes = new ArrayList<AttributeData>();
-		for (PropertyAnnotation propertiesAnnotation : propertiesAnnotations) {
-			String propertyName = propertiesAnnotation.getPropertyName();
-			Annotation ldapAttribute;
-            Annotation languageTag;
+		for (EntryAttributeDescriptor attributeDescriptor : attributeDescriptors) {
+			String propertyName = attributeDescriptor.getPropertyName();
 
 			// Process properties with AttributeName annotation
-			ldapAttribute = ReflectHelper.getAnnotationByType(propertiesAnnotation.getAnnotations(),
-					AttributeName.class);
-            languageTag = ReflectHelper.getAnnotationByType(propertiesAnnotation.getAnnotations(),
-                    LanguageTag.class);
+			AttributeName ldapAttribute = attributeDescriptor.getAttributeName();
 			if (ldapAttribute != null) {
-                if (languageTag != null) {
+                if (attributeDescriptor.isLanguageTag()) {
 					addAttributeDataFromLocalizedString(entry, ldapAttribute, propertyName, attributes);
                 } else {
-                    AttributeData attribute = getAttributeDataFromAttribute(entry, ldapAttribute, propertiesAnnotation,
-                            propertyName);
+                    AttributeData attribute = getAttributeDataFromAttribute(entry, attributeDescriptor);
                     if (attribute != null) {
                         attributes.add(attribute);
                     }
@@ -1680,10 +1730,9 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 			}
 
 			// Process properties with @AttributesList annotation
-			ldapAttribute = ReflectHelper.getAnnotationByType(propertiesAnnotation.getAnnotations(),
-					AttributesList.class);
-			if (ldapAttribute != null) {
-				List<AttributeData> listAttributes = getAttributeDataListFromCustomAttributesList(entry, (AttributesList) ldapAttribute,
+			AttributesList ldapAttributesList = attributeDescriptor.getAttributesList();
+			if (ldapAttributesList != null) {
+				List<AttributeData> listAttributes = getAttributeDataListFromCustomAttributesList(entry, ldapAttributesList,
 						propertyName);
 				if (listAttributes != null) {
 					attributes.addAll(listAttributes);
@@ -1696,32 +1745,20 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 		return attributes;
 	}
 
-	private AttributeData getAttributeDataFromAttribute(Object entry, Annotation ldapAttribute,
-			PropertyAnnotation propertiesAnnotation, String propertyName) {
+	private AttributeData getAttributeDataFromAttribute(Object entry, EntryAttributeDescriptor attributeDescriptor) {
 		Class<?> entryClass = entry.getClass();
 
-		String ldapAttributeName = ((AttributeName) ldapAttribute).name();
-		if (StringHelper.isEmpty(ldapAttributeName)) {
-			ldapAttributeName = propertyName;
-		}
+		Getter getter = getDescriptorGetter(entryClass, attributeDescriptor);
 
-		Getter getter = getGetter(entryClass, propertyName);
-		if (getter == null) {
-			throw new MappingException("Entry should has getter for property " + propertyName);
-		}
-
-		Class<?> parameterType = getSetterPropertyType(entryClass, propertyName);
-		boolean multiValued = isMultiValued(parameterType);
-
-		Annotation ldapJsonObject = ReflectHelper.getAnnotationByType(propertiesAnnotation.getAnnotations(),
-				JsonObject.class);
-		boolean jsonObject = ldapJsonObject != null;
+		// Multi valued flag is resolved by setter type
+		getDescriptorSetter(entryClass, attributeDescriptor);
 
-		AttributeData attribute = getAttributeData(propertyName, ldapAttributeName, getter, entry, multiValued, jsonObject);
+		AttributeData attribute = getAttributeData(attributeDescriptor.getPropertyName(), attributeDescriptor.getDbAttributeName(),
+				getter, entry, attributeDescriptor.isMultiValued(), attributeDescriptor.isJsonObject());
 
-		Annotation passwordObject = ReflectHelper.getAnnotationByType(propertiesAnnotation.getAnnotations(), Password.class);
+		Password passwordObject = attributeDescriptor.getPassword();
 		if (passwordObject != null) {
-			attribute = new PasswordAttributeData(attribute, ((Password) passwordObject).skipHashed());
+			attribute = new PasswordAttributeData(attribute, passwordObject.skipHashed());
 		}
 
 		return attribute;
@@ -1872,69 +1909,87 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 
 	protected <T> List<PropertyAnnotation> getEntryClassAnnotations(Class<T> entryClass, String keyCategory,
 			Class<?>[] annotationTypes) {
-		String key = keyCategory + entryClass.getName();
-
-		List<PropertyAnnotation> annotations = classAnnotations.get(key);
-		if (annotations == null) {
-			synchronized (CLASS_ANNOTATIONS_LOCK) {
-				annotations = classAnnotations.get(key);
-				if (annotations == null) {
-					Map<String, List<Annotation>> annotationsMap = ReflectHelper.getPropertiesAnnotations(entryClass,
-							annotationTypes);
-					annotations = convertToPropertyAnnotationList(annotationsMap);
-					classAnnotations.put(key, annotations);
-				}
-			}
-		}
+		return getEntryMappingPlan(entryClass).getAnnotations(keyCategory, annotationTypes);
+	}
 
-		return annotations;
+	protected <T> Getter getGetter(Class<T> entryClass, String propertyName) {
+		return getEntryMappingPlan(entryClass).getGetter(propertyName);
 	}
 
-	private List<PropertyAnnotation> convertToPropertyAnnotationList(Map<String, List<Annotation>> annotations) {
-		List<PropertyAnnotation> result = new ArrayList<PropertyAnnotation>(annotations.size());
-		for (Entry<String, List<Annotation>> entry : annotations.entrySet()) {
-			result.add(new PropertyAnnotation(entry.getKey(), entry.getValue()));
-		}
+	protected <T> Setter getSetter(Class<T> entryClass, String propertyName) {
+		return getEntryMappingPlan(entryClass).getSetter(propertyName);
+	}
 
-		Collections.sort(result);
+	protected <T> List<EntryAttributeDescriptor> getEntryAttributeDescriptors(Class<T> entryClass,
+			List<PropertyAnnotation> propertiesAnnotations) {
+		EntryMappingPlan mappingPlan = getEntryMappingPlan(entryClass);
 
-		return result;
+		return mappingPlan.getAttributeDescriptors(propertiesAnnotations,
+				propertiesAnnotation -> createAttributeDescriptor(mappingPlan, propertiesAnnotation));
 	}
 
-	protected <T> Getter getGetter(Class<T> entryClass, String propertyName) {
-		String key = entryClass.getName() + "." + propertyName;
+	private EntryAttributeDescriptor createAttributeDescriptor(EntryMappingPlan mappingPlan, PropertyAnnotation propertiesAnnotation) {
+		List<Annotation> annotations = propertiesAnnotation.getAnnotations();
+		if ((ReflectHelper.getAnnotationByType(annotations, AttributeName.class) == null)
+				&& (ReflectHelper.getAnnotationByType(annotations, AttributesList.class) == null)) {
+			return null;
+		}
+
+		// Missing accessors are reported when property is converted
+		String propertyName = propertiesAnnotation.getPropertyName();
+		Getter getter = null;
+		try {
+			getter = mappingPlan.getGetter(propertyName);
+		} catch (PropertyNotFoundException ex) {
+			// Not all properties have getter
+		}
 
-		Getter getter = classGetters.get(key);
+		Setter setter = null;
+		try {
+			setter = mappingPlan.getSetter(propertyName);
+		} catch (PropertyNotFoundException ex) {
+			// Not all properties have setter
+		}
+
+		return EntryAttributeDescriptor.forProperty(propertiesAnnotation, getter, setter,
+				isMultiValued(ReflectHelper.getSetterType(setter)));
+	}
+
+	private <T> Getter getDescriptorGetter(Class<T> entryClass, EntryAttributeDescriptor attributeDescriptor) {
+		Getter getter = attributeDescriptor.getGetter();
 		if (getter == null) {
-			synchronized (CLASS_GETTERS_LOCK) {
-				getter = classGetters.get(key);
-				if (getter == null) {
-					getter = ReflectHelper.getGetter(entryClass, propertyName);
-					classGetters.put(key, getter);
-				}
+			// Repeat lookup to report the same error as before descriptor was resolved
+			getter = getGetter(entryClass, attributeDescriptor.getPropertyName());
+			if (getter == null) {
+				throw new MappingException("Entry should has getter for property " + attributeDescriptor.getPropertyName());
 			}
 		}
 
 		return getter;
 	}
 
-	protected <T> Setter getSetter(Class<T> entryClass, String propertyName) {
-		String key = entryClass.getName() + "." + propertyName;
-
-		Setter setter = classSetters.get(key);
+	private <T> Setter getDescriptorSetter(Class<T> entryClass, EntryAttributeDescriptor attributeDescriptor) {
+		Setter setter = attributeDescriptor.getSetter();
 		if (setter == null) {
-			synchronized (CLASS_SETTERS_LOCK) {
-				setter = classSetters.get(key);
-				if (setter == null) {
-					setter = ReflectHelper.getSetter(entryClass, propertyName);
-					classSetters.put(key, setter);
-				}
+			// Repeat lookup to report the same error as before descriptor was resolved
+			setter = getSetter(entryClass, attributeDescriptor.getPropertyName());
+			if (setter == null) {
+				throw new MappingException("Entry should has setter for property " + attributeDescriptor.getPropertyName());
 			}
 		}
 
 		return setter;
 	}
 
+	protected EntryMappingPlan getEntryMappingPlan(Class<?> entryClass) {
+		EntryMappingPlan mappingPlan = classMappingPlans.get(entryClass);
+		if (mappingPlan == null) {
+			mappingPlan = classMappingPlans.computeIfAbsent(entryClass, EntryMappingPlan::new);
+		}
+
+		return mappingPlan;
+	}
+
 	private AttributeData getAttributeData(String propertyName, Getter propertyNameGetter, Getter propertyValueGetter,
 			Object entry, boolean multiValued, boolean jsonObject) {
 		String ldapAttributeName = getDbCustomAttributeName(propertyNameGetter, entry);
@@ -1960,56 +2015,77 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 			return;
 		}
 
+		setPropertyValue(EntryAttributeDescriptor.forSetter(propertyName, propertyValueSetter, jsonObject), propertyValueSetter,
+				entry, attribute);
+	}
+
+	private void setPropertyValue(EntryAttributeDescriptor attributeDescriptor, Setter propertyValueSetter, Object entry,
+			AttributeData attribute) {
+		if (attribute == null) {
+			return;
+		}
+
+		String propertyName = attributeDescriptor.getPropertyName();
 		LOG.debug(String.format("LdapProperty: %s, AttributeName: %s, AttributeValue: %s", propertyName,
 				attribute.getName(), Arrays.toString(attribute.getValues())));
 
-		Class<?> parameterType = ReflectHelper.getSetterType(propertyValueSetter);
-		if (parameterType.equals(String.class)) {
+		Class<?> parameterType = attributeDescriptor.getParameterType();
+		switch (attributeDescriptor.getValueType()) {
+		case STRING: {
 			Object value = attribute.getValue();
 			if (value instanceof Date) {
 				value = encodeTime((Date) value);
 			}
 			propertyValueSetter.set(entry, String.valueOf(value));
-		} else if (parameterType.equals(Boolean.class) || parameterType.equals(Boolean.TYPE)) {
+			break;
+		}
+		case BOOLEAN:
 			propertyValueSetter.set(entry, toBooleanValue(attribute));
-		} else if (parameterType.equals(Integer.class) || parameterType.equals(Integer.TYPE)) {
+			break;
+		case INTEGER:
 			propertyValueSetter.set(entry, toIntegerValue(attribute));
-		} else if (parameterType.equals(Long.class) || parameterType.equals(Long.TYPE)) {
+			break;
+		case LONG:
 			propertyValueSetter.set(entry, toLongValue(attribute));
-		} else if (parameterType.equals(Date.class)) {
+			break;
+		case DATE:
 			if (attribute.getValue() == null) {
 				propertyValueSetter.set(entry, null);
 			} else {
 				propertyValueSetter.set(entry, attribute.getValue() instanceof Date ? (Date) attribute.getValue() : decodeTime(String.valueOf(attribute.getValue())));
 			}
-		} else if (parameterType.equals(String[].class)) {
+			break;
+		case STRING_ARRAY:
 			propertyValueSetter.set(entry, attribute.getStringValues());
-		} else if (ReflectHelper.assignableFrom(parameterType, List.class)) {
-			if (jsonObject) {
+			break;
+		case LIST:
+			if (attributeDescriptor.isJsonObject()) {
 				Object[] values = attribute.getValues();
 				List<Object> jsonValues = new ArrayList<Object>(values.length);
 
 				for (Object value : values) {
-					Object jsonValue = convertJsonToValue(ReflectHelper.getListType(propertyValueSetter), value);
+					Object jsonValue = convertJsonToValue(attributeDescriptor.getItemType(), value);
 					jsonValues.add(jsonValue);
 				}
 				propertyValueSetter.set(entry, jsonValues);
 			} else {
-				List<?> resultValues = attributeToTypedList(ReflectHelper.getListType(propertyValueSetter), attribute);
+				List<?> resultValues = attributeToTypedList(attributeDescriptor.getItemType(), attribute);
 				propertyValueSetter.set(entry, resultValues);
 			}
-		} else if (ReflectHelper.assignableFrom(parameterType, AttributeEnum.class)) {
+			break;
+		case ENUM:
 			try {
-				propertyValueSetter.set(entry, parameterType.getMethod("resolveByValue", String.class)
-						.invoke(parameterType.getEnumConstants()[0], attribute.getValue()));
+				propertyValueSetter.set(entry, getEnumResolveByValue(attributeDescriptor, parameterType)
+						.invoke(getEnumConstant(attributeDescriptor, parameterType), attribute.getValue()));
 			} catch (Exception ex) {
 				throw new MappingException("Failed to resolve Enum '" + parameterType + "' by value '" + attribute.getValue() + "'", ex);
 			}
-		} else if (ReflectHelper.assignableFrom(parameterType, AttributeEnum[].class)) {
-			Class<?> itemType = parameterType.getComponentType();
+			break;
+		case ENUM_ARRAY: {
+			Class<?> itemType = attributeDescriptor.getItemType();
 			Method enumResolveByValue;
 			try {
-				enumResolveByValue = itemType.getMethod("resolveByValue", String.class);
+				enumResolveByValue = getEnumResolveByValue(attributeDescriptor, itemType);
 			} catch (Exception ex) {
 				throw new MappingException("Failed to resolve Enum '" + parameterType + "' by value '" + Arrays.toString(attribute.getValues()) + "'",
 						ex);
@@ -2019,7 +2095,7 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 			AttributeEnum[] ldapEnums = (AttributeEnum[]) ReflectHelper.createArray(itemType, attributeValues.length);
 			for (int i = 0; i < attributeValues.length; i++) {
 				try {
-					ldapEnums[i] = (AttributeEnum) enumResolveByValue.invoke(itemType.getEnumConstants()[0],
+					ldapEnums[i] = (AttributeEnum) enumResolveByValue.invoke(getEnumConstant(attributeDescriptor, itemType),
 							attributeValues[i]);
 				} catch (Exception ex) {
 					throw new MappingException(
@@ -2027,17 +2103,40 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 				}
 			}
 			propertyValueSetter.set(entry, ldapEnums);
-		} else if (jsonObject) {
+			break;
+		}
+		case JSON: {
 			Object stringValue = attribute.getValue();
 			Object jsonValue = convertJsonToValue(parameterType, stringValue);
 			propertyValueSetter.set(entry, jsonValue);
-		} else {
+			break;
+		}
+		default:
 			throw new MappingException("Entry property '" + propertyName
 					+ "' should has setter with String, Boolean, Integer, Long, Date, String[], List<String>, AttributeEnum or AttributeEnum[]"
 					+ " parameter type or has annotation JsonObject");
 		}
 	}
 
+	private Method getEnumResolveByValue(EntryAttributeDescriptor attributeDescriptor, Class<?> enumType) throws NoSuchMethodException {
+		Method enumResolveByValue = attributeDescriptor.getEnumResolveByValue();
+		if (enumResolveByValue == null) {
+			// Repeat lookup to report the cause
+			enumResolveByValue = enumType.getMethod("resolveByValue", String.class);
+		}
+
+		return enumResolveByValue;
+	}
+
+	private Object getEnumConstant(EntryAttributeDescriptor attributeDescriptor, Class<?> enumType) {
+		Object enumConstant = attributeDescriptor.getEnumConstant();
+		if (enumConstant == null) {
+			enumConstant = enumType.getEnumConstants()[0];
+		}
+
+		return enumConstant;
+	}
+
 	private List<?> attributeToTypedList(Class<?> listType, AttributeData attributeData) {
 		if (listType.equals(String.class)) {
 			ArrayList<String> result = new ArrayList<String>();
@@ -2117,7 +2216,7 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 		}
 	}
 
-	private Object getListItem(String propertyName, Setter propertyNameSetter, Setter propertyValueSetter,
+	private Object getListItem(Setter propertyNameSetter, Setter propertyValueSetter, EntryAttributeDescriptor propertyValueDescriptor,
 			Setter entryPropertyMultivaluedSetter, Class<?> classType, AttributeData attribute) {
 		if (attribute == null) {
 			return null;
@@ -2130,7 +2229,7 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 			throw new MappingException(String.format("Entry %s should has default constructor", classType));
 		}
 		propertyNameSetter.set(result, attribute.getName());
-		setPropertyValue(propertyName, propertyValueSetter, result, attribute, false);
+		setPropertyValue(propertyValueDescriptor, propertyValueSetter, result, attribute);
 
 		if ((entryPropertyMultivaluedSetter != null) && (attribute.getMultiValued() != null)) {
 			entryPropertyMultivaluedSetter.set(result, attribute.getMultiValued());
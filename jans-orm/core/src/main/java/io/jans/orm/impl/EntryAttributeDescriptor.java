@@ -0,0 +1,232 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.orm.impl;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Date;
+import java.util.List;
+
+import io.jans.orm.annotation.AttributeEnum;
+import io.jans.orm.annotation.AttributeName;
+import io.jans.orm.annotation.AttributesList;
+import io.jans.orm.annotation.JsonObject;
+import io.jans.orm.annotation.LanguageTag;
+import io.jans.orm.annotation.Password;
+import io.jans.orm.reflect.property.Getter;
+import io.jans.orm.reflect.property.PropertyAnnotation;
+import io.jans.orm.reflect.property.Setter;
+import io.jans.orm.reflect.util.ReflectHelper;
+import io.jans.orm.util.StringHelper;
+
+/**
+ * Mapping of one entry property to DB attribute: annotations, accessors and value converter
+ * resolved once, so entry conversion doesn't inspect annotations or setter types per entry
+ */
+public final class EntryAttributeDescriptor {
+
+	/**
+	 * Converter used to set DB attribute value to property. It's resolved by setter parameter type
+	 */
+	public enum ValueType {
+		STRING, BOOLEAN, INTEGER, LONG, DATE, STRING_ARRAY, LIST, ENUM, ENUM_ARRAY, JSON, UNSUPPORTED;
+
+		static ValueType of(Class<?> parameterType, boolean jsonObject) {
+			if (parameterType == null) {
+				return UNSUPPORTED;
+			} else if (parameterType.equals(String.class)) {
+				return STRING;
+			} else if (parameterType.equals(Boolean.class) || parameterType.equals(Boolean.TYPE)) {
+				return BOOLEAN;
+			} else if (parameterType.equals(Integer.class) || parameterType.equals(Integer.TYPE)) {
+				return INTEGER;
+			} else if (parameterType.equals(Long.class) || parameterType.equals(Long.TYPE)) {
+				return LONG;
+			} else if (parameterType.equals(Date.class)) {
+				return DATE;
+			} else if (parameterType.equals(String[].class)) {
+				return STRING_ARRAY;
+			} else if (ReflectHelper.assignableFrom(parameterType, List.class)) {
+				return LIST;
+			} else if (ReflectHelper.assignableFrom(parameterType, AttributeEnum.class)) {
+				return ENUM;
+			} else if (ReflectHelper.assignableFrom(parameterType, AttributeEnum[].class)) {
+				return ENUM_ARRAY;
+			} else if (jsonObject) {
+				return JSON;
+			}
+
+			return UNSUPPORTED;
+		}
+	}
+
+	private final String propertyName;
+	private final AttributeName attributeName;
+	private final AttributesList attributesList;
+	private final String dbAttributeName;
+	private final String dbAttributeNameLowerCase;
+	private final boolean languageTag;
+	private final boolean jsonObject;
+	private final Password password;
+
+	private final Getter getter;
+	private final Setter setter;
+
+	private final Class<?> parameterType;
+	private final Class<?> itemType;
+	private final boolean multiValued;
+	private final ValueType valueType;
+	private final Method enumResolveByValue;
+	private final Object enumConstant;
+
+	private EntryAttributeDescriptor(String propertyName, List<Annotation> annotations, Getter getter, Setter setter,
+			boolean multiValued, boolean jsonObject) {
+		this.propertyName = propertyName;
+		this.getter = getter;
+		this.setter = setter;
+		this.multiValued = multiValued;
+		this.jsonObject = jsonObject;
+
+		if (annotations == null) {
+			this.attributeName = null;
+			this.attributesList = null;
+			this.languageTag = false;
+			this.password = null;
+		} else {
+			this.attributeName = (AttributeName) ReflectHelper.getAnnotationByType(annotations, AttributeName.class);
+			this.attributesList = (AttributesList) ReflectHelper.getAnnotationByType(annotations, AttributesList.class);
+			this.languageTag = ReflectHelper.getAnnotationByType(annotations, LanguageTag.class) != null;
+			this.password = (Password) ReflectHelper.getAnnotationByType(annotations, Password.class);
+		}
+
+		if ((this.attributeName == null) || StringHelper.isEmpty(this.attributeName.name())) {
+			this.dbAttributeName = propertyName;
+		} else {
+			this.dbAttributeName = this.attributeName.name();
+		}
+		this.dbAttributeNameLowerCase = this.dbAttributeName.toLowerCase();
+
+		this.parameterType = ReflectHelper.getSetterType(setter);
+		this.valueType = ValueType.of(this.parameterType, jsonObject);
+
+		Class<?> resolvedItemType = null;
+		if (this.valueType == ValueType.LIST) {
+			resolvedItemType = ReflectHelper.getListType(setter);
+		} else if (this.valueType == ValueType.ENUM_ARRAY) {
+			resolvedItemType = this.parameterType.getComponentType();
+		}
+		this.itemType = resolvedItemType;
+
+		Method resolveMethod = null;
+		Object resolveConstant = null;
+		Class<?> enumType = (this.valueType == ValueType.ENUM) ? this.parameterType : this.itemType;
+		if ((this.valueType == ValueType.ENUM) || (this.valueType == ValueType.ENUM_ARRAY)) {
+			try {
+				resolveMethod = enumType.getMethod("resolveByValue", String.class);
+			} catch (Exception ex) {
+				// Reported by entry manager when property value is converted
+			}
+
+			Object[] enumConstants = enumType.getEnumConstants();
+			if ((enumConstants != null) && (enumConstants.length > 0)) {
+				resolveConstant = enumConstants[0];
+			}
+		}
+		this.enumResolveByValue = resolveMethod;
+		this.enumConstant = resolveConstant;
+	}
+
+	/**
+	 * Creates descriptor of entry property with {@link AttributeName} or {@link AttributesList} annotation
+	 */
+	static EntryAttributeDescriptor forProperty(PropertyAnnotation propertyAnnotation, Getter getter, Setter setter,
+			boolean multiValued) {
+		List<Annotation> annotations = propertyAnnotation.getAnnotations();
+		boolean jsonObject = ReflectHelper.getAnnotationByType(annotations, JsonObject.class) != null;
+
+		return new EntryAttributeDescriptor(propertyAnnotation.getPropertyName(), annotations, getter, setter, multiValued,
+				jsonObject);
+	}
+
+	/**
+	 * Creates descriptor which has only value converter of setter. It's used for items of custom attributes lists
+	 */
+	static EntryAttributeDescriptor forSetter(String propertyName, Setter setter, boolean jsonObject) {
+		return new EntryAttributeDescriptor(propertyName, null, null, setter, false, jsonObject);
+	}
+
+	public String getPropertyName() {
+		return propertyName;
+	}
+
+	public AttributeName getAttributeName() {
+		return attributeName;
+	}
+
+	public AttributesList getAttributesList() {
+		return attributesList;
+	}
+
+	public String getDbAttributeName() {
+		return dbAttributeName;
+	}
+
+	public String getDbAttributeNameLowerCase() {
+		return dbAttributeNameLowerCase;
+	}
+
+	public boolean isLanguageTag() {
+		return languageTag;
+	}
+
+	public boolean isJsonObject() {
+		return jsonObject;
+	}
+
+	public Password getPassword() {
+		return password;
+	}
+
+	public Getter getGetter() {
+		return getter;
+	}
+
+	public Setter getSetter() {
+		return setter;
+	}
+
+	public Class<?> getParameterType() {
+		return parameterType;
+	}
+
+	public Class<?> getItemType() {
+		return itemType;
+	}
+
+	public boolean isMultiValued() {
+		return multiValued;
+	}
+
+	public ValueType getValueType() {
+		return valueType;
+	}
+
+	public Method getEnumResolveByValue() {
+		return enumResolveByValue;
+	}
+
+	public Object getEnumConstant() {
+		return enumConstant;
+	}
+
+	@Override
+	public String toString() {
+		return "EntryAttributeDescriptor [propertyName=" + propertyName + ", dbAttributeName=" + dbAttributeName + ", valueType="
+				+ valueType + ", multiValued=" + multiValued + ", jsonObject=" + jsonObject + "]";
+	}
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.orm.impl;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import io.jans.orm.reflect.property.Getter;
+import io.jans.orm.reflect.property.MethodHandlePropertyAccessor;
+import io.jans.orm.reflect.property.PropertyAccessor;
+import io.jans.orm.reflect.property.PropertyAnnotation;
+import io.jans.orm.reflect.property.Setter;
+import io.jans.orm.reflect.util.ReflectHelper;
+
+/**
+ * Mapping metadata of entry class which is resolved once and shared by all entry
+ * conversions: property annotations, ordered attribute descriptors and property
+ * accessors. Reads don't take locks.
+ */
+public final class EntryMappingPlan {
+
+	private static final PropertyAccessor PROPERTY_ACCESSOR = new MethodHandlePropertyAccessor();
+
+	private final Class<?> entryClass;
+
+	private final Map<String, List<PropertyAnnotation>> annotations = new ConcurrentHashMap<String, List<PropertyAnnotation>>();
+	private final Map<String, List<EntryAttributeDescriptor>> descriptors = new ConcurrentHashMap<String, List<EntryAttributeDescriptor>>();
+	private final Map<String, Getter> getters = new ConcurrentHashMap<String, Getter>();
+	private final Map<String, Setter> setters = new ConcurrentHashMap<String, Setter>();
+
+	public EntryMappingPlan(Class<?> entryClass) {
+		this.entryClass = entryClass;
+	}
+
+	public Class<?> getEntryClass() {
+		return entryClass;
+	}
+
+	public List<PropertyAnnotation> getAnnotations(String keyCategory, Class<?>[] annotationTypes) {
+		List<PropertyAnnotation> result = annotations.get(keyCategory);
+		if (result == null) {
+			result = annotations.computeIfAbsent(keyCategory, key -> resolveAnnotations(annotationTypes));
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns descriptors of properties in annotations order. Descriptors are cached when list was
+	 * returned by {@link #getAnnotations(String, Class[])}, filtered lists are resolved on each call.
+	 * Factory returns null for properties which aren't mapped to attributes.
+	 */
+	public List<EntryAttributeDescriptor> getAttributeDescriptors(List<PropertyAnnotation> propertiesAnnotations,
+			Function<PropertyAnnotation, EntryAttributeDescriptor> descriptorFactory) {
+		for (Entry<String, List<PropertyAnnotation>> entry : annotations.entrySet()) {
+			if (entry.getValue() == propertiesAnnotations) {
+				List<EntryAttributeDescriptor> result = descriptors.get(entry.getKey());
+				if (result == null) {
+					result = descriptors.computeIfAbsent(entry.getKey(),
+							key -> resolveAttributeDescriptors(propertiesAnnotations, descriptorFactory));
+				}
+
+				return result;
+			}
+		}
+
+		return resolveAttributeDescriptors(propertiesAnnotations, descriptorFactory);
+	}
+
+	public Getter getGetter(String propertyName) {
+		Getter getter = getters.get(propertyName);
+		if (getter == null) {
+			getter = getters.computeIfAbsent(propertyName, key -> PROPERTY_ACCESSOR.getGetter(entryClass, key));
+		}
+
+		return getter;
+	}
+
+	public Setter getSetter(String propertyName) {
+		Setter setter = setters.get(propertyName);
+		if (setter == null) {
+			setter = setters.computeIfAbsent(propertyName, key -> PROPERTY_ACCESSOR.getSetter(entryClass, key));
+		}
+
+		return setter;
+	}
+
+	private List<PropertyAnnotation> resolveAnnotations(Class<?>[] annotationTypes) {
+		Map<String, List<Annotation>> annotationsMap = ReflectHelper.getPropertiesAnnotations(entryClass, annotationTypes);
+
+		List<PropertyAnnotation> result = new ArrayList<PropertyAnnotation>(annotationsMap.size());
+		for (Entry<String, List<Annotation>> entry : annotationsMap.entrySet()) {
+			result.add(new PropertyAnnotation(entry.getKey(), entry.getValue()));
+		}
+
+		Collections.sort(result);
+
+		return Collections.unmodifiableList(result);
+	}
+
+	private List<EntryAttributeDescriptor> resolveAttributeDescriptors(List<PropertyAnnotation> propertiesAnnotations,
+			Function<PropertyAnnotation, EntryAttributeDescriptor> descriptorFactory) {
+		List<EntryAttributeDescriptor> result = new ArrayList<EntryAttributeDescriptor>(propertiesAnnotations.size());
+		for (PropertyAnnotation propertiesAnnotation : propertiesAnnotations) {
+			EntryAttributeDescriptor descriptor = descriptorFactory.apply(propertiesAnnotation);
+			if (descriptor != null) {
+				result.add(descriptor);
+			}
+		}
+
+		return Collections.unmodifiableList(result);
+	}
+
+	@Override
+	public String toString() {
+		return "EntryMappingPlan [entryClass=" + entryClass.getName() + ", annotations=" + annotations.keySet() + ", descriptors="
+				+ descriptors.keySet() + ", getters=" + getters.keySet() + ", setters=" + setters.keySet() + "]";
+	}
+
+}
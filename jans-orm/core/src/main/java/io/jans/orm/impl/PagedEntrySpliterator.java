@@ -0,0 +1,71 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.orm.impl;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Forward-only spliterator which requests next page of entries only when previous one was consumed
+ */
+public class PagedEntrySpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+	@FunctionalInterface
+	public interface PageLoader<T> {
+		/**
+		 * @return next page of entries. Page with less than pageSize entries is considered as last one
+		 */
+		List<T> loadNextPage(int pageSize);
+	}
+
+	private final PageLoader<T> pageLoader;
+	private final int pageSize;
+
+	private Iterator<T> currentPage;
+	private boolean lastPage;
+
+	public PagedEntrySpliterator(PageLoader<T> pageLoader, int pageSize) {
+		super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+		if (pageSize <= 0) {
+			throw new IllegalArgumentException("Page size should be positive number");
+		}
+
+		this.pageLoader = pageLoader;
+		this.pageSize = pageSize;
+	}
+
+	public static <T> Stream<T> stream(PageLoader<T> pageLoader, int pageSize) {
+		return StreamSupport.stream(new PagedEntrySpliterator<T>(pageLoader, pageSize), false);
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super T> action) {
+		while ((currentPage == null) || !currentPage.hasNext()) {
+			if (lastPage) {
+				return false;
+			}
+
+			List<T> page = pageLoader.loadNextPage(pageSize);
+			if ((page == null) || page.isEmpty()) {
+				lastPage = true;
+				return false;
+			}
+
+			lastPage = page.size() < pageSize;
+			currentPage = page.iterator();
+		}
+
+		action.accept(currentPage.next());
+		return true;
+	}
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.orm.impl.model;
+
+import java.util.List;
+
+import io.jans.orm.model.AttributeData;
+import io.jans.orm.model.AttributeDataModification;
+
+/**
+ * Entry converted to persistence attributes (persist) or attribute modifications (merge)
+ */
+public class PreparedEntry {
+
+	private int index;
+	private final Object entry;
+	private final String dn;
+	private final String[] objectClasses;
+	private final List<AttributeData> attributes;
+	private final Integer expiration;
+	private List<AttributeDataModification> modifications;
+
+	public PreparedEntry(Object entry, String dn, String[] objectClasses, List<AttributeData> attributes, Integer expiration) {
+		this.entry = entry;
+		this.dn = dn;
+		this.objectClasses = objectClasses;
+		this.attributes = attributes;
+		this.expiration = expiration;
+	}
+
+	public int getIndex() {
+		return index;
+	}
+
+	public void setIndex(int index) {
+		this.index = index;
+	}
+
+	public Object getEntry() {
+		return entry;
+	}
+
+	public String getDn() {
+		return dn;
+	}
+
+	public String[] getObjectClasses() {
+		return objectClasses;
+	}
+
+	public List<AttributeData> getAttributes() {
+		return attributes;
+	}
+
+	public Integer getExpiration() {
+		return expiration;
+	}
+
+	public List<AttributeDataModification> getModifications() {
+		return modifications;
+	}
+
+	public void setModifications(List<AttributeDataModification> modifications) {
+		this.modifications = modifications;
+	}
+
+}
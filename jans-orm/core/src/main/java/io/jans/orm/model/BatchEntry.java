@@ -0,0 +1,65 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.orm.model;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Entry data of multi-entry add/update operation on persistence operation service level
+ */
+public class BatchEntry {
+
+	private final int index;
+	private final String key;
+	private final String objectClass;
+	private final Collection<AttributeData> attributes;
+	private final List<AttributeDataModification> modifications;
+
+	private BatchEntry(int index, String key, String objectClass, Collection<AttributeData> attributes,
+			List<AttributeDataModification> modifications) {
+		this.index = index;
+		this.key = key;
+		this.objectClass = objectClass;
+		this.attributes = attributes;
+		this.modifications = modifications;
+	}
+
+	public static BatchEntry forAdd(int index, String key, String objectClass, Collection<AttributeData> attributes) {
+		return new BatchEntry(index, key, objectClass, attributes, null);
+	}
+
+	public static BatchEntry forUpdate(int index, String key, String objectClass, List<AttributeDataModification> modifications) {
+		return new BatchEntry(index, key, objectClass, null, modifications);
+	}
+
+	public int getIndex() {
+		return index;
+	}
+
+	public String getKey() {
+		return key;
+	}
+
+	public String getObjectClass() {
+		return objectClass;
+	}
+
+	public Collection<AttributeData> getAttributes() {
+		return attributes;
+	}
+
+	public List<AttributeDataModification> getModifications() {
+		return modifications;
+	}
+
+	@Override
+	public String toString() {
+		return "BatchEntry [index=" + index + ", key=" + key + ", objectClass=" + objectClass + "]";
+	}
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.orm.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Result of multi-entry persist/merge operation. Failure of one entry doesn't stop processing of
+ * other entries. Failures are reported with position of entry in source collection.
+ */
+public class EntryBatchResult {
+
+	private final int totalCount;
+	private final List<Failure> failures;
+
+	public EntryBatchResult(int totalCount) {
+		this.totalCount = totalCount;
+		this.failures = new ArrayList<Failure>();
+	}
+
+	public synchronized void addFailure(int index, Object entry, Exception exception) {
+		failures.add(new Failure(index, entry, exception));
+	}
+
+	public int getTotalCount() {
+		return totalCount;
+	}
+
+	public synchronized int getSuccessCount() {
+		return totalCount - failures.size();
+	}
+
+	public synchronized boolean isSuccess() {
+		return failures.isEmpty();
+	}
+
+	/**
+	 * @return failures ordered by entry position
+	 */
+	public synchronized List<Failure> getFailures() {
+		List<Failure> result = new ArrayList<Failure>(failures);
+		Collections.sort(result, Comparator.comparingInt(Failure::getIndex));
+
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return "EntryBatchResult [totalCount=" + totalCount + ", failures=" + getFailures() + "]";
+	}
+
+	public static class Failure {
+
+		private final int index;
+		private final Object entry;
+		private final Exception exception;
+
+		public Failure(int index, Object entry, Exception exception) {
+			this.index = index;
+			this.entry = entry;
+			this.exception = exception;
+		}
+
+		public int getIndex() {
+			return index;
+		}
+
+		public Object getEntry() {
+			return entry;
+		}
+
+		public Exception getException() {
+			return exception;
+		}
+
+		@Override
+		public String toString() {
+			return "Failure [index=" + index + ", exception=" + exception + "]";
+		}
+	}
+
+}
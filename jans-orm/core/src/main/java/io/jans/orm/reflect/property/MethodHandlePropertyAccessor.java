@@ -0,0 +1,211 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.orm.reflect.property;
+
+import java.io.ObjectStreamException;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.jans.orm.exception.BasePersistenceException;
+import io.jans.orm.exception.PropertyAccessException;
+import io.jans.orm.exception.PropertyNotFoundException;
+
+/**
+ * Accesses property values via a get/set pair like {@link BasicPropertyAccessor}, but
+ * calls them through functions generated by {@link LambdaMetafactory}. After JIT such
+ * calls cost the same as direct method calls, while {@link Method#invoke} pays for
+ * access checks and arguments array on every call.
+ *
+ * If a function can't be generated for a method (e.g. class is not accessible from
+ * this module) the accessor falls back to {@link BasicPropertyAccessor}.
+ */
+public class MethodHandlePropertyAccessor implements PropertyAccessor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MethodHandlePropertyAccessor.class);
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final PropertyAccessor basicPropertyAccessor = new BasicPropertyAccessor();
+
+    public static final class MethodHandleGetter implements Getter {
+
+        private static final long serialVersionUID = 4087423962542377312L;
+
+        private final Getter getter;
+        private final transient Function<Object, Object> function;
+        private final Class<?> clazz;
+        private final String propertyName;
+
+        private MethodHandleGetter(Getter getter, Function<Object, Object> function, Class<?> clazz, String propertyName) {
+            this.getter = getter;
+            this.function = function;
+            this.clazz = clazz;
+            this.propertyName = propertyName;
+        }
+
+        public Object get(Object target) throws BasePersistenceException {
+            try {
+                return function.apply(target);
+            } catch (ClassCastException cce) {
+                LOG.error("IllegalArgumentException in class: " + clazz.getName() + ", getter method of property: " + propertyName);
+                throw new PropertyAccessException(cce, "IllegalArgumentException occurred calling", false, clazz, propertyName);
+            } catch (Exception ex) {
+                throw new PropertyAccessException(ex, "Exception occurred inside", false, clazz, propertyName);
+            }
+        }
+
+        public Class<?> getReturnType() {
+            return getter.getReturnType();
+        }
+
+        public Method getMethod() {
+            return getter.getMethod();
+        }
+
+        public String getMethodName() {
+            return getter.getMethodName();
+        }
+
+        Object writeReplace() throws ObjectStreamException {
+            return getter;
+        }
+
+        @Override
+        public String toString() {
+            return "MethodHandleGetter(" + clazz.getName() + '.' + propertyName + ')';
+        }
+    }
+
+    public static final class MethodHandleSetter implements Setter {
+
+        private static final long serialVersionUID = -2512370419424151035L;
+
+        private final Setter setter;
+        private final transient BiConsumer<Object, Object> function;
+        private final Class<?> clazz;
+        private final String propertyName;
+        private final Class<?> valueType;
+        private final boolean primitive;
+
+        private MethodHandleSetter(Setter setter, BiConsumer<Object, Object> function, Class<?> valueType, Class<?> clazz,
+                String propertyName) {
+            this.setter = setter;
+            this.function = function;
+            this.valueType = valueType;
+            this.clazz = clazz;
+            this.propertyName = propertyName;
+            this.primitive = setter.getMethod().getParameterTypes()[0].isPrimitive();
+        }
+
+        public void set(Object target, Object value) throws BasePersistenceException {
+            if ((value != null) && !valueType.isInstance(value)) {
+                // Let reflection apply widening conversion or report wrong type
+                setter.set(target, value);
+                return;
+            }
+
+            try {
+                function.accept(target, value);
+            } catch (NullPointerException npe) {
+                if (value == null && primitive) {
+                    throw new PropertyAccessException(npe, "Null value was assigned to a property of primitive type", true, clazz,
+                            propertyName);
+                } else {
+                    throw new PropertyAccessException(npe, "Exception occurred inside", true, clazz, propertyName);
+                }
+            } catch (Exception ex) {
+                throw new PropertyAccessException(ex, "Exception occurred inside", true, clazz, propertyName);
+            }
+        }
+
+        public Method getMethod() {
+            return setter.getMethod();
+        }
+
+        public String getMethodName() {
+            return setter.getMethodName();
+        }
+
+        Object writeReplace() throws ObjectStreamException {
+            return setter;
+        }
+
+        @Override
+        public String toString() {
+            return "MethodHandleSetter(" + clazz.getName() + '.' + propertyName + ')';
+        }
+    }
+
+    public Getter getGetter(Class<?> theClass, String propertyName) throws PropertyNotFoundException {
+        return optimize(theClass, propertyName, basicPropertyAccessor.getGetter(theClass, propertyName));
+    }
+
+    public Setter getSetter(Class<?> theClass, String propertyName) throws PropertyNotFoundException {
+        return optimize(theClass, propertyName, basicPropertyAccessor.getSetter(theClass, propertyName));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Getter optimize(Class<?> theClass, String propertyName, Getter getter) {
+        Method method = getter.getMethod();
+        if ((method == null) || Modifier.isStatic(method.getModifiers())) {
+            return getter;
+        }
+
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup());
+            MethodHandle methodHandle = lookup.unreflect(method);
+            MethodType instantiatedType = methodHandle.type().wrap().changeParameterType(0, method.getDeclaringClass());
+
+            CallSite callSite = LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(Function.class),
+                    GETTER_TYPE, methodHandle, instantiatedType);
+
+            return new MethodHandleGetter(getter, (Function<Object, Object>) callSite.getTarget().invoke(), theClass, propertyName);
+        } catch (Throwable ex) {
+            LOG.debug("Failed to create getter function for property '{}' in class '{}'. Reflection will be used", propertyName,
+                    theClass.getName(), ex);
+            return getter;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Setter optimize(Class<?> theClass, String propertyName, Setter setter) {
+        Method method = setter.getMethod();
+        if ((method == null) || Modifier.isStatic(method.getModifiers())) {
+            return setter;
+        }
+
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup());
+            MethodHandle methodHandle = lookup.unreflect(method);
+            // Setter return value (builder style setters) is ignored
+            MethodType instantiatedType = methodHandle.type().wrap().changeParameterType(0, method.getDeclaringClass())
+                    .changeReturnType(void.class);
+
+            CallSite callSite = LambdaMetafactory.metafactory(lookup, "accept", MethodType.methodType(BiConsumer.class),
+                    SETTER_TYPE, methodHandle, instantiatedType);
+
+            return new MethodHandleSetter(setter, (BiConsumer<Object, Object>) callSite.getTarget().invoke(),
+                    instantiatedType.parameterType(1), theClass, propertyName);
+        } catch (Throwable ex) {
+            LOG.debug("Failed to create setter function for property '{}' in class '{}'. Reflection will be used", propertyName,
+                    theClass.getName(), ex);
+            return setter;
+        }
+    }
+
+}
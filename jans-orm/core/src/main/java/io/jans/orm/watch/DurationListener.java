@@ -0,0 +1,22 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.orm.watch;
+
+import java.time.Duration;
+
+/**
+ * Receives durations of persistence operations measured by {@link DurationUtil}
+ */
+@FunctionalInterface
+public interface DurationListener {
+
+	/**
+	 * @param operation operation name prefixed with persistence type, e.g. sql.search
+	 */
+	void onOperation(String operation, Duration duration);
+
+}
@@ -21,6 +21,8 @@ public abstract class DurationUtil {
 
 	protected static final Logger log = LoggerFactory.getLogger(DurationUtil.class);
 
+	private static volatile DurationListener durationListener;
+
     public Instant now() {
         return Instant.now();
     }
@@ -36,4 +38,26 @@ public abstract class DurationUtil {
 
     public abstract void logDebug(String format, Object... arguments);
 
+    public static void setDurationListener(DurationListener listener) {
+        durationListener = listener;
+    }
+
+    /**
+     * Passes operation duration to listener
+     *
+     * @param operation operation name prefixed with persistence type, e.g. sql.search
+     */
+    public void record(String operation, Duration duration) {
+        DurationListener listener = durationListener;
+        if (listener == null) {
+            return;
+        }
+
+        try {
+            listener.onOperation(operation, duration);
+        } catch (RuntimeException ex) {
+            log.warn("Failed to process operation duration", ex);
+        }
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,353 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.orm.impl;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+import io.jans.orm.annotation.AttributeName;
+import io.jans.orm.annotation.AttributesList;
+import io.jans.orm.annotation.DN;
+import io.jans.orm.annotation.DataEntry;
+import io.jans.orm.annotation.Password;
+import io.jans.orm.exception.PropertyAccessException;
+import io.jans.orm.exception.PropertyNotFoundException;
+import io.jans.orm.impl.EntryAttributeDescriptor.ValueType;
+import io.jans.orm.reflect.property.Getter;
+import io.jans.orm.reflect.property.MethodHandlePropertyAccessor;
+import io.jans.orm.reflect.property.PropertyAnnotation;
+import io.jans.orm.reflect.property.Setter;
+import io.jans.orm.reflect.util.ReflectHelper;
+
+public class EntryMappingPlanTest {
+
+	private static final Class<?>[] PROPERTY_ANNOTATIONS = { AttributeName.class };
+	private static final Class<?>[] DN_ANNOTATIONS = { DN.class };
+	private static final Class<?>[] DESCRIPTOR_ANNOTATIONS = { AttributeName.class, AttributesList.class, Password.class };
+
+	private static final String[] PROPERTIES = { "dn", "id", "displayName", "expiration", "count", "total", "enabled" };
+
+	@DataEntry
+	public static class SampleEntry {
+
+		@DN
+		private String dn;
+		@AttributeName(name = "inum")
+		private String id;
+		@AttributeName
+		private String displayName;
+		@AttributeName(name = "exp")
+		private Date expiration;
+		@AttributeName
+		private int count;
+		@AttributeName
+		private long total;
+		@AttributeName
+		private boolean enabled;
+
+		public String getDn() {
+			return dn;
+		}
+
+		public void setDn(String dn) {
+			this.dn = dn;
+		}
+
+		public String getId() {
+			return id;
+		}
+
+		public void setId(String id) {
+			this.id = id;
+		}
+
+		public String getDisplayName() {
+			return displayName;
+		}
+
+		public void setDisplayName(String displayName) {
+			this.displayName = displayName;
+		}
+
+		public Date getExpiration() {
+			return expiration;
+		}
+
+		public void setExpiration(Date expiration) {
+			this.expiration = expiration;
+		}
+
+		public int getCount() {
+			return count;
+		}
+
+		public void setCount(int count) {
+			this.count = count;
+		}
+
+		public long getTotal() {
+			return total;
+		}
+
+		SampleEntry setTotal(long total) {
+			this.total = total;
+			return this;
+		}
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+	}
+
+	@DataEntry
+	public static class CustomEntry {
+
+		@DN
+		private String dn;
+		@AttributeName(name = "uid")
+		private String userId;
+		@AttributeName
+		private List<String> tags;
+		@AttributeName(name = "userPassword")
+		@Password
+		private String password;
+		@AttributeName
+		private String readOnly;
+		@AttributesList(name = "name", value = "values", sortByName = true)
+		private List<SampleEntry> customAttributes;
+
+		public String getDn() {
+			return dn;
+		}
+
+		public void setDn(String dn) {
+			this.dn = dn;
+		}
+
+		public String getUserId() {
+			return userId;
+		}
+
+		public void setUserId(String userId) {
+			this.userId = userId;
+		}
+
+		public List<String> getTags() {
+			return tags;
+		}
+
+		public void setTags(List<String> tags) {
+			this.tags = tags;
+		}
+
+		public String getPassword() {
+			return password;
+		}
+
+		public void setPassword(String password) {
+			this.password = password;
+		}
+
+		public String getReadOnly() {
+			return readOnly;
+		}
+
+		public List<SampleEntry> getCustomAttributes() {
+			return customAttributes;
+		}
+
+		public void setCustomAttributes(List<SampleEntry> customAttributes) {
+			this.customAttributes = customAttributes;
+		}
+	}
+
+	@Test
+	public void checkAnnotations() {
+		EntryMappingPlan mappingPlan = new EntryMappingPlan(SampleEntry.class);
+
+		List<PropertyAnnotation> propertiesAnnotations = mappingPlan.getAnnotations("property_", PROPERTY_ANNOTATIONS);
+		assertEquals(propertiesAnnotations.size(), 6);
+		assertSame(mappingPlan.getAnnotations("property_", PROPERTY_ANNOTATIONS), propertiesAnnotations);
+
+		List<PropertyAnnotation> dnAnnotations = mappingPlan.getAnnotations("dn_", DN_ANNOTATIONS);
+		assertEquals(dnAnnotations.size(), 1);
+		assertEquals(dnAnnotations.get(0).getPropertyName(), "dn");
+	}
+
+	@Test
+	public void checkAccessors() {
+		EntryMappingPlan mappingPlan = new EntryMappingPlan(SampleEntry.class);
+
+		SampleEntry entry = new SampleEntry();
+		Date now = new Date();
+		mappingPlan.getSetter("displayName").set(entry, "Test");
+		mappingPlan.getSetter("expiration").set(entry, now);
+		mappingPlan.getSetter("count").set(entry, 5);
+		mappingPlan.getSetter("total").set(entry, 7L);
+		mappingPlan.getSetter("enabled").set(entry, Boolean.TRUE);
+
+		assertEquals(mappingPlan.getGetter("displayName").get(entry), "Test");
+		assertEquals(mappingPlan.getGetter("expiration").get(entry), now);
+		assertEquals(mappingPlan.getGetter("count").get(entry), 5);
+		assertEquals(mappingPlan.getGetter("total").get(entry), 7L);
+		assertEquals(mappingPlan.getGetter("enabled").get(entry), Boolean.TRUE);
+
+		assertSame(mappingPlan.getSetter("count"), mappingPlan.getSetter("count"));
+		assertTrue(mappingPlan.getGetter("count") instanceof MethodHandlePropertyAccessor.MethodHandleGetter);
+		assertEquals(mappingPlan.getGetter("count").getReturnType(), int.class);
+		assertEquals(ReflectHelper.getSetterType(mappingPlan.getSetter("total")), long.class);
+	}
+
+	@Test
+	public void checkAttributeDescriptors() {
+		EntryMappingPlan mappingPlan = new EntryMappingPlan(CustomEntry.class);
+
+		List<PropertyAnnotation> propertiesAnnotations = mappingPlan.getAnnotations("property_", DESCRIPTOR_ANNOTATIONS);
+		List<EntryAttributeDescriptor> descriptors = mappingPlan.getAttributeDescriptors(propertiesAnnotations,
+				propertiesAnnotation -> createDescriptor(mappingPlan, propertiesAnnotation));
+
+		// Annotations order
+		assertEquals(descriptors.size(), 5);
+		assertEquals(descriptors.get(0).getPropertyName(), "customAttributes");
+		assertEquals(descriptors.get(1).getPropertyName(), "password");
+		assertEquals(descriptors.get(2).getPropertyName(), "readOnly");
+		assertEquals(descriptors.get(3).getPropertyName(), "tags");
+		assertEquals(descriptors.get(4).getPropertyName(), "userId");
+
+		EntryAttributeDescriptor customAttributes = descriptors.get(0);
+		assertNull(customAttributes.getAttributeName());
+		assertEquals(customAttributes.getAttributesList().name(), "name");
+		assertEquals(customAttributes.getValueType(), ValueType.LIST);
+		assertEquals(customAttributes.getItemType(), SampleEntry.class);
+
+		EntryAttributeDescriptor password = descriptors.get(1);
+		assertEquals(password.getDbAttributeName(), "userPassword");
+		assertEquals(password.getDbAttributeNameLowerCase(), "userpassword");
+		assertEquals(password.getValueType(), ValueType.STRING);
+		assertTrue(password.getPassword() != null);
+
+		EntryAttributeDescriptor readOnly = descriptors.get(2);
+		assertTrue(readOnly.getGetter() != null);
+		assertNull(readOnly.getSetter());
+		assertEquals(readOnly.getValueType(), ValueType.UNSUPPORTED);
+
+		EntryAttributeDescriptor tags = descriptors.get(3);
+		assertEquals(tags.getDbAttributeName(), "tags");
+		assertEquals(tags.getValueType(), ValueType.LIST);
+		assertEquals(tags.getItemType(), String.class);
+		assertTrue(tags.isMultiValued());
+
+		// Descriptors are cached only for lists resolved by plan
+		assertSame(mappingPlan.getAttributeDescriptors(propertiesAnnotations, propertiesAnnotation -> null), descriptors);
+		List<EntryAttributeDescriptor> filteredDescriptors = mappingPlan.getAttributeDescriptors(
+				new ArrayList<PropertyAnnotation>(propertiesAnnotations.subList(0, 2)),
+				propertiesAnnotation -> createDescriptor(mappingPlan, propertiesAnnotation));
+		assertNotSame(filteredDescriptors, descriptors);
+		assertEquals(filteredDescriptors.size(), 2);
+	}
+
+	@Test
+	public void checkConversionLikeReflection() {
+		EntryMappingPlan mappingPlan = new EntryMappingPlan(SampleEntry.class);
+
+		SampleEntry entry = new SampleEntry();
+		// Widening conversion is applied like in Method.invoke
+		mappingPlan.getSetter("total").set(entry, 3);
+		assertEquals(entry.getTotal(), 3L);
+
+		try {
+			mappingPlan.getSetter("count").set(entry, null);
+			fail("Null assigned to primitive property");
+		} catch (PropertyAccessException ex) {
+			assertTrue(ex.getMessage().startsWith("Null value was assigned to a property of primitive type"));
+		}
+
+		try {
+			mappingPlan.getSetter("displayName").set(entry, 1);
+			fail("Wrong value type");
+		} catch (PropertyAccessException ex) {
+			assertFalse(ex.getMessage().startsWith("Null value"));
+		}
+	}
+
+	private EntryAttributeDescriptor createDescriptor(EntryMappingPlan mappingPlan, PropertyAnnotation propertiesAnnotation) {
+		String propertyName = propertiesAnnotation.getPropertyName();
+		Setter setter = null;
+		try {
+			setter = mappingPlan.getSetter(propertyName);
+		} catch (PropertyNotFoundException ex) {
+			// Read only property
+		}
+
+		boolean multiValued = (setter != null) && ReflectHelper.assignableFrom(ReflectHelper.getSetterType(setter), List.class);
+
+		return EntryAttributeDescriptor.forProperty(propertiesAnnotation, mappingPlan.getGetter(propertyName), setter, multiValued);
+	}
+
+	@Test(enabled = false) // manual
+	public void benchmarkConversion() {
+		int iterations = 2000000;
+		Object[] values = { "inum=1,ou=clients,o=jans", "1", "Test", new Date(), 5, 7L, Boolean.TRUE };
+
+		// Previous implementation: string keyed cache of reflection based accessors
+		Map<String, Getter> classGetters = new HashMap<String, Getter>();
+		Map<String, Setter> classSetters = new HashMap<String, Setter>();
+		for (String property : PROPERTIES) {
+			classGetters.put(SampleEntry.class.getName() + "." + property, ReflectHelper.getGetter(SampleEntry.class, property));
+			classSetters.put(SampleEntry.class.getName() + "." + property, ReflectHelper.getSetter(SampleEntry.class, property));
+		}
+		EntryMappingPlan mappingPlan = new EntryMappingPlan(SampleEntry.class);
+
+		long blackhole = 0;
+		for (int run = 0; run < 3; run++) {
+			long start = System.nanoTime();
+			for (int i = 0; i < iterations; i++) {
+				SampleEntry entry = new SampleEntry();
+				for (int j = 0; j < PROPERTIES.length; j++) {
+					classSetters.get(SampleEntry.class.getName() + "." + PROPERTIES[j]).set(entry, values[j]);
+				}
+				for (int j = 0; j < PROPERTIES.length; j++) {
+					blackhole += classGetters.get(SampleEntry.class.getName() + "." + PROPERTIES[j]).get(entry).hashCode();
+				}
+			}
+			long reflection = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			for (int i = 0; i < iterations; i++) {
+				SampleEntry entry = new SampleEntry();
+				for (int j = 0; j < PROPERTIES.length; j++) {
+					mappingPlan.getSetter(PROPERTIES[j]).set(entry, values[j]);
+				}
+				for (int j = 0; j < PROPERTIES.length; j++) {
+					blackhole += mappingPlan.getGetter(PROPERTIES[j]).get(entry).hashCode();
+				}
+			}
+			long planned = System.nanoTime() - start;
+
+			System.out.println(String.format("Run %d: reflection: %d ns/entry, mapping plan: %d ns/entry (%d)", run,
+					reflection / iterations, planned / iterations, blackhole));
+		}
+	}
+
+}
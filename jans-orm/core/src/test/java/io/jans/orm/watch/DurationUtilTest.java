@@ -0,0 +1,60 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.orm.watch;
+
+import static org.testng.Assert.assertEquals;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+public class DurationUtilTest {
+
+	private final DurationUtil durationUtil = new DurationUtil() {
+		@Override
+		public void logDebug(String format, Object... arguments) {
+		}
+	};
+
+	@AfterMethod
+	public void resetListener() {
+		DurationUtil.setDurationListener(null);
+	}
+
+	@Test
+	public void listenerGetsOperationAndDuration() {
+		List<String> operations = new ArrayList<>();
+		List<Duration> durations = new ArrayList<>();
+		DurationUtil.setDurationListener((operation, duration) -> {
+			operations.add(operation);
+			durations.add(duration);
+		});
+
+		durationUtil.record("sql.lookup", Duration.ofMillis(5));
+
+		assertEquals(operations, List.of("sql.lookup"));
+		assertEquals(durations, List.of(Duration.ofMillis(5)));
+	}
+
+	@Test
+	public void recordWithoutListenerIsIgnored() {
+		durationUtil.record("sql.lookup", Duration.ofMillis(1));
+	}
+
+	@Test
+	public void listenerFailureIsNotPropagated() {
+		DurationUtil.setDurationListener((operation, duration) -> {
+			throw new IllegalStateException("listener failure");
+		});
+
+		durationUtil.record("ldap.search", Duration.ofMillis(1));
+	}
+
+}
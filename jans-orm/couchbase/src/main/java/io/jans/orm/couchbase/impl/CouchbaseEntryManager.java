@@ -24,9 +24,11 @@ import io.jans.orm.annotation.AttributeName;
 import io.jans.orm.event.DeleteNotifier;
 import io.jans.orm.exception.AuthenticationException;
 import io.jans.orm.exception.EntryDeleteException;
+import io.jans.orm.exception.EntryNotFoundPersistenceException;
 import io.jans.orm.exception.EntryPersistenceException;
 import io.jans.orm.exception.MappingException;
 import io.jans.orm.exception.UnsupportedOperationException;
+import io.jans.orm.exception.operation.EntryNotFoundException;
 import io.jans.orm.exception.operation.SearchException;
 import io.jans.orm.impl.BaseEntryManager;
 import io.jans.orm.impl.GenericKeyConverter;
@@ -361,11 +363,13 @@ public class CouchbaseEntryManager extends BaseEntryManager<CouchbaseOperationSe
             if (result != null) {
                 return result;
             }
+        } catch (EntryNotFoundException ex) {
+            throw new EntryNotFoundPersistenceException(String.format("Failed to find entry: %s", dn), ex);
         } catch (Exception ex) {
             throw new EntryPersistenceException(String.format("Failed to find entry: %s", dn), ex);
         }
 
-        throw new EntryPersistenceException(String.format("Failed to find entry: %s", dn));
+        throw new EntryNotFoundPersistenceException(String.format("Failed to find entry: %s", dn));
     }
 
     @Override
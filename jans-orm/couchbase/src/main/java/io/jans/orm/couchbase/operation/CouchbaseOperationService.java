@@ -55,7 +55,7 @@ public interface CouchbaseOperationService extends PersistenceOperationService {
     int delete(String key, QueryScanConsistency scanConsistency, ConvertedExpression expression, int count) throws DeleteException;
     boolean deleteRecursively(String key) throws EntryNotFoundException, DeleteException;
 
-    JsonObject lookup(String key, String... attributes) throws SearchException;
+    JsonObject lookup(String key, String... attributes) throws SearchException, EntryNotFoundException;
 
     <O> PagedResult<JsonObject> search(String key, QueryScanConsistency scanConsistency, ConvertedExpression expression, SearchScope scope,
             String[] attributes, Sort[] orderBy, CouchbaseBatchOperationWraper<O> batchOperationWraper, SearchReturnDataType returnDataType,
@@ -27,6 +27,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.couchbase.client.core.error.CouchbaseException;
+import com.couchbase.client.core.error.DocumentNotFoundException;
 import com.couchbase.client.core.msg.ResponseStatus;
 import com.couchbase.client.java.Bucket;
 import com.couchbase.client.java.json.JsonArray;
@@ -164,6 +165,7 @@ public class CouchbaseOperationServiceImpl implements CouchbaseOperationService
         Duration duration = OperationDurationUtil.instance().duration(startTime);
 
         BucketMapping bucketMapping = connectionProvider.getBucketMappingByKey(key);
+        OperationDurationUtil.instance().record("couchbase.bind", duration);
         OperationDurationUtil.instance().logDebug("Couchbase operation: bind, duration: {}, bucket: {}, key: {}", duration, bucketMapping.getBucketName(), key);
         
         return result;
@@ -182,6 +184,7 @@ public class CouchbaseOperationServiceImpl implements CouchbaseOperationService
         boolean result = addEntryImpl(bucketMapping, key, jsonObject, expiration);
 
         Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().record("couchbase.add", duration);
         OperationDurationUtil.instance().logDebug("Couchbase operation: add, duration: {}, bucket: {}, key: {}, json: {}", duration, bucketMapping.getBucketName(), key, jsonObject);
         
         return result;
@@ -234,6 +237,7 @@ public class CouchbaseOperationServiceImpl implements CouchbaseOperationService
         boolean result = updateEntryImpl(bucketMapping, key, mods, expiration);
 
         Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().record("couchbase.modify", duration);
         OperationDurationUtil.instance().logDebug("Couchbase operation: modify, duration: {}, bucket: {}, key: {}, mods: {}", duration, bucketMapping.getBucketName(), key, mods);
 
         return result;
@@ -262,6 +266,7 @@ public class CouchbaseOperationServiceImpl implements CouchbaseOperationService
         boolean result = deleteImpl(bucketMapping, key);
 
         Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().record("couchbase.delete", duration);
         OperationDurationUtil.instance().logDebug("Couchbase operation: delete, duration: {}, bucket: {}, key: {}", duration, bucketMapping.getBucketName(), key);
 
         return result;
@@ -289,6 +294,7 @@ public class CouchbaseOperationServiceImpl implements CouchbaseOperationService
         String attemptInfo = getScanAttemptLogInfo(queryScanConsistency, useQueryScanConsistency, false);
 
         Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().record("couchbase.delete_search", duration);
         OperationDurationUtil.instance().logDebug("Couchbase operation: delete_search, duration: {}, bucket: {}, key: {}, expression: {}, count: {}, consistency: {}{}", duration, bucketMapping.getBucketName(), key, expression, count, useQueryScanConsistency, attemptInfo);
 
         return result;
@@ -320,6 +326,7 @@ public class CouchbaseOperationServiceImpl implements CouchbaseOperationService
         boolean result = deleteRecursivelyImpl(bucketMapping, key);
 
         Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().record("couchbase.delete_tree", duration);
         OperationDurationUtil.instance().logDebug("Couchbase operation: delete_tree, duration: {}, bucket: {}, key: {}", duration, bucketMapping.getBucketName(), key);
 
         return result;
@@ -352,19 +359,20 @@ public class CouchbaseOperationServiceImpl implements CouchbaseOperationService
 	}
 
     @Override
-    public JsonObject lookup(String key, String... attributes) throws SearchException {
+    public JsonObject lookup(String key, String... attributes) throws SearchException, EntryNotFoundException {
         Instant startTime = OperationDurationUtil.instance().now();
         
     	BucketMapping bucketMapping = connectionProvider.getBucketMappingByKey(key);
         JsonObject result = lookupImpl(bucketMapping, key, attributes);
 
         Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().record("couchbase.lookup", duration);
         OperationDurationUtil.instance().logDebug("Couchbase operation: lookup, duration: {}, bucket: {}, key: {}, attributes: {}", duration, bucketMapping.getBucketName(), key, attributes);
 
         return result;
     }
 
-	private JsonObject lookupImpl(BucketMapping bucketMapping, String key, String... attributes) throws SearchException {
+	private JsonObject lookupImpl(BucketMapping bucketMapping, String key, String... attributes) throws SearchException, EntryNotFoundException {
 		try {
             Bucket bucket = bucketMapping.getBucket();
             if (ArrayHelper.isEmpty(attributes)) {
@@ -396,6 +404,8 @@ public class CouchbaseOperationServiceImpl implements CouchbaseOperationService
 	                }
             	}
             }
+        } catch (DocumentNotFoundException ex) {
+            throw new EntryNotFoundException(String.format("Failed to lookup entry by key '%s'", key), ex);
         } catch (CouchbaseException ex) {
         	if (ResponseStatus.SUBDOC_FAILURE == ex.context().responseStatus()) {
         		// No fields for return
@@ -404,7 +414,7 @@ public class CouchbaseOperationServiceImpl implements CouchbaseOperationService
             throw new SearchException(String.format("Failed to lookup entry by key '%s'", key), ex);
         }
 
-        throw new SearchException(String.format("Failed to lookup entry by key '%s'", key));
+        throw new EntryNotFoundException(String.format("Failed to lookup entry by key '%s'", key));
 	}
 
 	@Override
@@ -448,6 +458,7 @@ public class CouchbaseOperationServiceImpl implements CouchbaseOperationService
         String attemptInfo = getScanAttemptLogInfo(queryScanConsistency, useQueryScanConsistency, secondTry);
 
         Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().record("couchbase.search", duration);
         OperationDurationUtil.instance().logDebug("Couchbase operation: search, duration: {}, bucket: {}, key: {}, expression: {}, scope: {}, attributes: {}, orderBy: {}, batchOperationWraper: {}, returnDataType: {}, start: {}, count: {}, pageSize: {}, consistency: {}{}", duration, bucketMapping.getBucketName(), key, expression, scope, attributes, orderBy, batchOperationWraper, returnDataType, start, count, pageSize, useQueryScanConsistency, attemptInfo);
 
         return result;
@@ -7,12 +7,17 @@
 package io.jans.orm.hybrid.impl;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,6 +33,7 @@ import io.jans.orm.impl.model.ParsedKey;
 import io.jans.orm.model.AttributeData;
 import io.jans.orm.model.AttributeDataModification;
 import io.jans.orm.model.BatchOperation;
+import io.jans.orm.model.EntryBatchResult;
 import io.jans.orm.model.EntryData;
 import io.jans.orm.model.PagedResult;
 import io.jans.orm.model.SearchProjection;
@@ -294,6 +300,12 @@ public class HybridEntryManager extends BaseEntryManager<HybridPersistenceOperat
 	            sortOrder, start, count, chunkSize);
     }
 
+    @Override
+    public <T> Stream<T> findEntriesStream(String baseDN, Class<T> entryClass, Filter filter, String[] ldapReturnAttributes, int chunkSize) {
+    	PersistenceEntryManager persistenceEntryManager = getEntryManagerForDn(baseDN);
+		return persistenceEntryManager.findEntriesStream(baseDN, entryClass, filter, ldapReturnAttributes, chunkSize);
+    }
+
 	@Override
 	public boolean hasBranchesSupport(String dn) {
 		PersistenceEntryManager persistenceEntryManager = getEntryManagerForDn(dn);
@@ -388,6 +400,46 @@ public class HybridEntryManager extends BaseEntryManager<HybridPersistenceOperat
     	persistenceEntryManager.persist(entry);
 	}
 
+	@Override
+	public EntryBatchResult persistEntries(Collection<?> entries) {
+		return processEntries(entries, PersistenceEntryManager::persistEntries);
+	}
+
+	@Override
+	public EntryBatchResult mergeEntries(Collection<?> entries) {
+		return processEntries(entries, PersistenceEntryManager::mergeEntries);
+	}
+
+	private EntryBatchResult processEntries(Collection<?> entries, BiFunction<PersistenceEntryManager, List<Object>, EntryBatchResult> operation) {
+		EntryBatchResult result = new EntryBatchResult(entries.size());
+
+		// Group entries by target entry manager and keep original positions
+		Map<PersistenceEntryManager, List<Object>> entriesByManager = new LinkedHashMap<PersistenceEntryManager, List<Object>>();
+		Map<PersistenceEntryManager, List<Integer>> indexesByManager = new HashMap<PersistenceEntryManager, List<Integer>>();
+		int index = 0;
+		for (Object entry : entries) {
+			try {
+				Object dnValue = getDNValue(entry, entry.getClass());
+				PersistenceEntryManager persistenceEntryManager = getEntryManagerForDn(dnValue);
+				entriesByManager.computeIfAbsent(persistenceEntryManager, k -> new ArrayList<Object>()).add(entry);
+				indexesByManager.computeIfAbsent(persistenceEntryManager, k -> new ArrayList<Integer>()).add(index);
+			} catch (RuntimeException ex) {
+				result.addFailure(index, entry, ex);
+			}
+			index++;
+		}
+
+		for (Entry<PersistenceEntryManager, List<Object>> managerEntries : entriesByManager.entrySet()) {
+			List<Integer> indexes = indexesByManager.get(managerEntries.getKey());
+			EntryBatchResult managerResult = operation.apply(managerEntries.getKey(), managerEntries.getValue());
+			for (EntryBatchResult.Failure failure : managerResult.getFailures()) {
+				result.addFailure(indexes.get(failure.getIndex()), failure.getEntry(), failure.getException());
+			}
+		}
+
+		return result;
+	}
+
 	@Override
     public void remove(Object entry) {
         Class<?> entryClass = entry.getClass();
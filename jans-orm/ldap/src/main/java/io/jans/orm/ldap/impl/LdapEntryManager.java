@@ -45,9 +45,11 @@ import io.jans.orm.annotation.AttributeName;
 import io.jans.orm.event.DeleteNotifier;
 import io.jans.orm.exception.AuthenticationException;
 import io.jans.orm.exception.EntryDeleteException;
+import io.jans.orm.exception.EntryNotFoundPersistenceException;
 import io.jans.orm.exception.EntryPersistenceException;
 import io.jans.orm.exception.MappingException;
 import io.jans.orm.exception.operation.ConnectionException;
+import io.jans.orm.exception.operation.EntryNotFoundException;
 import io.jans.orm.exception.operation.SearchException;
 import io.jans.orm.exception.operation.SearchScopeException;
 import io.jans.orm.impl.BaseEntryManager;
@@ -405,11 +407,13 @@ public class LdapEntryManager extends BaseEntryManager<LdapOperationService> imp
             if (result != null) {
                 return result.getAttributeData();
             }
+        } catch (EntryNotFoundException ex) {
+            throw new EntryNotFoundPersistenceException(String.format("Failed to find entry: %s", dn), ex);
         } catch (Exception ex) {
             throw new EntryPersistenceException(String.format("Failed to find entry: %s", dn), ex);
         }
 
-        throw new EntryPersistenceException(String.format("Failed to find entry: %s", dn));
+        throw new EntryNotFoundPersistenceException(String.format("Failed to find entry: %s", dn));
     }
 
     @Override
@@ -802,7 +806,7 @@ public class LdapEntryManager extends BaseEntryManager<LdapOperationService> imp
             }
             
             return null;
-        } catch (ConnectionException | SearchException ex) {
+        } catch (ConnectionException | SearchException | EntryNotFoundException ex) {
             throw new EntryPersistenceException(String.format("Failed to find entry: %s", dn), ex);
         }
     }
@@ -22,6 +22,7 @@ import com.unboundid.ldif.LDIFChangeRecord;
 
 import io.jans.orm.exception.operation.ConnectionException;
 import io.jans.orm.exception.operation.DuplicateEntryException;
+import io.jans.orm.exception.operation.EntryNotFoundException;
 import io.jans.orm.exception.operation.SearchException;
 import io.jans.orm.ldap.impl.LdapBatchOperationWraper;
 import io.jans.orm.ldap.operation.impl.LdapConnectionProvider;
@@ -70,7 +71,7 @@ public interface LdapOperationService extends PersistenceOperationService {
      * @return EntryData
      * @throws ConnectionException
      */
-    EntryData lookup(String dn, String... attributes) throws ConnectionException, SearchException;
+    EntryData lookup(String dn, String... attributes) throws ConnectionException, SearchException, EntryNotFoundException;
 
     /**
      * Use this method to add new entry
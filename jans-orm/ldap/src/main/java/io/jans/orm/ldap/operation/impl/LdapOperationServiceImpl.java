@@ -59,6 +59,7 @@ import io.jans.orm.exception.MappingException;
 import io.jans.orm.exception.SearchEntryException;
 import io.jans.orm.exception.operation.ConnectionException;
 import io.jans.orm.exception.operation.DuplicateEntryException;
+import io.jans.orm.exception.operation.EntryNotFoundException;
 import io.jans.orm.exception.operation.SearchException;
 import io.jans.orm.extension.PersistenceExtension;
 import io.jans.orm.ldap.exception.InvalidSimplePageControlException;
@@ -226,6 +227,7 @@ public class LdapOperationServiceImpl implements LdapOperationService {
         }
 
         Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().record("ldap.bind", duration);
         OperationDurationUtil.instance().logDebug("LDAP operation: bind, duration: {}, dn: {}", duration, bindDn);
 
         return result;
@@ -279,6 +281,7 @@ public class LdapOperationServiceImpl implements LdapOperationService {
         PagedResult<EntryData> result = searchImpl(dn, filter, scope, batchOperationWraper, start, count, pageSize, controls, attributes);
 
         Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().record("ldap.search", duration);
         OperationDurationUtil.instance().logDebug("LDAP operation: search, duration: {}, dn: {}, filter: {}, scope: {}, batchOperationWraper: {}, start: {}, searchLimit: {}, count: {}, controls: {}, attributes: {}", duration, dn, filter, scope, batchOperationWraper, start, pageSize, count, controls, attributes);
 
         return result;
@@ -466,6 +469,7 @@ public class LdapOperationServiceImpl implements LdapOperationService {
 		PagedResult<EntryData> result = searchSearchResultEntryListImpl(dn, filter, scope, startIndex, count, pageSize, sortBy, sortOrder, attributes);
 
         Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().record("ldap.search_result_list", duration);
         OperationDurationUtil.instance().logDebug("LDAP operation: search_result_list, duration: {}, dn: {}, filter: {}, scope: {}, startIndex: {}, count: {}, pageSize: {}, sortBy: {}, sortOrder: {}, attributes: {}, result: {}", duration, dn, filter, scope, startIndex, count, pageSize, sortBy, sortOrder, attributes, result);
 
         return result;
@@ -581,18 +585,19 @@ public class LdapOperationServiceImpl implements LdapOperationService {
     }
 
     @Override
-    public EntryData lookup(String dn, String... attributes) throws ConnectionException, SearchException {
+    public EntryData lookup(String dn, String... attributes) throws ConnectionException, SearchException, EntryNotFoundException {
         Instant startTime = OperationDurationUtil.instance().now();
         
         EntryData result = lookupImpl(dn, attributes);
 
         Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().record("ldap.lookup", duration);
         OperationDurationUtil.instance().logDebug("LDAP operation: lookup, duration: {}, dn: {}, attributes: {}", duration, dn, attributes);
 
         return result;
     }
 
-    private EntryData lookupImpl(String dn, String... attributes) throws SearchException {
+    private EntryData lookupImpl(String dn, String... attributes) throws EntryNotFoundException {
         try {
         	SearchResultEntry searchResultEntry;
             if (attributes == null) {
@@ -609,7 +614,7 @@ public class LdapOperationServiceImpl implements LdapOperationService {
             throw new ConnectionException("Failed to lookup entry", ex);
         }
 
-        throw new SearchException(String.format("Failed to lookup entry by DN: '%s'", dn));
+        throw new EntryNotFoundException(String.format("Failed to lookup entry by DN: '%s'", dn));
     }
 
     @Override
@@ -619,6 +624,7 @@ public class LdapOperationServiceImpl implements LdapOperationService {
         boolean result = addEntryImpl(dn, attributes);
 
         Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().record("ldap.add", duration);
         OperationDurationUtil.instance().logDebug("LDAP operation: add, duration: {}, dn: {}, attributes: {}", duration, dn, attributes);
         
         return result;
@@ -683,6 +689,7 @@ public class LdapOperationServiceImpl implements LdapOperationService {
         boolean result = updateEntryImpl(dn, modifications);
 
         Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().record("ldap.modify", duration);
         OperationDurationUtil.instance().logDebug("LDAP operation: modify, duration: {}, dn: {}, modifications: {}", duration, dn, modifications);
 
         return result;
@@ -733,6 +740,7 @@ public class LdapOperationServiceImpl implements LdapOperationService {
         boolean result = deleteImpl(dn);
 
         Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().record("ldap.delete", duration);
         OperationDurationUtil.instance().logDebug("LDAP operation: delete, duration: {}, dn: {}", duration, dn);
 
         return result;
@@ -755,6 +763,7 @@ public class LdapOperationServiceImpl implements LdapOperationService {
         boolean result = deleteRecursivelyImpl(dn);
 
         Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().record("ldap.delete_tree", duration);
         OperationDurationUtil.instance().logDebug("LDAP operation: delete_tree, duration: {}, dn: {}", duration, dn);
 
         return result;
@@ -32,8 +32,10 @@ import io.jans.orm.cloud.spanner.operation.impl.SpannerConnectionProvider;
 import io.jans.orm.event.DeleteNotifier;
 import io.jans.orm.exception.AuthenticationException;
 import io.jans.orm.exception.EntryDeleteException;
+import io.jans.orm.exception.EntryNotFoundPersistenceException;
 import io.jans.orm.exception.EntryPersistenceException;
 import io.jans.orm.exception.MappingException;
+import io.jans.orm.exception.operation.EntryNotFoundException;
 import io.jans.orm.exception.operation.SearchException;
 import io.jans.orm.impl.BaseEntryManager;
 import io.jans.orm.impl.GenericKeyConverter;
@@ -386,11 +388,13 @@ public class SpannerEntryManager extends BaseEntryManager<SpannerOperationServic
             if (result != null) {
                 return result;
             }
+        } catch (EntryNotFoundException ex) {
+            throw new EntryNotFoundPersistenceException(String.format("Failed to find entry: '%s'", dn), ex);
         } catch (Exception ex) {
             throw new EntryPersistenceException(String.format("Failed to find entry: '%s'", dn), ex);
         }
 
-        throw new EntryPersistenceException(String.format("Failed to find entry: '%s'", dn));
+        throw new EntryNotFoundPersistenceException(String.format("Failed to find entry: '%s'", dn));
     }
 
     @Override
@@ -64,7 +64,7 @@ public interface SpannerOperationService extends PersistenceOperationService {
 
 	boolean deleteRecursively(String key, String objectClass) throws EntryNotFoundException, SearchException;
 
-	List<AttributeData> lookup(String key, String objectClass, String... attributes) throws SearchException, EntryConvertationException;
+	List<AttributeData> lookup(String key, String objectClass, String... attributes) throws SearchException, EntryConvertationException, EntryNotFoundException;
 
     <O> PagedResult<EntryData> search(String key, String objectClass, ConvertedExpression expression, SearchScope scope,
             String[] attributes, Sort[] orderBy, SpannerBatchOperationWraper<O> batchOperationWraper, SearchReturnDataType returnDataType,
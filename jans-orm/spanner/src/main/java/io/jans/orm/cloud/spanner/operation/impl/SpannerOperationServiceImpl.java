@@ -181,6 +181,7 @@ public class SpannerOperationServiceImpl implements SpannerOperationService {
         Duration duration = OperationDurationUtil.instance().duration(startTime);
 
         TableMapping tableMapping = connectionProvider.getTableMappingByKey(key, objectClass);
+        OperationDurationUtil.instance().record("spanner.bind", duration);
         OperationDurationUtil.instance().logDebug("Spanner operation: bind, duration: {}, table: {}, key: {}", duration, tableMapping.getTableName(), key);
 
         return result;
@@ -195,6 +196,7 @@ public class SpannerOperationServiceImpl implements SpannerOperationService {
         boolean result = addEntryImpl(tableMapping, key, attributes);
 
         Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().record("spanner.add", duration);
         OperationDurationUtil.instance().logDebug("SQL operation: add, duration: {}, table: {}, key: {}, attributes: {}", duration, tableMapping.getTableName(), key, attributes);
         
         return result;
@@ -260,6 +262,7 @@ public class SpannerOperationServiceImpl implements SpannerOperationService {
         boolean result = updateEntryImpl(tableMapping, key, mods);
 
         Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().record("spanner.modify", duration);
         OperationDurationUtil.instance().logDebug("SQL operation: modify, duration: {}, table: {}, key: {}, mods: {}", duration, tableMapping.getTableName(), key, mods);
 
         return result;
@@ -375,6 +378,7 @@ public class SpannerOperationServiceImpl implements SpannerOperationService {
         boolean result = deleteImpl(tableMapping, key);
 
         Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().record("spanner.delete", duration);
         OperationDurationUtil.instance().logDebug("SQL operation: delete, duration: {}, table: {}, key: {}", duration, tableMapping.getTableName(), key);
 
         return result;
@@ -404,6 +408,7 @@ public class SpannerOperationServiceImpl implements SpannerOperationService {
     	long result = deleteImpl(tableMapping, expression, count);
 
         Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().record("spanner.delete_search", duration);
         OperationDurationUtil.instance().logDebug("SQL operation: delete_search, duration: {}, table: {}, key: {}, expression: {}, count: {}", duration, tableMapping.getTableName(), key, expression, count);
 
         return result;
@@ -473,6 +478,7 @@ public class SpannerOperationServiceImpl implements SpannerOperationService {
         boolean result = deleteRecursivelyImpl(tableMapping, key);
 
         Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().record("spanner.delete_tree", duration);
         OperationDurationUtil.instance().logDebug("SQL operation: delete_tree, duration: {}, table: {}, key: {}", duration, tableMapping.getTableName(), key);
 
         return result;
@@ -484,7 +490,7 @@ public class SpannerOperationServiceImpl implements SpannerOperationService {
 	}
 
     @Override
-    public List<AttributeData> lookup(String key, String objectClass, String... attributes) throws SearchException, EntryConvertationException {
+    public List<AttributeData> lookup(String key, String objectClass, String... attributes) throws SearchException, EntryConvertationException, EntryNotFoundException {
         Instant startTime = OperationDurationUtil.instance().now();
         
     	TableMapping tableMapping = connectionProvider.getTableMappingByKey(key, objectClass);
@@ -492,12 +498,13 @@ public class SpannerOperationServiceImpl implements SpannerOperationService {
     	List<AttributeData> result = lookupImpl(tableMapping, key, attributes);
 
         Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().record("spanner.lookup", duration);
         OperationDurationUtil.instance().logDebug("SQL operation: lookup, duration: {}, table: {}, key: {}, attributes: {}", duration, tableMapping.getTableName(), key, attributes);
 
         return result;
     }
 
-	private List<AttributeData> lookupImpl(TableMapping tableMapping, String key, String... attributes) throws SearchException, EntryConvertationException {
+	private List<AttributeData> lookupImpl(TableMapping tableMapping, String key, String... attributes) throws SearchException, EntryConvertationException, EntryNotFoundException {
 		try {
 			String tableName = tableMapping.getTableName();
 
@@ -550,7 +557,7 @@ public class SpannerOperationServiceImpl implements SpannerOperationService {
 			throw new SearchException(String.format("Failed to lookup query by key: '%s'", key), ex);
 		}
 
-		throw new SearchException(String.format("Failed to lookup entry by key: '%s'", key));
+		throw new EntryNotFoundException(String.format("Failed to lookup entry by key: '%s'", key));
 	}
 
 	@Override
@@ -564,6 +571,7 @@ public class SpannerOperationServiceImpl implements SpannerOperationService {
 						returnDataType, start, count, pageSize);
 
         Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().record("spanner.search", duration);
         OperationDurationUtil.instance().logDebug("SQL operation: search, duration: {}, table: {}, key: {}, expression: {}, scope: {}, attributes: {}, orderBy: {}, batchOperationWraper: {}, returnDataType: {}, start: {}, count: {}, pageSize: {}", duration, tableMapping.getTableName(), key, expression, scope, attributes, orderBy, batchOperationWraper, returnDataType, start, count, pageSize);
 
         return result;
@@ -14,6 +14,7 @@ import static org.testng.Assert.assertTrue;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Iterator;
@@ -26,6 +27,7 @@ import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import io.jans.orm.exception.EntryPersistenceException;
+import io.jans.orm.model.EntryBatchResult;
 import io.jans.orm.model.PagedResult;
 import io.jans.orm.model.ProcessBatchOperation;
 import io.jans.orm.model.SearchScope;
@@ -303,6 +305,55 @@ public class ManualSqlEntryManagerTest {
         assertEquals(totalProcessedCount, 200);
     }
 
+    @Test(dependsOnMethods = "deleteSessionId", enabled = false)
+    public void persistEntriesWithFailedEntry() {
+    	List<SessionId> sessionIds = new ArrayList<SessionId>();
+		for (int i = 0; i < 10; i++) {
+			sessionIds.add(buildSessionId());
+		}
+		// Duplicate key should fail only this entry
+		SessionId duplicateSessionId = buildSessionId();
+		duplicateSessionId.setId(sessionIds.get(3).getId());
+		duplicateSessionId.setDn(sessionIds.get(3).getDn());
+		sessionIds.add(duplicateSessionId);
+
+		EntryBatchResult result = manager.persistEntries(sessionIds);
+		assertEquals(result.getSuccessCount(), 10);
+		assertEquals(result.getFailures().size(), 1);
+		assertEquals(result.getFailures().get(0).getIndex(), 10);
+
+		for (SessionId sessionId : sessionIds) {
+			sessionId.setLastUsedAt(new Date());
+		}
+		EntryBatchResult mergeResult = manager.mergeEntries(sessionIds.subList(0, 10));
+		assertTrue(mergeResult.isSuccess());
+    }
+
+    @Test(dependsOnMethods = "deleteSessionId", enabled = false) // manual
+    public void benchmarkPersistEntries() {
+    	int count = 5000;
+		for (int run = 0; run < 3; run++) {
+			long start = System.nanoTime();
+			for (int i = 0; i < count; i++) {
+				manager.persist(buildSessionId());
+			}
+			long singleTime = System.nanoTime() - start;
+
+	    	List<SessionId> sessionIds = new ArrayList<SessionId>(count);
+			for (int i = 0; i < count; i++) {
+				sessionIds.add(buildSessionId());
+			}
+
+			start = System.nanoTime();
+			EntryBatchResult result = manager.persistEntries(sessionIds);
+			long batchTime = System.nanoTime() - start;
+			assertTrue(result.isSuccess());
+
+			System.out.println(String.format("Run %d: persist %.0f rows/sec, persistEntries %.0f rows/sec", run,
+					count * 1e9 / singleTime, count * 1e9 / batchTime));
+		}
+    }
+
     private SessionId buildSessionId() {
         SessionId sessionId = new SessionId();
         sessionId.setId(UUID.randomUUID().toString());
@@ -11,12 +11,15 @@ import java.text.SimpleDateFormat;
 import java.time.Instant;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,17 +32,23 @@ import io.jans.orm.PersistenceEntryManager;
 import io.jans.orm.event.DeleteNotifier;
 import io.jans.orm.exception.AuthenticationException;
 import io.jans.orm.exception.EntryDeleteException;
+import io.jans.orm.exception.EntryNotFoundPersistenceException;
 import io.jans.orm.exception.EntryPersistenceException;
 import io.jans.orm.exception.MappingException;
+import io.jans.orm.exception.operation.EntryNotFoundException;
 import io.jans.orm.exception.operation.SearchException;
 import io.jans.orm.impl.BaseEntryManager;
 import io.jans.orm.impl.GenericKeyConverter;
+import io.jans.orm.impl.PagedEntrySpliterator;
 import io.jans.orm.impl.model.ParsedKey;
+import io.jans.orm.impl.model.PreparedEntry;
 import io.jans.orm.model.AttributeData;
 import io.jans.orm.model.AttributeDataModification;
 import io.jans.orm.model.AttributeDataModification.AttributeModificationType;
 import io.jans.orm.model.AttributeType;
+import io.jans.orm.model.BatchEntry;
 import io.jans.orm.model.BatchOperation;
+import io.jans.orm.model.EntryBatchResult;
 import io.jans.orm.model.EntryData;
 import io.jans.orm.model.PagedResult;
 import io.jans.orm.model.PasswordAttributeData;
@@ -52,6 +61,7 @@ import io.jans.orm.reflect.property.Setter;
 import io.jans.orm.reflect.util.ReflectHelper;
 import io.jans.orm.search.filter.Filter;
 import io.jans.orm.sql.model.ConvertedExpression;
+import io.jans.orm.sql.model.KeysetCursor;
 import io.jans.orm.sql.model.SearchReturnDataType;
 import io.jans.orm.sql.model.TableMapping;
 import io.jans.orm.sql.operation.SqlOperationService;
@@ -172,7 +182,139 @@ public class SqlEntryManager extends BaseEntryManager<SqlOperationService> imple
     protected void persist(String dn, String[] objectClasses, List<AttributeData> attributes, Integer expiration) {
     	String baseObjectClass = getBaseObjectClassForDataOperation(objectClasses);
 
-    	ArrayList<AttributeData> resultAttributes = new ArrayList<>(attributes.size() + 1);
+    	List<AttributeData> resultAttributes = toSqlAttributes(baseObjectClass, attributes);
+
+        // Persist entry
+        try {
+        	ParsedKey parsedKey = toSQLKey(dn);
+            resultAttributes.add(new AttributeData(SqlOperationService.DN, dn));
+            resultAttributes.add(new AttributeData(SqlOperationService.DOC_ID, parsedKey.getKey()));
+
+            boolean result = getOperationService().addEntry(parsedKey.getKey(), baseObjectClass, resultAttributes);
+            if (!result) {
+                throw new EntryPersistenceException(String.format("Failed to persist entry: '%s'", dn));
+            }
+        } catch (Exception ex) {
+            throw new EntryPersistenceException(String.format("Failed to persist entry: '%s'", dn), ex);
+        }
+    }
+
+    @Override
+    protected void persist(List<PreparedEntry> preparedEntries, EntryBatchResult result) {
+    	Map<Integer, PreparedEntry> preparedEntriesByIndex = new HashMap<Integer, PreparedEntry>();
+    	List<BatchEntry> batchEntries = new ArrayList<BatchEntry>(preparedEntries.size());
+    	for (PreparedEntry preparedEntry : preparedEntries) {
+    		String dn = preparedEntry.getDn();
+    		try {
+            	String baseObjectClass = getBaseObjectClassForDataOperation(preparedEntry.getObjectClasses());
+            	List<AttributeData> resultAttributes = toSqlAttributes(baseObjectClass, preparedEntry.getAttributes());
+
+            	ParsedKey parsedKey = toSQLKey(dn);
+                resultAttributes.add(new AttributeData(SqlOperationService.DN, dn));
+                resultAttributes.add(new AttributeData(SqlOperationService.DOC_ID, parsedKey.getKey()));
+
+                batchEntries.add(BatchEntry.forAdd(preparedEntry.getIndex(), parsedKey.getKey(), baseObjectClass, resultAttributes));
+                preparedEntriesByIndex.put(preparedEntry.getIndex(), preparedEntry);
+    		} catch (Exception ex) {
+    			result.addFailure(preparedEntry.getIndex(), preparedEntry.getEntry(),
+    					new EntryPersistenceException(String.format("Failed to persist entry: '%s'", dn), ex));
+    		}
+    	}
+
+    	executeBatch(batchEntries, preparedEntriesByIndex, result, true);
+    }
+
+    @Override
+    public void merge(String dn, String[] objectClasses, List<AttributeDataModification> attributeDataModifications, Integer expirationValue) {
+    	String baseObjectClass = getBaseObjectClassForDataOperation(objectClasses);
+
+        // Update entry
+        try {
+            List<AttributeDataModification> modifications = toSqlModifications(baseObjectClass, attributeDataModifications);
+
+            if (modifications.size() > 0) {
+                boolean result = getOperationService().updateEntry(toSQLKey(dn).getKey(), baseObjectClass, modifications);
+                if (!result) {
+                    throw new EntryPersistenceException(String.format("Failed to update entry: '%s'", dn));
+                }
+            }
+        } catch (Exception ex) {
+            throw new EntryPersistenceException(String.format("Failed to update entry: '%s'", dn), ex);
+        }
+    }
+
+    @Override
+    public EntryBatchResult mergeEntries(Collection<?> entries) {
+    	if (isValidateAfterUpdate()) {
+    		// Validation requires reload of each entry after update
+    		return super.mergeEntries(entries);
+    	}
+
+    	EntryBatchResult result = new EntryBatchResult(entries.size());
+
+    	Map<Integer, PreparedEntry> preparedEntriesByIndex = new HashMap<Integer, PreparedEntry>();
+    	List<BatchEntry> batchEntries = new ArrayList<BatchEntry>(entries.size());
+    	int index = 0;
+    	for (Object entry : entries) {
+    		try {
+    	        Class<?> entryClass = entry.getClass();
+    	        checkEntryClass(entryClass, true);
+    	        if (isSchemaEntry(entryClass)) {
+    	            throw new UnsupportedOperationException("Server doesn't support dynamic schema modifications");
+    	        }
+
+    	        PreparedEntry preparedEntry = prepareForMerge(entry, false, false, null);
+    	        preparedEntry.setIndex(index);
+
+    	        String dn = preparedEntry.getDn();
+    	        String baseObjectClass = getBaseObjectClassForDataOperation(preparedEntry.getObjectClasses());
+    	        try {
+    	        	List<AttributeDataModification> modifications = toSqlModifications(baseObjectClass, preparedEntry.getModifications());
+    	        	if (modifications.size() > 0) {
+    	        		batchEntries.add(BatchEntry.forUpdate(index, toSQLKey(dn).getKey(), baseObjectClass, modifications));
+    	        		preparedEntriesByIndex.put(index, preparedEntry);
+    	        	}
+    	        } catch (Exception ex) {
+    	            throw new EntryPersistenceException(String.format("Failed to update entry: '%s'", dn), ex);
+    	        }
+    		} catch (RuntimeException ex) {
+    			result.addFailure(index, entry, ex);
+    		}
+    		index++;
+    	}
+
+    	executeBatch(batchEntries, preparedEntriesByIndex, result, false);
+
+    	return result;
+    }
+
+	private void executeBatch(List<BatchEntry> batchEntries, Map<Integer, PreparedEntry> preparedEntriesByIndex, EntryBatchResult result, boolean add) {
+		if (batchEntries.isEmpty()) {
+			return;
+		}
+
+		String message = add ? "Failed to persist entry: '%s'" : "Failed to update entry: '%s'";
+
+		Map<Integer, ? extends Exception> failures;
+		try {
+			failures = add ? getOperationService().addEntries(batchEntries) : getOperationService().updateEntries(batchEntries);
+		} catch (RuntimeException ex) {
+			Map<Integer, Exception> allFailures = new HashMap<Integer, Exception>();
+			for (BatchEntry batchEntry : batchEntries) {
+				allFailures.put(batchEntry.getIndex(), ex);
+			}
+			failures = allFailures;
+		}
+
+		for (Map.Entry<Integer, ? extends Exception> failure : failures.entrySet()) {
+			PreparedEntry preparedEntry = preparedEntriesByIndex.get(failure.getKey());
+			result.addFailure(failure.getKey(), preparedEntry.getEntry(),
+					new EntryPersistenceException(String.format(message, preparedEntry.getDn()), failure.getValue()));
+		}
+	}
+
+	private List<AttributeData> toSqlAttributes(String baseObjectClass, List<AttributeData> attributes) {
+    	List<AttributeData> resultAttributes = new ArrayList<>(attributes.size() + 2);
         for (AttributeData attribute : attributes) {
             String attributeName = attribute.getName();
             Object[] attributeValues = attribute.getValues();
@@ -208,82 +350,57 @@ public class SqlEntryManager extends BaseEntryManager<SqlOperationService> imple
             }
         }
 
-        // Persist entry
-        try {
-        	ParsedKey parsedKey = toSQLKey(dn);
-            resultAttributes.add(new AttributeData(SqlOperationService.DN, dn));
-            resultAttributes.add(new AttributeData(SqlOperationService.DOC_ID, parsedKey.getKey()));
+        return resultAttributes;
+	}
 
-            boolean result = getOperationService().addEntry(parsedKey.getKey(), baseObjectClass, resultAttributes);
-            if (!result) {
-                throw new EntryPersistenceException(String.format("Failed to persist entry: '%s'", dn));
+	private List<AttributeDataModification> toSqlModifications(String baseObjectClass, List<AttributeDataModification> attributeDataModifications) {
+        List<AttributeDataModification> modifications = new ArrayList<AttributeDataModification>(attributeDataModifications.size());
+        for (AttributeDataModification attributeDataModification : attributeDataModifications) {
+            AttributeData attribute = attributeDataModification.getAttribute();
+            AttributeData oldAttribute = attributeDataModification.getOldAttribute();
+
+            String attributeName = null;
+            Object[] attributeValues = null;
+            Boolean multiValued = null;
+            Boolean jsonValue = null;
+            if (attribute != null) {
+                attributeName = attribute.getName();
+                attributeValues = attribute.getValues();
+                multiValued = attribute.getMultiValued();
+                jsonValue = attribute.getJsonValue();
             }
-        } catch (Exception ex) {
-            throw new EntryPersistenceException(String.format("Failed to persist entry: '%s'", dn), ex);
-        }
-    }
-
-    @Override
-    public void merge(String dn, String[] objectClasses, List<AttributeDataModification> attributeDataModifications, Integer expirationValue) {
-    	String baseObjectClass = getBaseObjectClassForDataOperation(objectClasses);
-
-        // Update entry
-        try {
-            List<AttributeDataModification> modifications = new ArrayList<AttributeDataModification>(attributeDataModifications.size());
-            for (AttributeDataModification attributeDataModification : attributeDataModifications) {
-                AttributeData attribute = attributeDataModification.getAttribute();
-                AttributeData oldAttribute = attributeDataModification.getOldAttribute();
-
-                String attributeName = null;
-                Object[] attributeValues = null;
-                Boolean multiValued = null;
-                Boolean jsonValue = null;
-                if (attribute != null) {
-                    attributeName = attribute.getName();
-                    attributeValues = attribute.getValues();
-                    multiValued = attribute.getMultiValued();
-                    jsonValue = attribute.getJsonValue();
-                }
-
-                String oldAttributeName = null;
-                Object[] oldAttributeValues = null;
-                if (oldAttribute != null) {
-                    oldAttributeName = oldAttribute.getName();
-                    oldAttributeValues = oldAttribute.getValues();
-                }
-                
-                AttributeDataModification modification = null;
-                AttributeModificationType modificationType = attributeDataModification.getModificationType();
-				if ((AttributeModificationType.ADD == modificationType) ||
-                	(AttributeModificationType.FORCE_UPDATE == modificationType)) {
-                    modification = createModification(attribute, modificationType, toInternalAttribute(baseObjectClass, attributeName), multiValued, jsonValue, attributeValues);
-                } else {
-                    if ((AttributeModificationType.REMOVE == modificationType)) {
-                		if ((attribute == null) && isEmptyAttributeValues(oldAttribute)) {
-							// It's RDBS case. We don't need to set null to already empty table cell
-                			continue;
-                		}
-                		modification = createModification(attribute, AttributeModificationType.REMOVE, toInternalAttribute(baseObjectClass, oldAttributeName), multiValued, jsonValue, oldAttributeValues);
-                    } else if ((AttributeModificationType.REPLACE == modificationType)) {
-                        modification = createModification(attribute, AttributeModificationType.REPLACE, toInternalAttribute(baseObjectClass, attributeName), multiValued, jsonValue, attributeValues);
-                    }
-                }
 
-                if (modification != null) {
-                    modifications.add(modification);
+            String oldAttributeName = null;
+            Object[] oldAttributeValues = null;
+            if (oldAttribute != null) {
+                oldAttributeName = oldAttribute.getName();
+                oldAttributeValues = oldAttribute.getValues();
+            }
+            
+            AttributeDataModification modification = null;
+            AttributeModificationType modificationType = attributeDataModification.getModificationType();
+			if ((AttributeModificationType.ADD == modificationType) ||
+            	(AttributeModificationType.FORCE_UPDATE == modificationType)) {
+                modification = createModification(attribute, modificationType, toInternalAttribute(baseObjectClass, attributeName), multiValued, jsonValue, attributeValues);
+            } else {
+                if ((AttributeModificationType.REMOVE == modificationType)) {
+            		if ((attribute == null) && isEmptyAttributeValues(oldAttribute)) {
+						// It's RDBS case. We don't need to set null to already empty table cell
+            			continue;
+            		}
+            		modification = createModification(attribute, AttributeModificationType.REMOVE, toInternalAttribute(baseObjectClass, oldAttributeName), multiValued, jsonValue, oldAttributeValues);
+                } else if ((AttributeModificationType.REPLACE == modificationType)) {
+                    modification = createModification(attribute, AttributeModificationType.REPLACE, toInternalAttribute(baseObjectClass, attributeName), multiValued, jsonValue, attributeValues);
                 }
             }
 
-            if (modifications.size() > 0) {
-                boolean result = getOperationService().updateEntry(toSQLKey(dn).getKey(), baseObjectClass, modifications);
-                if (!result) {
-                    throw new EntryPersistenceException(String.format("Failed to update entry: '%s'", dn));
-                }
+            if (modification != null) {
+                modifications.add(modification);
             }
-        } catch (Exception ex) {
-            throw new EntryPersistenceException(String.format("Failed to update entry: '%s'", dn), ex);
         }
-    }
+
+        return modifications;
+	}
 
     @Override
     public <T> void removeByDn(String dn, String[] objectClasses) {
@@ -387,11 +504,13 @@ public class SqlEntryManager extends BaseEntryManager<SqlOperationService> imple
             if (result != null) {
                 return result;
             }
+        } catch (EntryNotFoundException ex) {
+            throw new EntryNotFoundPersistenceException(String.format("Failed to find entry: '%s'", dn), ex);
         } catch (Exception ex) {
             throw new EntryPersistenceException(String.format("Failed to find entry: '%s'", dn), ex);
         }
 
-        throw new EntryPersistenceException(String.format("Failed to find entry: '%s'", dn));
+        throw new EntryNotFoundPersistenceException(String.format("Failed to find entry: '%s'", dn));
     }
 
     @Override
@@ -438,6 +557,57 @@ public class SqlEntryManager extends BaseEntryManager<SqlOperationService> imple
         return result;
     }
 
+    @Override
+    public <T> Stream<T> findEntriesStream(String baseDN, Class<T> entryClass, Filter filter, String[] ldapReturnAttributes, int chunkSize) {
+        if (StringHelper.isEmptyString(baseDN)) {
+            throw new MappingException("Base DN to find entries is null");
+        }
+
+        // Check entry class
+        checkEntryClass(entryClass, false);
+        String[] objectClasses = getTypeObjectClasses(entryClass);
+
+        List<PropertyAnnotation> propertiesAnnotations = getEntryPropertyAnnotations(entryClass);
+        String[] currentLdapReturnAttributes = ldapReturnAttributes;
+        if (ArrayHelper.isEmpty(currentLdapReturnAttributes)) {
+            currentLdapReturnAttributes = getAttributes(null, propertiesAnnotations, false);
+        }
+
+        Filter searchFilter = filter;
+        if (objectClasses.length > 0) {
+            searchFilter = addObjectClassFilter(filter, objectClasses);
+        }
+
+		// Prepare properties types to allow build filter properly
+        Map<String, PropertyAnnotation> propertiesAnnotationsMap = prepareEntryPropertiesTypes(entryClass, propertiesAnnotations);
+
+        ParsedKey keyWithInum = toSQLKey(baseDN);
+        String key = keyWithInum.getKey();
+        String objectClass = getBaseObjectClass(entryClass, objectClasses);
+
+        ConvertedExpression convertedExpression;
+		try {
+			convertedExpression = toSqlFilter(key, objectClass, searchFilter, propertiesAnnotationsMap);
+		} catch (SearchException ex) {
+            throw new EntryPersistenceException(String.format("Failed to convert filter '%s' to expression", searchFilter));
+		}
+
+        // Each page is selected by last row of previous page, there is no need to keep DB cursor open
+        final KeysetCursor keysetCursor = KeysetCursor.create(getDefaultSort(entryClass), SqlOperationService.DOC_ID);
+        final String[] searchAttributes = toInternalAttributes(objectClass, currentLdapReturnAttributes);
+
+        return PagedEntrySpliterator.stream(pageSize -> {
+            try {
+                List<EntryData> entryDataList = getOperationService().searchPage(key, objectClass, convertedExpression, searchAttributes,
+                		keysetCursor, pageSize);
+
+                return createEntities(entryClass, propertiesAnnotations, keyWithInum, entryDataList.toArray(new EntryData[entryDataList.size()]));
+            } catch (SearchException ex) {
+                throw new EntryPersistenceException(String.format("Failed to find entries with key: '%s'", key), ex);
+            }
+        }, chunkSize);
+    }
+
     protected <T> PagedResult<EntryData> findEntriesImpl(String baseDN, Class<T> entryClass, Filter filter, SearchScope scope,
             String[] ldapReturnAttributes, String sortBy, SortOrder sortOrder, BatchOperation<T> batchOperation, SearchReturnDataType returnDataType, int start,
             int count, int chunkSize) {
@@ -0,0 +1,161 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.orm.sql.model;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Order;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.ComparablePath;
+import com.querydsl.core.types.dsl.Expressions;
+
+/**
+ * Position of keyset (seek) pagination. Next page is selected by values of sort columns and doc_id
+ * of last returned row instead of OFFSET. Rows with NULL sort values are selected according to DB
+ * specific NULLs ordering. If some sort value of last row is NULL cursor falls back to OFFSET based
+ * on count of already returned rows
+ */
+public class KeysetCursor {
+
+	private final String[] columns;
+	private final boolean[] descending;
+	private final OrderSpecifier<?>[] orderBy;
+
+	private Object[] lastValues;
+	private boolean seekable = true;
+	private int fetchedCount;
+	private boolean exhausted;
+
+	private KeysetCursor(String[] columns, boolean[] descending, OrderSpecifier<?>[] orderBy) {
+		this.columns = columns;
+		this.descending = descending;
+		this.orderBy = orderBy;
+	}
+
+	/**
+	 * Creates cursor which pages on specified sort columns with doc_id as tie breaker. If some of sort
+	 * expressions is not simple column cursor always uses OFFSET
+	 */
+	public static KeysetCursor create(OrderSpecifier<?>[] orderBy, String docIdColumn) {
+		int sortCount = (orderBy == null) ? 0 : orderBy.length;
+
+		String[] columns = new String[sortCount + 1];
+		boolean[] descending = new boolean[sortCount + 1];
+		OrderSpecifier<?>[] keysetOrderBy = new OrderSpecifier<?>[sortCount + 1];
+
+		boolean supported = true;
+		for (int i = 0; i < sortCount; i++) {
+			keysetOrderBy[i] = orderBy[i];
+
+			Expression<?> target = orderBy[i].getTarget();
+			if (target instanceof Path) {
+				columns[i] = ((Path<?>) target).getMetadata().getName();
+				descending[i] = orderBy[i].getOrder() == Order.DESC;
+			} else {
+				supported = false;
+			}
+		}
+		columns[sortCount] = docIdColumn;
+		keysetOrderBy[sortCount] = new OrderSpecifier<>(Order.ASC, Expressions.stringPath(docIdColumn));
+
+		return new KeysetCursor(supported ? columns : null, descending, keysetOrderBy);
+	}
+
+	/**
+	 * Remembers position of current row of result set
+	 */
+	public void capture(ResultSet resultSet) {
+		this.fetchedCount++;
+		if (!seekable) {
+			return;
+		}
+
+		if (columns == null) {
+			this.seekable = false;
+			return;
+		}
+
+		Object[] values = new Object[columns.length];
+		for (int i = 0; i < columns.length; i++) {
+			Object value;
+			try {
+				value = resultSet.getObject(columns[i]);
+			} catch (SQLException ex) {
+				// Sort column is not in list of selected attributes
+				this.seekable = false;
+				return;
+			}
+
+			if (!(value instanceof Comparable)) {
+				// Database specific NULLs ordering or unsupported type. Continue with OFFSET
+				this.seekable = false;
+				return;
+			}
+			values[i] = value;
+		}
+
+		this.lastValues = values;
+	}
+
+	/**
+	 * @param nullsFirst true if DB puts NULLs before other values in ascending order (MySQL, MariaDB)
+	 * and false if after them (PostgreSQL)
+	 * @return predicate which selects rows after last captured one or null if next page should be selected by OFFSET
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public Predicate getSeekPredicate(Path<?> docAlias, boolean nullsFirst) {
+		if ((lastValues == null) || !seekable) {
+			return null;
+		}
+
+		// (c1 > v1 [OR c1 IS NULL]) OR (c1 = v1 AND ((c2 > v2 [OR c2 IS NULL]) OR (c2 = v2 AND doc_id > v3)))
+		BooleanExpression result = null;
+		for (int i = columns.length - 1; i >= 0; i--) {
+			ComparablePath<Comparable> path = Expressions.comparablePath(Comparable.class, docAlias, columns[i]);
+			Comparable value = (Comparable) lastValues[i];
+
+			BooleanExpression after = descending[i] ? path.lt(value) : path.gt(value);
+			if ((i < columns.length - 1) && (descending[i] == nullsFirst)) {
+				// NULLs are after all values in this sort direction
+				after = after.or(path.isNull());
+			}
+			if (result == null) {
+				result = after;
+			} else {
+				result = after.or(path.eq(value).and(result));
+			}
+		}
+
+		return result;
+	}
+
+	public boolean isSeekable() {
+		return (lastValues != null) && seekable;
+	}
+
+	public OrderSpecifier<?>[] getOrderBy() {
+		return orderBy;
+	}
+
+	public int getFetchedCount() {
+		return fetchedCount;
+	}
+
+	public boolean isExhausted() {
+		return exhausted;
+	}
+
+	public void setExhausted(boolean exhausted) {
+		this.exhausted = exhausted;
+	}
+
+}
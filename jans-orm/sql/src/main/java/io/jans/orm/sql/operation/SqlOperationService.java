@@ -11,6 +11,7 @@ import java.sql.DatabaseMetaData;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 import com.querydsl.core.types.OrderSpecifier;
 
@@ -22,6 +23,7 @@ import io.jans.orm.exception.operation.PersistenceException;
 import io.jans.orm.exception.operation.SearchException;
 import io.jans.orm.model.AttributeData;
 import io.jans.orm.model.AttributeDataModification;
+import io.jans.orm.model.BatchEntry;
 import io.jans.orm.model.EntryData;
 import io.jans.orm.model.PagedResult;
 import io.jans.orm.model.SearchProjection;
@@ -29,6 +31,8 @@ import io.jans.orm.model.SearchScope;
 import io.jans.orm.operation.PersistenceOperationService;
 import io.jans.orm.sql.impl.SqlBatchOperationWraper;
 import io.jans.orm.sql.model.ConvertedExpression;
+import io.jans.orm.sql.model.KeysetCursor;
+import io.jans.orm.sql.operation.impl.SqlQueryCache;
 import io.jans.orm.sql.model.SearchReturnDataType;
 import io.jans.orm.sql.model.TableMapping;
 import io.jans.orm.sql.operation.impl.SqlConnectionProvider;
@@ -65,12 +69,26 @@ public interface SqlOperationService extends PersistenceOperationService {
 
     boolean updateEntry(String key, String objectClass, List<AttributeDataModification> mods) throws UnsupportedOperationException, PersistenceException;
 
+    /**
+     * Adds entries with one JDBC batch per table and statement shape
+     *
+     * @return exceptions of entries which were not added by entry index
+     */
+    Map<Integer, PersistenceException> addEntries(List<BatchEntry> entries);
+
+    /**
+     * Updates entries with one JDBC batch per table and statement shape
+     *
+     * @return exceptions of entries which were not updated by entry index
+     */
+    Map<Integer, PersistenceException> updateEntries(List<BatchEntry> entries);
+
     boolean delete(String key, String objectClass) throws EntryNotFoundException;
 	long delete(String key, String objectClass, ConvertedExpression expression, int count) throws DeleteException;
 
 	boolean deleteRecursively(String key, String objectClass) throws EntryNotFoundException, SearchException;
 
-	List<AttributeData> lookup(String key, String objectClass, String... attributes) throws SearchException, EntryConvertationException;
+	List<AttributeData> lookup(String key, String objectClass, String... attributes) throws SearchException, EntryConvertationException, EntryNotFoundException;
 
     <O> PagedResult<EntryData> search(String key, String objectClass, ConvertedExpression expression, SearchScope scope,
             String[] attributes, OrderSpecifier<?>[] orderBy, SqlBatchOperationWraper<O> batchOperationWraper, SearchReturnDataType returnDataType,
@@ -79,6 +97,11 @@ public interface SqlOperationService extends PersistenceOperationService {
     PagedResult<EntryData> searchAggregated(String key, String objectClass, ConvertedExpression expression,
             SearchProjection projection, SearchReturnDataType returnDataType, int start, int count) throws SearchException;
 
+    List<EntryData> searchPage(String key, String objectClass, ConvertedExpression expression, String[] attributes,
+            KeysetCursor keysetCursor, int pageSize) throws SearchException;
+
+    SqlQueryCache getQueryCache();
+
     String[] createStoragePassword(String[] passwords, AttributeData attributeData);
 
     boolean isBinaryAttribute(String attribute);
@@ -70,6 +70,8 @@ public class SqlConnectionProvider {
 	private static final String DRIVER_PROPERTIES_PREFIX = "connection.driver-property";
 	private static final String PASSWORD_METHOD_PREFIX = "password.method";
 
+	private static final int DEFAULT_MAX_OPEN_PREPARED_STATEMENTS = 100;
+
 	private Properties props;
 
 	private String connectionUri;
@@ -103,6 +105,12 @@ public class SqlConnectionProvider {
 
 	private boolean validateAfterUpdate;
 
+	private boolean keysetPagination = true;
+
+	private int queryCacheMaxSize = SqlQueryCache.DEFAULT_MAX_SIZE;
+
+	private int maxOpenPreparedStatements = DEFAULT_MAX_OPEN_PREPARED_STATEMENTS;
+
 	private boolean connectionPoolValidationEnabled;
 
 	protected SqlConnectionProvider() {
@@ -225,6 +233,24 @@ public class SqlConnectionProvider {
 	        LOG.debug("ORM validate after update: '{}'", this.validateAfterUpdate);
 		}
 
+		Boolean keysetPagination = StringHelper.toBoolean(props.getProperty("orm.keyset-pagination"), null);
+		if (keysetPagination != null) {
+			this.keysetPagination = keysetPagination.booleanValue();
+	        LOG.debug("ORM keyset pagination: '{}'", this.keysetPagination);
+		}
+
+		Integer queryCacheMaxSize = StringHelper.toInteger(props.getProperty("orm.query-cache.max-size"), null);
+		if (queryCacheMaxSize != null) {
+			this.queryCacheMaxSize = queryCacheMaxSize;
+	        LOG.debug("ORM query cache max size: '{}'", this.queryCacheMaxSize);
+		}
+
+		Integer maxOpenPreparedStatements = StringHelper.toInteger(props.getProperty("connection.pool.max-open-prepared-statements"), null);
+		if (maxOpenPreparedStatements != null) {
+			this.maxOpenPreparedStatements = maxOpenPreparedStatements;
+	        LOG.debug("Connection pool max open prepared statements per connection: '{}'", this.maxOpenPreparedStatements);
+		}
+
 		// Read properties which override default hash method parameters
 		Properties filteredPasswordMethodProperties = PropertiesHelper.findProperties(props, PASSWORD_METHOD_PREFIX, ".");
 		HashMap<String, String> passwordMethodProperties = new HashMap<>();
@@ -445,6 +471,11 @@ public class SqlConnectionProvider {
 			poolableConnectionFactory.setValidationQuery("SELECT 1");
 			poolableConnectionFactory.setValidationQueryTimeout(5);
 		}
+		if (maxOpenPreparedStatements > 0) {
+			// Reuse prepared statements of each connection
+			poolableConnectionFactory.setPoolStatements(true);
+			poolableConnectionFactory.setMaxOpenPreparedStatements(maxOpenPreparedStatements);
+		}
 		ObjectPool<PoolableConnection> objectPool = new GenericObjectPool<>(poolableConnectionFactory,
 				objectPoolConfig);
 
@@ -589,4 +620,12 @@ public class SqlConnectionProvider {
 		return validateAfterUpdate;
 	}
 
+	public boolean isKeysetPagination() {
+		return keysetPagination;
+	}
+
+	public int getQueryCacheMaxSize() {
+		return queryCacheMaxSize;
+	}
+
 }
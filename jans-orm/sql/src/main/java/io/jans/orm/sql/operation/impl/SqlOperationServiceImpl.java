@@ -10,9 +10,11 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Timestamp;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
@@ -22,8 +24,10 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -42,9 +46,12 @@ import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.SubQueryExpression;
 import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.core.types.dsl.Wildcard;
+import com.querydsl.sql.Configuration;
 import com.querydsl.sql.RelationalPathBase;
+import com.querydsl.sql.SQLBindings;
 import com.querydsl.sql.SQLQuery;
 import com.querydsl.sql.SQLQueryFactory;
+import com.querydsl.sql.dml.AbstractSQLClause;
 import com.querydsl.sql.dml.SQLDeleteClause;
 import com.querydsl.sql.dml.SQLInsertClause;
 import com.querydsl.sql.dml.SQLUpdateClause;
@@ -61,6 +68,7 @@ import io.jans.orm.model.AttributeData;
 import io.jans.orm.model.AttributeDataModification;
 import io.jans.orm.model.AttributeDataModification.AttributeModificationType;
 import io.jans.orm.model.AttributeType;
+import io.jans.orm.model.BatchEntry;
 import io.jans.orm.model.BatchOperation;
 import io.jans.orm.model.EntryData;
 import io.jans.orm.model.PagedResult;
@@ -72,10 +80,12 @@ import io.jans.orm.operation.auth.PasswordEncryptionHelper;
 import io.jans.orm.sql.impl.SqlBatchOperationWraper;
 import io.jans.orm.sql.model.ConvertedExpression;
 import io.jans.orm.sql.model.JsonString;
+import io.jans.orm.sql.model.KeysetCursor;
 import io.jans.orm.sql.model.SearchReturnDataType;
 import io.jans.orm.sql.model.TableMapping;
 import io.jans.orm.sql.operation.SqlOperationService;
 import io.jans.orm.sql.operation.SupportedDbType;
+import io.jans.orm.sql.operation.impl.SqlQueryCache.CachedStatement;
 import io.jans.orm.sql.operation.watch.OperationDurationUtil;
 import io.jans.orm.util.ArrayHelper;
 import io.jans.orm.util.StringHelper;
@@ -91,6 +101,8 @@ public class SqlOperationServiceImpl implements SqlOperationService {
 
 	private static final ObjectMapper JSON_OBJECT_MAPPER = new ObjectMapper();
 
+	private static final int MAX_JDBC_BATCH_SIZE = 1000;
+
     private Properties props;
     private SqlConnectionProvider connectionProvider;
 
@@ -106,6 +118,8 @@ public class SqlOperationServiceImpl implements SqlOperationService {
 
 	private SqlAggregationQueryBuilder aggregationQueryBuilder;
 
+	private SqlQueryCache queryCache;
+
 	private Path<String> docAlias = ExpressionUtils.path(String.class, DOC_ALIAS);
 	private Path<String> docInnerAlias = ExpressionUtils.path(String.class, DOC_INNER_ALIAS);
 
@@ -124,6 +138,7 @@ public class SqlOperationServiceImpl implements SqlOperationService {
 		this.schemaName = connectionProvider.getSchemaName();
 		this.dbType = connectionProvider.getDbType();
 		this.aggregationQueryBuilder = new SqlAggregationQueryBuilder(this);
+		this.queryCache = new SqlQueryCache(connectionProvider.getQueryCacheMaxSize());
 	}
 
     @Override
@@ -172,6 +187,7 @@ public class SqlOperationServiceImpl implements SqlOperationService {
         Duration duration = OperationDurationUtil.instance().duration(startTime);
 
         TableMapping tableMapping = connectionProvider.getTableMappingByKey(key, objectClass);
+        OperationDurationUtil.instance().record("sql.bind", duration);
         OperationDurationUtil.instance().logDebug("SQL operation: bind, duration: {}, table: {}, key: {}", duration, tableMapping.getTableName(), key);
 
         return result;
@@ -185,6 +201,7 @@ public class SqlOperationServiceImpl implements SqlOperationService {
         boolean result = addEntryImpl(tableMapping, key, attributes);
 
         Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().record("sql.add", duration);
         OperationDurationUtil.instance().logDebug("SQL operation: add, duration: {}, table: {}, key: {}, attributes: {}", duration, tableMapping.getTableName(), key, attributes);
         
         return result;
@@ -192,34 +209,56 @@ public class SqlOperationServiceImpl implements SqlOperationService {
 
 	private boolean addEntryImpl(TableMapping tableMapping, String key, Collection<AttributeData> attributes) throws PersistenceException {
 		try {
-			Map<String, AttributeType> columTypes = tableMapping.getColumTypes();
+			long rowInserted = executeUpdate(prepareInsert(tableMapping, attributes));
 
-			RelationalPathBase<Object> tableRelationalPath = buildTableRelationalPath(tableMapping);
-			SQLInsertClause sqlInsertQuery = this.sqlQueryFactory.insert(tableRelationalPath);
+			return rowInserted == 1;
+        } catch (SQLException | QueryException ex) {
+            throw new PersistenceException("Failed to add entry", ex);
+        }
+	}
 
-			for (AttributeData attribute : attributes) {
-				AttributeType attributeType = getAttributeType(columTypes, attribute);
-				if (attributeType == null) {
-		            throw new PersistenceException(String.format("Failed to find attribute type for '%s'", attribute.getName()));
-				}
+	private PreparedUpdate prepareInsert(TableMapping tableMapping, Collection<AttributeData> attributes) throws PersistenceException {
+		Map<String, AttributeType> columTypes = tableMapping.getColumTypes();
 
-				boolean multiValued = (attributeType != null) && isJsonColumn(tableMapping.getTableName(), attributeType.getType());
+		StringBuilder shapeKey = new StringBuilder("insert:").append(tableMapping.getTableName());
+		List<Path<?>> columns = new ArrayList<Path<?>>(attributes.size());
+		List<Object> columnValues = new ArrayList<Object>(attributes.size());
+		for (AttributeData attribute : attributes) {
+			AttributeType attributeType = getAttributeType(columTypes, attribute);
+			if (attributeType == null) {
+	            throw new PersistenceException(String.format("Failed to find attribute type for '%s'", attribute.getName()));
+			}
 
-				if (multiValued || Boolean.TRUE.equals(attribute.getMultiValued())) {
-					sqlInsertQuery.columns(Expressions.path(Object.class, attribute.getName()));
-					sqlInsertQuery.values(convertValueToDbJson(attribute.getValues(), attribute.getJsonValue()));
-				} else {
-					sqlInsertQuery.columns(Expressions.stringPath(attribute.getName()));
-					sqlInsertQuery.values(attribute.getValue());
-				}
+			boolean multiValued = (attributeType != null) && isJsonColumn(tableMapping.getTableName(), attributeType.getType());
+
+			if (multiValued || Boolean.TRUE.equals(attribute.getMultiValued())) {
+				columns.add(Expressions.path(Object.class, attribute.getName()));
+				columnValues.add(convertValueToDbJson(attribute.getValues(), attribute.getJsonValue()));
+			} else {
+				columns.add(Expressions.stringPath(attribute.getName()));
+				columnValues.add(attribute.getValue());
 			}
-			
-			long rowInserted = sqlInsertQuery.execute();
+			appendShape(shapeKey, attribute.getName(), columnValues.get(columnValues.size() - 1));
+		}
 
-			return rowInserted == 1;
-        } catch (QueryException ex) {
-            throw new PersistenceException("Failed to add entry", ex);
-        }
+		List<Object> values = bindableValues(columnValues);
+
+		CachedStatement cachedStatement = queryCache.get(shapeKey.toString());
+		if (cachedStatement == null) {
+			RelationalPathBase<Object> tableRelationalPath = buildTableRelationalPath(tableMapping);
+			SQLInsertClause sqlInsertQuery = this.sqlQueryFactory.insert(tableRelationalPath);
+			for (int i = 0; i < columns.size(); i++) {
+				sqlInsertQuery.columns(columns.get(i));
+				sqlInsertQuery.values(columnValues.get(i));
+			}
+
+			if (!cacheStatement(shapeKey.toString(), sqlInsertQuery.getSQL(), values)) {
+				return new PreparedUpdate(sqlInsertQuery);
+			}
+			cachedStatement = queryCache.get(shapeKey.toString());
+		}
+
+		return new PreparedUpdate(cachedStatement.getSql(), cachedStatement.bind(values));
 	}
 
     @Override
@@ -230,6 +269,7 @@ public class SqlOperationServiceImpl implements SqlOperationService {
         boolean result = updateEntryImpl(tableMapping, key, mods);
 
         Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().record("sql.modify", duration);
         OperationDurationUtil.instance().logDebug("SQL operation: modify, duration: {}, table: {}, key: {}, mods: {}", duration, tableMapping.getTableName(), key, mods);
 
         return result;
@@ -237,51 +277,201 @@ public class SqlOperationServiceImpl implements SqlOperationService {
 
 	private boolean updateEntryImpl(TableMapping tableMapping, String key, List<AttributeDataModification> mods) throws PersistenceException {
 		try {
-			Map<String, AttributeType> columTypes = tableMapping.getColumTypes();
+			long rowInserted = executeUpdate(prepareUpdate(tableMapping, key, mods));
 
-			RelationalPathBase<Object> tableRelationalPath = buildTableRelationalPath(tableMapping);
-			SQLUpdateClause sqlUpdateQuery = this.sqlQueryFactory.update(tableRelationalPath);
+			return rowInserted == 1;
+        } catch (SQLException | QueryException ex) {
+            throw new PersistenceException("Failed to update entry", ex);
+        }
+	}
 
-			for (AttributeDataModification attributeMod : mods) {
-				AttributeData attribute = attributeMod.getAttribute();
-				Path path = Expressions.stringPath(attribute.getName());
+	private PreparedUpdate prepareUpdate(TableMapping tableMapping, String key, List<AttributeDataModification> mods) throws PersistenceException {
+		Map<String, AttributeType> columTypes = tableMapping.getColumTypes();
 
-				AttributeType attributeType = getAttributeType(columTypes, attribute);
-				if (attributeType == null) {
-		            throw new PersistenceException(String.format("Failed to find attribute type for '%s'", attribute.getName()));
+		StringBuilder shapeKey = new StringBuilder("update:").append(tableMapping.getTableName());
+		List<Path> columns = new ArrayList<Path>(mods.size());
+		List<Object> columnValues = new ArrayList<Object>(mods.size());
+		for (AttributeDataModification attributeMod : mods) {
+			AttributeData attribute = attributeMod.getAttribute();
+			Path path = Expressions.stringPath(attribute.getName());
+
+			AttributeType attributeType = getAttributeType(columTypes, attribute);
+			if (attributeType == null) {
+	            throw new PersistenceException(String.format("Failed to find attribute type for '%s'", attribute.getName()));
+			}
+
+			boolean multiValued = (attributeType != null) && isJsonColumn(tableMapping.getTableName(), attributeType.getType());
+			
+			Object value;
+			AttributeModificationType type = attributeMod.getModificationType();
+            if ((AttributeModificationType.ADD == type) || (AttributeModificationType.FORCE_UPDATE == type) ||
+            		(AttributeModificationType.REPLACE == type)) {
+				if (multiValued || Boolean.TRUE.equals(attribute.getMultiValued())) {
+					value = convertValueToDbJson(attribute.getValues(), attribute.getJsonValue());
+				} else {
+					value = attribute.getValue();
 				}
+            } else if (AttributeModificationType.REMOVE == type) {
+            	value = null;
+            } else {
+                throw new UnsupportedOperationException("Operation type '" + type + "' is not implemented");
+            }
 
-				boolean multiValued = (attributeType != null) && isJsonColumn(tableMapping.getTableName(), attributeType.getType());
-				
-				AttributeModificationType type = attributeMod.getModificationType();
-                if ((AttributeModificationType.ADD == type) || (AttributeModificationType.FORCE_UPDATE == type)) {
-					if (multiValued || Boolean.TRUE.equals(attribute.getMultiValued())) {
-    					sqlUpdateQuery.set(path, convertValueToDbJson(attribute.getValues(), attribute.getJsonValue()));
-    				} else {
-    					sqlUpdateQuery.set(path, attribute.getValue());
-    				}
-                } else if (AttributeModificationType.REPLACE == type) {
-					if (multiValued || Boolean.TRUE.equals(attribute.getMultiValued())) {
-    					sqlUpdateQuery.set(path, convertValueToDbJson(attribute.getValues(), attribute.getJsonValue()));
-    				} else {
-    					sqlUpdateQuery.set(path, attribute.getValue());
-    				}
-                } else if (AttributeModificationType.REMOVE == type) {
-    				sqlUpdateQuery.setNull(path);
-                } else {
-                    throw new UnsupportedOperationException("Operation type '" + type + "' is not implemented");
-                }
+            columns.add(path);
+            columnValues.add(value);
+			appendShape(shapeKey, attribute.getName(), value);
+		}
+
+		List<Object> values = bindableValues(columnValues);
+		values.add(key);
+
+		CachedStatement cachedStatement = queryCache.get(shapeKey.toString());
+		if (cachedStatement == null) {
+			RelationalPathBase<Object> tableRelationalPath = buildTableRelationalPath(tableMapping);
+			SQLUpdateClause sqlUpdateQuery = this.sqlQueryFactory.update(tableRelationalPath);
+			for (int i = 0; i < columns.size(); i++) {
+				Object value = columnValues.get(i);
+				if (value == null) {
+					sqlUpdateQuery.setNull(columns.get(i));
+				} else {
+					sqlUpdateQuery.set(columns.get(i), value);
+				}
 			}
 
 			Predicate whereExp = ExpressionUtils.eq(Expressions.stringPath(SqlOperationService.DOC_ID),
 					Expressions.constant(key));
+			sqlUpdateQuery.where(whereExp);
 
-			long rowInserted = sqlUpdateQuery.where(whereExp).execute();
+			if (!cacheStatement(shapeKey.toString(), sqlUpdateQuery.getSQL(), values)) {
+				return new PreparedUpdate(sqlUpdateQuery);
+			}
+			cachedStatement = queryCache.get(shapeKey.toString());
+		}
 
-			return rowInserted == 1;
-        } catch (QueryException ex) {
-            throw new PersistenceException("Failed to update entry", ex);
+		return new PreparedUpdate(cachedStatement.getSql(), cachedStatement.bind(values));
+	}
+
+    @Override
+    public Map<Integer, PersistenceException> addEntries(List<BatchEntry> entries) {
+        Instant startTime = OperationDurationUtil.instance().now();
+
+        Map<Integer, PersistenceException> failures = new HashMap<Integer, PersistenceException>();
+        Map<Integer, PreparedUpdate> preparedUpdates = new LinkedHashMap<Integer, PreparedUpdate>();
+        for (BatchEntry entry : entries) {
+        	try {
+                TableMapping tableMapping = connectionProvider.getTableMappingByKey(entry.getKey(), entry.getObjectClass());
+                preparedUpdates.put(entry.getIndex(), prepareInsert(tableMapping, entry.getAttributes()));
+        	} catch (PersistenceException ex) {
+        		failures.put(entry.getIndex(), ex);
+        	} catch (RuntimeException ex) {
+        		failures.put(entry.getIndex(), new PersistenceException("Failed to add entry", ex));
+        	}
         }
+
+        executeBatch(preparedUpdates, failures, "Failed to add entry");
+
+        Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().record("sql.add_batch", duration);
+        OperationDurationUtil.instance().logDebug("SQL operation: add batch, duration: {}, entries: {}, failed: {}", duration, entries.size(), failures.size());
+
+        return failures;
+    }
+
+    @Override
+    public Map<Integer, PersistenceException> updateEntries(List<BatchEntry> entries) {
+        Instant startTime = OperationDurationUtil.instance().now();
+
+        Map<Integer, PersistenceException> failures = new HashMap<Integer, PersistenceException>();
+        Map<Integer, PreparedUpdate> preparedUpdates = new LinkedHashMap<Integer, PreparedUpdate>();
+        for (BatchEntry entry : entries) {
+        	try {
+                TableMapping tableMapping = connectionProvider.getTableMappingByKey(entry.getKey(), entry.getObjectClass());
+                preparedUpdates.put(entry.getIndex(), prepareUpdate(tableMapping, entry.getKey(), entry.getModifications()));
+        	} catch (PersistenceException ex) {
+        		failures.put(entry.getIndex(), ex);
+        	} catch (RuntimeException ex) {
+        		failures.put(entry.getIndex(), new PersistenceException("Failed to update entry", ex));
+        	}
+        }
+
+        executeBatch(preparedUpdates, failures, "Failed to update entry");
+
+        Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().record("sql.modify_batch", duration);
+        OperationDurationUtil.instance().logDebug("SQL operation: modify batch, duration: {}, entries: {}, failed: {}", duration, entries.size(), failures.size());
+
+        return failures;
+    }
+
+	/**
+	 * Executes statements with the same SQL in one JDBC batch. If batch fails it's rolled back and
+	 * entries are executed one by one to get result of each entry.
+	 */
+	private void executeBatch(Map<Integer, PreparedUpdate> preparedUpdates, Map<Integer, PersistenceException> failures, String errorMessage) {
+		Map<String, List<Integer>> indexesBySql = new LinkedHashMap<String, List<Integer>>();
+		for (Map.Entry<Integer, PreparedUpdate> preparedUpdateEntry : preparedUpdates.entrySet()) {
+			PreparedUpdate preparedUpdate = preparedUpdateEntry.getValue();
+			if (preparedUpdate.getClause() != null) {
+				// Statement which can't be cached is executed by QueryDSL as before
+				executeSingle(preparedUpdateEntry.getKey(), preparedUpdate, failures, errorMessage);
+			} else {
+				indexesBySql.computeIfAbsent(preparedUpdate.getSql(), k -> new ArrayList<Integer>()).add(preparedUpdateEntry.getKey());
+			}
+		}
+
+		for (Map.Entry<String, List<Integer>> sqlEntry : indexesBySql.entrySet()) {
+			List<Integer> indexes = sqlEntry.getValue();
+			for (int from = 0; from < indexes.size(); from += MAX_JDBC_BATCH_SIZE) {
+				List<Integer> chunk = indexes.subList(from, Math.min(from + MAX_JDBC_BATCH_SIZE, indexes.size()));
+				executeBatch(sqlEntry.getKey(), chunk, preparedUpdates, failures, errorMessage);
+			}
+		}
+	}
+
+	private void executeBatch(String sql, List<Integer> indexes, Map<Integer, PreparedUpdate> preparedUpdates,
+			Map<Integer, PersistenceException> failures, String errorMessage) {
+		int[] updateCounts = null;
+		try (Connection connection = connectionProvider.getConnection()) {
+			boolean autoCommit = connection.getAutoCommit();
+			// Drivers differ in what is left in DB after failed batch. Roll back whole batch to get same result everywhere
+			connection.setAutoCommit(false);
+			try (PreparedStatement statement = connection.prepareStatement(sql)) {
+				for (Integer index : indexes) {
+					bindValues(statement, preparedUpdates.get(index).getBindings());
+					statement.addBatch();
+				}
+				updateCounts = statement.executeBatch();
+				connection.commit();
+			} catch (SQLException | RuntimeException ex) {
+				LOG.debug("Batch of {} statements failed, executing statements one by one", indexes.size(), ex);
+				updateCounts = null;
+				connection.rollback();
+			} finally {
+				connection.setAutoCommit(autoCommit);
+			}
+		} catch (SQLException ex) {
+			LOG.debug("Failed to execute batch of {} statements, executing statements one by one", indexes.size(), ex);
+			updateCounts = null;
+		}
+
+		for (int i = 0; i < indexes.size(); i++) {
+			Integer index = indexes.get(i);
+			if (updateCounts == null) {
+				executeSingle(index, preparedUpdates.get(index), failures, errorMessage);
+			} else if ((updateCounts[i] != 1) && (updateCounts[i] != Statement.SUCCESS_NO_INFO)) {
+				failures.put(index, new PersistenceException(errorMessage));
+			}
+		}
+	}
+
+	private void executeSingle(Integer index, PreparedUpdate preparedUpdate, Map<Integer, PersistenceException> failures, String errorMessage) {
+		try {
+			if (executeUpdate(preparedUpdate) != 1) {
+				failures.put(index, new PersistenceException(errorMessage));
+			}
+		} catch (SQLException | QueryException ex) {
+			failures.put(index, new PersistenceException(errorMessage, ex));
+		}
 	}
 
     @Override
@@ -292,6 +482,7 @@ public class SqlOperationServiceImpl implements SqlOperationService {
         boolean result = deleteImpl(tableMapping, key);
 
         Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().record("sql.delete", duration);
         OperationDurationUtil.instance().logDebug("SQL operation: delete, duration: {}, table: {}, key: {}", duration, tableMapping.getTableName(), key);
 
         return result;
@@ -299,16 +490,27 @@ public class SqlOperationServiceImpl implements SqlOperationService {
 
 	private boolean deleteImpl(TableMapping tableMapping, String key) throws EntryNotFoundException {
 		try {
-			RelationalPathBase<Object> tableRelationalPath = buildTableRelationalPath(tableMapping);
-			SQLDeleteClause sqlDeleteQuery = this.sqlQueryFactory.delete(tableRelationalPath);
+			String shapeKey = "delete:" + tableMapping.getTableName();
+			List<Object> values = Collections.singletonList(key);
 
-			Predicate exp = ExpressionUtils.eq(Expressions.stringPath(SqlOperationService.DOC_ID), Expressions.constant(key));
-			sqlDeleteQuery.where(exp);
+			CachedStatement cachedStatement = queryCache.get(shapeKey);
+			if (cachedStatement == null) {
+				RelationalPathBase<Object> tableRelationalPath = buildTableRelationalPath(tableMapping);
+				SQLDeleteClause sqlDeleteQuery = this.sqlQueryFactory.delete(tableRelationalPath);
 
-			long rowDeleted = sqlDeleteQuery.execute();
+				Predicate exp = ExpressionUtils.eq(Expressions.stringPath(SqlOperationService.DOC_ID), Expressions.constant(key));
+				sqlDeleteQuery.where(exp);
+
+				if (!cacheStatement(shapeKey, sqlDeleteQuery.getSQL(), values)) {
+					return sqlDeleteQuery.execute() == 1;
+				}
+				cachedStatement = queryCache.get(shapeKey);
+			}
+
+			long rowDeleted = executeUpdate(cachedStatement.getSql(), cachedStatement.bind(values));
 
 			return rowDeleted == 1;
-        } catch (QueryException ex) {
+        } catch (SQLException | QueryException ex) {
             throw new EntryNotFoundException("Failed to delete entry", ex);
         }
 	}
@@ -322,6 +524,7 @@ public class SqlOperationServiceImpl implements SqlOperationService {
     	long result = deleteImpl(tableMapping, expression, count);
 
         Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().record("sql.delete_search", duration);
         OperationDurationUtil.instance().logDebug("SQL operation: delete_search, duration: {}, table: {}, key: {}, expression: {}, count: {}", duration, tableMapping.getTableName(), key, expression, count);
 
         return result;
@@ -337,7 +540,7 @@ public class SqlOperationServiceImpl implements SqlOperationService {
 				// Workaround because PostgreSQL not supports limit in delete request
 
 				// Inner query
-				RelationalPathBase<Object> innerTableRelationalPath = new RelationalPathBase<>(Object.class, DOC_INNER_ALIAS, this.schemaName, tableMapping.getTableName());
+				RelationalPathBase<Object> innerTableRelationalPath = queryCache.getTablePath(DOC_INNER_ALIAS, this.schemaName, tableMapping.getTableName());
 				SubQueryExpression<String> sqlSelectQuery = this.sqlQueryFactory.select(Expressions.path(String.class, docInnerAlias, DOC_ID)).from(innerTableRelationalPath)
 						.where(exp).limit(count);
 
@@ -366,6 +569,7 @@ public class SqlOperationServiceImpl implements SqlOperationService {
         boolean result = deleteRecursivelyImpl(tableMapping, key);
 
         Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().record("sql.delete_tree", duration);
         OperationDurationUtil.instance().logDebug("SQL operation: delete_tree, duration: {}, table: {}, key: {}", duration, tableMapping.getTableName(), key);
 
         return result;
@@ -377,7 +581,7 @@ public class SqlOperationServiceImpl implements SqlOperationService {
 	}
 
     @Override
-    public List<AttributeData> lookup(String key, String objectClass, String... attributes) throws SearchException, EntryConvertationException {
+    public List<AttributeData> lookup(String key, String objectClass, String... attributes) throws SearchException, EntryConvertationException, EntryNotFoundException {
         Instant startTime = OperationDurationUtil.instance().now();
         
     	TableMapping tableMapping = connectionProvider.getTableMappingByKey(key, objectClass);
@@ -385,33 +589,54 @@ public class SqlOperationServiceImpl implements SqlOperationService {
     	List<AttributeData> result = lookupImpl(tableMapping, key, attributes);
 
         Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().record("sql.lookup", duration);
         OperationDurationUtil.instance().logDebug("SQL operation: lookup, duration: {}, table: {}, key: {}, attributes: {}", duration, tableMapping.getTableName(), key, attributes);
 
         return result;
     }
 
-	private List<AttributeData> lookupImpl(TableMapping tableMapping, String key, String... attributes) throws SearchException, EntryConvertationException {
+	private List<AttributeData> lookupImpl(TableMapping tableMapping, String key, String... attributes) throws SearchException, EntryConvertationException, EntryNotFoundException {
 		try {
-			RelationalPathBase<Object> tableRelationalPath = buildTableRelationalPath(tableMapping);
+			StringBuilder shapeKey = new StringBuilder("lookup:").append(tableMapping.getTableName());
+			if (attributes != null) {
+				for (String attribute : attributes) {
+					shapeKey.append(',').append(attribute);
+				}
+			}
+			List<Object> values = Collections.singletonList(key);
 
-			Predicate whereExp = ExpressionUtils.eq(Expressions.stringPath(SqlOperationService.DOC_ID),
-					Expressions.constant(key));
-			Expression<?> attributesExp = buildSelectAttributes(attributes);
+			String sql;
+			Object[] bindings;
+			CachedStatement cachedStatement = queryCache.get(shapeKey.toString());
+			if (cachedStatement == null) {
+				RelationalPathBase<Object> tableRelationalPath = buildTableRelationalPath(tableMapping);
 
-			SQLQuery<?> sqlSelectQuery = sqlQueryFactory.select(attributesExp).from(tableRelationalPath)
-					.where(whereExp).limit(1);
-			
-			try (ResultSet resultSet = sqlSelectQuery.getResults();) {
-				List<AttributeData> result = getAttributeDataList(tableMapping, resultSet, true);
-				if (result != null) {
-					return result;
-				}
+				Predicate whereExp = ExpressionUtils.eq(Expressions.stringPath(SqlOperationService.DOC_ID),
+						Expressions.constant(key));
+				Expression<?> attributesExp = buildSelectAttributes(attributes);
+
+				SQLQuery<?> sqlSelectQuery = sqlQueryFactory.select(attributesExp).from(tableRelationalPath)
+						.where(whereExp).limit(1);
+
+				SQLBindings sqlBindings = sqlSelectQuery.getSQL();
+				cacheStatement(shapeKey.toString(), sqlBindings, values);
+
+				sql = sqlBindings.getSQL();
+				bindings = sqlBindings.getNullFriendlyBindings().toArray();
+			} else {
+				sql = cachedStatement.getSql();
+				bindings = cachedStatement.bind(values);
+			}
+
+			List<AttributeData> result = executeQuery(sql, bindings, resultSet -> getAttributeDataList(tableMapping, resultSet, true));
+			if (result != null) {
+				return result;
 			}
 		} catch (SQLException | QueryException ex) {
 			throw new SearchException(String.format("Failed to lookup query by key: '%s'", key), ex);
 		}
 
-		throw new SearchException(String.format("Failed to lookup entry by key: '%s'", key));
+		throw new EntryNotFoundException(String.format("Failed to lookup entry by key: '%s'", key));
 	}
 
 	@Override
@@ -425,6 +650,7 @@ public class SqlOperationServiceImpl implements SqlOperationService {
 						returnDataType, start, count, pageSize);
 
         Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().record("sql.search", duration);
         OperationDurationUtil.instance().logDebug("SQL operation: search, duration: {}, table: {}, key: {}, expression: {}, scope: {}, attributes: {}, orderBy: {}, batchOperationWraper: {}, returnDataType: {}, start: {}, count: {}, pageSize: {}", duration, tableMapping.getTableName(), key, expression, scope, attributes, orderBy, batchOperationWraper, returnDataType, start, count, pageSize);
 
         return result;
@@ -461,7 +687,13 @@ public class SqlOperationServiceImpl implements SqlOperationService {
         	List<EntryData> lastResult = null;
 	        if (pageSize > 0) {
 	            boolean collectSearchResult;
-	
+
+	            // Seek by last row instead of OFFSET if more than one page can be requested
+	            KeysetCursor keysetCursor = null;
+	            if (connectionProvider.isKeysetPagination() && ((count <= 0) || (count > pageSize))) {
+	            	keysetCursor = KeysetCursor.create(orderBy, DOC_ID);
+	            }
+
 	            SQLQuery<?> query;
 	            int currentLimit;
 	    		try {
@@ -473,14 +705,20 @@ public class SqlOperationServiceImpl implements SqlOperationService {
 	                        currentLimit = Math.min(pageSize, count - resultCount);
 	                    }
 	
-	                    query = baseQuery.limit(currentLimit).offset(start + resultCount);
+	                    if (keysetCursor == null) {
+	                    	query = baseQuery.limit(currentLimit).offset(start + resultCount);
+	                    } else {
+	                    	query = buildKeysetPageQuery(tableRelationalPath, attributesExp, expression, keysetCursor, start, currentLimit);
+	                    }
 
-	                    queryStr = query.getSQL().getSQL();
-	                    LOG.debug("Executing query: '" + queryStr + "'");
+	                    // Render query only once and use it for logging and execution
+	                    SQLBindings sqlBindings = query.getSQL();
+	                    queryStr = sqlBindings.getSQL();
+	                    LOG.debug("Executing query: '{}'", queryStr);
 
-	                    try (ResultSet resultSet = query.getResults()) {
-	                        lastResult = getEntryDataList(tableMapping, resultSet);
-	                    }
+	                    final KeysetCursor pageKeysetCursor = keysetCursor;
+	                    lastResult = executeQuery(queryStr, sqlBindings.getNullFriendlyBindings().toArray(),
+	                    		resultSet -> getEntryDataList(tableMapping, resultSet, pageKeysetCursor));
 
 		    			lastCountRows = lastResult.size();
 		    			
@@ -518,14 +756,14 @@ public class SqlOperationServiceImpl implements SqlOperationService {
 	                    query = query.offset(start);
 	                }
 	
-                    queryStr = query.getSQL().getSQL();
+                    SQLBindings sqlBindings = query.getSQL();
+                    queryStr = sqlBindings.getSQL();
 
-                    LOG.debug("Execution query: '" + queryStr + "'");
+                    LOG.debug("Execution query: '{}'", queryStr);
 
-                    try (ResultSet resultSet = query.getResults()) {
-		    			lastResult = getEntryDataList(tableMapping, resultSet);
-		    			searchResultList.addAll(lastResult);
-                    }
+                    lastResult = executeQuery(queryStr, sqlBindings.getNullFriendlyBindings().toArray(),
+                    		resultSet -> getEntryDataList(tableMapping, resultSet));
+                    searchResultList.addAll(lastResult);
         		} catch (QueryException ex) {
         			String sqlExpression = queryStr;
         			if (StringHelper.isNotEmpty(sqlExpression)) {
@@ -553,19 +791,20 @@ public class SqlOperationServiceImpl implements SqlOperationService {
     		}
 
     		try {
-                queryStr = sqlCountSelectQuery.getSQL().getSQL();
-                LOG.debug("Calculating count. Execution query: '" + queryStr + "'");
-
-                try (ResultSet countResult = sqlCountSelectQuery.getResults()) {
-                	if (!countResult.next()) {
-                        throw new SearchException("Failed to calculate count entries. Query: '" + queryStr + "'");
-                	}
-
-                	result.setTotalEntriesCount(countResult.getInt("TOTAL"));
+                SQLBindings sqlBindings = sqlCountSelectQuery.getSQL();
+                queryStr = sqlBindings.getSQL();
+                LOG.debug("Calculating count. Execution query: '{}'", queryStr);
+
+                Integer totalEntriesCount = executeQuery(queryStr, sqlBindings.getNullFriendlyBindings().toArray(),
+                		countResult -> countResult.next() ? countResult.getInt("TOTAL") : null);
+                if (totalEntriesCount == null) {
+                    throw new SearchException("Failed to calculate count entries. Query: '" + queryStr + "'");
                 }
+
+                result.setTotalEntriesCount(totalEntriesCount);
     		} catch (QueryException ex) {
     			throw new SearchException(String.format("Failed to build count search entries query. Key: '%s', expression: '%s'", key, expression.expression()), ex);
-            } catch (SQLException ex) {
+            } catch (SQLException | EntryConvertationException ex) {
                 throw new SearchException("Failed to calculate count entries. Query: '" + queryStr + "'", ex);
             }
         }
@@ -573,6 +812,80 @@ public class SqlOperationServiceImpl implements SqlOperationService {
         return result;
     }
 
+	@Override
+	public List<EntryData> searchPage(String key, String objectClass, ConvertedExpression expression, String[] attributes,
+			KeysetCursor keysetCursor, int pageSize) throws SearchException {
+		Instant startTime = OperationDurationUtil.instance().now();
+
+		TableMapping tableMapping = connectionProvider.getTableMappingByKey(key, objectClass);
+
+		List<EntryData> result = searchPageImpl(tableMapping, key, expression, attributes, keysetCursor, pageSize);
+
+		Duration duration = OperationDurationUtil.instance().duration(startTime);
+		OperationDurationUtil.instance().record("sql.search_page", duration);
+		OperationDurationUtil.instance().logDebug("SQL operation: search page, duration: {}, table: {}, key: {}, expression: {}, attributes: {}, fetched: {}, pageSize: {}", duration, tableMapping.getTableName(), key, expression, attributes, keysetCursor.getFetchedCount(), pageSize);
+
+		return result;
+	}
+
+	private List<EntryData> searchPageImpl(TableMapping tableMapping, String key, ConvertedExpression expression, String[] attributes,
+			KeysetCursor keysetCursor, int pageSize) throws SearchException {
+		if (keysetCursor.isExhausted()) {
+			return new ArrayList<EntryData>(0);
+		}
+
+		RelationalPathBase<Object> tableRelationalPath = buildTableRelationalPath(tableMapping);
+		Expression<?> attributesExp = buildSelectAttributes(attributes);
+
+		String queryStr = null;
+		try {
+			SQLQuery<?> query = buildKeysetPageQuery(tableRelationalPath, attributesExp, expression, keysetCursor, 0, pageSize);
+
+			SQLBindings sqlBindings = query.getSQL();
+			queryStr = sqlBindings.getSQL();
+			LOG.debug("Executing query: '{}'", queryStr);
+
+			List<EntryData> result = executeQuery(queryStr, sqlBindings.getNullFriendlyBindings().toArray(),
+					resultSet -> getEntryDataList(tableMapping, resultSet, keysetCursor));
+
+			if (result.size() < pageSize) {
+				keysetCursor.setExhausted(true);
+			}
+
+			return result;
+		} catch (QueryException ex) {
+			throw new SearchException(String.format("Failed to build search entries query. Key: '%s', expression: '%s'", key, expression), ex);
+		} catch (SQLException | EntryConvertationException ex) {
+			throw new SearchException(String.format("Failed to execute query '%s'  with key: '%s'", queryStr, key), ex);
+		}
+	}
+
+	private SQLQuery<?> buildKeysetPageQuery(RelationalPathBase<Object> tableRelationalPath, Expression<?> attributesExp, ConvertedExpression expression,
+			KeysetCursor keysetCursor, int start, int limit) {
+		// Build new query for each page because QueryDSL query accumulates conditions
+		SQLQuery<?> query = sqlQueryFactory.select(attributesExp).from(tableRelationalPath);
+		if (expression != null) {
+			query = query.where((Predicate) expression.expression());
+		}
+
+		Predicate seekPredicate = keysetCursor.getSeekPredicate(docAlias, SupportedDbType.POSTGRESQL != dbType);
+		if (seekPredicate != null) {
+			query = query.where(seekPredicate);
+		}
+
+		query = query.orderBy(keysetCursor.getOrderBy()).limit(limit);
+
+		int offset = start;
+		if (keysetCursor.getFetchedCount() > 0) {
+			offset = (seekPredicate == null) ? start + keysetCursor.getFetchedCount() : 0;
+		}
+		if (offset > 0) {
+			query = query.offset(offset);
+		}
+
+		return query;
+	}
+
 	@Override
 	public PagedResult<EntryData> searchAggregated(String key, String objectClass, ConvertedExpression expression,
 			SearchProjection projection, SearchReturnDataType returnDataType, int start, int count) throws SearchException {
@@ -583,6 +896,7 @@ public class SqlOperationServiceImpl implements SqlOperationService {
 		PagedResult<EntryData> result = searchAggregatedImpl(tableMapping, key, expression, projection, returnDataType, start, count);
 
 		Duration duration = OperationDurationUtil.instance().duration(startTime);
+		OperationDurationUtil.instance().record("sql.search_aggregated", duration);
 		OperationDurationUtil.instance().logDebug("SQL operation: search_aggregated, duration: {}, table: {}, key: {}, expression: {}, projection: {}, returnDataType: {}, start: {}, count: {}",
 				duration, tableMapping.getTableName(), key, expression, projection, returnDataType, start, count);
 
@@ -805,6 +1119,10 @@ public class SqlOperationServiceImpl implements SqlOperationService {
     }
 
     private List<EntryData> getEntryDataList(TableMapping tableMapping, ResultSet resultSet) throws EntryConvertationException, SQLException {
+    	return getEntryDataList(tableMapping, resultSet, null);
+    }
+
+    private List<EntryData> getEntryDataList(TableMapping tableMapping, ResultSet resultSet, KeysetCursor keysetCursor) throws EntryConvertationException, SQLException {
     	List<EntryData> entryDataList = new LinkedList<>();
 
     	while (!resultSet.isLast()) {
@@ -813,6 +1131,10 @@ public class SqlOperationServiceImpl implements SqlOperationService {
     			break;
     		}
 
+    		if (keysetCursor != null) {
+    			keysetCursor.capture(resultSet);
+    		}
+
     		EntryData entryData = new EntryData(attributeDataList);
     		entryDataList.add(entryData);
     	}
@@ -909,9 +1231,128 @@ public class SqlOperationServiceImpl implements SqlOperationService {
 	}
 
 	private RelationalPathBase<Object> buildTableRelationalPath(TableMapping tableMapping) {
-		RelationalPathBase<Object> tableRelationalPath = new RelationalPathBase<>(Object.class, DOC_ALIAS, this.schemaName, tableMapping.getTableName());
+		return queryCache.getTablePath(DOC_ALIAS, this.schemaName, tableMapping.getTableName());
+	}
+
+	private void appendShape(StringBuilder shapeKey, String attributeName, Object value) {
+		shapeKey.append(',').append(attributeName).append(':');
+		shapeKey.append(value == null ? "null" : value.getClass().getName());
+	}
+
+	private List<Object> bindableValues(List<Object> columnValues) {
+		// QueryDSL renders NULL as literal. It's part of shape key
+		List<Object> values = new ArrayList<Object>(columnValues.size() + 1);
+		for (Object value : columnValues) {
+			if (value != null) {
+				values.add(value);
+			}
+		}
+
+		return values;
+	}
+
+	private boolean cacheStatement(String shapeKey, SQLBindings sqlBindings, List<Object> values) {
+		boolean cached = queryCache.put(shapeKey, sqlBindings, values);
+		if (!cached) {
+			LOG.trace("Statement '{}' of shape '{}' can't be cached", sqlBindings.getSQL(), shapeKey);
+		}
+
+		return cached;
+	}
+
+	private boolean cacheStatement(String shapeKey, List<SQLBindings> sqlBindings, List<Object> values) {
+		if (sqlBindings.size() != 1) {
+			return false;
+		}
+
+		return cacheStatement(shapeKey, sqlBindings.get(0), values);
+	}
+
+	private PreparedStatement prepareStatement(Connection connection, String sql, Object[] bindings) throws SQLException {
+		// Connection pool returns cached prepared statement if it was prepared on this connection before
+		PreparedStatement statement = connection.prepareStatement(sql);
+		try {
+			bindValues(statement, bindings);
+		} catch (SQLException | RuntimeException ex) {
+			statement.close();
+			throw ex;
+		}
+
+		return statement;
+	}
+
+	private void bindValues(PreparedStatement statement, Object[] bindings) throws SQLException {
+		Configuration configuration = sqlQueryFactory.getConfiguration();
+		for (int i = 0; i < bindings.length; i++) {
+			configuration.set(statement, null, i + 1, bindings[i]);
+		}
+	}
+
+	private long executeUpdate(PreparedUpdate preparedUpdate) throws SQLException {
+		if (preparedUpdate.getClause() != null) {
+			return preparedUpdate.getClause().execute();
+		}
+
+		return executeUpdate(preparedUpdate.getSql(), preparedUpdate.getBindings());
+	}
+
+	private long executeUpdate(String sql, Object[] bindings) throws SQLException {
+		try (Connection connection = connectionProvider.getConnection();
+				PreparedStatement statement = prepareStatement(connection, sql, bindings)) {
+			return statement.executeUpdate();
+		}
+	}
+
+	private <T> T executeQuery(String sql, Object[] bindings, ResultSetHandler<T> handler) throws SQLException, EntryConvertationException {
+		try (Connection connection = connectionProvider.getConnection();
+				PreparedStatement statement = prepareStatement(connection, sql, bindings);
+				ResultSet resultSet = statement.executeQuery()) {
+			return handler.handle(resultSet);
+		}
+	}
+
+	@FunctionalInterface
+	private interface ResultSetHandler<T> {
+		T handle(ResultSet resultSet) throws SQLException, EntryConvertationException;
+	}
+
+	/**
+	 * Insert or update statement: rendered SQL with bindings or QueryDSL clause if SQL can't be reused
+	 */
+	private static class PreparedUpdate {
 
-		return tableRelationalPath;
+		private final String sql;
+		private final Object[] bindings;
+		private final AbstractSQLClause<?> clause;
+
+		PreparedUpdate(String sql, Object[] bindings) {
+			this.sql = sql;
+			this.bindings = bindings;
+			this.clause = null;
+		}
+
+		PreparedUpdate(AbstractSQLClause<?> clause) {
+			this.sql = null;
+			this.bindings = null;
+			this.clause = clause;
+		}
+
+		String getSql() {
+			return sql;
+		}
+
+		Object[] getBindings() {
+			return bindings;
+		}
+
+		AbstractSQLClause<?> getClause() {
+			return clause;
+		}
+	}
+
+	@Override
+	public SqlQueryCache getQueryCache() {
+		return queryCache;
 	}
 
 	@Override
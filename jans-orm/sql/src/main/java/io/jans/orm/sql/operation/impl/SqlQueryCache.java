@@ -0,0 +1,147 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2025, Janssen Project
+ */
+
+package io.jans.orm.sql.operation.impl;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.querydsl.sql.RelationalPathBase;
+import com.querydsl.sql.SQLBindings;
+
+/**
+ * Cache of rendered SQL statements of fixed shape operations (lookup, insert, update and delete by key).
+ * Shape key contains table, columns and types of values. Values are bound to cached SQL without
+ * building and serializing QueryDSL query again.
+ *
+ * Number of shapes is limited by application entry classes. If cache is full new shapes are not cached.
+ */
+public class SqlQueryCache {
+
+	public static final int DEFAULT_MAX_SIZE = 2000;
+
+	private final int maxSize;
+
+	private final ConcurrentHashMap<String, RelationalPathBase<Object>> tablePaths = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, CachedStatement> statements = new ConcurrentHashMap<>();
+
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+
+	public SqlQueryCache(int maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	public RelationalPathBase<Object> getTablePath(String alias, String schemaName, String tableName) {
+		return tablePaths.computeIfAbsent(alias + ":" + tableName,
+				k -> new RelationalPathBase<>(Object.class, alias, schemaName, tableName));
+	}
+
+	public CachedStatement get(String shapeKey) {
+		if (maxSize <= 0) {
+			return null;
+		}
+
+		CachedStatement statement = statements.get(shapeKey);
+		if (statement == null) {
+			missCount.increment();
+		} else {
+			hitCount.increment();
+		}
+
+		return statement;
+	}
+
+	/**
+	 * Stores rendered statement if QueryDSL bound all variable values first and in the same order.
+	 * Remaining bindings are constants of the shape (LIMIT 1, etc.)
+	 *
+	 * @return true if statement was cached
+	 */
+	public boolean put(String shapeKey, SQLBindings sqlBindings, List<Object> values) {
+		if ((maxSize <= 0) || (statements.size() >= maxSize)) {
+			return false;
+		}
+
+		List<Object> bindings = sqlBindings.getNullFriendlyBindings();
+		if (bindings.size() < values.size()) {
+			return false;
+		}
+
+		for (int i = 0; i < values.size(); i++) {
+			if (!Objects.equals(bindings.get(i), values.get(i))) {
+				return false;
+			}
+		}
+
+		Object[] fixedBindings = bindings.subList(values.size(), bindings.size()).toArray();
+		statements.putIfAbsent(shapeKey, new CachedStatement(sqlBindings.getSQL(), fixedBindings));
+
+		return true;
+	}
+
+	public void clear() {
+		statements.clear();
+		tablePaths.clear();
+	}
+
+	public long getHitCount() {
+		return hitCount.sum();
+	}
+
+	public long getMissCount() {
+		return missCount.sum();
+	}
+
+	public double getHitRate() {
+		long hits = getHitCount();
+		long requests = hits + getMissCount();
+
+		return requests == 0 ? 1.0 : (double) hits / requests;
+	}
+
+	public int getSize() {
+		return statements.size();
+	}
+
+	@Override
+	public String toString() {
+		return "SqlQueryCache [size=" + getSize() + ", hitCount=" + getHitCount() + ", missCount=" + getMissCount() + ", hitRate="
+				+ getHitRate() + "]";
+	}
+
+	public static class CachedStatement {
+
+		private final String sql;
+		private final Object[] fixedBindings;
+
+		public CachedStatement(String sql, Object[] fixedBindings) {
+			this.sql = sql;
+			this.fixedBindings = fixedBindings;
+		}
+
+		public String getSql() {
+			return sql;
+		}
+
+		public Object[] getFixedBindings() {
+			return fixedBindings;
+		}
+
+		public Object[] bind(List<Object> values) {
+			Object[] bindings = new Object[values.size() + fixedBindings.length];
+			for (int i = 0; i < values.size(); i++) {
+				bindings[i] = values.get(i);
+			}
+			System.arraycopy(fixedBindings, 0, bindings, values.size(), fixedBindings.length);
+
+			return bindings;
+		}
+	}
+
+}
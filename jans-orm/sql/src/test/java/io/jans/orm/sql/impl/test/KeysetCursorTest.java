@@ -0,0 +1,169 @@
+package io.jans.orm.sql.impl.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Order;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.Wildcard;
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.SQLQuery;
+import com.querydsl.sql.SQLTemplates;
+
+import io.jans.orm.sql.dsl.template.MySQLJsonTemplates;
+import io.jans.orm.sql.model.KeysetCursor;
+
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public class KeysetCursorTest {
+
+	private final Path<Object> docAlias = ExpressionUtils.path(Object.class, "doc");
+	private final Configuration mySqlConfiguration = new Configuration(MySQLJsonTemplates.builder().printSchema().build());
+
+	@Test
+	public void checkDocIdPagination() {
+		KeysetCursor cursor = KeysetCursor.create(null, "doc_id");
+		assertNull(cursor.getSeekPredicate(docAlias, true));
+		assertEquals(cursor.getOrderBy().length, 1);
+
+		cursor.capture(resultSet(row("doc_id", "id_5")));
+		assertTrue(cursor.isSeekable());
+		assertEquals(cursor.getFetchedCount(), 1);
+
+		String query = toSQL(cursor);
+		assertTrue(query.contains("where doc.doc_id > 'id_5'"), query);
+		assertTrue(query.endsWith("order by doc_id asc"), query);
+	}
+
+	@Test
+	public void checkSortColumnsPagination() {
+		OrderSpecifier<?>[] orderBy = new OrderSpecifier[] {
+				new OrderSpecifier(Order.DESC, Expressions.stringPath("jansStatus")) };
+		KeysetCursor cursor = KeysetCursor.create(orderBy, "doc_id");
+
+		Map<String, Object> row = row("doc_id", "id_5");
+		row.put("jansStatus", "active");
+		cursor.capture(resultSet(row));
+
+		String query = toSQL(cursor);
+		assertTrue(query.contains("doc.jansStatus < 'active'"), query);
+		assertTrue(query.contains("doc.jansStatus = 'active'"), query);
+		assertTrue(query.contains("doc.doc_id > 'id_5'"), query);
+		assertTrue(query.endsWith("order by jansStatus desc, doc_id asc"), query);
+	}
+
+	@Test
+	public void checkNullsAfterLastValue() {
+		OrderSpecifier<?>[] orderBy = new OrderSpecifier[] {
+				new OrderSpecifier(Order.ASC, Expressions.stringPath("displayName")) };
+		KeysetCursor cursor = KeysetCursor.create(orderBy, "doc_id");
+
+		Map<String, Object> row = row("doc_id", "id_5");
+		row.put("displayName", "name");
+		cursor.capture(resultSet(row));
+
+		// MySQL: NULLs are first in ascending order and were returned already
+		String query = toSQL(cursor, true);
+		assertFalse(query.contains("is null"), query);
+
+		// PostgreSQL: NULLs are last in ascending order
+		query = toSQL(cursor, false);
+		assertTrue(query.contains("doc.displayName > 'name' or doc.displayName is null"), query);
+		assertFalse(query.contains("doc_id is null"), query);
+
+		orderBy[0] = new OrderSpecifier(Order.DESC, Expressions.stringPath("displayName"));
+		cursor = KeysetCursor.create(orderBy, "doc_id");
+		cursor.capture(resultSet(row));
+
+		// MySQL: NULLs are last in descending order
+		query = toSQL(cursor, true);
+		assertTrue(query.contains("doc.displayName < 'name' or doc.displayName is null"), query);
+
+		// PostgreSQL: NULLs are first in descending order
+		query = toSQL(cursor, false);
+		assertFalse(query.contains("is null"), query);
+	}
+
+	@Test
+	public void checkFallbackToOffsetOnNullValue() {
+		OrderSpecifier<?>[] orderBy = new OrderSpecifier[] {
+				new OrderSpecifier(Order.ASC, Expressions.stringPath("displayName")) };
+		KeysetCursor cursor = KeysetCursor.create(orderBy, "doc_id");
+
+		Map<String, Object> row = row("doc_id", "id_5");
+		row.put("displayName", null);
+		cursor.capture(resultSet(row));
+
+		assertFalse(cursor.isSeekable());
+		assertNull(cursor.getSeekPredicate(docAlias, true));
+		assertEquals(cursor.getFetchedCount(), 1);
+
+		// Cursor doesn't switch back to seek mode
+		row.put("displayName", "name");
+		cursor.capture(resultSet(row));
+		assertFalse(cursor.isSeekable());
+		assertEquals(cursor.getFetchedCount(), 2);
+	}
+
+	@Test
+	public void checkFallbackToOffsetOnMissingColumn() {
+		OrderSpecifier<?>[] orderBy = new OrderSpecifier[] {
+				new OrderSpecifier(Order.ASC, Expressions.stringPath("displayName")) };
+		KeysetCursor cursor = KeysetCursor.create(orderBy, "doc_id");
+
+		cursor.capture(resultSet(row("doc_id", "id_5")));
+
+		assertFalse(cursor.isSeekable());
+		assertNull(cursor.getSeekPredicate(docAlias, true));
+	}
+
+	private String toSQL(KeysetCursor cursor) {
+		return toSQL(cursor, true);
+	}
+
+	private String toSQL(KeysetCursor cursor, boolean nullsFirst) {
+		Predicate predicate = cursor.getSeekPredicate(docAlias, nullsFirst);
+		assertNotNull(predicate);
+
+		SQLQuery query = (SQLQuery) new SQLQuery(mySqlConfiguration).select(Wildcard.all)
+				.from(Expressions.as(ExpressionUtils.path(Object.class, "table"), docAlias)).where(predicate)
+				.orderBy(cursor.getOrderBy());
+		query.setUseLiterals(true);
+
+		return query.getSQL().getSQL().replace("\n", " ");
+	}
+
+	private Map<String, Object> row(String column, Object value) {
+		Map<String, Object> row = new HashMap<String, Object>();
+		row.put(column, value);
+
+		return row;
+	}
+
+	private ResultSet resultSet(Map<String, Object> row) {
+		return (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { ResultSet.class }, (proxy, method, args) -> {
+			if ("getObject".equals(method.getName()) && (args.length == 1) && (args[0] instanceof String)) {
+				if (!row.containsKey(args[0])) {
+					throw new SQLException("Unknown column " + args[0]);
+				}
+				return row.get(args[0]);
+			}
+			throw new UnsupportedOperationException(method.getName());
+		});
+	}
+
+}
@@ -0,0 +1,152 @@
+package io.jans.orm.sql.impl.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.RelationalPathBase;
+import com.querydsl.sql.SQLBindings;
+import com.querydsl.sql.SQLQuery;
+import com.querydsl.sql.dml.SQLUpdateClause;
+
+import io.jans.orm.sql.dsl.template.MySQLJsonTemplates;
+import io.jans.orm.sql.operation.impl.SqlQueryCache;
+import io.jans.orm.sql.operation.impl.SqlQueryCache.CachedStatement;
+
+public class SqlQueryCacheTest {
+
+	private final Configuration mySqlConfiguration = new Configuration(MySQLJsonTemplates.builder().printSchema().build());
+
+	@Test
+	public void checkLookupStatement() {
+		SqlQueryCache cache = new SqlQueryCache(SqlQueryCache.DEFAULT_MAX_SIZE);
+
+		String shapeKey = "lookup:jansToken,tknCde,exp";
+		assertNull(cache.get(shapeKey));
+
+		SQLBindings sqlBindings = lookupQuery(cache, "jansToken", "tkn_1", "tknCde", "exp").getSQL();
+		assertTrue(cache.put(shapeKey, sqlBindings, Collections.singletonList("tkn_1")));
+
+		CachedStatement statement = cache.get(shapeKey);
+		assertNotNull(statement);
+		assertEquals(statement.getSql(), sqlBindings.getSQL());
+
+		// Cached statement with new key should be the same as rendered by QueryDSL
+		SQLBindings expectedBindings = lookupQuery(cache, "jansToken", "tkn_2", "tknCde", "exp").getSQL();
+		assertEquals(statement.getSql(), expectedBindings.getSQL());
+		assertEquals(Arrays.asList(statement.bind(Collections.singletonList("tkn_2"))), expectedBindings.getNullFriendlyBindings());
+
+		assertEquals(cache.getHitCount(), 1);
+		assertEquals(cache.getMissCount(), 1);
+		assertEquals(cache.getHitRate(), 0.5);
+	}
+
+	@Test
+	public void checkUpdateStatementWithNull() {
+		SqlQueryCache cache = new SqlQueryCache(SqlQueryCache.DEFAULT_MAX_SIZE);
+		RelationalPathBase<Object> tablePath = cache.getTablePath("doc", "jans", "jansSessId");
+
+		SQLUpdateClause update = new SQLUpdateClause(null, mySqlConfiguration, tablePath);
+		update.set(Expressions.stringPath("jansState"), "authenticated");
+		update.setNull(Expressions.stringPath("jansLastAccTime"));
+		update.where(ExpressionUtils.eq(Expressions.stringPath("doc_id"), Expressions.constant("sid_1")));
+
+		List<SQLBindings> sqlBindings = update.getSQL();
+		assertEquals(sqlBindings.size(), 1);
+
+		// NULL is rendered as literal and it's not bound
+		assertTrue(cache.put("update:jansSessId,jansState:java.lang.String,jansLastAccTime:null", sqlBindings.get(0),
+				Arrays.asList("authenticated", "sid_1")));
+	}
+
+	@Test
+	public void checkRejectUnexpectedBindings() {
+		SqlQueryCache cache = new SqlQueryCache(SqlQueryCache.DEFAULT_MAX_SIZE);
+
+		SQLBindings sqlBindings = lookupQuery(cache, "jansClnt", "clnt_1").getSQL();
+		assertFalse(cache.put("lookup:jansClnt", sqlBindings, Collections.singletonList("clnt_2")));
+		assertEquals(cache.getSize(), 0);
+	}
+
+	@Test
+	public void checkMaxSize() {
+		SqlQueryCache cache = new SqlQueryCache(1);
+
+		assertTrue(cache.put("lookup:jansClnt", lookupQuery(cache, "jansClnt", "clnt_1").getSQL(), Collections.singletonList("clnt_1")));
+		assertFalse(cache.put("lookup:jansToken", lookupQuery(cache, "jansToken", "tkn_1").getSQL(), Collections.singletonList("tkn_1")));
+		assertEquals(cache.getSize(), 1);
+
+		SqlQueryCache disabledCache = new SqlQueryCache(0);
+		assertFalse(disabledCache.put("lookup:jansClnt", lookupQuery(disabledCache, "jansClnt", "clnt_1").getSQL(), Collections.singletonList("clnt_1")));
+		assertNull(disabledCache.get("lookup:jansClnt"));
+		assertEquals(disabledCache.getMissCount(), 0);
+	}
+
+	@Test(enabled = false) // manual
+	public void benchmarkLookups() {
+		SqlQueryCache cache = new SqlQueryCache(SqlQueryCache.DEFAULT_MAX_SIZE);
+
+		// Typical auth server lookups: token by code, session by id, client by inum
+		String[][] lookups = new String[][] {
+			{ "jansToken", "tknCde", "tknTyp", "exp", "jansUsrId", "clnId" },
+			{ "jansSessId", "sid", "jansState", "jansLastAccTime", "jansSessAttr" },
+			{ "jansClnt", "inum", "displayName", "jansClntSecret", "jansRedirectURI", "jansGrantTyp" } };
+
+		int iterations = 200000;
+		for (int run = 0; run < 3; run++) {
+			long start = System.nanoTime();
+			for (int i = 0; i < iterations; i++) {
+				String[] lookup = lookups[i % lookups.length];
+				SQLBindings sqlBindings = lookupQuery(cache, lookup[0], "key_" + i, Arrays.copyOfRange(lookup, 1, lookup.length)).getSQL();
+				assertNotNull(sqlBindings.getSQL());
+			}
+			long queryDslTime = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			for (int i = 0; i < iterations; i++) {
+				String[] lookup = lookups[i % lookups.length];
+				String shapeKey = "lookup:" + String.join(",", lookup);
+				List<Object> values = Collections.singletonList("key_" + i);
+
+				CachedStatement statement = cache.get(shapeKey);
+				if (statement == null) {
+					cache.put(shapeKey, lookupQuery(cache, lookup[0], "key_" + i, Arrays.copyOfRange(lookup, 1, lookup.length)).getSQL(), values);
+					statement = cache.get(shapeKey);
+				}
+				assertNotNull(statement.bind(values));
+			}
+			long cachedTime = System.nanoTime() - start;
+
+			System.out.println(String.format("Run %d: QueryDSL render: %d ms, cached statement: %d ms, %s", run,
+					queryDslTime / 1000000, cachedTime / 1000000, cache));
+		}
+	}
+
+	private SQLQuery<?> lookupQuery(SqlQueryCache cache, String tableName, String key, String... attributes) {
+		RelationalPathBase<Object> tablePath = cache.getTablePath("doc", "jans", tableName);
+
+		Expression<?>[] columns = new Expression<?>[attributes.length + 1];
+		for (int i = 0; i < attributes.length; i++) {
+			columns[i] = Expressions.path(Object.class, tablePath, attributes[i]);
+		}
+		columns[attributes.length] = Expressions.path(Object.class, tablePath, "doc_id");
+
+		Predicate whereExp = ExpressionUtils.eq(Expressions.stringPath("doc_id"), Expressions.constant(key));
+
+		return new SQLQuery<Void>(mySqlConfiguration).select(Expressions.list(columns)).from(tablePath).where(whereExp).limit(1);
+	}
+
+}
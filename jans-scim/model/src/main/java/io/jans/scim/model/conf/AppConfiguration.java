@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import io.jans.doc.annotation.DocProperty;
 
 import java.io.Serializable;
+import java.util.List;
 
 /**
  * Janssen Project configuration
@@ -33,6 +34,8 @@ public class AppConfiguration implements Configuration, Serializable {
     private int bulkMaxOperations;
     @DocProperty(description = "Specifies maximum payload size of bulk operations")
     private long bulkMaxPayloadSize;
+    @DocProperty(description = "Maximum number of independent bulk operations executed concurrently. Value 1 executes operations sequentially", defaultValue = "1")
+    private int bulkMaxParallelOperations = 1;
     @DocProperty(description = "User Extension Schema URI")
     private String userExtensionSchemaURI;
     @DocProperty(description = "Logging level for scim logger")
@@ -47,6 +50,10 @@ public class AppConfiguration implements Configuration, Serializable {
     private int metricReporterKeepDataDays;
     @DocProperty(description = "Metric reported data enabled flag")
     private Boolean metricReporterEnabled;
+    @DocProperty(description = "Boolean value specifying whether OpenMetrics endpoint (/metrics) with request and persistence latency histograms is enabled", defaultValue = "false")
+    private boolean openMetricsEnabled;
+    @DocProperty(description = "IP addresses or CIDR ranges allowed to read OpenMetrics endpoint (/metrics). Loopback addresses are always allowed")
+    private List<String> openMetricsAllowedAddresses;
     @DocProperty(description = "Boolean value specifying whether to enable JDK Loggers")
     private Boolean disableJdkLogger = true;
     @DocProperty(description = "Choose whether to disable external log4j configuration override", defaultValue = "true")
@@ -130,6 +137,14 @@ public class AppConfiguration implements Configuration, Serializable {
         this.bulkMaxPayloadSize = bulkMaxPayloadSize;
     }
 
+    public int getBulkMaxParallelOperations() {
+        return bulkMaxParallelOperations;
+    }
+
+    public void setBulkMaxParallelOperations(int bulkMaxParallelOperations) {
+        this.bulkMaxParallelOperations = bulkMaxParallelOperations;
+    }
+
     public String getUserExtensionSchemaURI() {
         return userExtensionSchemaURI;
     }
@@ -187,6 +202,22 @@ public class AppConfiguration implements Configuration, Serializable {
         this.metricReporterEnabled = metricReporterEnabled;
     }
 
+    public boolean isOpenMetricsEnabled() {
+        return openMetricsEnabled;
+    }
+
+    public void setOpenMetricsEnabled(boolean openMetricsEnabled) {
+        this.openMetricsEnabled = openMetricsEnabled;
+    }
+
+    public List<String> getOpenMetricsAllowedAddresses() {
+        return openMetricsAllowedAddresses;
+    }
+
+    public void setOpenMetricsAllowedAddresses(List<String> openMetricsAllowedAddresses) {
+        this.openMetricsAllowedAddresses = openMetricsAllowedAddresses;
+    }
+
     public Boolean getDisableJdkLogger() {
         return disableJdkLogger;
     }
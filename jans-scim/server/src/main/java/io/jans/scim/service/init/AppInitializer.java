@@ -27,6 +27,7 @@ import io.jans.orm.service.PersistanceFactoryService;
 import io.jans.orm.util.properties.FileConfiguration;
 import io.jans.scim.service.ApplicationFactory;
 import io.jans.scim.service.ConfigurationFactory;
+import io.jans.scim.service.MetricService;
 import io.jans.scim.service.logger.LoggerService;
 import io.jans.service.PythonService;
 import io.jans.service.custom.script.CustomScriptManager;
@@ -79,6 +80,9 @@ public class AppInitializer {
     @Inject
     private DocumentStoreManager documentStoreManager;
 
+    @Inject
+    private MetricService metricService;
+
     public void applicationInitialized(@Observes @Initialized(ApplicationScoped.class) Object init) {
 
         logger.info("SCIM service initializing...");
@@ -104,6 +108,10 @@ public class AppInitializer {
         // Initialize Document Store Manager
         documentStoreManager.initTimer(Arrays.asList(DOCUMENT_STORE_MANAGER_JANS_SCIM_TYPE));
 
+        if (configurationFactory.getAppConfiguration().isOpenMetricsEnabled()) {
+            metricService.initTimer();
+        }
+
         logger.info("Initialized!");
     }
 
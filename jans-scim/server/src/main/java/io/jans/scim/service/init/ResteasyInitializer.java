@@ -15,6 +15,7 @@ import jakarta.ws.rs.core.Application;
 import io.jans.scim.service.filter.AuthorizationProcessingFilter;
 import io.jans.scim.service.scim2.interceptor.ServiceMetadataFilter;
 import io.jans.scim.ws.rs.scim2.*;
+import io.jans.service.metric.http.LatencyMetricEndpointFilter;
 
 @ApplicationPath("/restv1")
 public class ResteasyInitializer extends Application {
@@ -36,7 +37,8 @@ public class ResteasyInitializer extends Application {
 
 		// Providers
 		classes.add(AuthorizationProcessingFilter.class);
-		classes.add(ServiceMetadataFilter.class);		
+		classes.add(ServiceMetadataFilter.class);
+		classes.add(LatencyMetricEndpointFilter.class);
 
 		return classes;
 	}
@@ -0,0 +1,115 @@
+/*
+ * Janssen Project software is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.scim.service.scim2;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.resteasy.core.ResteasyContext;
+import org.jboss.weld.context.bound.BoundRequestContext;
+import org.slf4j.Logger;
+
+import io.jans.scim.model.conf.AppConfiguration;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Bounded thread pool which executes independent operations of SCIM bulk requests. Tasks run
+ * with JAX-RS context data of the submitting request (headers, URI info) and in own CDI
+ * request context, so sub-resource web services behave the same way as in request thread.
+ */
+@ApplicationScoped
+public class BulkOperationsExecutor implements Executor {
+
+    private static final int SHUTDOWN_TIMEOUT_IN_SECONDS = 30;
+
+    @Inject
+    private Logger log;
+
+    @Inject
+    private AppConfiguration appConfiguration;
+
+    @Inject
+    private BoundRequestContext requestContext;
+
+    private ExecutorService executorService;
+
+    /**
+     * @return number of operations of single bulk request which may run at the same time
+     */
+    public int getParallelism() {
+        return Math.max(1, appConfiguration.getBulkMaxParallelOperations());
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        Map<Class<?>, Object> contextData = ResteasyContext.getContextDataMap();
+        getExecutorService().execute(() -> {
+            ResteasyContext.pushContextDataMap(contextData);
+
+            Map<String, Object> requestDataStore = Collections.synchronizedMap(new HashMap<>());
+            requestContext.associate(requestDataStore);
+            requestContext.activate();
+            try {
+                command.run();
+            } finally {
+                try {
+                    requestContext.invalidate();
+                    requestContext.deactivate();
+                } finally {
+                    requestContext.dissociate(requestDataStore);
+                    ResteasyContext.removeContextDataLevel();
+                }
+            }
+        });
+    }
+
+    /**
+     * Thread pool is created on first parallel bulk request. Its size is fixed at this moment, later
+     * changes of bulkMaxParallelOperations are applied after restart.
+     */
+    private synchronized ExecutorService getExecutorService() {
+        if (executorService == null) {
+            int threads = getParallelism();
+            AtomicInteger counter = new AtomicInteger();
+            this.executorService = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "jans-scim-bulk-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            log.info("Created bulk operations thread pool with {} threads", threads);
+        }
+
+        return executorService;
+    }
+
+    @PreDestroy
+    public synchronized void destroy() {
+        if (executorService == null) {
+            return;
+        }
+
+        executorService.shutdown();
+        try {
+            if (!executorService.awaitTermination(SHUTDOWN_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS)) {
+                executorService.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            executorService.shutdownNow();
+        }
+        this.executorService = null;
+    }
+
+}
@@ -0,0 +1,347 @@
+/*
+ * Janssen Project software is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.scim.service.scim2;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.jans.scim.model.scim2.bulk.BulkOperation;
+import io.jans.util.Pair;
+
+/**
+ * Executes operations of SCIM bulk request which don't depend on each other at the same time. Operation
+ * waits for:
+ * <ul>
+ * <li>operations creating resources it references via bulkId</li>
+ * <li>the previous operation upon the same resource. Resource ids are compared case insensitive, an
+ * operation upon an id waits for all preceding operations upon resources referenced via bulkId in the
+ * same endpoint, as they may resolve to this id</li>
+ * <li>the previous creation or replacement of a resource with the same userName (users) or displayName
+ * (groups), so conflicting requests fail the same way as in sequential mode. Updates which may change
+ * these attributes wait for all preceding creations and replacements in the endpoint</li>
+ * </ul>
+ * Group operations and user deletions also update membership of other entries, so they are executed
+ * alone. Once failOnErrors is reached no more operations are started. Response contains executed
+ * operations in the order they were sent
+ */
+public class BulkOperationsScheduler {
+
+    private static final Pattern BULK_ID_PATTERN = Pattern.compile("bulkId:(\\w+)");
+    private static final String BULK_ID_PREFIX = "bulkId:";
+
+    private static final String POST = "POST";
+    private static final String PUT = "PUT";
+    private static final String PATCH = "PATCH";
+    private static final String DELETE = "DELETE";
+
+    private static final Logger log = LoggerFactory.getLogger(BulkOperationsScheduler.class);
+
+    private final String usersEndpoint;
+    private final String groupsEndpoint;
+    private final Map<String, String> uniqueAttributes;
+
+    public BulkOperationsScheduler(String usersEndpoint, String groupsEndpoint) {
+        this.usersEndpoint = usersEndpoint;
+        this.groupsEndpoint = groupsEndpoint;
+
+        this.uniqueAttributes = new HashMap<>();
+        this.uniqueAttributes.put(usersEndpoint, "userName");
+        this.uniqueAttributes.put(groupsEndpoint, "displayName");
+    }
+
+    /**
+     * @param operations Operations of bulk request, paths have to be adjusted to full endpoint urls
+     * @param failOnErrors Number of errors after which no more operations are started
+     * @param parallelism Maximum number of operations executed at the same time
+     * @param executor Executor which runs operations
+     * @param processor Executes operation. It receives ids of resources created by preceding operations
+     *            the operation references, keyed by bulkId, and has to put there id of resource it creates
+     * @param isError Checks whether operation response is an error
+     * @return Responses of executed operations in the order operations were sent
+     */
+    public List<BulkOperation> execute(List<BulkOperation> operations, int failOnErrors, int parallelism,
+            Executor executor, BiFunction<BulkOperation, Map<String, String>, BulkOperation> processor,
+            Predicate<BulkOperation> isError) {
+
+        int size = operations.size();
+        Plan plan = plan(operations);
+        int[] pendingDependencies = new int[size];
+        for (int i = 0; i < size; i++) {
+            pendingDependencies[i] = plan.dependencies.get(i).size();
+        }
+
+        BulkOperation[] results = new BulkOperation[size];
+        String[] createdIds = new String[size];
+        PriorityQueue<Integer> ready = new PriorityQueue<>();
+        for (int i = 0; i < size; i++) {
+            if (pendingDependencies[i] == 0) {
+                ready.add(i);
+            }
+        }
+
+        CompletionService<Pair<Integer, Map<String, String>>> completionService = new ExecutorCompletionService<>(executor);
+        int errors = 0, inFlight = 0;
+        while (true) {
+            while (!ready.isEmpty() && inFlight < parallelism && errors < failOnErrors) {
+                int index = ready.poll();
+                BulkOperation operation = operations.get(index);
+
+                // Only ids created by operations preceding this one are visible, as in sequential mode
+                Map<String, String> bulkIds = new HashMap<>();
+                plan.references.get(index).forEach((bulkId, creator) -> {
+                    if (createdIds[creator] != null) {
+                        bulkIds.put(bulkId, createdIds[creator]);
+                    }
+                });
+
+                completionService.submit(() -> {
+                    results[index] = processor.apply(operation, bulkIds);
+                    return new Pair<>(index, bulkIds);
+                });
+                inFlight++;
+            }
+            if (inFlight == 0) {
+                break;
+            }
+
+            int index;
+            Map<String, String> bulkIds;
+            try {
+                Pair<Integer, Map<String, String>> pair = completionService.take().get();
+                index = pair.getFirst();
+                bulkIds = pair.getSecond();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while executing bulk operations", e);
+            } catch (ExecutionException e) {
+                // Processor handles errors itself
+                throw new IllegalStateException(e.getCause());
+            }
+            inFlight--;
+
+            BulkOperation operationResponse = results[index];
+            boolean error = isError.test(operationResponse);
+            errors += error ? 1 : 0;
+            String bulkId = operations.get(index).getBulkId();
+            if (bulkId != null && !error && POST.equals(operations.get(index).getMethod())) {
+                createdIds[index] = bulkIds.get(bulkId);
+            }
+
+            for (int dependent : plan.dependents.get(index)) {
+                if (--pendingDependencies[dependent] == 0) {
+                    ready.add(dependent);
+                }
+            }
+
+            log.debug("Operation {} processed with status {}. Method {}, Accumulated errors {}", index + 1,
+                    operationResponse.getStatus(), operationResponse.getMethod(), errors);
+        }
+
+        List<BulkOperation> responseOperations = new ArrayList<>();
+        for (BulkOperation operationResponse : results) {
+            if (operationResponse != null) {
+                responseOperations.add(operationResponse);
+            }
+        }
+
+        return responseOperations;
+    }
+
+    /**
+     * Builds dependency graph of operations. Operations only depend on preceding ones
+     */
+    Plan plan(List<BulkOperation> operations) {
+        int size = operations.size();
+        Plan plan = new Plan(size);
+
+        Map<String, Integer> lastCreator = new HashMap<>();
+        Map<String, Integer> lastResourceOperation = new HashMap<>();
+        Map<String, List<Integer>> bulkIdResourceOperations = new HashMap<>();
+        Map<String, Integer> lastUniqueValueOperation = new HashMap<>();
+        Map<String, List<Integer>> uniqueValueOperations = new HashMap<>();
+        Map<String, Integer> lastUniqueValueUpdate = new HashMap<>();
+        List<Integer> sinceBarrier = new ArrayList<>();
+        int lastBarrier = -1;
+
+        for (int i = 0; i < size; i++) {
+            BulkOperation operation = operations.get(i);
+            String method = operation.getMethod();
+            String path = stripTrailingSlashes(operation.getPath());
+            Set<Integer> dependencies = plan.dependencies.get(i);
+            Map<String, Integer> referenced = plan.references.get(i);
+
+            StringBuilder sb = new StringBuilder(path);
+            if (!DELETE.equals(method) && operation.getDataStr() != null) {
+                sb.append(operation.getDataStr());
+            }
+
+            Matcher m = BULK_ID_PATTERN.matcher(sb);
+            while (m.find()) {
+                Integer creator = lastCreator.get(m.group(1));
+                if (creator != null) {
+                    referenced.put(m.group(1), creator);
+                    dependencies.add(creator);
+                }
+            }
+
+            String endpoint = POST.equals(method) ? path : path.substring(0, Math.max(0, path.lastIndexOf('/')));
+            String uniqueAttribute = uniqueAttributes.get(endpoint);
+            boolean uniqueValueUpdate = uniqueAttribute != null && (PUT.equals(method) || PATCH.equals(method))
+                    && mayUpdate(operation, uniqueAttribute);
+
+            boolean barrier = path.startsWith(groupsEndpoint) || (DELETE.equals(method) && path.startsWith(usersEndpoint));
+            if (barrier) {
+                dependencies.addAll(sinceBarrier);
+                sinceBarrier.clear();
+            }
+            if (lastBarrier >= 0) {
+                dependencies.add(lastBarrier);
+            }
+
+            if (POST.equals(method)) {
+                lastCreator.put(operation.getBulkId(), i);
+            } else {
+                String resource = path.substring(endpoint.length() + 1);
+                String resourceKey;
+                if (resource.startsWith(BULK_ID_PREFIX)) {
+                    Integer creator = lastCreator.get(resource.substring(BULK_ID_PREFIX.length()));
+                    resourceKey = endpoint + "/" + (creator == null ? resource : BULK_ID_PREFIX + creator);
+                    bulkIdResourceOperations.computeIfAbsent(endpoint, key -> new ArrayList<>()).add(i);
+                } else {
+                    resourceKey = endpoint + "/" + resource.toLowerCase(Locale.ROOT);
+                    // Operations upon bulkIds might resolve to the same resource
+                    for (int previous : bulkIdResourceOperations.getOrDefault(endpoint, Collections.emptyList())) {
+                        dependencies.add(previous);
+                    }
+                }
+
+                Integer previous = lastResourceOperation.put(resourceKey, i);
+                if (previous != null) {
+                    dependencies.add(previous);
+                }
+            }
+
+            if (uniqueAttribute != null && (POST.equals(method) || PUT.equals(method))) {
+                Object value = getAttributeValue(operation, uniqueAttribute);
+                if (value != null) {
+                    String uniqueKey = endpoint + " " + value.toString().toLowerCase(Locale.ROOT);
+                    Integer previous = lastUniqueValueOperation.put(uniqueKey, i);
+                    if (previous != null) {
+                        dependencies.add(previous);
+                    }
+                }
+            }
+            if (uniqueAttribute != null) {
+                Integer lastUpdate = lastUniqueValueUpdate.get(endpoint);
+                List<Integer> sinceUpdate = uniqueValueOperations.computeIfAbsent(endpoint, key -> new ArrayList<>());
+                if (uniqueValueUpdate) {
+                    dependencies.addAll(sinceUpdate);
+                    sinceUpdate.clear();
+                    lastUniqueValueUpdate.put(endpoint, i);
+                } else if (POST.equals(method) || PUT.equals(method)) {
+                    sinceUpdate.add(i);
+                }
+                if (lastUpdate != null) {
+                    dependencies.add(lastUpdate);
+                }
+            }
+
+            if (barrier) {
+                lastBarrier = i;
+            } else {
+                sinceBarrier.add(i);
+            }
+
+            dependencies.remove(i);
+            for (int dependency : dependencies) {
+                plan.dependents.get(dependency).add(i);
+            }
+        }
+
+        return plan;
+    }
+
+    /**
+     * PUT replaces the whole resource and PATCH may set the attribute directly or via value object
+     * without path, so both are treated as updates when attribute name appears in their data
+     */
+    private boolean mayUpdate(BulkOperation operation, String attribute) {
+        String data = operation.getDataStr();
+        return data != null && data.toLowerCase(Locale.ROOT).contains(attribute.toLowerCase(Locale.ROOT));
+    }
+
+    private Object getAttributeValue(BulkOperation operation, String attribute) {
+        Map<String, Object> data = operation.getData();
+        if (data == null) {
+            return null;
+        }
+
+        // SCIM attribute names are case insensitive
+        for (Map.Entry<String, Object> entry : data.entrySet()) {
+            if (attribute.equalsIgnoreCase(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+
+        return null;
+    }
+
+    private String stripTrailingSlashes(String path) {
+        int end = path.length();
+        while (end > 1 && path.charAt(end - 1) == '/') {
+            end--;
+        }
+
+        return path.substring(0, end);
+    }
+
+    static class Plan {
+
+        private final List<Set<Integer>> dependencies;
+        private final List<Map<String, Integer>> references;
+        private final List<List<Integer>> dependents;
+
+        Plan(int size) {
+            this.dependencies = new ArrayList<>(size);
+            this.references = new ArrayList<>(size);
+            this.dependents = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                dependencies.add(new TreeSet<>());
+                references.add(new HashMap<>());
+                dependents.add(new ArrayList<>());
+            }
+        }
+
+        Set<Integer> getDependencies(int index) {
+            return dependencies.get(index);
+        }
+
+        Map<String, Integer> getReferences(int index) {
+            return references.get(index);
+        }
+
+    }
+
+}
@@ -9,7 +9,9 @@ package io.jans.scim.service.scim2;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -50,6 +52,8 @@ public class Scim2GroupService implements Serializable {
 
 	private static final long serialVersionUID = 1555887165477267426L;
 
+	private static final String[] MEMBER_ATTRIBUTES = new String[] { "inum", "displayName" };
+
 	@Inject
 	private Logger log;
 
@@ -108,6 +112,12 @@ public class Scim2GroupService implements Serializable {
 
     private void transferAttributesToGroup(GroupResource res, JansGroup group,
             boolean skipMembersValidation, boolean fillMembersDisplay, String usersUrl) throws Exception {
+        transferAttributesToGroup(res, group, skipMembersValidation, fillMembersDisplay, usersUrl, new HashMap<>());
+    }
+
+    private void transferAttributesToGroup(GroupResource res, JansGroup group,
+            boolean skipMembersValidation, boolean fillMembersDisplay, String usersUrl,
+            Map<String, JansCustomPerson> membersCache) throws Exception {
 
         // externalId (so jansExtId) not part of LDAP schema
         group.setAttribute("jansMetaCreated", res.getMeta().getCreated());
@@ -129,6 +139,13 @@ public class Scim2GroupService implements Serializable {
             List<String> listMembers = new ArrayList<>();
             List<Member> invalidMembers = new ArrayList<>();
 
+            Map<String, JansCustomPerson> persons = Collections.emptyMap();
+            if (!skipMembersValidation) {
+                Set<String> newMembers = members.stream().map(Member::getValue)
+                        .filter(inum -> !groupMembers.contains(inum)).collect(Collectors.toSet());
+                persons = findMembersByInums(newMembers, membersCache);
+            }
+
             // Add the members, and complement the $refs and users' display names in res
             for (Member member : members) {
                 JansCustomPerson person;
@@ -139,7 +156,7 @@ public class Scim2GroupService implements Serializable {
                 //so data is not considered trusty. In this case
                 //we make database lookups
                 if (!skipMembersValidation && !groupMembers.contains(inum)) {
-                    person = personService.getPersonByInum(inum);
+                    person = persons.get(inum);
                     
                     if (person != null && fillMembersDisplay) {
                         member.setDisplay(person.getDisplayName());
@@ -187,6 +204,12 @@ public class Scim2GroupService implements Serializable {
 
     public void transferAttributesToGroupResource(JansGroup gluuGroup, GroupResource res,
             boolean fillMembersDisplay, String groupsUrl, String usersUrl) {
+        transferAttributesToGroupResource(gluuGroup, res, fillMembersDisplay, groupsUrl, usersUrl, new HashMap<>());
+    }
+
+    private void transferAttributesToGroupResource(JansGroup gluuGroup, GroupResource res,
+            boolean fillMembersDisplay, String groupsUrl, String usersUrl,
+            Map<String, JansCustomPerson> membersCache) {
 
         res.setId(gluuGroup.getInum());
 
@@ -206,21 +229,25 @@ public class Scim2GroupService implements Serializable {
         if (memberDNs != null) {
             Set<Member> members = new HashSet<>();
 
+            Map<String, JansCustomPerson> persons = Collections.emptyMap();
+            if (fillMembersDisplay) {
+                Set<String> inums = memberDNs.stream().map(userPersistenceHelper::getUserInumFromDN)
+                        .collect(Collectors.toSet());
+                persons = findMembersByInums(inums, membersCache);
+            }
+
             for (String dn : memberDNs) {
-                JansCustomPerson person = null;
-
-                if (fillMembersDisplay) {
-                    try {                                    
-                        person = personService.getPersonByDn(dn);
-                    } catch (Exception e) {
-                        log.warn("Wrong member entry {} found in group {}",
-                                dn, gluuGroup.getDisplayName());
-                    }
+                String inum = userPersistenceHelper.getUserInumFromDN(dn);
+                JansCustomPerson person = persons.get(inum);
+
+                if (fillMembersDisplay && person == null) {
+                    log.warn("Wrong member entry {} found in group {}",
+                            dn, gluuGroup.getDisplayName());
                 }
                 
                 if (person == null) {
                     person = new JansCustomPerson();
-                    person.setInum(userPersistenceHelper.getUserInumFromDN(dn));
+                    person.setInum(inum);
                 }
                 
                 Member aMember = new Member();
@@ -313,9 +340,11 @@ public class Scim2GroupService implements Serializable {
                 boolean skipMembersValidation, boolean fillMembersDisplay, String groupsUrl,
                 String usersUrl) throws Exception {
 
+        // Members looked up while building current state are reused when new state is validated
+        Map<String, JansCustomPerson> membersCache = new HashMap<>();
         GroupResource tmpGroup = new GroupResource();
         transferAttributesToGroupResource(gluuGroup, tmpGroup, !skipMembersValidation,
-                        groupsUrl, usersUrl);
+                        groupsUrl, usersUrl, membersCache);
 
         GroupResource res = (GroupResource) ScimResourceUtil.transferToResourceReplace(
                         group, tmpGroup, extService.getResourceExtensions(group.getClass()));
@@ -326,7 +355,7 @@ public class Scim2GroupService implements Serializable {
         }
 
         replaceGroupInfo(gluuGroup, res, skipMembersValidation, fillMembersDisplay,
-                        groupsUrl, usersUrl);
+                        groupsUrl, usersUrl, membersCache);
 
         return res;
 
@@ -353,10 +382,17 @@ public class Scim2GroupService implements Serializable {
     public void replaceGroupInfo(JansGroup gluuGroup, GroupResource group,
                 boolean skipMembersValidation, boolean fillMembersDisplay, String groupsUrl,
                 String usersUrl) throws Exception {
+        replaceGroupInfo(gluuGroup, group, skipMembersValidation, fillMembersDisplay, groupsUrl,
+                usersUrl, new HashMap<>());
+    }
+
+    private void replaceGroupInfo(JansGroup gluuGroup, GroupResource group,
+                boolean skipMembersValidation, boolean fillMembersDisplay, String groupsUrl,
+                String usersUrl, Map<String, JansCustomPerson> membersCache) throws Exception {
 
         Set<String> olderMembers = memberIDsSet(gluuGroup);
         transferAttributesToGroup(group, gluuGroup, skipMembersValidation,
-                fillMembersDisplay, usersUrl);
+                fillMembersDisplay, usersUrl, membersCache);
         log.debug("replaceGroupInfo. Updating group info in LDAP");
 
         if (externalScimService.isEnabled()) {
@@ -372,7 +408,7 @@ public class Scim2GroupService implements Serializable {
 
             // Copy back to user the info from gluuGroup
             transferAttributesToGroupResource(gluuGroup, group, fillMembersDisplay,
-                    groupsUrl, usersUrl);
+                    groupsUrl, usersUrl, membersCache);
             externalScimService.executeScimPostUpdateGroupMethods(gluuGroup);
         } else {
             groupService.updateGroup(gluuGroup);
@@ -397,10 +433,12 @@ public class Scim2GroupService implements Serializable {
 			throw new WebApplicationException("Failed to execute SCIM script successfully", Status.PRECONDITION_FAILED);
 		}
 
+		// Groups of a page often share members, look up each of them once
+		Map<String, JansCustomPerson> membersCache = new HashMap<>();
 		for (JansGroup group : list.getEntries()) {
 			GroupResource scimGroup = new GroupResource();
 			transferAttributesToGroupResource(group, scimGroup, fillMembersDisplay,
-                    groupsUrl, usersUrl);
+                    groupsUrl, usersUrl, membersCache);
 			resources.add(scimGroup);
 		}
 		log.info("Found {} matching entries - returning {}", list.getTotalEntriesCount(), list.getEntries().size());
@@ -472,6 +510,40 @@ public class Scim2GroupService implements Serializable {
 
 	}
 
+    /**
+     * Looks up members in chunks projecting only inum and display name. Results, including misses,
+     * are kept in the given cache which lives for the duration of a single operation only
+     * @param inums Inums of members
+     * @param membersCache Persons already looked up, keyed by inum; null value means no such person
+     * @return Existing persons keyed by inum
+     */
+    private Map<String, JansCustomPerson> findMembersByInums(Collection<String> inums,
+            Map<String, JansCustomPerson> membersCache) {
+
+        List<String> missing = inums.stream().filter(inum -> !membersCache.containsKey(inum))
+                .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            try {
+                for (JansCustomPerson person : personService.findPersonsByInums(missing, MEMBER_ATTRIBUTES)) {
+                    membersCache.put(person.getInum(), person);
+                }
+                missing.forEach(inum -> membersCache.putIfAbsent(inum, null));
+            } catch (Exception e) {
+                log.error("Failed to look up {} group members", missing.size(), e);
+            }
+        }
+
+        Map<String, JansCustomPerson> persons = new HashMap<>();
+        for (String inum : inums) {
+            JansCustomPerson person = membersCache.get(inum);
+            if (person != null) {
+                persons.put(inum, person);
+            }
+        }
+        return persons;
+
+    }
+
     private static Set<String> memberIDsSet(JansGroup gluuGroup) {
         return Optional.ofNullable(gluuGroup.getMembers()).orElse(Collections.emptyList())
                 .stream().collect(Collectors.toCollection(HashSet::new));
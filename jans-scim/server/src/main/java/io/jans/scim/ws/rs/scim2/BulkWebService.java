@@ -36,6 +36,8 @@ import io.jans.scim.model.scim2.group.GroupResource;
 import io.jans.scim.model.scim2.patch.PatchRequest;
 import io.jans.scim.model.scim2.user.UserResource;
 import io.jans.scim.service.filter.ProtectedApi;
+import io.jans.scim.service.scim2.BulkOperationsExecutor;
+import io.jans.scim.service.scim2.BulkOperationsScheduler;
 import io.jans.util.Pair;
 import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.Dependent;
@@ -48,6 +50,7 @@ import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Response.Status;
 
 /**
  * SCIM Bulk Endpoint Implementation
@@ -68,6 +71,7 @@ public class BulkWebService extends BaseScimWebService {
     private String groupsEndpoint;
     private String fido2devicesEndpoint;
     private String commonWsEndpointPrefix;
+    private BulkOperationsScheduler bulkOperationsScheduler;
 
     @Inject
     private UserWebService userWS;
@@ -78,6 +82,9 @@ public class BulkWebService extends BaseScimWebService {
     @Inject
     private Fido2DeviceWebService fido2DeviceWS;
 
+    @Inject
+    private BulkOperationsExecutor bulkOperationsExecutor;
+
     @jakarta.ws.rs.POST
     @Consumes({MEDIA_TYPE_SCIM_JSON, MediaType.APPLICATION_JSON})
     @Produces({MEDIA_TYPE_SCIM_JSON + UTF8_CHARSET_FRAGMENT, MediaType.APPLICATION_JSON + UTF8_CHARSET_FRAGMENT})
@@ -89,68 +96,15 @@ public class BulkWebService extends BaseScimWebService {
         if (response==null) {
             log.debug("Executing web service method. processBulkOperations");
 
-            int i, errors=0;
             List<BulkOperation> operations=request.getOperations();
-            List<BulkOperation> responseOperations=new ArrayList<>();
-            Map<String, String> processedBulkIds=new HashMap<>();
-
-            for (i=0;i<operations.size() && errors<request.getFailOnErrors();i++){
-
-                BulkOperation operation=operations.get(i);
-                BulkOperation operationResponse=new BulkOperation();
-                Response subResponse;
-
-                String method=operation.getMethod();
-                String bulkId=operation.getBulkId();
-                try {
-                    String path=operation.getPath();
-                    BaseScimWebService service=getWSForPath(path);
-                    String fragment=getFragment(path, service, processedBulkIds);
-                    Verb verb = Verb.valueOf(method);
+            List<BulkOperation> responseOperations;
 
-                    String data=operation.getDataStr();
-                    if (!verb.equals(DELETE))
-                        data = replaceBulkIds(data, processedBulkIds);
-
-                    Pair<Response, String> pair=execute(verb, service, data, fragment);
-                    String idCreated=pair.getSecond();
-                    subResponse=pair.getFirst();
-                    int status=subResponse.getStatus();
-
-                    if (familyOf(status).equals(SUCCESSFUL)) {
-                        if (!verb.equals(DELETE)) {
-                            if (verb.equals(POST)) {  //Update bulkIds
-                                processedBulkIds.put(bulkId, idCreated);
-                                fragment=idCreated;
-                            }
-                            String loc=service.getEndpointUrl() + "/" + fragment;
-                            operationResponse.setLocation(loc);
-                        }
-                    }
-                    else {
-                        operationResponse.setResponse(subResponse.getEntity());
-                        errors+= familyOf(status).equals(CLIENT_ERROR) || familyOf(status).equals(SERVER_ERROR) ? 1 : 0;
-                    }
-
-                    subResponse.close();
-                    operationResponse.setStatus(Integer.toString(status));
-                }
-                catch (Exception e) {
-                    log.error(e.getMessage(), e);
-                    subResponse=getErrorResponse(BAD_REQUEST, ErrorScimType.INVALID_SYNTAX, e.getMessage());
-
-                    operationResponse.setStatus(Integer.toString(BAD_REQUEST.getStatusCode()));
-                    operationResponse.setResponse(subResponse.getEntity());
-                    errors++;
-                }
-
-                operationResponse.setBulkId(bulkId);
-                operationResponse.setMethod(method);
-
-                responseOperations.add(operationResponse);
-
-                log.debug("Operation {} processed with status {}. Method {}, Accumulated errors {}", i+1, operationResponse.getStatus(), method, errors);
-            }
+            int parallelism=bulkOperationsExecutor.getParallelism();
+            if (parallelism > 1 && operations.size() > 1)
+                responseOperations=bulkOperationsScheduler.execute(operations, request.getFailOnErrors(), parallelism,
+                        bulkOperationsExecutor, this::processOperation, this::isError);
+            else
+                responseOperations=processOperationsSequentially(operations, request.getFailOnErrors());
 
             try {
                 BulkResponse bulkResponse=new BulkResponse();
@@ -168,6 +122,81 @@ public class BulkWebService extends BaseScimWebService {
 
     }
 
+    private List<BulkOperation> processOperationsSequentially(List<BulkOperation> operations, int failOnErrors) {
+
+        int i, errors=0;
+        List<BulkOperation> responseOperations=new ArrayList<>();
+        Map<String, String> processedBulkIds=new HashMap<>();
+
+        for (i=0;i<operations.size() && errors<failOnErrors;i++){
+            BulkOperation operationResponse=processOperation(operations.get(i), processedBulkIds);
+            errors+= isError(operationResponse) ? 1 : 0;
+            responseOperations.add(operationResponse);
+
+            log.debug("Operation {} processed with status {}. Method {}, Accumulated errors {}", i+1, operationResponse.getStatus(), operationResponse.getMethod(), errors);
+        }
+        return responseOperations;
+
+    }
+
+    private BulkOperation processOperation(BulkOperation operation, Map<String, String> processedBulkIds) {
+
+        BulkOperation operationResponse=new BulkOperation();
+        Response subResponse;
+
+        String method=operation.getMethod();
+        String bulkId=operation.getBulkId();
+        try {
+            String path=operation.getPath();
+            BaseScimWebService service=getWSForPath(path);
+            String fragment=getFragment(path, service, processedBulkIds);
+            Verb verb = Verb.valueOf(method);
+
+            String data=operation.getDataStr();
+            if (!verb.equals(DELETE))
+                data = replaceBulkIds(data, processedBulkIds);
+
+            Pair<Response, String> pair=execute(verb, service, data, fragment);
+            String idCreated=pair.getSecond();
+            subResponse=pair.getFirst();
+            int status=subResponse.getStatus();
+
+            if (familyOf(status).equals(SUCCESSFUL)) {
+                if (!verb.equals(DELETE)) {
+                    if (verb.equals(POST)) {  //Update bulkIds
+                        processedBulkIds.put(bulkId, idCreated);
+                        fragment=idCreated;
+                    }
+                    String loc=service.getEndpointUrl() + "/" + fragment;
+                    operationResponse.setLocation(loc);
+                }
+            }
+            else
+                operationResponse.setResponse(subResponse.getEntity());
+
+            subResponse.close();
+            operationResponse.setStatus(Integer.toString(status));
+        }
+        catch (Exception e) {
+            log.error(e.getMessage(), e);
+            subResponse=getErrorResponse(BAD_REQUEST, ErrorScimType.INVALID_SYNTAX, e.getMessage());
+
+            operationResponse.setStatus(Integer.toString(BAD_REQUEST.getStatusCode()));
+            operationResponse.setResponse(subResponse.getEntity());
+        }
+
+        operationResponse.setBulkId(bulkId);
+        operationResponse.setMethod(method);
+
+        return operationResponse;
+
+    }
+
+    private boolean isError(BulkOperation operationResponse) {
+        Status.Family family=familyOf(Integer.parseInt(operationResponse.getStatus()));
+        return family.equals(CLIENT_ERROR) || family.equals(SERVER_ERROR);
+    }
+
     private Response prepareRequest(BulkRequest request, String contentLength) {
 
         Response response=null;
@@ -398,6 +427,7 @@ public class BulkWebService extends BaseScimWebService {
         groupsEndpoint=groupWS.getEndpointUrl();
         fido2devicesEndpoint=fido2DeviceWS.getEndpointUrl();
         commonWsEndpointPrefix=usersEndpoint.substring(0, usersEndpoint.lastIndexOf("/"));
+        bulkOperationsScheduler=new BulkOperationsScheduler(usersEndpoint, groupsEndpoint);
     }
 
 }
@@ -0,0 +1,242 @@
+/*
+ * Janssen Project software is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.scim.service.scim2;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import io.jans.scim.model.scim2.bulk.BulkOperation;
+
+public class BulkOperationsSchedulerTest {
+
+    private static final String USERS = "https://jans.io/jans-scim/restv1/v2/Users";
+    private static final String GROUPS = "https://jans.io/jans-scim/restv1/v2/Groups";
+
+    private BulkOperationsScheduler scheduler;
+    private ExecutorService executorService;
+
+    @BeforeMethod
+    public void setUp() {
+        scheduler = new BulkOperationsScheduler(USERS, GROUPS);
+        executorService = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void plan_withBulkIdReferences_shouldDependOnCreators() {
+        BulkOperationsScheduler.Plan plan = scheduler.plan(Arrays.asList(
+                operation("POST", USERS, "a", data("userName", "alice")),
+                operation("POST", USERS, "b", data("userName", "bob")),
+                operation("PATCH", USERS + "/bulkId:a", null, data("nickName", "bulkId:b")),
+                operation("PUT", USERS + "/bulkId:b", null, data("nickName", "bob"))));
+
+        assertEquals(plan.getDependencies(0), deps());
+        assertEquals(plan.getDependencies(1), deps());
+        assertEquals(plan.getDependencies(2), deps(0, 1));
+        assertEquals(plan.getReferences(2).get("a"), Integer.valueOf(0));
+        assertEquals(plan.getReferences(2).get("b"), Integer.valueOf(1));
+        assertEquals(plan.getDependencies(3), deps(1));
+    }
+
+    @Test
+    public void plan_withGroupOperationsAndUserDeletions_shouldRunThemAlone() {
+        BulkOperationsScheduler.Plan plan = scheduler.plan(Arrays.asList(
+                operation("POST", USERS, "a", data("userName", "alice")),
+                operation("POST", USERS, "b", data("userName", "bob")),
+                operation("POST", GROUPS, "g", data("displayName", "admins")),
+                operation("POST", USERS, "c", data("userName", "carol")),
+                operation("PATCH", USERS + "/123", null, data("nickName", "dan")),
+                operation("DELETE", USERS + "/456", null, null)));
+
+        assertEquals(plan.getDependencies(2), deps(0, 1));
+        assertEquals(plan.getDependencies(3), deps(2));
+        assertEquals(plan.getDependencies(4), deps(2));
+        assertEquals(plan.getDependencies(5), deps(2, 3, 4));
+    }
+
+    @Test
+    public void plan_withSameResource_shouldKeepOrder() {
+        BulkOperationsScheduler.Plan plan = scheduler.plan(Arrays.asList(
+                operation("PATCH", USERS + "/ABC", null, data("nickName", "x")),
+                operation("PATCH", USERS + "/abc/", null, data("nickName", "y")),
+                operation("PATCH", USERS + "/def", null, data("nickName", "z"))));
+
+        assertEquals(plan.getDependencies(1), deps(0));
+        assertEquals(plan.getDependencies(2), deps());
+    }
+
+    @Test
+    public void plan_withResourceAfterBulkIdResource_shouldKeepOrder() {
+        BulkOperationsScheduler.Plan plan = scheduler.plan(Arrays.asList(
+                operation("POST", USERS, "a", data("userName", "alice")),
+                operation("PATCH", USERS + "/bulkId:a", null, data("nickName", "x")),
+                operation("PATCH", USERS + "/123", null, data("nickName", "y"))));
+
+        assertEquals(plan.getDependencies(1), deps(0));
+        assertEquals(plan.getDependencies(2), deps(1));
+    }
+
+    @Test
+    public void plan_withSameUserName_shouldKeepOrder() {
+        BulkOperationsScheduler.Plan plan = scheduler.plan(Arrays.asList(
+                operation("POST", USERS, "a", data("userName", "alice")),
+                operation("POST", USERS, "b", data("UserName", "Alice")),
+                operation("POST", USERS, "c", data("userName", "bob"))));
+
+        assertEquals(plan.getDependencies(1), deps(0));
+        assertEquals(plan.getDependencies(2), deps());
+    }
+
+    @Test
+    public void plan_withUserNameUpdate_shouldWaitForPrecedingCreations() {
+        BulkOperationsScheduler.Plan plan = scheduler.plan(Arrays.asList(
+                operation("POST", USERS, "a", data("userName", "alice")),
+                operation("PATCH", USERS + "/123", null, data("userName", "bob")),
+                operation("POST", USERS, "c", data("userName", "carol"))));
+
+        assertEquals(plan.getDependencies(1), deps(0));
+        assertEquals(plan.getDependencies(2), deps(1));
+    }
+
+    @Test
+    public void execute_withBulkIdChain_shouldResolveCreatedIds() {
+        List<BulkOperation> operations = Arrays.asList(
+                operation("POST", USERS, "a", data("userName", "alice")),
+                operation("PATCH", USERS + "/bulkId:a", null, data("nickName", "x")),
+                operation("POST", USERS, "b", data("userName", "bob")));
+        List<String> resolved = Collections.synchronizedList(new ArrayList<>());
+
+        List<BulkOperation> responses = scheduler.execute(operations, 10, 4, executorService, (operation, bulkIds) -> {
+            if ("POST".equals(operation.getMethod())) {
+                bulkIds.put(operation.getBulkId(), "id-" + operation.getBulkId());
+            } else {
+                resolved.add(bulkIds.get("a"));
+            }
+            return response(operation, "200");
+        }, this::isError);
+
+        assertEquals(responses.size(), 3);
+        assertEquals(responses.get(0).getBulkId(), "a");
+        assertEquals(responses.get(1).getMethod(), "PATCH");
+        assertEquals(responses.get(2).getBulkId(), "b");
+        assertEquals(resolved, Collections.singletonList("id-a"));
+    }
+
+    @Test
+    public void execute_withSameUserName_shouldRunInRequestOrder() {
+        List<BulkOperation> operations = Arrays.asList(
+                operation("POST", USERS, "a", data("userName", "alice")),
+                operation("POST", USERS, "b", data("userName", "alice")));
+        List<String> executed = Collections.synchronizedList(new ArrayList<>());
+
+        scheduler.execute(operations, 10, 4, executorService, (operation, bulkIds) -> {
+            if ("a".equals(operation.getBulkId())) {
+                sleep(200);
+            }
+            executed.add(operation.getBulkId());
+            return response(operation, "201");
+        }, this::isError);
+
+        assertEquals(executed, Arrays.asList("a", "b"));
+    }
+
+    @Test
+    public void execute_whenFailOnErrorsReached_shouldNotStartMoreOperations() {
+        List<BulkOperation> operations = Arrays.asList(
+                operation("PATCH", USERS + "/1", null, data("nickName", "x")),
+                operation("PATCH", USERS + "/2", null, data("nickName", "x")),
+                operation("PATCH", USERS + "/3", null, data("nickName", "x")),
+                operation("PATCH", USERS + "/4", null, data("nickName", "x")),
+                operation("PATCH", USERS + "/5", null, data("nickName", "x")));
+
+        List<BulkOperation> responses = scheduler.execute(operations, 2, 1, executorService,
+                (operation, bulkIds) -> response(operation, "404"), this::isError);
+
+        assertEquals(responses.size(), 2);
+        assertTrue(responses.stream().allMatch(this::isError));
+    }
+
+    @Test
+    public void execute_whenCreatorFails_shouldRunDependentsWithoutCreatedId() {
+        List<BulkOperation> operations = Arrays.asList(
+                operation("POST", USERS, "a", data("userName", "alice")),
+                operation("PATCH", USERS + "/bulkId:a", null, data("nickName", "x")));
+        Map<String, String> seen = Collections.synchronizedMap(new HashMap<>());
+
+        List<BulkOperation> responses = scheduler.execute(operations, 10, 4, executorService, (operation, bulkIds) -> {
+            if ("PATCH".equals(operation.getMethod())) {
+                seen.putAll(bulkIds);
+                return response(operation, "400");
+            }
+            return response(operation, "409");
+        }, this::isError);
+
+        assertEquals(responses.size(), 2);
+        assertTrue(seen.isEmpty());
+    }
+
+    private BulkOperation operation(String method, String path, String bulkId, Map<String, Object> data) {
+        BulkOperation operation = new BulkOperation();
+        operation.setMethod(method);
+        operation.setPath(path);
+        operation.setBulkId(bulkId);
+        if (data != null) {
+            operation.setData(data);
+        }
+        return operation;
+    }
+
+    private BulkOperation response(BulkOperation operation, String status) {
+        BulkOperation response = new BulkOperation();
+        response.setMethod(operation.getMethod());
+        response.setBulkId(operation.getBulkId());
+        response.setStatus(status);
+        return response;
+    }
+
+    private boolean isError(BulkOperation response) {
+        return Integer.parseInt(response.getStatus()) >= 400;
+    }
+
+    private Map<String, Object> data(String name, Object value) {
+        Map<String, Object> data = new HashMap<>();
+        data.put(name, value);
+        return data;
+    }
+
+    private Set<Integer> deps(Integer... indexes) {
+        return new TreeSet<>(Arrays.asList(indexes));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Janssen Project software is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.scim.service;
+
+import java.util.Collections;
+import java.util.List;
+
+import io.jans.as.model.config.StaticConfiguration;
+import io.jans.model.ApplicationType;
+import io.jans.orm.PersistenceEntryManager;
+import io.jans.scim.model.conf.AppConfiguration;
+import io.jans.service.net.NetworkService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+
+/**
+ * Keeps request and persistence latency metrics exposed via OpenMetrics endpoint. SCIM has no
+ * metric persistence, so metric reporter is always disabled
+ */
+@ApplicationScoped
+@Named(MetricService.METRIC_SERVICE_COMPONENT_NAME)
+public class MetricService extends io.jans.service.metric.MetricService {
+
+    public static final String METRIC_SERVICE_COMPONENT_NAME = "metricService";
+
+    private static final long serialVersionUID = -3296125063187734591L;
+
+    @Inject
+    private Instance<MetricService> instance;
+
+    @Inject
+    private AppConfiguration appConfiguration;
+
+    @Inject
+    private StaticConfiguration staticConfiguration;
+
+    @Inject
+    private NetworkService networkService;
+
+    @Inject
+    private PersistenceEntryManager persistenceEntryManager;
+
+    public void initTimer() {
+        initTimer(appConfiguration.getMetricReporterInterval(), appConfiguration.getMetricReporterKeepDataDays());
+    }
+
+    @Override
+    public String baseDn() {
+        return staticConfiguration.getBaseDn().getMetric();
+    }
+
+    @Override
+    public io.jans.service.metric.MetricService getMetricServiceInstance() {
+        return instance.get();
+    }
+
+    @Override
+    public boolean isMetricReporterEnabled() {
+        return false;
+    }
+
+    @Override
+    public boolean isLatencyMetricsEnabled() {
+        return appConfiguration.isOpenMetricsEnabled();
+    }
+
+    @Override
+    public List<String> getOpenMetricsAllowedAddresses() {
+        List<String> allowedAddresses = appConfiguration.getOpenMetricsAllowedAddresses();
+        return (allowedAddresses == null) ? Collections.emptyList() : allowedAddresses;
+    }
+
+    @Override
+    public String getString() {
+        return ApplicationType.SCIM.getValue();
+    }
+
+    @Override
+    public PersistenceEntryManager getEntryManager() {
+        return persistenceEntryManager;
+    }
+
+    @Override
+    public String getNodeIdentifier() {
+        return networkService.getMacAdress();
+    }
+
+}
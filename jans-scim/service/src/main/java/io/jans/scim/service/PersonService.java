@@ -10,6 +10,7 @@ import java.io.Serializable;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
@@ -47,6 +48,8 @@ public class PersonService implements Serializable {
 
 	private static final long serialVersionUID = 6685720517520443399L;
 
+	private static final int INUM_FILTER_BATCH_SIZE = 500;
+
 	@Inject
 	private Logger log;
 
@@ -205,6 +208,41 @@ public class PersonService implements Serializable {
 		return persistenceEntryManager.findEntries(getDnForPerson(null), JansCustomPerson.class, filter, returnAttributes);
 	}
 
+	/**
+	 * Finds persons by inum issuing one query per chunk of inums instead of one query per person
+	 *
+	 * @param inums Inums of persons to look up
+	 * @param returnAttributes Attributes to fetch, all when empty
+	 * @return Found persons. Inums without entry are not reported
+	 */
+	public List<JansCustomPerson> findPersonsByInums(Collection<String> inums, String... returnAttributes) {
+		List<JansCustomPerson> persons = new ArrayList<JansCustomPerson>();
+		if ((inums == null) || inums.isEmpty()) {
+			return persons;
+		}
+
+		String baseDn = getDnForPerson(null);
+		List<Filter> inumFilters = new ArrayList<Filter>();
+		for (String inum : inums) {
+			inumFilters.add(Filter.createEqualityFilter("inum", inum));
+			if (inumFilters.size() == INUM_FILTER_BATCH_SIZE) {
+				persons.addAll(findPersonsByFilters(baseDn, inumFilters, returnAttributes));
+				inumFilters = new ArrayList<Filter>();
+			}
+		}
+		if (!inumFilters.isEmpty()) {
+			persons.addAll(findPersonsByFilters(baseDn, inumFilters, returnAttributes));
+		}
+
+		return persons;
+	}
+
+	private List<JansCustomPerson> findPersonsByFilters(String baseDn, List<Filter> inumFilters, String... returnAttributes) {
+		// OR of equality filters on same attribute is converted to IN list by SQL backend
+		Filter filter = inumFilters.size() == 1 ? inumFilters.get(0) : Filter.createORFilter(inumFilters);
+		return persistenceEntryManager.findEntries(baseDn, JansCustomPerson.class, filter, returnAttributes, inumFilters.size());
+	}
+
 	public List<JansCustomPerson> findPersonsByMailids(List<String> mailids, String[] returnAttributes)
 			throws Exception {
 		List<Filter> mailidFilters = new ArrayList<Filter>();